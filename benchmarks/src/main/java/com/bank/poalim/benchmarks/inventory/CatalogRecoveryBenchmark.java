@@ -0,0 +1,84 @@
+package com.bank.poalim.benchmarks.inventory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.service.DurableProductCatalogService;
+
+/**
+ * Startup of {@code DurableProductCatalogService}: load a snapshot of {@code products} products,
+ * then replay {@code walRecords} reservations written after it.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogRecoveryBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int products;
+
+    @Param({"0", "1000000"})
+    public int walRecords;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("catalog-recovery");
+        DurableProductCatalogService catalog = open();
+        for (int i = 0; i < products; i++) {
+            catalog.addProduct(Product.builder()
+                    .productId("B-" + i)
+                    .name("Benchmark product " + i)
+                    .category(OrderItemCategory.STANDARD)
+                    .availableQuantity(1_000_000_000)
+                    .active(true)
+                    .build());
+        }
+        catalog.snapshot();
+        for (int i = 0; i < walRecords; i++) {
+            catalog.reserveStock(Map.of("B-" + (i % products), 1));
+        }
+        // Left open rather than closed, since closing would fold the WAL tail into a new snapshot
+    }
+
+    @Benchmark
+    public DurableProductCatalogService recover() throws IOException {
+        return open();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private DurableProductCatalogService open() throws IOException {
+        return new DurableProductCatalogService(directory.toString(), false, 0, products);
+    }
+}
@@ -0,0 +1,144 @@
+package com.bank.poalim.benchmarks.inventory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.SendResult;
+
+import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.inventory_service.kafka.OrderEventsProducer;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
+import com.bank.poalim.inventory_service.model.InventoryCheckResult;
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.OrderItemDto;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.service.InMemoryProductCatalogService;
+import com.bank.poalim.inventory_service.service.InventoryValidationService;
+
+/**
+ * {@code InventoryValidationService.validateOrder} end to end, minus the Kafka send.
+ * Approved orders give their stock back so every iteration sees the same catalog.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventoryValidationBenchmark {
+
+    private static final int STOCK = 1_000_000_000;
+
+    @Param({"1", "5", "20"})
+    public int itemCount;
+
+    /**
+     * standard, perishable, digital: every line of that category, all approved.
+     * mixed: the three categories in turn, all approved.
+     * rejected: like mixed, but the last line is an unknown product.
+     * insufficient: like mixed, but the last line asks for more standard stock than there is.
+     */
+    @Param({"standard", "perishable", "digital", "mixed", "rejected", "insufficient"})
+    public String mix;
+
+    private InMemoryProductCatalogService catalog;
+    private InventoryValidationService validationService;
+    private List<OrderItemDto> items;
+    private Map<String, Integer> reserved;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = new InMemoryProductCatalogService();
+        catalog.addProduct(product("B-STANDARD", OrderItemCategory.STANDARD, null));
+        catalog.addProduct(product("B-PERISHABLE", OrderItemCategory.PERISHABLE, LocalDate.now().plusYears(1)));
+        catalog.addProduct(product("B-DIGITAL", OrderItemCategory.DIGITAL, null));
+        validationService = new InventoryValidationService(catalog, new DiscardingProducer());
+
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(item(productFor(i)));
+        }
+        if ("rejected".equals(mix)) {
+            items.set(itemCount - 1, item("B-UNKNOWN"));
+        } else if ("insufficient".equals(mix)) {
+            OrderItemDto item = item("B-STANDARD");
+            item.setQuantity(STOCK + 1);
+            items.set(itemCount - 1, item);
+        }
+        reserved = new HashMap<>();
+        for (OrderItemDto item : items) {
+            if (!"B-DIGITAL".equals(item.getProductId())) {
+                reserved.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            }
+        }
+    }
+
+    @Benchmark
+    public InventoryCheckResult validateOrder() {
+        InventoryCheckResult result = validationService.validateOrder("ORD-BENCH", items);
+        if (result.isApproved()) {
+            catalog.releaseStock(reserved);
+        }
+        return result;
+    }
+
+    private String productFor(int index) {
+        switch (mix) {
+            case "standard":
+                return "B-STANDARD";
+            case "perishable":
+                return "B-PERISHABLE";
+            case "digital":
+                return "B-DIGITAL";
+            default:
+                return new String[] {"B-STANDARD", "B-PERISHABLE", "B-DIGITAL"}[index % 3];
+        }
+    }
+
+    private static OrderItemDto item(String productId) {
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        return item;
+    }
+
+    private static Product product(String productId, OrderItemCategory category, LocalDate expirationDate) {
+        return Product.builder()
+                .productId(productId)
+                .name(productId)
+                .category(category)
+                .availableQuantity(STOCK)
+                .expirationDate(expirationDate)
+                .active(true)
+                .build();
+    }
+
+    private static final class DiscardingProducer extends OrderEventsProducer {
+        DiscardingProducer() {
+            super(null);
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, InventoryCheckResultEvent>> publishInventoryCheckResultEvent(
+                InventoryCheckResultEvent event, PipelineTimestamps timestamps) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
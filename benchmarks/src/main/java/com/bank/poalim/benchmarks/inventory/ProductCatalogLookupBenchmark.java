@@ -0,0 +1,115 @@
+package com.bank.poalim.benchmarks.inventory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.StockLevels;
+import com.bank.poalim.inventory_service.service.InMemoryProductCatalogService;
+import com.bank.poalim.inventory_service.service.PrimitiveProductCatalogService;
+import com.bank.poalim.inventory_service.service.ProductCatalogService;
+
+/**
+ * {@code ProductCatalogService.findProduct} from REST-style readers, and {@code readStock} as
+ * order validation uses it, while other threads reserve and release stock on the same products,
+ * for each catalog store. Run with {@code -prof gc} to compare allocation and GC time at a
+ * million products.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class ProductCatalogLookupBenchmark {
+
+    @Param({"8", "1000", "1000000"})
+    public int products;
+
+    @Param({"memory", "primitive"})
+    public String store;
+
+    private ProductCatalogService catalog;
+    private String[] productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = "primitive".equals(store)
+                ? new PrimitiveProductCatalogService(products)
+                : new InMemoryProductCatalogService();
+        productIds = new String[products];
+        for (int i = 0; i < products; i++) {
+            productIds[i] = "B-" + i;
+            catalog.addProduct(Product.builder()
+                    .productId(productIds[i])
+                    .name(productIds[i])
+                    .category(OrderItemCategory.STANDARD)
+                    .availableQuantity(1_000_000_000)
+                    .active(true)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(12)
+    public Optional<Product> lookup() {
+        return catalog.findProduct(randomProduct());
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public boolean reserveAndRelease() {
+        Map<String, Integer> quantities = Map.of(randomProduct(), 1);
+        boolean reserved = catalog.reserveStock(quantities);
+        if (reserved) {
+            catalog.releaseStock(quantities);
+        }
+        return reserved;
+    }
+
+    @Benchmark
+    @Group("uncontended")
+    @GroupThreads(12)
+    public Optional<Product> lookupOnly() {
+        return catalog.findProduct(randomProduct());
+    }
+
+    @Benchmark
+    @Group("validation")
+    @GroupThreads(12)
+    public StockLevels readStock() {
+        return catalog.readStock(List.of(randomProduct(), randomProduct(), randomProduct()));
+    }
+
+    @Benchmark
+    @Group("validation")
+    @GroupThreads(4)
+    public boolean reserveAndReleaseDuringValidation() {
+        return reserveAndRelease();
+    }
+
+    private String randomProduct() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+}
@@ -0,0 +1,116 @@
+package com.bank.poalim.benchmarks.inventory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bank.poalim.inventory_service.service.StockReservationEngine;
+
+/**
+ * Many listener threads reserving and releasing multi-item orders over a handful of hot SKUs.
+ * {@code globalLock} is the single-monitor baseline the CAS engine replaces.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class StockReservationContentionBenchmark {
+
+    private static final int STOCK = 1_000_000;
+
+    @Param({"1", "4", "16"})
+    public int hotProducts;
+
+    @Param({"1", "3"})
+    public int itemsPerOrder;
+
+    private StockReservationEngine engine;
+    private Map<String, Integer> lockedStock;
+    private String[] productIds;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        engine = new StockReservationEngine();
+        lockedStock = new HashMap<>();
+        productIds = new String[hotProducts];
+        for (int i = 0; i < hotProducts; i++) {
+            productIds[i] = "HOT-" + i;
+            engine.track(productIds[i], STOCK);
+            lockedStock.put(productIds[i], STOCK);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Orders {
+        private static final int POOL_SIZE = 1024;
+
+        private final Map<String, Integer>[] pool = newPool();
+        private int next;
+
+        @SuppressWarnings("unchecked")
+        private static Map<String, Integer>[] newPool() {
+            return new Map[POOL_SIZE];
+        }
+
+        @Setup(Level.Iteration)
+        public void fill(StockReservationContentionBenchmark benchmark) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int p = 0; p < POOL_SIZE; p++) {
+                Map<String, Integer> quantities = new HashMap<>();
+                for (int i = 0; i < benchmark.itemsPerOrder; i++) {
+                    quantities.merge(benchmark.productIds[random.nextInt(benchmark.hotProducts)], random.nextInt(1, 4), Integer::sum);
+                }
+                pool[p] = quantities;
+            }
+        }
+
+        Map<String, Integer> next() {
+            return pool[next++ & (POOL_SIZE - 1)];
+        }
+    }
+
+    @Benchmark
+    public boolean casEngine(Orders orders) {
+        Map<String, Integer> quantities = orders.next();
+        boolean reserved = engine.reserve(quantities);
+        if (reserved) {
+            engine.release(quantities);
+        }
+        return reserved;
+    }
+
+    @Benchmark
+    public boolean globalLock(Orders orders) {
+        Map<String, Integer> quantities = orders.next();
+        synchronized (lockedStock) {
+            for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                if (lockedStock.get(line.getKey()) < line.getValue()) {
+                    return false;
+                }
+            }
+            quantities.forEach((productId, quantity) -> lockedStock.merge(productId, -quantity, Integer::sum));
+        }
+        synchronized (lockedStock) {
+            quantities.forEach((productId, quantity) -> lockedStock.merge(productId, quantity, Integer::sum));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package com.bank.poalim.benchmarks.order;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bank.poalim.order_service.dto.OrderItemDto;
+import com.bank.poalim.order_service.model.OrderItemCategory;
+import com.bank.poalim.order_service.model.OrderRecord;
+import com.bank.poalim.order_service.model.OrderStatus;
+import com.bank.poalim.order_service.store.OrderHashMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Encoding of a pending {@link OrderRecord} into the fields of its Redis hash, and decoding it
+ * back on the notification side.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderHashMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int itemCount;
+
+    private OrderHashMapper orderHashMapper;
+    private com.bank.poalim.notification_service.store.OrderHashMapper notificationHashMapper;
+    private OrderRecord orderRecord;
+    private Map<String, String> hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same settings as the Boot-configured mapper the services inject
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        orderHashMapper = new OrderHashMapper(objectMapper);
+        notificationHashMapper = new com.bank.poalim.notification_service.store.OrderHashMapper(objectMapper);
+
+        List<OrderItemDto> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            OrderItemDto item = new OrderItemDto();
+            item.setProductId("P" + (1000 + i));
+            item.setQuantity(i + 1);
+            item.setCategory(OrderItemCategory.values()[i % OrderItemCategory.values().length]);
+            items.add(item);
+        }
+        Instant now = Instant.now();
+        orderRecord = OrderRecord.builder()
+                .orderId("01M53TWK40000001E2N0BYNW01")
+                .customerName("Alice")
+                .items(items)
+                .requestedAt(now)
+                .createdAt(now)
+                .status(OrderStatus.PENDING)
+                .build();
+        hash = orderHashMapper.toHash(orderRecord);
+    }
+
+    @Benchmark
+    public Map<String, String> toHash() {
+        return orderHashMapper.toHash(orderRecord);
+    }
+
+    @Benchmark
+    public com.bank.poalim.notification_service.model.OrderRecord fromHash() {
+        return notificationHashMapper.fromHash(hash);
+    }
+}
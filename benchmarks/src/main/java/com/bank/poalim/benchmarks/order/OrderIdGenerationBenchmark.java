@@ -0,0 +1,55 @@
+package com.bank.poalim.benchmarks.order;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bank.poalim.order_service.id.OrderId;
+import com.bank.poalim.order_service.id.TimeOrderedOrderIdGenerator;
+import com.bank.poalim.order_service.id.UuidOrderIdGenerator;
+
+/**
+ * Order id generation from many request threads at once.
+ * {@code uuid} is the {@code UUID.randomUUID()} path the time-ordered generator replaces.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class OrderIdGenerationBenchmark {
+
+    private final UuidOrderIdGenerator uuid = new UuidOrderIdGenerator();
+    private final TimeOrderedOrderIdGenerator timeOrdered = new TimeOrderedOrderIdGenerator(1);
+
+    @Benchmark
+    public String uuid() {
+        return uuid.nextId();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return timeOrdered.nextId();
+    }
+
+    @Benchmark
+    public OrderId timeOrderedBinary() {
+        return timeOrdered.next();
+    }
+
+    @Benchmark
+    public byte[] timeOrderedBytes() {
+        return timeOrdered.next().toBytes();
+    }
+}
@@ -0,0 +1,144 @@
+package com.bank.poalim.benchmarks.serialization;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bank.poalim.inventory_service.codec.InventoryCheckResultEventSerializer;
+import com.bank.poalim.inventory_service.codec.OrderCreatedEventDeserializer;
+import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.inventory_service.model.ValidationMissingItem;
+import com.bank.poalim.notification_service.codec.InventoryCheckResultEventDeserializer;
+import com.bank.poalim.order_service.codec.EventFormat;
+import com.bank.poalim.order_service.codec.OrderCreatedEventSerializer;
+import com.bank.poalim.order_service.dto.OrderItemDto;
+import com.bank.poalim.order_service.event.OrderCreatedEvent;
+import com.bank.poalim.order_service.model.OrderItemCategory;
+
+/**
+ * Kafka value (de)serializers of the two events, in the JSON format and the compact binary one.
+ * Each event is written with the producer's serializer and read with the consumer's deserializer,
+ * which picks the format from the record headers as on the wire. The {@code Partial} variants use
+ * the streaming deserializers that read only the fields the consumers need. The trial setup prints
+ * the encoded size of each event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+
+    private static final String ORDER_CREATED_TOPIC = "order-created";
+    private static final String CHECK_RESULT_TOPIC = "inventory-check-result";
+
+    @Param({"1", "10", "50"})
+    public int itemCount;
+
+    @Param({"json", "binary"})
+    public String format;
+
+    private OrderCreatedEventSerializer orderCreatedSerializer;
+    private OrderCreatedEventDeserializer orderCreatedDeserializer;
+    private OrderCreatedEventDeserializer orderCreatedPartialDeserializer;
+    private InventoryCheckResultEventSerializer checkResultSerializer;
+    private InventoryCheckResultEventDeserializer checkResultDeserializer;
+    private InventoryCheckResultEventDeserializer checkResultPartialDeserializer;
+
+    private OrderCreatedEvent orderCreated;
+    private InventoryCheckResultEvent checkResult;
+    private Headers orderCreatedHeaders;
+    private Headers checkResultHeaders;
+    private byte[] orderCreatedBytes;
+    private byte[] checkResultBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EventFormat eventFormat = EventFormat.fromId(format);
+        orderCreatedSerializer = new OrderCreatedEventSerializer(eventFormat);
+        orderCreatedDeserializer = new OrderCreatedEventDeserializer();
+        orderCreatedPartialDeserializer = new OrderCreatedEventDeserializer(true);
+        checkResultSerializer = new InventoryCheckResultEventSerializer(
+                com.bank.poalim.inventory_service.codec.EventFormat.fromId(format));
+        checkResultDeserializer = new InventoryCheckResultEventDeserializer();
+        checkResultPartialDeserializer = new InventoryCheckResultEventDeserializer(true);
+
+        List<OrderItemDto> items = new ArrayList<>(itemCount);
+        List<ValidationMissingItem> missingItems = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            OrderItemDto item = new OrderItemDto();
+            item.setProductId("P" + (1000 + i));
+            item.setQuantity(i + 1);
+            item.setCategory(OrderItemCategory.values()[i % OrderItemCategory.values().length]);
+            items.add(item);
+            missingItems.add(new ValidationMissingItem(item.getProductId(), "Insufficient quantity. Requested: 5, Available: 2"));
+        }
+        Instant now = Instant.now();
+        orderCreated = OrderCreatedEvent.builder()
+                .orderId("01M53TWK40000001E2N0BYNW01")
+                .customerName("Alice")
+                .items(items)
+                .requestedAt(now)
+                .createdAt(now)
+                .status("PENDING")
+                .build();
+        checkResult = InventoryCheckResultEvent.builder()
+                .orderId(orderCreated.getOrderId())
+                .approved(false)
+                .missingItems(missingItems)
+                .build();
+        orderCreatedHeaders = new RecordHeaders();
+        orderCreatedBytes = orderCreatedSerializer.serialize(ORDER_CREATED_TOPIC, orderCreatedHeaders, orderCreated);
+        checkResultHeaders = new RecordHeaders();
+        checkResultBytes = checkResultSerializer.serialize(CHECK_RESULT_TOPIC, checkResultHeaders, checkResult);
+        System.out.printf("%n%s, %d item(s): OrderCreatedEvent %d bytes, InventoryCheckResultEvent %d bytes%n",
+                format, itemCount, orderCreatedBytes.length, checkResultBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderCreated() {
+        return orderCreatedSerializer.serialize(ORDER_CREATED_TOPIC, new RecordHeaders(), orderCreated);
+    }
+
+    @Benchmark
+    public com.bank.poalim.inventory_service.event.OrderCreatedEvent deserializeOrderCreated() {
+        return orderCreatedDeserializer.deserialize(ORDER_CREATED_TOPIC, orderCreatedHeaders, orderCreatedBytes);
+    }
+
+    @Benchmark
+    public com.bank.poalim.inventory_service.event.OrderCreatedEvent deserializeOrderCreatedPartial() {
+        return orderCreatedPartialDeserializer.deserialize(ORDER_CREATED_TOPIC, orderCreatedHeaders, orderCreatedBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeInventoryCheckResult() {
+        return checkResultSerializer.serialize(CHECK_RESULT_TOPIC, new RecordHeaders(), checkResult);
+    }
+
+    @Benchmark
+    public com.bank.poalim.notification_service.event.InventoryCheckResultEvent deserializeInventoryCheckResult() {
+        return checkResultDeserializer.deserialize(CHECK_RESULT_TOPIC, checkResultHeaders, checkResultBytes);
+    }
+
+    @Benchmark
+    public com.bank.poalim.notification_service.event.InventoryCheckResultEvent deserializeInventoryCheckResultPartial() {
+        return checkResultPartialDeserializer.deserialize(CHECK_RESULT_TOPIC, checkResultHeaders, checkResultBytes);
+    }
+}
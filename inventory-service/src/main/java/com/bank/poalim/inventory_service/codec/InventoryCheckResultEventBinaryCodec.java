@@ -0,0 +1,64 @@
+package com.bank.poalim.inventory_service.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.inventory_service.model.ValidationMissingItem;
+
+/**
+ * Binary layout of {@link InventoryCheckResultEvent}, schema version 1:
+ * <pre>
+ * version:u8  orderId:str  missingItems:count{productId:str reason:str}  approved:bool  eventType:str  eventTimestamp:instant
+ * </pre>
+ * Fields are written in this order without names; new fields may only be added in a new version.
+ */
+public final class InventoryCheckResultEventBinaryCodec {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    private InventoryCheckResultEventBinaryCodec() {
+    }
+
+    public static byte[] encode(InventoryCheckResultEvent event) {
+        List<ValidationMissingItem> missingItems = event.getMissingItems();
+        BinaryEventWriter writer = new BinaryEventWriter(48 + (missingItems != null ? missingItems.size() * 48 : 0))
+                .writeByte(SCHEMA_VERSION)
+                .writeString(event.getOrderId())
+                .writeCount(missingItems != null ? missingItems.size() : 0, missingItems != null);
+        if (missingItems != null) {
+            for (ValidationMissingItem item : missingItems) {
+                writer.writeString(item.getProductId())
+                        .writeString(item.getReason());
+            }
+        }
+        return writer.writeNullableBoolean(event.getApproved())
+                .writeString(event.getEventType())
+                .writeInstant(event.getEventTimestamp())
+                .toByteArray();
+    }
+
+    public static InventoryCheckResultEvent decode(byte[] data) {
+        BinaryEventReader reader = new BinaryEventReader(data);
+        int version = reader.readByte();
+        if (version != SCHEMA_VERSION) {
+            throw new SerializationException("Unsupported InventoryCheckResultEvent schema version " + version);
+        }
+        InventoryCheckResultEvent event = new InventoryCheckResultEvent();
+        event.setOrderId(reader.readString());
+        int count = reader.readCount();
+        if (count >= 0) {
+            List<ValidationMissingItem> missingItems = new ArrayList<>(Math.min(count, data.length));
+            for (int i = 0; i < count; i++) {
+                missingItems.add(new ValidationMissingItem(reader.readString(), reader.readString()));
+            }
+            event.setMissingItems(missingItems);
+        }
+        event.setApproved(reader.readNullableBoolean());
+        event.setEventType(reader.readString());
+        event.setEventTimestamp(reader.readInstant());
+        return event;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bank.poalim.inventory_service.codec;
+
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
+
+/**
+ * Writes {@link InventoryCheckResultEvent}s in the configured {@link EventFormat} and marks binary records
+ * with the format header. JSON output is exactly what {@link JsonSerializer} produced before. Every
+ * record also gets the {@link EventTypeHeader}.
+ */
+public class InventoryCheckResultEventSerializer implements Serializer<InventoryCheckResultEvent> {
+
+    private final EventFormat format;
+    private final JsonSerializer<InventoryCheckResultEvent> jsonSerializer = new JsonSerializer<>();
+
+    public InventoryCheckResultEventSerializer(EventFormat format) {
+        this.format = format;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, InventoryCheckResultEvent data) {
+        if (data == null) {
+            return null;
+        }
+        return format == EventFormat.BINARY ? InventoryCheckResultEventBinaryCodec.encode(data) : jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, InventoryCheckResultEvent data) {
+        if (data == null) {
+            return null;
+        }
+        EventTypeHeader.write(headers, data.getEventType());
+        if (format == EventFormat.BINARY) {
+            EventFormat.BINARY.writeTo(headers);
+            return InventoryCheckResultEventBinaryCodec.encode(data);
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
@@ -0,0 +1,80 @@
+package com.bank.poalim.inventory_service.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.OrderItemDto;
+
+/**
+ * Binary layout of {@link OrderCreatedEvent}, schema version 1:
+ * <pre>
+ * version:u8  orderId:str  customerName:str  items:count{productId:str quantity:int category:ordinal}
+ * requestedAt:instant  createdAt:instant  status:str  eventType:str  eventTimestamp:instant
+ * </pre>
+ * Fields are written in this order without names; new fields may only be added in a new version.
+ * Category ordinals follow {@link OrderItemCategory} and must not be reordered.
+ */
+public final class OrderCreatedEventBinaryCodec {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    private static final OrderItemCategory[] CATEGORIES = OrderItemCategory.values();
+
+    private OrderCreatedEventBinaryCodec() {
+    }
+
+    public static byte[] encode(OrderCreatedEvent event) {
+        List<OrderItemDto> items = event.getItems();
+        BinaryEventWriter writer = new BinaryEventWriter(64 + (items != null ? items.size() * 16 : 0))
+                .writeByte(SCHEMA_VERSION)
+                .writeString(event.getOrderId())
+                .writeString(event.getCustomerName())
+                .writeCount(items != null ? items.size() : 0, items != null);
+        if (items != null) {
+            for (OrderItemDto item : items) {
+                writer.writeString(item.getProductId())
+                        .writeNullableInt(item.getQuantity())
+                        .writeNullableOrdinal(item.getCategory());
+            }
+        }
+        return writer.writeInstant(event.getRequestedAt())
+                .writeInstant(event.getCreatedAt())
+                .writeString(event.getStatus())
+                .writeString(event.getEventType())
+                .writeInstant(event.getEventTimestamp())
+                .toByteArray();
+    }
+
+    public static OrderCreatedEvent decode(byte[] data) {
+        BinaryEventReader reader = new BinaryEventReader(data);
+        int version = reader.readByte();
+        if (version != SCHEMA_VERSION) {
+            throw new SerializationException("Unsupported OrderCreatedEvent schema version " + version);
+        }
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId(reader.readString());
+        event.setCustomerName(reader.readString());
+        int count = reader.readCount();
+        if (count >= 0) {
+            List<OrderItemDto> items = new ArrayList<>(Math.min(count, data.length));
+            for (int i = 0; i < count; i++) {
+                OrderItemDto item = new OrderItemDto();
+                item.setProductId(reader.readString());
+                item.setQuantity(reader.readNullableInt());
+                item.setCategory(reader.readNullableOrdinal(CATEGORIES));
+                items.add(item);
+            }
+            event.setItems(items);
+        }
+        event.setRequestedAt(reader.readInstant());
+        event.setCreatedAt(reader.readInstant());
+        event.setStatus(reader.readString());
+        event.setEventType(reader.readString());
+        event.setEventTimestamp(reader.readInstant());
+        return event;
+    }
+}
@@ -0,0 +1,63 @@
+package com.bank.poalim.inventory_service.codec;
+
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+
+/**
+ * Reads {@link OrderCreatedEvent}s in whichever {@link EventFormat} the record header announces,
+ * so JSON and binary producers can publish to the same topic during a rollout.
+ * <p>
+ * A record whose {@link EventTypeHeader} names another event type is returned as null without
+ * looking at its value. With {@code partial} set, only the fields the listener uses are read, see
+ * {@link OrderCreatedEventPartialReader}.
+ */
+public class OrderCreatedEventDeserializer implements Deserializer<OrderCreatedEvent> {
+
+    private static final byte[] EVENT_TYPE = EventTypeHeader.encode(OrderCreatedEvent.EVENT_TYPE);
+
+    private final boolean partial;
+    private final JsonDeserializer<OrderCreatedEvent> jsonDeserializer = new JsonDeserializer<>(OrderCreatedEvent.class, false);
+
+    public OrderCreatedEventDeserializer() {
+        this(false);
+    }
+
+    public OrderCreatedEventDeserializer(boolean partial) {
+        this.partial = partial;
+        jsonDeserializer.addTrustedPackages("*");
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public OrderCreatedEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return partial ? OrderCreatedEventPartialReader.readJson(data) : jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public OrderCreatedEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null || !EventTypeHeader.accepts(headers, EVENT_TYPE)) {
+            return null;
+        }
+        if (EventFormat.fromHeaders(headers) == EventFormat.BINARY) {
+            return partial ? OrderCreatedEventPartialReader.readBinary(data) : OrderCreatedEventBinaryCodec.decode(data);
+        }
+        return partial ? OrderCreatedEventPartialReader.readJson(data) : jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
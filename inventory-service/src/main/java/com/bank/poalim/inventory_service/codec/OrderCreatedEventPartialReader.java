@@ -0,0 +1,103 @@
+package com.bank.poalim.inventory_service.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.OrderItemDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads only the fields the inventory listener uses, {@code orderId} and {@code items}, and leaves the
+ * others of the returned {@link OrderCreatedEvent} null.
+ * <p>
+ * JSON is walked with a streaming parser: other fields are skipped token by token, so their strings
+ * and timestamps are never materialized. In the binary layout, {@code customerName} is stepped over
+ * and reading stops after {@code items}.
+ */
+final class OrderCreatedEventPartialReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final OrderItemCategory[] CATEGORIES = OrderItemCategory.values();
+
+    private OrderCreatedEventPartialReader() {
+    }
+
+    static OrderCreatedEvent readJson(byte[] data) {
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        try (JsonParser parser = JSON_FACTORY.createParser(data)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "orderId" -> event.setOrderId(value == JsonToken.VALUE_NULL ? null : parser.getText());
+                    case "items" -> event.setItems(value == JsonToken.VALUE_NULL ? null : readItems(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Failed to read OrderCreatedEvent", e);
+        }
+        return event;
+    }
+
+    static OrderCreatedEvent readBinary(byte[] data) {
+        BinaryEventReader reader = new BinaryEventReader(data);
+        int version = reader.readByte();
+        if (version != OrderCreatedEventBinaryCodec.SCHEMA_VERSION) {
+            throw new SerializationException("Unsupported OrderCreatedEvent schema version " + version);
+        }
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId(reader.readString());
+        reader.skipString();
+        int count = reader.readCount();
+        if (count >= 0) {
+            List<OrderItemDto> items = new ArrayList<>(Math.min(count, data.length));
+            for (int i = 0; i < count; i++) {
+                OrderItemDto item = new OrderItemDto();
+                item.setProductId(reader.readString());
+                item.setQuantity(reader.readNullableInt());
+                item.setCategory(reader.readNullableOrdinal(CATEGORIES));
+                items.add(item);
+            }
+            event.setItems(items);
+        }
+        return event;
+    }
+
+    private static List<OrderItemDto> readItems(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        List<OrderItemDto> items = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            OrderItemDto item = new OrderItemDto();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "productId" -> item.setProductId(parser.getText());
+                    case "quantity" -> item.setQuantity(parser.getValueAsInt());
+                    case "category" -> item.setCategory(OrderItemCategory.fromJson(parser.getText()));
+                    default -> parser.skipChildren();
+                }
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new SerializationException("Expected " + expected + " in OrderCreatedEvent but found " + actual);
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package com.bank.poalim.inventory_service.config;
 
+import com.bank.poalim.inventory_service.codec.OrderCreatedEventDeserializer;
+import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
 import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.event.ShardReply;
+import com.bank.poalim.inventory_service.event.ShardRequest;
+import com.bank.poalim.inventory_service.kafka.ParallelOrderEventsListener;
+import com.bank.poalim.listener_autoscaler.ListenerConcurrencyAutoscaler;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -17,29 +31,117 @@ import java.util.Map;
 @Configuration
 public class KafkaConsumerConfig {
 
+    // Listener id of the order-created container, whichever mode's listener runs in it
+    public static final String ORDER_LISTENER_ID = "order-events";
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${kafka.consumer.mode:record}")
+    private String consumerMode;
+
+    // Starting thread count; ListenerConcurrencyAutoscaler changes it at runtime when enabled
+    @Value("${kafka.consumer.concurrency:1}")
+    private int concurrency;
+
+    @Value("${kafka.consumer.parallel.max-poll-records:500}")
+    private int parallelMaxPollRecords;
+
+    // How often ParallelOrderEventsListener commits completed offsets when no records arrive
+    @Value("${kafka.consumer.parallel.idle-commit-interval-ms:200}")
+    private long parallelIdleCommitIntervalMs;
+
+    @Value("${kafka.consumer.deserialization:full}")
+    private String deserialization;
+
+    @Value("${inventory.sharding.node-id:}")
+    private String shardNodeId;
+
     @Bean
     public ConsumerFactory<String, OrderCreatedEvent> orderConsumerFactory() {
-        JsonDeserializer<OrderCreatedEvent> jsonDeserializer = new JsonDeserializer<>(OrderCreatedEvent.class, false);
-        jsonDeserializer.addTrustedPackages("*");
+        // Reads JSON and binary events, depending on the record's format header
+        OrderCreatedEventDeserializer valueDeserializer = new OrderCreatedEventDeserializer("partial".equals(deserialization));
         
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "inventory-service");
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, jsonDeserializer);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, valueDeserializer);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        if (isParallelMode()) {
+            props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, parallelMaxPollRecords);
+        }
+        if (isExactlyOnceMode()) {
+            props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        }
         
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), jsonDeserializer);
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), valueDeserializer);
     }
 
+    // Not in parallel mode: its concurrency comes from the lanes, and every resize revokes the partitions, holding
+    // the consumer while their lanes drain
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> orderKafkaListenerContainerFactory() {
+    @ConditionalOnExpression("${kafka.consumer.autoscale.enabled:false} and '${kafka.consumer.mode:record}' != 'parallel'")
+    public ListenerConcurrencyAutoscaler orderListenerAutoscaler(KafkaListenerEndpointRegistry listenerRegistry,
+            KafkaAdmin kafkaAdmin, MeterRegistry meterRegistry,
+            @Value("${kafka.topic.order-created:order-created}") String orderCreatedTopic) {
+        return new ListenerConcurrencyAutoscaler(listenerRegistry, kafkaAdmin, meterRegistry, ORDER_LISTENER_ID, orderCreatedTopic);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> orderKafkaListenerContainerFactory(
+            ObjectProvider<KafkaTransactionManager<String, InventoryCheckResultEvent>> transactionManager,
+            ObjectProvider<ParallelOrderEventsListener> parallelListener) {
         ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(orderConsumerFactory());
-        factory.setConcurrency(1);
+        factory.setConcurrency(concurrency);
+        // Parallel mode fans each poll() batch out to worker lanes, see ParallelOrderEventsListener
+        factory.setBatchListener(isParallelMode());
+        // Records of other event types come out of the deserializer as null and never reach the listener
+        factory.setRecordFilterStrategy(record -> record.value() == null);
+        if (isParallelMode()) {
+            // The listener commits each partition up to its completed records, never the whole batch on return
+            factory.getContainerProperties().setAckMode(AckMode.MANUAL);
+            factory.getContainerProperties().setIdleEventInterval(parallelIdleCommitIntervalMs);
+            factory.getContainerProperties().setConsumerRebalanceListener(parallelListener.getObject());
+        }
+        if (isExactlyOnceMode()) {
+            // The container begins a transaction per record and sends the consumed offset in it
+            factory.getContainerProperties().setKafkaAwareTransactionManager(transactionManager.getObject());
+        }
+        return factory;
+    }
+
+    // Sharded mode: each node reads only its own partition of the shard topics, see ShardMessagesListener
+    @Bean
+    @ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "sharded")
+    public ConcurrentKafkaListenerContainerFactory<String, ShardRequest> shardRequestKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ShardRequest> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(shardConsumerFactory(ShardRequest.class));
         return factory;
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "sharded")
+    public ConcurrentKafkaListenerContainerFactory<String, ShardReply> shardReplyKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ShardReply> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(shardConsumerFactory(ShardReply.class));
+        return factory;
+    }
+
+    private <T> ConsumerFactory<String, T> shardConsumerFactory(Class<T> type) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "inventory-shard-" + shardNodeId);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new JsonDeserializer<>(type, false));
+    }
+
+    private boolean isParallelMode() {
+        return "parallel".equals(consumerMode);
+    }
+
+    private boolean isExactlyOnceMode() {
+        return "exactly-once".equals(consumerMode);
+    }
 }
@@ -6,14 +6,21 @@ import java.util.Map;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
 
+import com.bank.poalim.inventory_service.codec.EventFormat;
+import com.bank.poalim.inventory_service.codec.InventoryCheckResultEventSerializer;
 import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.inventory_service.event.ProductExpiredEvent;
+import com.bank.poalim.inventory_service.event.ShardReply;
+import com.bank.poalim.inventory_service.event.ShardRequest;
 
 @Configuration
 public class KafkaProducerConfig {
@@ -21,23 +28,75 @@ public class KafkaProducerConfig {
 	@Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
     
+    // json or binary; notification-service reads both, so switch only after it is upgraded
+    @Value("${kafka.producer.event-format:json}")
+    private String eventFormat;
+    
+    // exactly-once: results are sent in a transaction that also commits the consumed offset
+    @Value("${kafka.consumer.mode:record}")
+    private String consumerMode;
+    
+    @Value("${kafka.exactly-once.transaction-id-prefix:inventory-tx-}")
+    private String transactionIdPrefix;
+    
     @Bean
     public ProducerFactory<String, InventoryCheckResultEvent> producerFactory() {
+        EventFormat format = EventFormat.fromId(eventFormat);
+        DefaultKafkaProducerFactory<String, InventoryCheckResultEvent> factory =
+                new DefaultKafkaProducerFactory<>(producerProps(), StringSerializer::new, () -> new InventoryCheckResultEventSerializer(format));
+        if ("exactly-once".equals(consumerMode)) {
+            factory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+        return factory;
+    }
+    
+    @Bean
+    public KafkaTemplate<String, InventoryCheckResultEvent> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "exactly-once")
+    public KafkaTransactionManager<String, InventoryCheckResultEvent> kafkaTransactionManager() {
+        return new KafkaTransactionManager<>(producerFactory());
+    }
+    
+    // Product events are rare, so they are always JSON
+    @Bean
+    public ProducerFactory<String, ProductExpiredEvent> productEventProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerProps(), StringSerializer::new,
+                () -> new JsonSerializer<ProductExpiredEvent>().noTypeInfo());
+    }
+    
+    @Bean
+    public KafkaTemplate<String, ProductExpiredEvent> productEventKafkaTemplate() {
+        return new KafkaTemplate<>(productEventProducerFactory());
+    }
+    
+    // Sharded mode: messages between the node coordinating an order and the nodes owning its products
+    @Bean
+    @ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "sharded")
+    public KafkaTemplate<String, ShardRequest> shardRequestKafkaTemplate() {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps(), StringSerializer::new,
+                () -> new JsonSerializer<ShardRequest>().noTypeInfo()));
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "sharded")
+    public KafkaTemplate<String, ShardReply> shardReplyKafkaTemplate() {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps(), StringSerializer::new,
+                () -> new JsonSerializer<ShardReply>().noTypeInfo()));
+    }
+    
+    private Map<String, Object> producerProps() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.LINGER_MS_CONFIG, 1);
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
-        
-        return new DefaultKafkaProducerFactory<>(configProps);
-    }
-    
-    @Bean
-    public KafkaTemplate<String, InventoryCheckResultEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        return configProps;
     }
     
 }
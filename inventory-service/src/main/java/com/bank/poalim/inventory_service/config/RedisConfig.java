@@ -0,0 +1,39 @@
+package com.bank.poalim.inventory_service.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Lua scripts of the Redis product catalog ({@code inventory.catalog.store=redis}); the catalog
+ * itself talks to Redis through the auto-configured ReactiveStringRedisTemplate.
+ */
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    public RedisScript<Long> reserveStockScript() {
+        return RedisScript.of(new ClassPathResource("scripts/reserve-stock.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisScript<Long> releaseStockScript() {
+        return RedisScript.of(new ClassPathResource("scripts/release-stock.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisScript<Long> putProductScript() {
+        return RedisScript.of(new ClassPathResource("scripts/put-product.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisScript<Long> removeProductScript() {
+        return RedisScript.of(new ClassPathResource("scripts/remove-product.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisScript<Long> expireProductScript() {
+        return RedisScript.of(new ClassPathResource("scripts/expire-product.lua"), Long.class);
+    }
+}
@@ -1,13 +1,29 @@
 package com.bank.poalim.inventory_service.controller;
 
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
 import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ProductFilter;
+import com.bank.poalim.inventory_service.model.ProductPage;
 import com.bank.poalim.inventory_service.service.ProductCatalogService;
+import com.bank.poalim.inventory_service.service.ProductExpirationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -17,11 +33,68 @@ import java.util.Optional;
 public class ProductCatalogController {
 
     private final ProductCatalogService productCatalogService;
+    private final ProductExpirationService productExpirationService;
+    private final ObjectMapper objectMapper;
 
-    @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = productCatalogService.getAllProducts();
-        log.info("Retrieved {} products from catalog", products.size());
+    @Value("${inventory.catalog.api.max-page-size:1000}")
+    private int maxPageSize;
+
+    /**
+     * Every matching product, written while the store iterates: a JSON array by default, or one
+     * product per line with {@code Accept: application/x-ndjson}. The catalog is never copied
+     * into a list.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> getAllProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer maxQuantity) {
+        ProductFilter filter = filter(category, maxQuantity);
+        boolean ndjson = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+        StreamingResponseBody body = out -> writeProducts(out, filter, ndjson);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * One page of matching products; pass {@code nextCursor} back as {@code cursor} for the next one.
+     */
+    @GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductPage> getProductPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer maxQuantity) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        ProductPage page = productCatalogService.findProducts(filter(category, maxQuantity), cursor, limit);
+        log.info("Retrieved page of {} products from catalog", page.getProducts().size());
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/by-category/{category}")
+    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category) {
+        List<Product> products = productCatalogService.findByCategory(OrderItemCategory.fromJson(category));
+        log.info("Retrieved {} {} products from catalog", products.size(), category);
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping("/expiring")
+    public ResponseEntity<List<Product>> getExpiringProducts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        List<Product> products = productCatalogService.findExpiring(start, to);
+        log.info("Retrieved {} products expiring between {} and {}", products.size(), start, to);
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<Product>> getLowStockProducts(@RequestParam int maxQuantity) {
+        List<Product> products = productCatalogService.findLowStock(maxQuantity);
+        log.info("Retrieved {} products with at most {} available", products.size(), maxQuantity);
         return ResponseEntity.ok(products);
     }
 
@@ -40,6 +113,7 @@ public class ProductCatalogController {
     @PostMapping
     public ResponseEntity<Product> addProduct(@RequestBody Product product) {
         productCatalogService.addProduct(product);
+        productExpirationService.track(product);
         log.info("Added new product: {}", product.getProductId());
         return ResponseEntity.ok(product);
     }
@@ -56,7 +130,47 @@ public class ProductCatalogController {
     @DeleteMapping("/{productId}")
     public ResponseEntity<Void> removeProduct(@PathVariable String productId) {
         productCatalogService.removeProduct(productId);
+        productExpirationService.untrack(productId);
         log.info("Removed product: {}", productId);
         return ResponseEntity.ok().build();
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        log.warn("Rejected catalog request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    private void writeProducts(OutputStream out, ProductFilter filter, boolean ndjson) throws IOException {
+        int[] count = new int[1];
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+            productCatalogService.forEachProduct(filter, product -> {
+                try {
+                    generator.writeObject(product);
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Streamed {} products from catalog", count[0]);
+    }
+
+    private static ProductFilter filter(String category, Integer maxQuantity) {
+        return ProductFilter.builder()
+                .category(OrderItemCategory.fromJson(category))
+                .maxQuantity(maxQuantity)
+                .build();
+    }
 }
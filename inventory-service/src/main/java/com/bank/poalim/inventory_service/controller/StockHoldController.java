@@ -0,0 +1,52 @@
+package com.bank.poalim.inventory_service.controller;
+
+import com.bank.poalim.inventory_service.model.StockHold;
+import com.bank.poalim.inventory_service.model.StockHoldRequest;
+import com.bank.poalim.inventory_service.service.StockHoldService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/holds")
+@RequiredArgsConstructor
+@Slf4j
+public class StockHoldController {
+
+    private final StockHoldService stockHoldService;
+
+    @PostMapping
+    public ResponseEntity<StockHold> reserve(@RequestBody StockHoldRequest request) {
+        Duration ttl = request.getTtlMs() != null ? Duration.ofMillis(request.getTtlMs()) : null;
+        Optional<StockHold> hold = stockHoldService.reserve(request.getOrderId(), request.getQuantities(), ttl);
+        return hold.map(value -> ResponseEntity.status(HttpStatus.CREATED).body(value))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    @GetMapping("/{holdId}")
+    public ResponseEntity<StockHold> getHold(@PathVariable String holdId) {
+        return ResponseEntity.of(stockHoldService.findHold(holdId));
+    }
+
+    @PostMapping("/{holdId}/commit")
+    public ResponseEntity<Void> commit(@PathVariable String holdId) {
+        return stockHoldService.commit(holdId) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+    }
+
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Void> release(@PathVariable String holdId) {
+        return stockHoldService.release(holdId) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        log.warn("Rejected hold request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+}
@@ -8,6 +8,8 @@ import java.util.List;
 
 @Data
 public class OrderCreatedEvent {
+    public static final String EVENT_TYPE = "ORDER_CREATED";
+
     private String orderId;
     private String customerName;
     private List<OrderItemDto> items;
@@ -0,0 +1,29 @@
+package com.bank.poalim.inventory_service.event;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductExpiredEvent {
+
+    public static final String EVENT_TYPE = "PRODUCT_EXPIRED";
+
+    private String productId;
+    private String name;
+    private LocalDate expirationDate;
+    // Stock that can no longer be sold
+    private Integer expiredQuantity;
+    @Builder.Default
+    private String eventType = EVENT_TYPE;
+    @Builder.Default
+    private Instant eventTimestamp = Instant.now();
+
+}
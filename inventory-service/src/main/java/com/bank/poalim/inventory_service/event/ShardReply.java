@@ -0,0 +1,30 @@
+package com.bank.poalim.inventory_service.event;
+
+import java.util.List;
+
+import com.bank.poalim.inventory_service.model.ValidationMissingItem;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A shard's verdict on the PREPARE of an order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardReply {
+
+    private String orderId;
+    // Node index of the shard that answered
+    private int shard;
+    private boolean prepared;
+    // Set when prepared and some stock is held; digital-only lines hold nothing
+    private String holdId;
+    // Set when not prepared
+    private List<ValidationMissingItem> missingItems;
+
+}
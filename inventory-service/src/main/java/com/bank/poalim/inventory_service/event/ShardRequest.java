@@ -0,0 +1,39 @@
+package com.bank.poalim.inventory_service.event;
+
+import java.util.List;
+
+import com.bank.poalim.inventory_service.model.OrderItemDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sent by the node coordinating an order to a node owning some of its products, in sharded mode.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardRequest {
+
+    public enum Phase {
+        // Validate the items and hold their stock
+        PREPARE,
+        // Keep the held stock
+        COMMIT,
+        // Give the held stock back
+        ABORT
+    }
+
+    private String orderId;
+    private Phase phase;
+    // Node index the reply goes to
+    private int coordinator;
+    // PREPARE only: the order lines whose products the receiving node owns
+    private List<OrderItemDto> items;
+    // COMMIT and ABORT only
+    private String holdId;
+
+}
@@ -0,0 +1,50 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed set of single-threaded lanes. Tasks with the same key always run on the same lane,
+ * so they execute one at a time and in submission order; tasks with different keys run in parallel.
+ */
+public class KeyedLaneExecutor implements AutoCloseable {
+
+    private final ExecutorService[] lanes;
+
+    public KeyedLaneExecutor(int laneCount, String threadNamePrefix) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("Lane count must be positive: " + laneCount);
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, threadNamePrefix + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public CompletableFuture<Void> submit(String key, Runnable task) {
+        return CompletableFuture.runAsync(task, lanes[Math.floorMod(Objects.hashCode(key), lanes.length)]);
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            lane.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import java.util.function.BooleanSupplier;
+
+import org.springframework.stereotype.Component;
+
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.metrics.PipelineMetrics;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
+import com.bank.poalim.inventory_service.model.InventoryCheckResult;
+import com.bank.poalim.inventory_service.service.InventoryValidationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Shared by the record, parallel and exactly-once listeners; handle() never throws so one bad order cannot stall a batch
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderCreatedEventHandler {
+
+    private final InventoryValidationService inventoryValidationService;
+    private final PipelineMetrics pipelineMetrics;
+
+    /**
+     * @param timestamps stages stamped upstream plus inventory-consumed; forwarded on the result event
+     */
+    public void handle(OrderCreatedEvent event, PipelineTimestamps timestamps) {
+        handle(event, timestamps, () -> false);
+    }
+    
+    /**
+     * @param abandoned checked once the order is validated; when true the stock is given back and no result is published
+     */
+    public void handle(OrderCreatedEvent event, PipelineTimestamps timestamps, BooleanSupplier abandoned) {
+        try {
+            logReceived(event);
+            // Validate order availability; approved orders reserve their stock inside validateOrder
+            InventoryCheckResult validationResult = inventoryValidationService.validateOrder(
+                    event.getOrderId(),
+                    event.getItems(),
+                    timestamps,
+                    abandoned
+            );
+            completed(event, timestamps, validationResult);
+        } catch (Exception e) {
+            log.error("Error processing order {}: {}", event.getOrderId(), e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Same as {@link #handle} but lets failures propagate, including a result that could not be sent, for
+     * listeners that roll back on them.
+     */
+    public InventoryCheckResult process(OrderCreatedEvent event, PipelineTimestamps timestamps) {
+        logReceived(event);
+        InventoryCheckResult validationResult = inventoryValidationService.validateOrderOrThrow(
+                event.getOrderId(),
+                event.getItems(),
+                timestamps
+        );
+        completed(event, timestamps, validationResult);
+        return validationResult;
+    }
+    
+    private void logReceived(OrderCreatedEvent event) {
+        log.info("Inventory received OrderCreatedEvent id={} items={} status={}",
+                event.getOrderId(),
+                event.getItems() != null ? event.getItems().size() : 0,
+                event.getStatus());
+    }
+    
+    private void completed(OrderCreatedEvent event, PipelineTimestamps timestamps, InventoryCheckResult validationResult) {
+        pipelineMetrics.recordInventoryStages(timestamps);
+        
+        if (validationResult.isApproved()) {
+            log.info("Order {} completed processing - Order approved and inventory updated", event.getOrderId());
+        } else {
+            log.warn("Order {} completed processing - Order rejected and inventory remains unchanged", event.getOrderId());
+        }
+    }
+}
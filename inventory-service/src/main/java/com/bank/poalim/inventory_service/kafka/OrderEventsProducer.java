@@ -1,8 +1,11 @@
 package com.bank.poalim.inventory_service.kafka;
 
 import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.inventory_service.metrics.PipelineStage;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
@@ -21,9 +24,17 @@ public class OrderEventsProducer {
     private String inventoryCheckResultTopic;
     
     public CompletableFuture<SendResult<String, InventoryCheckResultEvent>> publishInventoryCheckResultEvent(InventoryCheckResultEvent event) {
+        return publishInventoryCheckResultEvent(event, new PipelineTimestamps());
+    }
+    
+    // Forwards the upstream stage timestamps as headers, adding the result-produced stamp
+    public CompletableFuture<SendResult<String, InventoryCheckResultEvent>> publishInventoryCheckResultEvent(InventoryCheckResultEvent event,
+            PipelineTimestamps timestamps) {
         log.info("Publishing inventory check result event to topic '{}': {}", inventoryCheckResultTopic, event.getOrderId());
         
-        return kafkaTemplate.send(inventoryCheckResultTopic, event.getOrderId(), event)
+        ProducerRecord<String, InventoryCheckResultEvent> record = new ProducerRecord<>(inventoryCheckResultTopic, event.getOrderId(), event);
+        timestamps.stampNow(PipelineStage.RESULT_PRODUCED).writeTo(record.headers());
+        return kafkaTemplate.send(record)
                 .whenComplete((result, throwable) -> {
                     if (throwable == null) {
                         log.info("Inventory check result  event published successfully to topic '{}' with key '{}' at partition {} offset {}",
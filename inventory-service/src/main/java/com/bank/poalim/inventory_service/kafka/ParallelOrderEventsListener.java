@@ -0,0 +1,161 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import com.bank.poalim.inventory_service.config.KafkaConsumerConfig;
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.metrics.PipelineStage;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Parallel alternative to {@link OrderEventsListener}, enabled with {@code kafka.consumer.mode=parallel}.
+ * <p>
+ * Each poll() batch is spread over {@code kafka.consumer.parallel.lanes} worker lanes keyed by order id,
+ * so events of one order keep their order while different orders are validated concurrently. The listener
+ * returns as soon as the batch is queued, so the consumer keeps polling while lanes work. Offsets are
+ * committed here rather than by the container: per partition, only up to the highest record completed with
+ * nothing pending before it, so a crash re-delivers unfinished records instead of skipping them. When more
+ * than {@code kafka.consumer.parallel.max-in-flight} records are uncommitted the consumer pauses its
+ * partitions until the lanes catch up.
+ * <p>
+ * On revocation the consumer waits up to {@code kafka.consumer.parallel.revoke-drain-ms} for the partitions'
+ * queued and running records, then commits what completed. Records not done by then belong to the new owner:
+ * queued ones are skipped, and one still running gives its stock back instead of publishing a result.
+ * <p>
+ * Everything touching the {@link Consumer} runs on the consumer thread: in the listener, on idle events
+ * (which keep commits going while paused or quiet) and in the rebalance callbacks.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "parallel")
+@Slf4j
+public class ParallelOrderEventsListener implements ConsumerAwareRebalanceListener, DisposableBean {
+
+    private final OrderCreatedEventHandler orderCreatedEventHandler;
+    private final KeyedLaneExecutor lanes;
+    private final PartitionOffsetTracker offsets = new PartitionOffsetTracker();
+    private final int maxInFlight;
+    private final long revokeDrainMs;
+
+    public ParallelOrderEventsListener(OrderCreatedEventHandler orderCreatedEventHandler,
+            @Value("${kafka.consumer.parallel.lanes:16}") int laneCount,
+            @Value("${kafka.consumer.parallel.max-in-flight:2000}") int maxInFlight,
+            @Value("${kafka.consumer.parallel.revoke-drain-ms:10000}") long revokeDrainMs) {
+        this.orderCreatedEventHandler = orderCreatedEventHandler;
+        this.lanes = new KeyedLaneExecutor(laneCount, "inventory-lane-");
+        this.maxInFlight = maxInFlight;
+        this.revokeDrainMs = revokeDrainMs;
+    }
+
+    @KafkaListener(id = KafkaConsumerConfig.ORDER_LISTENER_ID, idIsGroup = false,
+            topics = "${kafka.topic.order-created:order-created}", containerFactory = "orderKafkaListenerContainerFactory")
+    public void onOrderCreatedBatch(List<ConsumerRecord<String, OrderCreatedEvent>> records, Consumer<?, ?> consumer) {
+        log.info("Inventory received batch of {} OrderCreatedEvents", records.size());
+        long consumedAt = System.currentTimeMillis();
+
+        for (ConsumerRecord<String, OrderCreatedEvent> record : records) {
+            PartitionOffsetTracker.TrackedRecord tracked = offsets.track(
+                    new TopicPartition(record.topic(), record.partition()), record.offset());
+            OrderCreatedEvent event = record.value();
+            if (event == null) {
+                tracked.complete();
+                continue;
+            }
+            String key = record.key() != null ? record.key() : event.getOrderId();
+            // Stamped at poll time, so time spent queued in a lane counts towards validation
+            PipelineTimestamps timestamps = PipelineTimestamps.fromHeaders(record.headers())
+                    .stamp(PipelineStage.INVENTORY_CONSUMED, consumedAt);
+            lanes.submit(key, () -> {
+                        if (!tracked.isRevoked()) {
+                            orderCreatedEventHandler.handle(event, timestamps, tracked::isRevoked);
+                        }
+                    })
+                    .whenComplete((ignored, error) -> tracked.complete());
+        }
+        commitAndThrottle(consumer);
+    }
+
+    @EventListener(condition = "event.listenerId.startsWith('" + KafkaConsumerConfig.ORDER_LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        commitAndThrottle(event.getConsumer());
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        awaitDrained(partitions);
+        // Whatever is still queued or running now is re-delivered to the new owner, and must not publish
+        offsets.revoke(partitions);
+        Map<TopicPartition, OffsetAndMetadata> commits = offsets.committable(partitions);
+        if (!commits.isEmpty()) {
+            consumer.commitSync(commits);
+        }
+        offsets.forget(partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        offsets.forget(partitions);
+    }
+
+    private void awaitDrained(Collection<TopicPartition> partitions) {
+        try {
+            offsets.drained(partitions).get(revokeDrainMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("{} records of {} still in flight after {} ms, leaving them to the new owner",
+                    offsets.pending(partitions), partitions, revokeDrainMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Never completed exceptionally
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void commitAndThrottle(Consumer<?, ?> consumer) {
+        Set<TopicPartition> assignment = consumer.assignment();
+        Map<TopicPartition, OffsetAndMetadata> commits = offsets.committable(assignment);
+        if (!commits.isEmpty()) {
+            consumer.commitAsync(commits, (committed, error) -> {
+                if (error != null) {
+                    log.warn("Failed to commit offsets {}: {}", committed, error.getMessage());
+                }
+            });
+        }
+
+        int pending = offsets.pending(assignment);
+        if (pending >= maxInFlight) {
+            if (!consumer.paused().containsAll(assignment)) {
+                log.info("Pausing {} with {} records in flight", assignment, pending);
+                consumer.pause(assignment);
+            }
+        } else if (pending <= maxInFlight / 2 && !consumer.paused().isEmpty()) {
+            log.info("Resuming {} with {} records in flight", consumer.paused(), pending);
+            consumer.resume(consumer.paused());
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        lanes.close();
+    }
+}
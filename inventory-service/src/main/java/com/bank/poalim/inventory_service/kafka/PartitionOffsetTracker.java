@@ -0,0 +1,166 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Offsets handed to worker lanes, per partition, in the order they were polled. Lanes complete them in any
+ * order; only the offset after the highest completed record with no pending record before it is committable,
+ * so a commit never skips a record that is still being handled.
+ * <p>
+ * Each partition also has a future that completes whenever none of its records is in flight, which a
+ * rebalance waits on before committing, and a revoked flag that records still queued check before they run.
+ */
+public class PartitionOffsetTracker {
+
+    private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a polled record. Complete the returned record once it is handled; after the partition is
+     * revoked it no longer affects what gets committed.
+     */
+    public TrackedRecord track(TopicPartition partition, long offset) {
+        PartitionOffsets offsets = partitions.computeIfAbsent(partition, p -> new PartitionOffsets());
+        offsets.track(offset);
+        return new TrackedRecord(offsets, offset);
+    }
+
+    /** Offsets to commit for the given partitions, only those that moved since the last call. */
+    public Map<TopicPartition, OffsetAndMetadata> committable(Collection<TopicPartition> assignment) {
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        for (TopicPartition partition : assignment) {
+            PartitionOffsets offsets = partitions.get(partition);
+            long next = offsets != null ? offsets.drainCommittable() : -1;
+            if (next >= 0) {
+                commits.put(partition, new OffsetAndMetadata(next));
+            }
+        }
+        return commits;
+    }
+
+    /** Records polled for the given partitions and not committable yet. */
+    public int pending(Collection<TopicPartition> assignment) {
+        int pending = 0;
+        for (TopicPartition partition : assignment) {
+            PartitionOffsets offsets = partitions.get(partition);
+            if (offsets != null) {
+                pending += offsets.pending();
+            }
+        }
+        return pending;
+    }
+
+    /** Completes once no record of the given partitions is in flight. */
+    public CompletableFuture<Void> drained(Collection<TopicPartition> assignment) {
+        return CompletableFuture.allOf(assignment.stream()
+                .map(partitions::get)
+                .filter(Objects::nonNull)
+                .map(PartitionOffsets::drained)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Hands the records of the given partitions still in flight to their next owner: completions from now on
+     * no longer move the committable offset.
+     */
+    public void revoke(Collection<TopicPartition> revoked) {
+        for (TopicPartition partition : revoked) {
+            PartitionOffsets offsets = partitions.get(partition);
+            if (offsets != null) {
+                offsets.revoke();
+            }
+        }
+    }
+
+    public void forget(Collection<TopicPartition> revoked) {
+        revoke(revoked);
+        revoked.forEach(partitions::remove);
+    }
+
+    /** A polled record handed to a lane. */
+    public static final class TrackedRecord {
+
+        private final PartitionOffsets offsets;
+        private final long offset;
+
+        private TrackedRecord(PartitionOffsets offsets, long offset) {
+            this.offsets = offsets;
+            this.offset = offset;
+        }
+
+        public void complete() {
+            offsets.complete(offset);
+        }
+
+        /** True once the partition was revoked; the record is then re-delivered to the partition's next owner. */
+        public boolean isRevoked() {
+            return offsets.revoked;
+        }
+    }
+
+    private static final class PartitionOffsets {
+
+        // Polled offset -> completed
+        private final TreeMap<Long, Boolean> inFlight = new TreeMap<>();
+        private CompletableFuture<Void> drained = CompletableFuture.completedFuture(null);
+        private long committable = -1;
+        private boolean moved;
+        private volatile boolean revoked;
+
+        synchronized void track(long offset) {
+            if (inFlight.isEmpty()) {
+                drained = new CompletableFuture<>();
+            }
+            inFlight.put(offset, Boolean.FALSE);
+        }
+
+        void complete(long offset) {
+            CompletableFuture<Void> nowDrained = null;
+            synchronized (this) {
+                if (revoked) {
+                    return;
+                }
+                inFlight.replace(offset, Boolean.TRUE);
+                while (!inFlight.isEmpty() && inFlight.firstEntry().getValue()) {
+                    committable = inFlight.pollFirstEntry().getKey() + 1;
+                    moved = true;
+                }
+                if (inFlight.isEmpty()) {
+                    nowDrained = drained;
+                }
+            }
+            // Outside the lock: the rebalance waiting on it runs on the consumer thread
+            if (nowDrained != null) {
+                nowDrained.complete(null);
+            }
+        }
+
+        synchronized void revoke() {
+            revoked = true;
+        }
+
+        synchronized CompletableFuture<Void> drained() {
+            return drained;
+        }
+
+        synchronized long drainCommittable() {
+            if (!moved) {
+                return -1;
+            }
+            moved = false;
+            return committable;
+        }
+
+        synchronized int pending() {
+            return inFlight.size();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Order ids that were already processed, for dropping redelivered and re-published events.
+ * <p>
+ * A Bloom filter sits in front of a bounded LRU set. Almost every new order misses the Bloom filter
+ * and is accepted after a few bit reads, without touching the LRU. Only a Bloom hit is checked
+ * against the LRU, so a false positive never drops an order. The Bloom filter has two generations:
+ * once the current one has taken {@code capacity} ids it becomes the previous one and a cleared
+ * filter takes its place, so the false-positive rate stays bounded however long the service runs.
+ * An id evicted from the LRU is no longer recognised.
+ */
+public class ProcessedOrderFilter {
+
+    private static final int BITS_PER_ID = 10;
+    private static final int HASHES = 7;
+
+    private final int capacity;
+    private final int bitCount;
+    private long[] current;
+    private long[] previous;
+    private int currentIds;
+    private final LinkedHashMap<String, Boolean> recent;
+
+    public ProcessedOrderFilter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.bitCount = (int) Math.min((long) capacity * BITS_PER_ID, Integer.MAX_VALUE - 63);
+        this.current = new long[(bitCount + 63) >>> 6];
+        this.previous = new long[current.length];
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > ProcessedOrderFilter.this.capacity;
+            }
+        };
+    }
+
+    public synchronized boolean isProcessed(String orderId) {
+        long hash = hash(orderId);
+        if (!contains(current, hash) && !contains(previous, hash)) {
+            return false;
+        }
+        if (recent.get(orderId) == null) {
+            return false;
+        }
+        // Recently used again: keep it in the current generation too, as long as the LRU keeps it
+        add(current, hash);
+        return true;
+    }
+
+    public synchronized void markProcessed(String orderId) {
+        if (recent.put(orderId, Boolean.TRUE) != null) {
+            return;
+        }
+        if (currentIds == capacity) {
+            long[] cleared = previous;
+            Arrays.fill(cleared, 0L);
+            previous = current;
+            current = cleared;
+            currentIds = 0;
+        }
+        add(current, hash(orderId));
+        currentIds++;
+    }
+
+    synchronized int size() {
+        return recent.size();
+    }
+
+    private void add(long[] bits, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private boolean contains(long[] bits, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars, with a final mix so both halves are usable on their own
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
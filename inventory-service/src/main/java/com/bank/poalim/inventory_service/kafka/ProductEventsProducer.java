@@ -0,0 +1,38 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import com.bank.poalim.inventory_service.codec.EventTypeHeader;
+import com.bank.poalim.inventory_service.event.ProductExpiredEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductEventsProducer {
+
+    private final KafkaTemplate<String, ProductExpiredEvent> productEventKafkaTemplate;
+
+    @Value("${kafka.topic.product-expired:product-expired}")
+    private String productExpiredTopic;
+
+    public CompletableFuture<SendResult<String, ProductExpiredEvent>> publishProductExpiredEvent(ProductExpiredEvent event) {
+        log.info("Publishing product expired event to topic '{}': {}", productExpiredTopic, event.getProductId());
+
+        ProducerRecord<String, ProductExpiredEvent> record = new ProducerRecord<>(productExpiredTopic, event.getProductId(), event);
+        EventTypeHeader.write(record.headers(), event.getEventType());
+        return productEventKafkaTemplate.send(record)
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Failed to publish product expired event to topic '{}' with key '{}'",
+                                productExpiredTopic, event.getProductId(), throwable);
+                    }
+                });
+    }
+}
@@ -0,0 +1,71 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import com.bank.poalim.inventory_service.event.ShardReply;
+import com.bank.poalim.inventory_service.event.ShardRequest;
+import com.bank.poalim.inventory_service.model.ValidationMissingItem;
+import com.bank.poalim.inventory_service.service.ShardCoordinator;
+import com.bank.poalim.inventory_service.service.ShardParticipant;
+import com.bank.poalim.inventory_service.service.ShardTopology;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Each node is assigned its own partition of both shard topics, rather than joining a group for them
+@Component
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "sharded")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardMessagesListener {
+
+    private final ShardParticipant shardParticipant;
+    private final ShardCoordinator shardCoordinator;
+    private final ShardMessagesProducer shardMessagesProducer;
+    private final ShardTopology shardTopology;
+
+    @KafkaListener(topicPartitions = @TopicPartition(topic = "${kafka.topic.shard-request:inventory-shard-request}",
+            partitions = "#{@shardTopology.localIndex()}"), containerFactory = "shardRequestKafkaListenerContainerFactory")
+    public void onShardRequest(ShardRequest request) {
+        switch (request.getPhase()) {
+            case PREPARE:
+                shardMessagesProducer.sendReply(request.getCoordinator(), prepare(request));
+                break;
+            case COMMIT:
+                shardParticipant.commit(request);
+                break;
+            case ABORT:
+                shardParticipant.abort(request);
+                break;
+        }
+    }
+
+    @KafkaListener(topicPartitions = @TopicPartition(topic = "${kafka.topic.shard-reply:inventory-shard-reply}",
+            partitions = "#{@shardTopology.localIndex()}"), containerFactory = "shardReplyKafkaListenerContainerFactory")
+    public void onShardReply(ShardReply reply) {
+        shardCoordinator.onReply(reply);
+    }
+
+    // A shard that fails still answers, so the coordinator rejects the order instead of waiting it out
+    private ShardReply prepare(ShardRequest request) {
+        try {
+            return shardParticipant.prepare(request);
+        } catch (RuntimeException e) {
+            log.error("Shard {} failed to prepare order {}: {}", shardTopology.localIndex(), request.getOrderId(), e.getMessage(), e);
+            List<ValidationMissingItem> missingItems = request.getItems() == null ? null : request.getItems().stream()
+                    .map(item -> new ValidationMissingItem(item.getProductId(), "Inventory shard failed to validate the item"))
+                    .toList();
+            return ShardReply.builder()
+                    .orderId(request.getOrderId())
+                    .shard(shardTopology.localIndex())
+                    .prepared(false)
+                    .missingItems(missingItems)
+                    .build();
+        }
+    }
+}
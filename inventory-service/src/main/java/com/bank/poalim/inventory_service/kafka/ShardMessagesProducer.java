@@ -0,0 +1,50 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import com.bank.poalim.inventory_service.event.ShardReply;
+import com.bank.poalim.inventory_service.event.ShardRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+// Partition N of both shard topics belongs to node N, so a message is addressed by its partition
+@Service
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "sharded")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardMessagesProducer {
+
+    private final KafkaTemplate<String, ShardRequest> shardRequestKafkaTemplate;
+    private final KafkaTemplate<String, ShardReply> shardReplyKafkaTemplate;
+
+    @Value("${kafka.topic.shard-request:inventory-shard-request}")
+    private String shardRequestTopic;
+
+    @Value("${kafka.topic.shard-reply:inventory-shard-reply}")
+    private String shardReplyTopic;
+
+    public CompletableFuture<SendResult<String, ShardRequest>> sendRequest(int shard, ShardRequest request) {
+        log.debug("Sending {} of order {} to shard {}", request.getPhase(), request.getOrderId(), shard);
+        return shardRequestKafkaTemplate.send(shardRequestTopic, shard, request.getOrderId(), request)
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Failed to send {} of order {} to shard {}", request.getPhase(), request.getOrderId(), shard, throwable);
+                    }
+                });
+    }
+
+    public CompletableFuture<SendResult<String, ShardReply>> sendReply(int coordinator, ShardReply reply) {
+        return shardReplyKafkaTemplate.send(shardReplyTopic, coordinator, reply.getOrderId(), reply)
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Failed to send the reply of shard {} for order {} to node {}",
+                                reply.getShard(), reply.getOrderId(), coordinator, throwable);
+                    }
+                });
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.bank.poalim.inventory_service.config.KafkaConsumerConfig;
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.metrics.PipelineMetrics;
+import com.bank.poalim.inventory_service.metrics.PipelineStage;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
+import com.bank.poalim.inventory_service.service.ShardCoordinator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sharded mode: the node that consumes an order coordinates it across the nodes owning its products,
+ * see {@link ShardCoordinator}. The offset is committed once the result is published.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "sharded")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardedOrderEventsListener {
+
+    private final ShardCoordinator shardCoordinator;
+    private final PipelineMetrics pipelineMetrics;
+
+    @KafkaListener(id = KafkaConsumerConfig.ORDER_LISTENER_ID, idIsGroup = false,
+            topics = "${kafka.topic.order-created:order-created}", containerFactory = "orderKafkaListenerContainerFactory")
+    public void onOrderCreated(ConsumerRecord<String, OrderCreatedEvent> record) {
+        OrderCreatedEvent event = record.value();
+        PipelineTimestamps timestamps = PipelineTimestamps.fromHeaders(record.headers())
+                .stampNow(PipelineStage.INVENTORY_CONSUMED);
+        try {
+            shardCoordinator.coordinate(event, timestamps);
+            pipelineMetrics.recordInventoryStages(timestamps);
+        } catch (Exception e) {
+            log.error("Error processing order {}: {}", event.getOrderId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bank.poalim.inventory_service.config.KafkaConsumerConfig;
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.metrics.PipelineStage;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
+import com.bank.poalim.inventory_service.service.InventoryValidationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exactly-once alternative to {@link OrderEventsListener}, enabled with {@code kafka.consumer.mode=exactly-once}.
+ * <p>
+ * The container runs each record in a Kafka transaction that holds both the inventory check result and
+ * the consumed offset, so a result is visible to read_committed consumers only together with the offset
+ * moving past its order. A result that cannot be sent fails the record, so the offset is not committed
+ * without it. The catalog is not part of that transaction: the stock an approved order took is given back
+ * if it rolls back, see {@link InventoryValidationService#validateOrderOrThrow}.
+ * <p>
+ * Order ids are remembered in a {@link ProcessedOrderFilter} once their transaction commits, and an
+ * order id seen again, such as a duplicate published by the order-service outbox relay, is dropped
+ * without being validated; its offset is still committed.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "exactly-once")
+@Slf4j
+public class TransactionalOrderEventsListener {
+
+    private final OrderCreatedEventHandler orderCreatedEventHandler;
+    private final ProcessedOrderFilter processedOrders;
+
+    public TransactionalOrderEventsListener(OrderCreatedEventHandler orderCreatedEventHandler,
+            @Value("${kafka.exactly-once.dedup-capacity:100000}") int dedupCapacity) {
+        this.orderCreatedEventHandler = orderCreatedEventHandler;
+        this.processedOrders = new ProcessedOrderFilter(dedupCapacity);
+    }
+
+    @KafkaListener(id = KafkaConsumerConfig.ORDER_LISTENER_ID, idIsGroup = false,
+            topics = "${kafka.topic.order-created:order-created}", containerFactory = "orderKafkaListenerContainerFactory")
+    public void onOrderCreated(ConsumerRecord<String, OrderCreatedEvent> record) {
+        OrderCreatedEvent event = record.value();
+        String orderId = event.getOrderId();
+        if (orderId != null && processedOrders.isProcessed(orderId)) {
+            log.info("Dropping duplicate OrderCreatedEvent id={} at {}-{}@{}", orderId, record.topic(), record.partition(), record.offset());
+            return;
+        }
+        PipelineTimestamps timestamps = PipelineTimestamps.fromHeaders(record.headers())
+                .stampNow(PipelineStage.INVENTORY_CONSUMED);
+        // Throws on failure, so the transaction rolls back and the record is redelivered
+        orderCreatedEventHandler.process(event, timestamps);
+        markProcessedOnCommit(orderId);
+    }
+
+    private void markProcessedOnCommit(String orderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markProcessed(orderId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    markProcessed(orderId);
+                }
+            }
+        });
+    }
+
+    private void markProcessed(String orderId) {
+        if (orderId != null) {
+            processedOrders.markProcessed(orderId);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.poalim.inventory_service.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records the inventory-service hops in the {@code order.pipeline.stage} timer, tagged {@code from} and
+ * {@code to}, with a percentile histogram for the actuator metrics endpoint.
+ * <p>
+ * {@code produced} is stamped by order-service on another host; a negative duration means the clocks
+ * disagree and is dropped rather than recorded as zero.
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    public static final String TIMER_NAME = "order.pipeline.stage";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public void record(PipelineTimestamps timestamps, PipelineStage from, PipelineStage to) {
+        Long start = timestamps.get(from);
+        Long end = timestamps.get(to);
+        if (start == null || end == null || end < start) {
+            return;
+        }
+        timer(from, to).record(end - start, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records the hop from order-service into inventory-service and the two inventory hops.
+     */
+    public void recordInventoryStages(PipelineTimestamps timestamps) {
+        record(timestamps, PipelineStage.PRODUCED, PipelineStage.INVENTORY_CONSUMED);
+        record(timestamps, PipelineStage.INVENTORY_CONSUMED, PipelineStage.VALIDATED);
+        record(timestamps, PipelineStage.VALIDATED, PipelineStage.RESULT_PRODUCED);
+    }
+
+    private Timer timer(PipelineStage from, PipelineStage to) {
+        return timers.computeIfAbsent(from.id() + '>' + to.id(), key -> Timer.builder(TIMER_NAME)
+                .description("Time an order takes between two pipeline stages")
+                .tag("from", from.id())
+                .tag("to", to.id())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.poalim.inventory_service.metrics;
+
+/**
+ * Stages inventory-service reads from order-created headers ({@code ACCEPTED}, {@code PRODUCED}) or stamps
+ * itself, and forwards on the inventory result. Ids must match the {@code x-stage-<id>} headers the other
+ * services read and write.
+ */
+public enum PipelineStage {
+
+    ACCEPTED("accepted"),
+    PRODUCED("produced"),
+    INVENTORY_CONSUMED("inventory-consumed"),
+    VALIDATED("validated"),
+    RESULT_PRODUCED("result-produced");
+
+    public static final String HEADER_PREFIX = "x-stage-";
+
+    private final String id;
+    private final String header;
+
+    PipelineStage(String id) {
+        this.id = id;
+        this.header = HEADER_PREFIX + id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String header() {
+        return header;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bank.poalim.inventory_service.metrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Epoch-millisecond timestamps of an order's {@link PipelineStage}s: read from the order-created record's
+ * {@code x-stage-*} headers, extended while the order is validated and written onto the inventory result.
+ */
+public class PipelineTimestamps {
+
+    private final Map<PipelineStage, Long> stamps = new EnumMap<>(PipelineStage.class);
+
+    public static PipelineTimestamps fromHeaders(Headers headers) {
+        PipelineTimestamps timestamps = new PipelineTimestamps();
+        for (PipelineStage stage : PipelineStage.values()) {
+            Header header = headers.lastHeader(stage.header());
+            if (header != null) {
+                try {
+                    timestamps.stamp(stage, Long.parseLong(new String(header.value(), StandardCharsets.US_ASCII)));
+                } catch (NumberFormatException e) {
+                    // A malformed stamp only costs us that measurement
+                }
+            }
+        }
+        return timestamps;
+    }
+
+    public PipelineTimestamps stamp(PipelineStage stage, long epochMillis) {
+        stamps.put(stage, epochMillis);
+        return this;
+    }
+
+    public PipelineTimestamps stampNow(PipelineStage stage) {
+        return stamp(stage, System.currentTimeMillis());
+    }
+
+    /**
+     * @return the epoch millisecond the stage was reached, or null if it was not stamped
+     */
+    public Long get(PipelineStage stage) {
+        return stamps.get(stage);
+    }
+
+    public void writeTo(Headers headers) {
+        stamps.forEach((stage, millis) -> {
+            headers.remove(stage.header());
+            headers.add(stage.header(), Long.toString(millis).getBytes(StandardCharsets.US_ASCII));
+        });
+    }
+}
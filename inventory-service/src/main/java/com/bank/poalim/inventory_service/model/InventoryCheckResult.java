@@ -3,12 +3,14 @@ package com.bank.poalim.inventory_service.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class InventoryCheckResult {
@@ -16,6 +18,24 @@ public class InventoryCheckResult {
     private boolean approved;
     private List<ValidationIssue> issues;
     private List<ValidatedItem> validatedItems;
+    // Set by validation; issues and validatedItems are built from it on first access
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private ValidationLines lines;
+    
+    public List<ValidationIssue> getIssues() {
+        if (issues == null && lines != null) {
+            issues = lines.toIssues();
+        }
+        return issues;
+    }
+    
+    public List<ValidatedItem> getValidatedItems() {
+        if (validatedItems == null && lines != null) {
+            validatedItems = lines.toValidatedItems();
+        }
+        return validatedItems;
+    }
     
     @Data
     @Builder
@@ -28,7 +48,7 @@ public class InventoryCheckResult {
     }
     
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class ValidatedItem {
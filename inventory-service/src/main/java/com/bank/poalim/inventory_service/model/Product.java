@@ -1,5 +1,7 @@
 package com.bank.poalim.inventory_service.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,7 +10,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
@@ -18,4 +20,7 @@ public class Product {
     private Integer availableQuantity;
     private LocalDate expirationDate; // null for non-perishable items
     private boolean active;
+    // Set by ProductExpirationService once expirationDate is reached; clients cannot set it
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private boolean expired;
 }
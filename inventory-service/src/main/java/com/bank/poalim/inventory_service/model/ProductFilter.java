@@ -0,0 +1,33 @@
+package com.bank.poalim.inventory_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Catalog listing filter; a null field matches every product.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilter {
+
+    private OrderItemCategory category;
+    private Integer maxQuantity; // low stock: available quantity at most this
+
+    public static ProductFilter all() {
+        return new ProductFilter();
+    }
+
+    public boolean matches(OrderItemCategory productCategory, int availableQuantity) {
+        return (category == null || category == productCategory)
+                && (maxQuantity == null || availableQuantity <= maxQuantity);
+    }
+
+    public boolean matches(Product product) {
+        int quantity = product.getAvailableQuantity() != null ? product.getAvailableQuantity() : 0;
+        return matches(product.getCategory(), quantity);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bank.poalim.inventory_service.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a catalog listing. {@code nextCursor} is opaque and null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPage {
+    private List<Product> products;
+    private String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.bank.poalim.inventory_service.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stock taken from the catalog for a limited time, until it is committed or released.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHold {
+    private String holdId;
+    private String orderId; // optional, for tracing
+    private Map<String, Integer> quantities;
+    private Instant expiresAt;
+}
@@ -0,0 +1,18 @@
+package com.bank.poalim.inventory_service.model;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHoldRequest {
+    private String orderId;
+    private Map<String, Integer> quantities;
+    private Long ttlMs; // null for inventory.holds.default-ttl-ms
+}
@@ -0,0 +1,79 @@
+package com.bank.poalim.inventory_service.model;
+
+/**
+ * What order validation needs to know about a list of products, in flat primitive arrays.
+ * <p>
+ * An entry is two ints: the available quantity and flags (category code, in catalog, active, expired,
+ * has an expiration date). Entries follow the product ids given to
+ * {@link com.bank.poalim.inventory_service.service.ProductCatalogService#readStock}, so no
+ * {@link Product}, boxed quantity or date is built to validate an order.
+ */
+public final class StockLevels {
+
+    private static final int CATEGORY_MASK = 0xff;
+    private static final int FOUND = 1 << 8;
+    private static final int ACTIVE = 1 << 9;
+    private static final int EXPIRED = 1 << 10;
+    private static final int EXPIRES = 1 << 11;
+    private static final OrderItemCategory[] CATEGORIES = OrderItemCategory.values();
+
+    private final int[] quantities;
+    private final int[] flags;
+    private int size;
+
+    public StockLevels(int capacity) {
+        this.quantities = new int[capacity];
+        this.flags = new int[capacity];
+    }
+
+    /**
+     * @param category null if the product has none
+     */
+    public void add(int availableQuantity, OrderItemCategory category, boolean active, boolean expired, boolean expires) {
+        int entry = size++;
+        quantities[entry] = availableQuantity;
+        flags[entry] = (category != null ? category.ordinal() + 1 : 0) | FOUND
+                | (active ? ACTIVE : 0) | (expired ? EXPIRED : 0) | (expires ? EXPIRES : 0);
+    }
+
+    public void addMissing() {
+        size++;
+    }
+
+    /**
+     * Adds {@code product} with {@code availableQuantity}, for stores that keep {@link Product} objects.
+     */
+    public void add(Product product, int availableQuantity) {
+        add(availableQuantity, product.getCategory(), product.isActive(), product.isExpired(),
+                product.getExpirationDate() != null);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFound(int entry) {
+        return (flags[entry] & FOUND) != 0;
+    }
+
+    public int availableQuantity(int entry) {
+        return quantities[entry];
+    }
+
+    public OrderItemCategory category(int entry) {
+        int code = flags[entry] & CATEGORY_MASK;
+        return code == 0 ? null : CATEGORIES[code - 1];
+    }
+
+    public boolean isActive(int entry) {
+        return (flags[entry] & ACTIVE) != 0;
+    }
+
+    public boolean isExpired(int entry) {
+        return (flags[entry] & EXPIRED) != 0;
+    }
+
+    public boolean hasExpirationDate(int entry) {
+        return (flags[entry] & EXPIRES) != 0;
+    }
+}
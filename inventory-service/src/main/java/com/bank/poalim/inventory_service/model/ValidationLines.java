@@ -0,0 +1,171 @@
+package com.bank.poalim.inventory_service.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Validation outcome of an order, one entry per order line, in flat primitive arrays.
+ * <p>
+ * A line is three ints: requested quantity, available quantity and flags (category code, available
+ * bit). An issue is four ints: the line it concerns, its {@link ValidationReason} code and the two
+ * quantities its message reports. Issue storage is allocated on the first issue, so an approved
+ * order costs the product id array and one int array. {@link InventoryCheckResult} turns these into
+ * {@link InventoryCheckResult.ValidatedItem} and {@link InventoryCheckResult.ValidationIssue}
+ * objects only when asked for them.
+ */
+public final class ValidationLines {
+
+    private static final int LINE_STRIDE = 3;
+    private static final int ISSUE_STRIDE = 4;
+    private static final int AVAILABLE = 1 << 8;
+    private static final int CATEGORY_MASK = 0xff;
+    private static final OrderItemCategory[] CATEGORIES = OrderItemCategory.values();
+
+    private final String[] productIds;
+    private final int[] lines;
+    private int size;
+    private int[] issues;
+    private int issueCount;
+
+    public ValidationLines(int capacity) {
+        this.productIds = new String[capacity];
+        this.lines = new int[capacity * LINE_STRIDE];
+    }
+
+    /**
+     * @param category null for a product that is not in the catalog
+     * @return the index of the line
+     */
+    public int addLine(String productId, int requestedQuantity, int availableQuantity, OrderItemCategory category, boolean available) {
+        int line = size++;
+        productIds[line] = productId;
+        int base = line * LINE_STRIDE;
+        lines[base] = requestedQuantity;
+        lines[base + 1] = availableQuantity;
+        lines[base + 2] = (category != null ? category.ordinal() + 1 : 0) | (available ? AVAILABLE : 0);
+        return line;
+    }
+
+    public void updateAvailability(int line, int availableQuantity, boolean available) {
+        int base = line * LINE_STRIDE;
+        lines[base + 1] = availableQuantity;
+        lines[base + 2] = (lines[base + 2] & CATEGORY_MASK) | (available ? AVAILABLE : 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String productId(int line) {
+        return productIds[line];
+    }
+
+    public int requestedQuantity(int line) {
+        return lines[line * LINE_STRIDE];
+    }
+
+    public int availableQuantity(int line) {
+        return lines[line * LINE_STRIDE + 1];
+    }
+
+    public OrderItemCategory category(int line) {
+        int code = lines[line * LINE_STRIDE + 2] & CATEGORY_MASK;
+        return code == 0 ? null : CATEGORIES[code - 1];
+    }
+
+    public boolean isAvailable(int line) {
+        return (lines[line * LINE_STRIDE + 2] & AVAILABLE) != 0;
+    }
+
+    /**
+     * Records an issue for {@code line}; {@code requestedQuantity} and {@code availableQuantity} are
+     * what the message reports, which for a product on several lines is its total.
+     */
+    public void addIssue(int line, ValidationReason reason, int requestedQuantity, int availableQuantity) {
+        if (issues == null) {
+            issues = new int[Math.max(size, 1) * ISSUE_STRIDE];
+        } else if (issueCount * ISSUE_STRIDE == issues.length) {
+            issues = Arrays.copyOf(issues, issues.length * 2);
+        }
+        int base = issueCount++ * ISSUE_STRIDE;
+        issues[base] = line;
+        issues[base + 1] = reason.code();
+        issues[base + 2] = requestedQuantity;
+        issues[base + 3] = availableQuantity;
+    }
+
+    public void clearIssues() {
+        issueCount = 0;
+    }
+
+    public int issueCount() {
+        return issueCount;
+    }
+
+    public String issueProductId(int issue) {
+        return productIds[issues[issue * ISSUE_STRIDE]];
+    }
+
+    public ValidationReason issueReason(int issue) {
+        return ValidationReason.fromCode((byte) issues[issue * ISSUE_STRIDE + 1]);
+    }
+
+    public int issueRequestedQuantity(int issue) {
+        return issues[issue * ISSUE_STRIDE + 2];
+    }
+
+    public int issueAvailableQuantity(int issue) {
+        return issues[issue * ISSUE_STRIDE + 3];
+    }
+
+    public String renderIssueReason(int issue) {
+        return issueReason(issue).render(issueRequestedQuantity(issue), issueAvailableQuantity(issue));
+    }
+
+    public List<InventoryCheckResult.ValidatedItem> toValidatedItems() {
+        List<InventoryCheckResult.ValidatedItem> items = new ArrayList<>(size);
+        for (int line = 0; line < size; line++) {
+            items.add(InventoryCheckResult.ValidatedItem.builder()
+                    .productId(productId(line))
+                    .requestedQuantity(requestedQuantity(line))
+                    .availableQuantity(availableQuantity(line))
+                    .category(category(line))
+                    .available(isAvailable(line))
+                    .build());
+        }
+        return items;
+    }
+
+    public List<InventoryCheckResult.ValidationIssue> toIssues() {
+        if (issueCount == 0) {
+            return new ArrayList<>();
+        }
+        List<InventoryCheckResult.ValidationIssue> result = new ArrayList<>(issueCount);
+        for (int issue = 0; issue < issueCount; issue++) {
+            result.add(InventoryCheckResult.ValidationIssue.builder()
+                    .productId(issueProductId(issue))
+                    .reason(renderIssueReason(issue))
+                    .type(issueReason(issue).type())
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * @return the missing items of the result event, with messages rendered on serialization;
+     *         empty when there are no issues
+     */
+    public List<ValidationMissingItem> toMissingItems() {
+        if (issueCount == 0) {
+            return Collections.emptyList();
+        }
+        List<ValidationMissingItem> missingItems = new ArrayList<>(issueCount);
+        for (int issue = 0; issue < issueCount; issue++) {
+            missingItems.add(ValidationMissingItem.of(issueProductId(issue), issueReason(issue),
+                    issueRequestedQuantity(issue), issueAvailableQuantity(issue)));
+        }
+        return missingItems;
+    }
+}
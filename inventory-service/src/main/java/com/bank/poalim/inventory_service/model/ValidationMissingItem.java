@@ -1,11 +1,53 @@
 package com.bank.poalim.inventory_service.model;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
-@AllArgsConstructor
+@NoArgsConstructor
 public class ValidationMissingItem {
 	private String productId;
     private String reason;
+
+    // Set instead of reason by validation; the message is rendered by getReason()
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private ValidationReason reasonCode;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int requestedQuantity;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int availableQuantity;
+
+    public ValidationMissingItem(String productId, String reason) {
+        this.productId = productId;
+        this.reason = reason;
+    }
+
+    public static ValidationMissingItem of(String productId, ValidationReason reason, int requestedQuantity, int availableQuantity) {
+        ValidationMissingItem item = new ValidationMissingItem(productId, null);
+        item.reasonCode = reason;
+        item.requestedQuantity = requestedQuantity;
+        item.availableQuantity = availableQuantity;
+        return item;
+    }
+
+    public String getReason() {
+        if (reason == null && reasonCode != null) {
+            return reasonCode.render(requestedQuantity, availableQuantity);
+        }
+        return reason;
+    }
 }
@@ -0,0 +1,71 @@
+package com.bank.poalim.inventory_service.model;
+
+/**
+ * Why an order line was rejected. Validation keeps only the code and the quantities; the message
+ * is rendered when the result is serialized or logged.
+ */
+public enum ValidationReason {
+
+    PRODUCT_NOT_FOUND(InventoryCheckResult.ValidationIssueType.PRODUCT_NOT_FOUND),
+    INSUFFICIENT_QUANTITY(InventoryCheckResult.ValidationIssueType.INSUFFICIENT_QUANTITY),
+    PERISHABLE_UNAVAILABLE(InventoryCheckResult.ValidationIssueType.EXPIRED_PRODUCT),
+    DIGITAL_UNAVAILABLE(InventoryCheckResult.ValidationIssueType.PRODUCT_INACTIVE),
+    INVALID_CATEGORY(InventoryCheckResult.ValidationIssueType.INVALID_CATEGORY),
+    CONCURRENT_RESERVATION(InventoryCheckResult.ValidationIssueType.INSUFFICIENT_QUANTITY);
+
+    private static final ValidationReason[] VALUES = values();
+
+    private final InventoryCheckResult.ValidationIssueType type;
+
+    ValidationReason(InventoryCheckResult.ValidationIssueType type) {
+        this.type = type;
+    }
+
+    public InventoryCheckResult.ValidationIssueType type() {
+        return type;
+    }
+
+    public String render(int requestedQuantity, int availableQuantity) {
+        switch (this) {
+            case PRODUCT_NOT_FOUND:
+                return "Product not found in catalog";
+            case INSUFFICIENT_QUANTITY:
+                return "Insufficient quantity. Requested: " + requestedQuantity + ", Available: " + availableQuantity;
+            case PERISHABLE_UNAVAILABLE:
+                return "Product expired or insufficient quantity";
+            case DIGITAL_UNAVAILABLE:
+                return "Digital product unavailable (should not happen)";
+            case CONCURRENT_RESERVATION:
+                return "Stock reserved by a concurrent order";
+            default:
+                return "Invalid category";
+        }
+    }
+
+    /**
+     * The reason an unavailable line of {@code category} is reported with; null means not found.
+     */
+    public static ValidationReason forCategory(OrderItemCategory category) {
+        if (category == null) {
+            return PRODUCT_NOT_FOUND;
+        }
+        switch (category) {
+            case STANDARD:
+                return INSUFFICIENT_QUANTITY;
+            case PERISHABLE:
+                return PERISHABLE_UNAVAILABLE;
+            case DIGITAL:
+                return DIGITAL_UNAVAILABLE;
+            default:
+                return INVALID_CATEGORY;
+        }
+    }
+
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    public static ValidationReason fromCode(byte code) {
+        return VALUES[code];
+    }
+}
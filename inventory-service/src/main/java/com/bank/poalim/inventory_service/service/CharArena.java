@@ -0,0 +1,86 @@
+package com.bank.poalim.inventory_service.service;
+
+/**
+ * Append-only store for the catalog's strings, packed into large {@code char[]} chunks.
+ * <p>
+ * A string is addressed by a {@code long} reference (chunk, offset, length), so millions of
+ * product ids and names cost a handful of arrays instead of one {@code String} each. Chunks never
+ * move once written, which lets readers resolve references without locking. Appends must be
+ * serialized by the caller, and a reference must be published to readers with release semantics
+ * after {@link #append} returns. Space taken by strings that are no longer referenced is not
+ * reclaimed.
+ */
+final class CharArena {
+
+    static final long NONE = -1L;
+
+    private static final int CHUNK_BITS = 20;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final long FIELD_MASK = CHUNK_SIZE - 1;
+
+    private volatile char[][] chunks = new char[0][];
+    private int position = CHUNK_SIZE;
+
+    long append(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        int length = value.length();
+        if (length >= CHUNK_SIZE) {
+            throw new IllegalArgumentException("String of " + length + " chars does not fit in the catalog arena");
+        }
+        char[][] current = chunks;
+        if (position + length > CHUNK_SIZE) {
+            char[][] grown = new char[current.length + 1][];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            grown[current.length] = new char[CHUNK_SIZE];
+            chunks = current = grown;
+            position = 0;
+        }
+        int chunk = current.length - 1;
+        int offset = position;
+        value.getChars(0, length, current[chunk], offset);
+        position += length;
+        return ((long) chunk << (2 * CHUNK_BITS)) | ((long) offset << CHUNK_BITS) | length;
+    }
+
+    String read(long ref) {
+        if (ref == NONE) {
+            return null;
+        }
+        return new String(chunks[chunk(ref)], offset(ref), length(ref));
+    }
+
+    /**
+     * Compares the stored string with {@code value} without copying either.
+     */
+    boolean matches(long ref, String value) {
+        if (ref == NONE) {
+            return value == null;
+        }
+        int length = length(ref);
+        if (value == null || value.length() != length) {
+            return false;
+        }
+        char[] chunk = chunks[chunk(ref)];
+        int offset = offset(ref);
+        for (int i = 0; i < length; i++) {
+            if (chunk[offset + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int chunk(long ref) {
+        return (int) (ref >>> (2 * CHUNK_BITS));
+    }
+
+    private static int offset(long ref) {
+        return (int) ((ref >>> CHUNK_BITS) & FIELD_MASK);
+    }
+
+    private static int length(long ref) {
+        return (int) (ref & FIELD_MASK);
+    }
+}
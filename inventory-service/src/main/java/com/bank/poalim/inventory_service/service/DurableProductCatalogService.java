@@ -0,0 +1,287 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ProductFilter;
+import com.bank.poalim.inventory_service.model.ProductPage;
+import com.bank.poalim.inventory_service.model.StockLevels;
+import com.bank.poalim.inventory_service.store.CatalogRecords;
+import com.bank.poalim.inventory_service.store.CatalogSnapshot;
+import com.bank.poalim.inventory_service.store.CatalogWal;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link PrimitiveProductCatalogService} made durable with a write-ahead log and periodic snapshots.
+ * <p>
+ * Every change is applied in memory and appended to the {@link CatalogWal}. With
+ * {@code sync-writes} on, the call then waits for the group commit that puts it on disk.
+ * Reservations and releases hold a shared lock while they apply and append, because their deltas
+ * commute and can be replayed in any order. Absolute changes (add, remove, set quantity) and
+ * snapshots hold it exclusively.
+ * <p>
+ * A snapshot takes the exclusive lock only long enough to roll the WAL to a new file and copy the
+ * quantity column. It then writes the products to a memory-mapped {@link CatalogSnapshot}, with
+ * only add, remove and set quantity held back, and deletes the WAL files it covers. On startup the
+ * newest snapshot is loaded and the WAL after it replayed. Sample data is seeded only when there
+ * is neither.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.catalog.store", havingValue = "durable")
+@Slf4j
+public class DurableProductCatalogService implements ProductCatalogService, AutoCloseable {
+
+    private final Path directory;
+    private final boolean syncWrites;
+    private final PrimitiveProductCatalogService catalog;
+    private final CatalogWal wal;
+    private final StampedLock changeLock = new StampedLock();
+    private final Object structureLock = new Object();
+    private final ScheduledExecutorService snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long snapshotLsn;
+
+    public DurableProductCatalogService(
+            @Value("${inventory.catalog.durable.directory:data/catalog}") String directory,
+            @Value("${inventory.catalog.durable.sync-writes:true}") boolean syncWrites,
+            @Value("${inventory.catalog.durable.snapshot-interval-ms:60000}") long snapshotIntervalMs,
+            @Value("${inventory.catalog.primitive.expected-products:1024}") int expectedProducts) throws IOException {
+        this.directory = Path.of(directory);
+        this.syncWrites = syncWrites;
+        this.catalog = PrimitiveProductCatalogService.empty(expectedProducts);
+
+        long started = System.nanoTime();
+        long loadedLsn = CatalogSnapshot.loadLatest(this.directory, catalog::addProduct);
+        snapshotLsn = Math.max(loadedLsn, 0L);
+        CatalogRecords.Handler replay = replayHandler();
+        long[] replayed = new long[1];
+        long nextLsn = CatalogWal.replay(this.directory, snapshotLsn, record -> {
+            CatalogRecords.apply(record, replay);
+            replayed[0]++;
+        });
+        log.info("Recovered {} products from {} in {} ms (snapshot LSN {}, {} WAL records replayed)",
+                catalog.slotCount(), directory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                loadedLsn, replayed[0]);
+
+        this.wal = new CatalogWal(this.directory, nextLsn);
+        if (loadedLsn < 0 && nextLsn == 0) {
+            SampleProducts.create().forEach(this::addProduct);
+            log.info("Initialized durable product catalog with {} products", catalog.slotCount());
+        }
+        if (snapshotIntervalMs > 0) {
+            snapshots.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMs, snapshotIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Optional<Product> findProduct(String productId) {
+        return catalog.findProduct(productId);
+    }
+
+    @Override
+    public StockLevels readStock(List<String> productIds) {
+        return catalog.readStock(productIds);
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        return catalog.getAllProducts();
+    }
+
+    @Override
+    public ProductPage findProducts(ProductFilter filter, String cursor, int limit) {
+        return catalog.findProducts(filter, cursor, limit);
+    }
+
+    @Override
+    public void forEachProduct(ProductFilter filter, Consumer<Product> action) {
+        catalog.forEachProduct(filter, action);
+    }
+
+    @Override
+    public void updateProductQuantity(String productId, int newQuantity) {
+        long lsn = 0;
+        synchronized (structureLock) {
+            long stamp = changeLock.writeLock();
+            try {
+                if (catalog.findProduct(productId).isPresent()) {
+                    int quantity = Math.max(newQuantity, 0);
+                    catalog.updateProductQuantity(productId, quantity);
+                    lsn = wal.append(CatalogRecords.setQuantity(productId, quantity));
+                } else {
+                    log.warn("Attempted to update quantity for non-existent product: {}", productId);
+                }
+            } finally {
+                changeLock.unlockWrite(stamp);
+            }
+        }
+        awaitDurable(lsn);
+    }
+
+    @Override
+    public void addProduct(Product product) {
+        long lsn;
+        synchronized (structureLock) {
+            long stamp = changeLock.writeLock();
+            try {
+                catalog.addProduct(product);
+                lsn = wal.append(CatalogRecords.put(product));
+            } finally {
+                changeLock.unlockWrite(stamp);
+            }
+        }
+        awaitDurable(lsn);
+    }
+
+    @Override
+    public void removeProduct(String productId) {
+        long lsn = 0;
+        synchronized (structureLock) {
+            long stamp = changeLock.writeLock();
+            try {
+                if (catalog.findProduct(productId).isPresent()) {
+                    catalog.removeProduct(productId);
+                    lsn = wal.append(CatalogRecords.remove(productId));
+                } else {
+                    log.warn("Attempted to remove non-existent product: {}", productId);
+                }
+            } finally {
+                changeLock.unlockWrite(stamp);
+            }
+        }
+        awaitDurable(lsn);
+    }
+
+    // Not logged: ProductExpirationService marks every due product again on startup
+    @Override
+    public void markExpired(String productId) {
+        catalog.markExpired(productId);
+    }
+
+    @Override
+    public boolean reserveStock(Map<String, Integer> quantities) {
+        long lsn = 0;
+        long stamp = changeLock.readLock();
+        try {
+            if (!catalog.reserveStock(quantities)) {
+                return false;
+            }
+            lsn = wal.append(CatalogRecords.adjustQuantities(quantities, -1));
+        } finally {
+            changeLock.unlockRead(stamp);
+        }
+        awaitDurable(lsn);
+        return true;
+    }
+
+    @Override
+    public void releaseStock(Map<String, Integer> quantities) {
+        long lsn;
+        long stamp = changeLock.readLock();
+        try {
+            catalog.releaseStock(quantities);
+            lsn = wal.append(CatalogRecords.adjustQuantities(quantities, 1));
+        } finally {
+            changeLock.unlockRead(stamp);
+        }
+        awaitDurable(lsn);
+    }
+
+    /**
+     * Writes a snapshot of the current catalog and drops the WAL files it covers.
+     */
+    public void snapshot() throws IOException {
+        synchronized (structureLock) {
+            long lsn;
+            int slotCount;
+            int[] quantities;
+            long stamp = changeLock.writeLock();
+            try {
+                if (wal.nextLsn() == snapshotLsn) {
+                    return;
+                }
+                lsn = wal.roll();
+                slotCount = catalog.slotCount();
+                quantities = catalog.copyQuantities(slotCount);
+            } finally {
+                changeLock.unlockWrite(stamp);
+            }
+
+            try (CatalogSnapshot.Writer writer = CatalogSnapshot.create(directory, lsn)) {
+                for (int slot = 0; slot < slotCount; slot++) {
+                    Product product = catalog.productAt(slot);
+                    if (product != null) {
+                        product.setAvailableQuantity(quantities[slot]);
+                        writer.add(product);
+                    }
+                }
+                writer.commit();
+            }
+            snapshotLsn = lsn;
+            wal.deleteBefore(lsn);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshots.shutdownNow();
+        snapshot();
+        wal.close();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.error("Failed to write catalog snapshot", e);
+        }
+    }
+
+    private void awaitDurable(long lsn) {
+        if (syncWrites && lsn > 0) {
+            wal.awaitDurable(lsn);
+        }
+    }
+
+    private CatalogRecords.Handler replayHandler() {
+        return new CatalogRecords.Handler() {
+            @Override
+            public void put(Product product) {
+                catalog.addProduct(product);
+            }
+
+            @Override
+            public void remove(String productId) {
+                catalog.removeProduct(productId);
+            }
+
+            @Override
+            public void setQuantity(String productId, int quantity) {
+                catalog.updateProductQuantity(productId, quantity);
+            }
+
+            @Override
+            public void adjustQuantity(String productId, int delta) {
+                catalog.adjustQuantity(productId, delta);
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel of product expirations.
+ * <p>
+ * Time is cut into ticks of {@code tickMillis}; a product due at tick {@code t} sits in slot
+ * {@code t % wheelSize}. Advancing the wheel visits only the slots of the ticks that passed, and
+ * fires the entries of those slots whose deadline has been reached; entries due in a later
+ * revolution stay where they are. Scheduling and cancelling are O(1).
+ */
+final class ExpirationWheel {
+
+    private final long tickMillis;
+    private final Set<String>[] slots;
+    private final Map<String, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    ExpirationWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new HashSet<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code productId} to fire once {@code deadlineMillis} is reached, replacing any
+     * earlier schedule. A deadline in the current tick or before fires on the next advance.
+     */
+    synchronized void schedule(String productId, long deadlineMillis) {
+        cancel(productId);
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        deadlines.put(productId, tick);
+        slots[slot(tick)].add(productId);
+    }
+
+    synchronized void cancel(String productId) {
+        Long tick = deadlines.remove(productId);
+        if (tick != null) {
+            slots[slot(tick)].remove(productId);
+        }
+    }
+
+    /**
+     * @return the products whose deadline is at or before {@code nowMillis}, removed from the wheel
+     */
+    synchronized List<String> advanceTo(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<String> expired = new ArrayList<>();
+        // One revolution visits every slot, however long the wheel was not advanced
+        long ticks = Math.min(targetTick - currentTick, slots.length);
+        for (long t = 1; t <= ticks; t++) {
+            Iterator<String> entries = slots[slot(currentTick + t)].iterator();
+            while (entries.hasNext()) {
+                String productId = entries.next();
+                if (deadlines.get(productId) <= targetTick) {
+                    entries.remove();
+                    deadlines.remove(productId);
+                    expired.add(productId);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+
+    synchronized int size() {
+        return deadlines.size();
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.length);
+    }
+}
@@ -0,0 +1,178 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for large numbers of short-lived timeouts.
+ * <p>
+ * {@code LEVELS} wheels of {@code SLOTS} slots each; a slot of level {@code n} spans
+ * {@code SLOTS^n} ticks. A timeout goes into the lowest level whose range covers its distance
+ * from now. When a lower wheel wraps around, the next slot of the level above is cascaded: its
+ * timeouts are placed again, one level lower. Each timeout is therefore moved at most
+ * {@code LEVELS - 1} times, slots are intrusive doubly-linked lists, and scheduling, cancelling
+ * and each tick are O(1) however many timeouts are outstanding. Deadlines beyond the top level
+ * wait in its last slot and are placed again when they come round.
+ */
+final class HierarchicalTimingWheel<T> {
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 4;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    /**
+     * A scheduled timeout; cancel it through {@link HierarchicalTimingWheel#cancel}.
+     */
+    static final class Timeout<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private Slot<T> slot;
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        T payload() {
+            return payload;
+        }
+    }
+
+    private static final class Slot<T> {
+        private Timeout<T> head;
+
+        void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void unlink(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout<T> detachAll() {
+            Timeout<T> first = head;
+            head = null;
+            return first;
+        }
+    }
+
+    private final long tickMillis;
+    private final Slot<T>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.wheels = new Slot[LEVELS][SLOTS];
+        for (Slot<T>[] wheel : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                wheel[i] = new Slot<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Fires {@code payload} from the first {@link #advanceTo} at or after {@code deadlineMillis};
+     * a deadline that has already passed fires on the next tick.
+     */
+    synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(payload, tick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * @return false if the timeout has already fired or been cancelled
+     */
+    synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.slot == null) {
+            return false;
+        }
+        timeout.slot.unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Runs every tick up to {@code nowMillis}.
+     *
+     * @return the payloads of the timeouts that fired, earliest tick first
+     */
+    synchronized List<T> advanceTo(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher levels first, so their timeouts reach level 0 before its slot is emptied
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            Timeout<T> timeout = wheels[0][(int) (currentTick & SLOT_MASK)].detachAll();
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.slot = null;
+                timeout.prev = null;
+                timeout.next = null;
+                size--;
+                expired.add(timeout.payload);
+                timeout = next;
+            }
+        }
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void cascade(int level) {
+        Timeout<T> timeout = wheels[level][(int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)].detachAll();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                wheels[level][(int) ((timeout.deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK)].add(timeout);
+                return;
+            }
+        }
+        // Beyond the top level: park in the slot that cascades last, and place it again from there
+        int top = LEVELS - 1;
+        long parkTick = currentTick + (1L << (SLOT_BITS * LEVELS)) - 1;
+        wheels[top][(int) ((parkTick >>> (SLOT_BITS * top)) & SLOT_MASK)].add(timeout);
+    }
+}
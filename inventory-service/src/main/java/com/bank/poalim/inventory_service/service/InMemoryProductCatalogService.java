@@ -2,105 +2,147 @@ package com.bank.poalim.inventory_service.service;
 
 import com.bank.poalim.inventory_service.model.OrderItemCategory;
 import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ProductFilter;
+import com.bank.poalim.inventory_service.model.ProductPage;
+import com.bank.poalim.inventory_service.model.StockLevels;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
 
 @Service
+@ConditionalOnProperty(name = "inventory.catalog.store", havingValue = "memory", matchIfMissing = true)
 @Slf4j
 public class InMemoryProductCatalogService implements ProductCatalogService {
     
+    static final int DEFAULT_LOW_STOCK_THRESHOLD = 10;
+    
     private final Map<String, Product> productCatalog = new ConcurrentHashMap<>();
+    // Source of truth for available quantities; Product.availableQuantity is filled in on read
+    private final StockReservationEngine stock = new StockReservationEngine();
+    // Ids in order, so listings can resume after a cursor; lookups stay on the hash map
+    private final NavigableSet<String> productIds = new ConcurrentSkipListSet<>();
+    private final ProductCatalogIndexes indexes;
     
     public InMemoryProductCatalogService() {
+        this(DEFAULT_LOW_STOCK_THRESHOLD);
+    }
+    
+    @Autowired
+    public InMemoryProductCatalogService(
+            @Value("${inventory.catalog.memory.low-stock-threshold:" + DEFAULT_LOW_STOCK_THRESHOLD + "}") int lowStockThreshold) {
+        indexes = new ProductCatalogIndexes(stock::available, lowStockThreshold);
         initializeSampleData();
     }
     
     private void initializeSampleData() {
-        // Standard products
-        addProduct(Product.builder()
-                .productId("P1001")
-                .name("Standard Product 1")
-                .category(OrderItemCategory.STANDARD)
-                .availableQuantity(50)
-                .active(true)
-                .build());
-        
-        addProduct(Product.builder()
-                .productId("P1002")
-                .name("Standard Product 2")
-                .category(OrderItemCategory.STANDARD)
-                .availableQuantity(10)
-                .active(true)
-                .build());
-        
-        // Perishable products
-        addProduct(Product.builder()
-                .productId("P2001")
-                .name("Fresh Milk")
-                .category(OrderItemCategory.PERISHABLE)
-                .availableQuantity(20)
-                .expirationDate(LocalDate.now().plusDays(7))
-                .active(true)
-                .build());
-        
-        addProduct(Product.builder()
-                .productId("P2002")
-                .name("Expired Yogurt")
-                .category(OrderItemCategory.PERISHABLE)
-                .availableQuantity(5)
-                .expirationDate(LocalDate.now().minusDays(1)) // Expired
-                .active(true)
-                .build());
-        
-        addProduct(Product.builder()
-                .productId("P2003")
-                .name("Fresh Bread")
-                .category(OrderItemCategory.PERISHABLE)
-                .availableQuantity(15)
-                .expirationDate(LocalDate.now().plusDays(3))
-                .active(true)
-                .build());
-        
-        // Digital products
-        addProduct(Product.builder()
-                .productId("P3001")
-                .name("Digital Book")
-                .category(OrderItemCategory.DIGITAL)
-                .availableQuantity(1000) // Unlimited
-                .active(true)
-                .build());
-        
-        addProduct(Product.builder()
-                .productId("P3002")
-                .name("Software License")
-                .category(OrderItemCategory.DIGITAL)
-                .availableQuantity(500)
-                .active(true)
-                .build());
-        
+        SampleProducts.create().forEach(this::addProduct);
         log.info("Initialized product catalog with {} products", productCatalog.size());
     }
     
     @Override
     public Optional<Product> findProduct(String productId) {
         Product product = productCatalog.get(productId);
-        return Optional.ofNullable(product);
+        return Optional.ofNullable(product).map(this::withCurrentStock);
+    }
+    
+    @Override
+    public StockLevels readStock(List<String> productIds) {
+        StockLevels levels = new StockLevels(productIds.size());
+        for (String productId : productIds) {
+            Product product = productCatalog.get(productId);
+            if (product != null) {
+                levels.add(product, Math.max(stock.available(productId), 0));
+            } else {
+                levels.addMissing();
+            }
+        }
+        return levels;
     }
     
     @Override
     public List<Product> getAllProducts() {
-        return new ArrayList<>(productCatalog.values());
+        List<Product> products = new ArrayList<>(productCatalog.size());
+        for (Product product : productCatalog.values()) {
+            products.add(withCurrentStock(product));
+        }
+        return products;
+    }
+    
+    @Override
+    public ProductPage findProducts(ProductFilter filter, String cursor, int limit) {
+        List<Product> products = new ArrayList<>(limit);
+        String last = null;
+        for (String productId : cursor != null ? productIds.tailSet(cursor, false) : productIds) {
+            if (products.size() == limit) {
+                return new ProductPage(products, last);
+            }
+            Product product = productCatalog.get(productId);
+            if (product != null) {
+                Product current = withCurrentStock(product);
+                if (filter.matches(current)) {
+                    products.add(current);
+                    last = productId;
+                }
+            }
+        }
+        return new ProductPage(products, null);
+    }
+    
+    @Override
+    public void forEachProduct(ProductFilter filter, Consumer<Product> action) {
+        for (Product product : productCatalog.values()) {
+            Product current = withCurrentStock(product);
+            if (filter.matches(current)) {
+                action.accept(current);
+            }
+        }
+    }
+    
+    @Override
+    public List<Product> findByCategory(OrderItemCategory category) {
+        List<Product> products = new ArrayList<>();
+        indexes.forEachInCategory(category, productId -> addCurrent(productId, products));
+        return products;
+    }
+    
+    @Override
+    public List<Product> findExpiring(LocalDate from, LocalDate to) {
+        List<Product> products = new ArrayList<>();
+        indexes.forEachExpiring(from, to, productId -> addCurrent(productId, products));
+        return products;
+    }
+    
+    @Override
+    public List<Product> findLowStock(int maxQuantity) {
+        if (maxQuantity > indexes.lowStockThreshold()) {
+            return ProductCatalogService.super.findLowStock(maxQuantity);
+        }
+        List<Product> products = new ArrayList<>();
+        indexes.forEachLowStock(maxQuantity, productId -> {
+            Product product = productCatalog.get(productId);
+            if (product != null) {
+                Product current = withCurrentStock(product);
+                // The index may trail a reservation that is still refreshing it
+                if (current.getAvailableQuantity() <= maxQuantity) {
+                    products.add(current);
+                }
+            }
+        });
+        return products;
     }
     
     @Override
     public void updateProductQuantity(String productId, int newQuantity) {
-        Product product = productCatalog.get(productId);
-        if (product != null) {
-            product.setAvailableQuantity(newQuantity);
+        if (stock.set(productId, newQuantity)) {
+            indexes.refreshStock(productId);
             log.info("Updated product {} quantity to {}", productId, newQuantity);
         } else {
             log.warn("Attempted to update quantity for non-existent product: {}", productId);
@@ -109,17 +151,69 @@ public class InMemoryProductCatalogService implements ProductCatalogService {
     
     @Override
     public void addProduct(Product product) {
-        productCatalog.put(product.getProductId(), product);
+        stock.track(product.getProductId(), product.getAvailableQuantity() != null ? product.getAvailableQuantity() : 0);
+        productCatalog.compute(product.getProductId(), (productId, previous) -> {
+            if (previous != null) {
+                indexes.remove(previous);
+            }
+            indexes.add(product);
+            return product;
+        });
+        productIds.add(product.getProductId());
         log.info("Added product to catalog: {}", product.getProductId());
     }
     
     @Override
     public void removeProduct(String productId) {
-        Product removed = productCatalog.remove(productId);
-        if (removed != null) {
+        stock.untrack(productId);
+        Product[] removed = new Product[1];
+        productCatalog.computeIfPresent(productId, (id, previous) -> {
+            indexes.remove(previous);
+            removed[0] = previous;
+            return null;
+        });
+        productIds.remove(productId);
+        if (removed[0] != null) {
             log.info("Removed product from catalog: {}", productId);
         } else {
             log.warn("Attempted to remove non-existent product: {}", productId);
         }
     }
+    
+    @Override
+    public void markExpired(String productId) {
+        // Category and expiration are unchanged, so the indexes stay as they are
+        if (productCatalog.computeIfPresent(productId, (id, product) -> product.toBuilder().expired(true).build()) != null) {
+            log.info("Marked product as expired: {}", productId);
+        }
+    }
+    
+    @Override
+    public boolean reserveStock(Map<String, Integer> quantities) {
+        boolean reserved = stock.reserve(quantities);
+        if (reserved) {
+            quantities.keySet().forEach(indexes::refreshStock);
+        }
+        return reserved;
+    }
+    
+    @Override
+    public void releaseStock(Map<String, Integer> quantities) {
+        stock.release(quantities);
+        quantities.keySet().forEach(indexes::refreshStock);
+    }
+    
+    private void addCurrent(String productId, List<Product> products) {
+        Product product = productCatalog.get(productId);
+        if (product != null) {
+            products.add(withCurrentStock(product));
+        }
+    }
+    
+    private Product withCurrentStock(Product product) {
+        int available = stock.available(product.getProductId());
+        return product.toBuilder()
+                .availableQuantity(available >= 0 ? available : 0)
+                .build();
+    }
 }
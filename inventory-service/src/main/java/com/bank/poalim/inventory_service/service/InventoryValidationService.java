@@ -1,18 +1,29 @@
 package com.bank.poalim.inventory_service.service;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
 import com.bank.poalim.inventory_service.kafka.OrderEventsProducer;
+import com.bank.poalim.inventory_service.metrics.PipelineStage;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
 import com.bank.poalim.inventory_service.model.OrderItemCategory;
 import com.bank.poalim.inventory_service.model.OrderItemDto;
 import com.bank.poalim.inventory_service.model.InventoryCheckResult;
-import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.StockLevels;
+import com.bank.poalim.inventory_service.model.ValidationLines;
 import com.bank.poalim.inventory_service.model.ValidationMissingItem;
+import com.bank.poalim.inventory_service.model.ValidationReason;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,184 +37,266 @@ public class InventoryValidationService {
     private final OrderEventsProducer orderEventProducer;
     
     public InventoryCheckResult validateOrder(String orderId, List<OrderItemDto> items) {
+        return validateOrder(orderId, items, new PipelineTimestamps());
+    }
+    
+    /**
+     * Validates and reserves the order, then publishes the result carrying {@code timestamps}
+     * with the validated and result-produced stages stamped.
+     */
+    public InventoryCheckResult validateOrder(String orderId, List<OrderItemDto> items, PipelineTimestamps timestamps) {
+        return validateOrder(orderId, items, timestamps, () -> false);
+    }
+    
+    /**
+     * Same as {@link #validateOrder(String, List, PipelineTimestamps)}, but if {@code abandoned} is true once the
+     * order is validated, its stock is given back and no result is published; the order is left to whoever
+     * handles it next.
+     */
+    public InventoryCheckResult validateOrder(String orderId, List<OrderItemDto> items, PipelineTimestamps timestamps,
+            BooleanSupplier abandoned) {
+        return validateOrder(orderId, items, timestamps, abandoned, false);
+    }
+    
+    /**
+     * Same as {@link #validateOrder(String, List, PipelineTimestamps)}, for callers that roll back on failure: a
+     * result that cannot be sent throws instead of being logged. Inside a transaction, the stock the order
+     * reserved is given back if the transaction does not commit.
+     */
+    public InventoryCheckResult validateOrderOrThrow(String orderId, List<OrderItemDto> items, PipelineTimestamps timestamps) {
+        return validateOrder(orderId, items, timestamps, () -> false, true);
+    }
+    
+    private InventoryCheckResult validateOrder(String orderId, List<OrderItemDto> items, PipelineTimestamps timestamps,
+            BooleanSupplier abandoned, boolean propagatePublishFailure) {
         log.info("Validating order {} with {} items", orderId, items.size());
         
-        List<InventoryCheckResult.ValidationIssue> issues = new ArrayList<>();
-        List<InventoryCheckResult.ValidatedItem> validatedItems = new ArrayList<>();
+        InventoryCheckResult result = checkOrder(orderId, items);
+        ValidationLines lines = result.getLines();
+        
+        // The checks above read a snapshot; the reservation is what actually takes the stock
+        if (result.isApproved() && !updateInventoryForApprovedOrder(result)) {
+            rejectForInsufficientStock(result);
+        }
+        
+        if (result.isApproved()) {
+            log.info("Order {} APPROVED - all items available", orderId);
+        } else if (log.isWarnEnabled()) {
+            log.warn("Order {} REJECTED - {} issues found", orderId, lines.issueCount());
+            for (int issue = 0; issue < lines.issueCount(); issue++) {
+                log.warn("Issue: Product {} - {}", lines.issueProductId(issue), lines.renderIssueReason(issue));
+            }
+        }
+        
+        if (abandoned.getAsBoolean()) {
+            log.warn("Order {} abandoned before its result was published, giving back its stock", orderId);
+            releaseInventoryForApprovedOrder(result);
+            return result;
+        }
+        
+        timestamps.stampNow(PipelineStage.VALIDATED);
+        if (propagatePublishFailure) {
+            publishOrThrow(result, timestamps);
+        } else {
+            publishInvenoryCheckResultEvent(result, timestamps);
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Checks every line against the catalog without reserving anything.
+     */
+    InventoryCheckResult checkOrder(String orderId, List<OrderItemDto> items) {
+        ValidationLines lines = new ValidationLines(items.size());
         boolean orderApproved = true;
         
+        List<String> productIds = new ArrayList<>(items.size());
         for (OrderItemDto item : items) {
-            InventoryCheckResult.ValidatedItem validatedItem = validateItem(item);
-            validatedItems.add(validatedItem);
+            productIds.add(item.getProductId());
+        }
+        StockLevels stock = productCatalogService.readStock(productIds);
+        
+        for (int entry = 0; entry < items.size(); entry++) {
+            int line = validateItem(items.get(entry), stock, entry, lines);
             
-            if (!validatedItem.isAvailable()) {
+            if (!lines.isAvailable(line)) {
                 orderApproved = false;
-                // Add issue for unavailable items
-                issues.add(InventoryCheckResult.ValidationIssue.builder()
-                        .productId(item.getProductId())
-                        .reason(getIssueReason(validatedItem))
-                        .type(getIssueType(validatedItem))
-                        .build());
+                // Add issue for unavailable items; the message is rendered only if it is logged or sent
+                lines.addIssue(line, ValidationReason.forCategory(lines.category(line)),
+                        lines.requestedQuantity(line), lines.availableQuantity(line));
             }
         }
         
-        InventoryCheckResult result = InventoryCheckResult.builder()
+        return InventoryCheckResult.builder()
                 .orderId(orderId)
                 .approved(orderApproved)
-                .issues(issues)
-                .validatedItems(validatedItems)
+                .lines(lines)
                 .build();
-        
-        if (orderApproved) {
-            log.info("Order {} APPROVED - all items available", orderId);
-            // Update inventory
-            updateInventoryForApprovedOrder(result);
-        } else {
-            log.warn("Order {} REJECTED - {} issues found", orderId, issues.size());
-            for (InventoryCheckResult.ValidationIssue issue : issues) {
-                log.warn("Issue: Product {} - {}", issue.getProductId(), issue.getReason());
-            }
-        }
-        
-        publishInvenoryCheckResultEvent(result);
-        
-        return result;
     }
     
-    private InventoryCheckResult.ValidatedItem validateItem(OrderItemDto item) {
-        return productCatalogService.findProduct(item.getProductId())
-                .map(product -> validateProductAvailability(product, item))
-                .orElse(createNotFoundValidatedItem(item));
+    private int validateItem(OrderItemDto item, StockLevels stock, int entry, ValidationLines lines) {
+        int requested = item.getQuantity();
+        if (!stock.isFound(entry)) {
+            return lines.addLine(item.getProductId(), requested, 0, null, false);
+        }
+        OrderItemCategory category = stock.category(entry);
+        if (!stock.isActive(entry)) {
+            return lines.addLine(item.getProductId(), requested, 0, category, false);
+        }
+        int available = stock.availableQuantity(entry);
+        return lines.addLine(item.getProductId(), requested, available, category,
+                isAvailable(stock, entry, available, requested));
     }
     
-    private InventoryCheckResult.ValidatedItem validateProductAvailability(Product product, OrderItemDto item) {
-        boolean available = false;
-        
-        if (!product.isActive()) {
-            return InventoryCheckResult.ValidatedItem.builder()
-                    .productId(item.getProductId())
-                    .requestedQuantity(item.getQuantity())
-                    .availableQuantity(0)
-                    .category(product.getCategory())
-                    .available(false)
-                    .build();
+    private boolean isAvailable(StockLevels stock, int entry, int availableQuantity, int requestedQuantity) {
+        OrderItemCategory category = stock.category(entry);
+        if (category == null) {
+            return false;
         }
-        
-        switch (product.getCategory()) {
+        switch (category) {
             case STANDARD:
-                available = product.getAvailableQuantity() >= item.getQuantity();
-                break;
+                return availableQuantity >= requestedQuantity;
                 
             case PERISHABLE:
-                boolean notExpired = product.getExpirationDate() != null && 
-                                   product.getExpirationDate().isAfter(LocalDate.now());
-                boolean sufficientQuantity = product.getAvailableQuantity() >= item.getQuantity();
-                available = notExpired && sufficientQuantity;
-                break;
+                // Flipped by ProductExpirationService when the expiration date is reached
+                boolean notExpired = stock.hasExpirationDate(entry) && !stock.isExpired(entry);
+                boolean sufficientQuantity = availableQuantity >= requestedQuantity;
+                return notExpired && sufficientQuantity;
                 
             case DIGITAL:
-                available = true; // Digital products are always available
-                break;
+                return true; // Digital products are always available
                 
             default:
-                available = false;
-                break;
+                return false;
+        }
+    }
+    
+    public boolean updateInventoryForApprovedOrder(InventoryCheckResult validationResult) {
+        if (!validationResult.isApproved()) {
+            log.warn("Attempted to update inventory for rejected order: {}", validationResult.getOrderId());
+            return false;
         }
         
-        return InventoryCheckResult.ValidatedItem.builder()
-                .productId(item.getProductId())
-                .requestedQuantity(item.getQuantity())
-                .availableQuantity(product.getAvailableQuantity())
-                .category(product.getCategory())
-                .available(available)
-                .build();
+        Map<String, Integer> quantities = stockQuantities(validationResult);
+        if (quantities.isEmpty()) {
+            return true;
+        }
+        
+        log.info("Reserving inventory for approved order: {}", validationResult.getOrderId());
+        
+        boolean reserved = productCatalogService.reserveStock(quantities);
+        if (reserved) {
+            log.info("Reserved inventory for order {}: {}", validationResult.getOrderId(), quantities);
+            releaseOnRollback(validationResult);
+        } else {
+            log.warn("Could not reserve inventory for order {}: {}", validationResult.getOrderId(), quantities);
+        }
+        return reserved;
     }
     
-    private InventoryCheckResult.ValidatedItem createNotFoundValidatedItem(OrderItemDto item) {
-        return InventoryCheckResult.ValidatedItem.builder()
-                .productId(item.getProductId())
-                .requestedQuantity(item.getQuantity())
-                .availableQuantity(0)
-                .category(null)
-                .available(false)
-                .build();
+    // Registered as soon as the stock is taken, so it goes back whatever fails later in the transaction
+    private void releaseOnRollback(InventoryCheckResult validationResult) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    log.warn("Transaction of order {} did not commit, giving back its stock", validationResult.getOrderId());
+                    releaseInventoryForApprovedOrder(validationResult);
+                }
+            }
+        });
     }
     
-    private String getIssueReason(InventoryCheckResult.ValidatedItem validatedItem) {
-        if (validatedItem.getCategory() == null) {
-            return "Product not found in catalog";
+    /**
+     * Gives back the stock that {@link #updateInventoryForApprovedOrder} took, for an approved order
+     * whose result could not be committed.
+     */
+    public void releaseInventoryForApprovedOrder(InventoryCheckResult validationResult) {
+        if (!validationResult.isApproved()) {
+            return;
         }
-        
-        switch (validatedItem.getCategory()) {
-            case STANDARD:
-                return String.format("Insufficient quantity. Requested: %d, Available: %d", 
-                        validatedItem.getRequestedQuantity(), validatedItem.getAvailableQuantity());
-            case PERISHABLE:
-                return "Product expired or insufficient quantity";
-            case DIGITAL:
-                return "Digital product unavailable (should not happen)";
-            default:
-                return "Invalid category";
+        Map<String, Integer> quantities = stockQuantities(validationResult);
+        if (!quantities.isEmpty()) {
+            productCatalogService.releaseStock(quantities);
+            log.info("Released inventory of order {}: {}", validationResult.getOrderId(), quantities);
         }
     }
     
-    private InventoryCheckResult.ValidationIssueType getIssueType(InventoryCheckResult.ValidatedItem validatedItem) {
-        if (validatedItem.getCategory() == null) {
-            return InventoryCheckResult.ValidationIssueType.PRODUCT_NOT_FOUND;
+    // Requested quantity per product for items that consume stock; digital products are never decremented
+    Map<String, Integer> stockQuantities(InventoryCheckResult result) {
+        Map<String, Integer> quantities = new HashMap<>();
+        ValidationLines lines = result.getLines();
+        if (lines != null) {
+            for (int line = 0; line < lines.size(); line++) {
+                if (lines.isAvailable(line) && lines.category(line) != OrderItemCategory.DIGITAL) {
+                    quantities.merge(lines.productId(line), lines.requestedQuantity(line), Integer::sum);
+                }
+            }
+            return quantities;
         }
-        
-        switch (validatedItem.getCategory()) {
-            case STANDARD:
-                return InventoryCheckResult.ValidationIssueType.INSUFFICIENT_QUANTITY;
-            case PERISHABLE:
-                return InventoryCheckResult.ValidationIssueType.EXPIRED_PRODUCT;
-            case DIGITAL:
-                return InventoryCheckResult.ValidationIssueType.PRODUCT_INACTIVE;
-            default:
-                return InventoryCheckResult.ValidationIssueType.INVALID_CATEGORY;
+        for (InventoryCheckResult.ValidatedItem item : result.getValidatedItems()) {
+            if (item.isAvailable() && item.getCategory() != OrderItemCategory.DIGITAL) {
+                quantities.merge(item.getProductId(), item.getRequestedQuantity(), Integer::sum);
+            }
         }
+        return quantities;
     }
     
-    public void updateInventoryForApprovedOrder(InventoryCheckResult validationResult) {
-        if (!validationResult.isApproved()) {
-            log.warn("Attempted to update inventory for rejected order: {}", validationResult.getOrderId());
-            return;
+    // Another order took the stock between the availability check and the reservation
+    void rejectForInsufficientStock(InventoryCheckResult result) {
+        ValidationLines lines = result.getLines();
+        Map<String, Integer> requested = stockQuantities(result);
+        Set<String> reported = new HashSet<>();
+        
+        // One read for every contended line, in line order
+        List<String> productIds = new ArrayList<>(lines.size());
+        for (int line = 0; line < lines.size(); line++) {
+            if (requested.containsKey(lines.productId(line))) {
+                productIds.add(lines.productId(line));
+            }
         }
+        StockLevels stock = productCatalogService.readStock(productIds);
         
-        log.info("Updating inventory for approved order: {}", validationResult.getOrderId());
+        int entry = 0;
+        for (int line = 0; line < lines.size(); line++) {
+            Integer totalRequested = requested.get(lines.productId(line));
+            if (totalRequested == null) {
+                continue;
+            }
+            int available = stock.isFound(entry) ? stock.availableQuantity(entry) : 0;
+            entry++;
+            boolean sufficient = available >= totalRequested;
+            lines.updateAvailability(line, available, sufficient);
+            if (!sufficient && reported.add(lines.productId(line))) {
+                lines.addIssue(line, ValidationReason.INSUFFICIENT_QUANTITY, totalRequested, available);
+            }
+        }
         
-        for (InventoryCheckResult.ValidatedItem item : validationResult.getValidatedItems()) {
-            if (item.isAvailable() && item.getCategory() != OrderItemCategory.DIGITAL) {
-                // For digital products, we don't decrement inventory
-                int newQuantity = item.getAvailableQuantity() - item.getRequestedQuantity();
-                productCatalogService.updateProductQuantity(item.getProductId(), newQuantity);
-                log.info("Updated inventory for product {}: {} -> {}", 
-                        item.getProductId(), item.getAvailableQuantity(), newQuantity);
+        // Stock was released again before we looked; report every contended product
+        if (lines.issueCount() == 0) {
+            for (int line = 0; line < lines.size(); line++) {
+                if (requested.containsKey(lines.productId(line)) && reported.add(lines.productId(line))) {
+                    lines.addIssue(line, ValidationReason.CONCURRENT_RESERVATION, 0, 0);
+                }
             }
         }
+        
+        result.setApproved(false);
     }
     
     public void publishInvenoryCheckResultEvent(InventoryCheckResult result) {
+    	publishInvenoryCheckResultEvent(result, new PipelineTimestamps());
+    }
+    
+    private void publishInvenoryCheckResultEvent(InventoryCheckResult result, PipelineTimestamps timestamps) {
     	
     	try {
     		
-    		List<ValidationMissingItem> validationMissingItems = new ArrayList<ValidationMissingItem>();
-    		if(!result.isApproved()) {
-    			result.getIssues().forEach(i ->
-        		validationMissingItems.add(new ValidationMissingItem(i.getProductId(), i.getReason()))
-    					);
-    		}
-        	
-        	
-        	
-        	InventoryCheckResultEvent event = InventoryCheckResultEvent.builder()
-                    .orderId(result.getOrderId())
-                    .missingItems(validationMissingItems.isEmpty() ? null : validationMissingItems)
-                    .approved(result.isApproved()? true : false)
-                    .build();
-        	
-        	orderEventProducer.publishInventoryCheckResultEvent(event);
-            log.info("Inventory check result event published to Kafka for order ID: {}", result.getOrderId());
+    		publishOrThrow(result, timestamps);
         	
     	} catch (Exception e) {
             log.error("Failed to publish inventory check result event to Kafka for order ID: {}", result.getOrderId(), e);
@@ -215,6 +308,27 @@ public class InventoryValidationService {
     	
     }
     
- 
-   
+    private void publishOrThrow(InventoryCheckResult result, PipelineTimestamps timestamps) {
+        List<ValidationMissingItem> validationMissingItems = result.isApproved()
+                ? Collections.emptyList()
+                : missingItems(result);
+        
+        InventoryCheckResultEvent event = InventoryCheckResultEvent.builder()
+                .orderId(result.getOrderId())
+                .missingItems(validationMissingItems.isEmpty() ? null : validationMissingItems)
+                .approved(result.isApproved())
+                .build();
+        
+        orderEventProducer.publishInventoryCheckResultEvent(event, timestamps);
+        log.info("Inventory check result event published to Kafka for order ID: {}", result.getOrderId());
+    }
+    
+    List<ValidationMissingItem> missingItems(InventoryCheckResult result) {
+        if (result.getLines() != null) {
+            return result.getLines().toMissingItems();
+        }
+        List<ValidationMissingItem> missingItems = new ArrayList<>();
+        result.getIssues().forEach(i -> missingItems.add(new ValidationMissingItem(i.getProductId(), i.getReason())));
+        return missingItems;
+    }
 }
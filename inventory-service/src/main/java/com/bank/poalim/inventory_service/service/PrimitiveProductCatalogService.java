@@ -0,0 +1,470 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ProductFilter;
+import com.bank.poalim.inventory_service.model.ProductPage;
+import com.bank.poalim.inventory_service.model.StockLevels;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Product catalog laid out in primitive columns, for catalogs of millions of SKUs.
+ * <p>
+ * Product ids resolve to dense {@code int} slots through {@link ProductSlotIndex}. Each slot's
+ * quantity, category ordinal, expiration epoch-day and flags sit in {@code int[]}/{@code byte[]}
+ * chunks of {@value #CHUNK_SIZE} slots, and ids and names in a {@link CharArena}, so the heap
+ * holds a few large arrays rather than a {@code Product}, {@code Integer}, {@code LocalDate} and
+ * map node per SKU, and the GC has almost nothing to trace as the catalog grows.
+ * <p>
+ * Quantities are reserved with compare-and-set on the {@code int} column, all-or-nothing, as in
+ * {@link StockReservationEngine}. The other columns are rewritten only by {@link #addProduct} and
+ * {@link #removeProduct}, which are serialized; readers take no lock and use a per-slot sequence
+ * number to retry if they overlapped a rewrite. {@code Product} objects are only built on the way
+ * out of {@link #findProduct} and {@link #getAllProducts}; {@link #readStock} copies the columns
+ * order validation needs and builds none.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.catalog.store", havingValue = "primitive")
+@Slf4j
+public class PrimitiveProductCatalogService implements ProductCatalogService {
+
+    private static final int CHUNK_BITS = 14;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final byte PRESENT = 1;
+    private static final byte ACTIVE = 2;
+    private static final byte EXPIRED = 4;
+    private static final byte NO_CATEGORY = -1;
+    private static final int NO_EXPIRATION = Integer.MIN_VALUE;
+    private static final OrderItemCategory[] CATEGORIES = OrderItemCategory.values();
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle BYTES = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final Object writeLock = new Object();
+    private final CharArena strings = new CharArena();
+    private final ProductSlotIndex index;
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    @Autowired
+    public PrimitiveProductCatalogService(@Value("${inventory.catalog.primitive.expected-products:1024}") int expectedProducts) {
+        this(expectedProducts, true);
+        log.info("Initialized primitive product catalog with {} products", index.size());
+    }
+
+    private PrimitiveProductCatalogService(int expectedProducts, boolean withSampleData) {
+        this.index = new ProductSlotIndex(strings, expectedProducts);
+        if (withSampleData) {
+            SampleProducts.create().forEach(this::addProduct);
+        }
+    }
+
+    static PrimitiveProductCatalogService empty(int expectedProducts) {
+        return new PrimitiveProductCatalogService(expectedProducts, false);
+    }
+
+    @Override
+    public Optional<Product> findProduct(String productId) {
+        int slot = index.slotOf(productId);
+        if (slot == ProductSlotIndex.ABSENT) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(read(slot, productId));
+    }
+
+    @Override
+    public StockLevels readStock(List<String> productIds) {
+        StockLevels levels = new StockLevels(productIds.size());
+        for (String productId : productIds) {
+            int slot = index.slotOf(productId);
+            if (slot == ProductSlotIndex.ABSENT) {
+                levels.addMissing();
+            } else {
+                readStock(slot, levels);
+            }
+        }
+        return levels;
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        int size = index.size();
+        List<Product> products = new ArrayList<>(size);
+        for (int slot = 0; slot < size; slot++) {
+            Product product = read(slot, null);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Pages in slot order; the cursor is the next slot to look at. The filter is checked on the
+     * columns, so only matching products are materialized.
+     */
+    @Override
+    public ProductPage findProducts(ProductFilter filter, String cursor, int limit) {
+        int size = index.size();
+        List<Product> products = new ArrayList<>(Math.min(limit, size));
+        for (int slot = parseCursor(cursor); slot < size; slot++) {
+            if (products.size() == limit) {
+                return new ProductPage(products, Integer.toString(slot));
+            }
+            if (matches(slot, filter)) {
+                Product product = read(slot, null);
+                if (product != null) {
+                    products.add(product);
+                }
+            }
+        }
+        return new ProductPage(products, null);
+    }
+
+    @Override
+    public void forEachProduct(ProductFilter filter, Consumer<Product> action) {
+        int size = index.size();
+        for (int slot = 0; slot < size; slot++) {
+            if (matches(slot, filter)) {
+                Product product = read(slot, null);
+                if (product != null) {
+                    action.accept(product);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void updateProductQuantity(String productId, int newQuantity) {
+        int slot = presentSlot(productId);
+        if (slot != ProductSlotIndex.ABSENT) {
+            Chunk chunk = chunk(slot);
+            INTS.setVolatile(chunk.quantities, slot & CHUNK_MASK, Math.max(newQuantity, 0));
+            log.info("Updated product {} quantity to {}", productId, newQuantity);
+        } else {
+            log.warn("Attempted to update quantity for non-existent product: {}", productId);
+        }
+    }
+
+    @Override
+    public void addProduct(Product product) {
+        String productId = product.getProductId();
+        int quantity = product.getAvailableQuantity() != null ? Math.max(product.getAvailableQuantity(), 0) : 0;
+        byte category = product.getCategory() != null ? (byte) product.getCategory().ordinal() : NO_CATEGORY;
+        int expiration = epochDay(product.getExpirationDate());
+        byte flags = (byte) (PRESENT | (product.isActive() ? ACTIVE : 0) | (product.isExpired() ? EXPIRED : 0));
+
+        synchronized (writeLock) {
+            int slot = index.slotOf(productId);
+            if (slot == ProductSlotIndex.ABSENT) {
+                long idRef = strings.append(productId);
+                slot = index.size();
+                ensureCapacity(slot);
+                chunk(slot).idRefs[slot & CHUNK_MASK] = idRef;
+                index.insert(productId, idRef);
+            }
+            Chunk chunk = chunk(slot);
+            int i = slot & CHUNK_MASK;
+            beginWrite(chunk, i);
+            chunk.nameRefs[i] = strings.append(product.getName());
+            chunk.categories[i] = category;
+            chunk.expirations[i] = expiration;
+            chunk.flags[i] = flags;
+            endWrite(chunk, i);
+            INTS.setVolatile(chunk.quantities, i, quantity);
+        }
+        log.debug("Added product to catalog: {}", productId);
+    }
+
+    @Override
+    public void markExpired(String productId) {
+        boolean marked = false;
+        synchronized (writeLock) {
+            int slot = presentSlot(productId);
+            if (slot != ProductSlotIndex.ABSENT) {
+                Chunk chunk = chunk(slot);
+                int i = slot & CHUNK_MASK;
+                beginWrite(chunk, i);
+                chunk.flags[i] |= EXPIRED;
+                endWrite(chunk, i);
+                marked = true;
+            }
+        }
+        if (marked) {
+            log.info("Marked product as expired: {}", productId);
+        }
+    }
+
+    @Override
+    public void removeProduct(String productId) {
+        boolean removed = false;
+        synchronized (writeLock) {
+            int slot = presentSlot(productId);
+            if (slot != ProductSlotIndex.ABSENT) {
+                Chunk chunk = chunk(slot);
+                int i = slot & CHUNK_MASK;
+                beginWrite(chunk, i);
+                chunk.flags[i] = 0;
+                endWrite(chunk, i);
+                INTS.setVolatile(chunk.quantities, i, 0);
+                removed = true;
+            }
+        }
+        if (removed) {
+            log.info("Removed product from catalog: {}", productId);
+        } else {
+            log.warn("Attempted to remove non-existent product: {}", productId);
+        }
+    }
+
+    @Override
+    public boolean reserveStock(Map<String, Integer> quantities) {
+        int size = quantities.size();
+        int[] takenSlots = new int[size];
+        int[] takenQuantities = new int[size];
+        int count = 0;
+
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            int requested = line.getValue();
+            if (requested <= 0) {
+                continue;
+            }
+            int slot = presentSlot(line.getKey());
+            if (slot == ProductSlotIndex.ABSENT || !tryDecrement(slot, requested)) {
+                for (int i = 0; i < count; i++) {
+                    add(takenSlots[i], takenQuantities[i]);
+                }
+                return false;
+            }
+            takenSlots[count] = slot;
+            takenQuantities[count] = requested;
+            count++;
+        }
+        return true;
+    }
+
+    @Override
+    public void releaseStock(Map<String, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> {
+            int slot = presentSlot(productId);
+            if (slot != ProductSlotIndex.ABSENT && quantity > 0) {
+                add(slot, quantity);
+            }
+        });
+    }
+
+    /**
+     * Adds {@code delta} without any floor, for replaying changes that were checked when first applied.
+     */
+    void adjustQuantity(String productId, int delta) {
+        int slot = presentSlot(productId);
+        if (slot != ProductSlotIndex.ABSENT) {
+            add(slot, delta);
+        }
+    }
+
+    int slotCount() {
+        return index.size();
+    }
+
+    /**
+     * @return the product in {@code slot} with its current quantity, or null if the slot is empty
+     */
+    Product productAt(int slot) {
+        return read(slot, null);
+    }
+
+    /**
+     * Copies the quantity column for the first {@code slotCount} slots. The result is a consistent
+     * cut only if no reservation runs concurrently.
+     */
+    int[] copyQuantities(int slotCount) {
+        int[] copy = new int[slotCount];
+        Chunk[] current = chunks;
+        for (int start = 0; start < slotCount; start += CHUNK_SIZE) {
+            System.arraycopy(current[start >>> CHUNK_BITS].quantities, 0, copy, start, Math.min(CHUNK_SIZE, slotCount - start));
+        }
+        return copy;
+    }
+
+    // Consistent snapshot of one slot; null if the slot holds no product
+    private Product read(int slot, String productId) {
+        Chunk chunk = chunk(slot);
+        int i = slot & CHUNK_MASK;
+        byte flags;
+        byte category;
+        int expiration;
+        long nameRef;
+        while (true) {
+            int version = (int) INTS.getAcquire(chunk.versions, i);
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            flags = chunk.flags[i];
+            category = chunk.categories[i];
+            expiration = chunk.expirations[i];
+            nameRef = chunk.nameRefs[i];
+            VarHandle.loadLoadFence();
+            if ((int) INTS.getVolatile(chunk.versions, i) == version) {
+                break;
+            }
+        }
+        if ((flags & PRESENT) == 0) {
+            return null;
+        }
+        return Product.builder()
+                .productId(productId != null ? productId : strings.read(chunk.idRefs[i]))
+                .name(strings.read(nameRef))
+                .category(category != NO_CATEGORY ? CATEGORIES[category] : null)
+                .availableQuantity((int) INTS.getVolatile(chunk.quantities, i))
+                .expirationDate(expiration != NO_EXPIRATION ? LocalDate.ofEpochDay(expiration) : null)
+                .active((flags & ACTIVE) != 0)
+                .expired((flags & EXPIRED) != 0)
+                .build();
+    }
+
+    // Same snapshot as read(), of the columns validation needs
+    private void readStock(int slot, StockLevels levels) {
+        Chunk chunk = chunk(slot);
+        int i = slot & CHUNK_MASK;
+        byte flags;
+        byte category;
+        int expiration;
+        while (true) {
+            int version = (int) INTS.getAcquire(chunk.versions, i);
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            flags = chunk.flags[i];
+            category = chunk.categories[i];
+            expiration = chunk.expirations[i];
+            VarHandle.loadLoadFence();
+            if ((int) INTS.getVolatile(chunk.versions, i) == version) {
+                break;
+            }
+        }
+        if ((flags & PRESENT) == 0) {
+            levels.addMissing();
+            return;
+        }
+        levels.add((int) INTS.getVolatile(chunk.quantities, i), category != NO_CATEGORY ? CATEGORIES[category] : null,
+                (flags & ACTIVE) != 0, (flags & EXPIRED) != 0, expiration != NO_EXPIRATION);
+    }
+
+    private boolean matches(int slot, ProductFilter filter) {
+        Chunk chunk = chunk(slot);
+        int i = slot & CHUNK_MASK;
+        byte flags = (byte) BYTES.getAcquire(chunk.flags, i);
+        if ((flags & PRESENT) == 0) {
+            return false;
+        }
+        byte category = chunk.categories[i];
+        return filter.matches(category != NO_CATEGORY ? CATEGORIES[category] : null,
+                (int) INTS.getVolatile(chunk.quantities, i));
+    }
+
+    private static int parseCursor(String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            int slot = Integer.parseInt(cursor);
+            if (slot >= 0) {
+                return slot;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException("Invalid catalog cursor: " + cursor);
+    }
+
+    private int presentSlot(String productId) {
+        int slot = index.slotOf(productId);
+        if (slot == ProductSlotIndex.ABSENT) {
+            return ProductSlotIndex.ABSENT;
+        }
+        Chunk chunk = chunk(slot);
+        return ((byte) BYTES.getAcquire(chunk.flags, slot & CHUNK_MASK) & PRESENT) != 0 ? slot : ProductSlotIndex.ABSENT;
+    }
+
+    private boolean tryDecrement(int slot, int requested) {
+        int[] quantities = chunk(slot).quantities;
+        int i = slot & CHUNK_MASK;
+        while (true) {
+            int current = (int) INTS.getVolatile(quantities, i);
+            if (current < requested) {
+                return false;
+            }
+            if (INTS.compareAndSet(quantities, i, current, current - requested)) {
+                return true;
+            }
+        }
+    }
+
+    private void add(int slot, int quantity) {
+        INTS.getAndAdd(chunk(slot).quantities, slot & CHUNK_MASK, quantity);
+    }
+
+    private Chunk chunk(int slot) {
+        return chunks[slot >>> CHUNK_BITS];
+    }
+
+    private void ensureCapacity(int slot) {
+        Chunk[] current = chunks;
+        if ((slot >>> CHUNK_BITS) < current.length) {
+            return;
+        }
+        Chunk[] grown = new Chunk[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = new Chunk();
+        chunks = grown;
+    }
+
+    private static void beginWrite(Chunk chunk, int i) {
+        INTS.setVolatile(chunk.versions, i, chunk.versions[i] + 1);
+        VarHandle.storeStoreFence();
+    }
+
+    private static void endWrite(Chunk chunk, int i) {
+        INTS.setRelease(chunk.versions, i, chunk.versions[i] + 1);
+    }
+
+    private static int epochDay(LocalDate date) {
+        if (date == null) {
+            return NO_EXPIRATION;
+        }
+        long epochDay = date.toEpochDay();
+        if (epochDay <= NO_EXPIRATION || epochDay > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Expiration date out of range: " + date);
+        }
+        return (int) epochDay;
+    }
+
+    private static final class Chunk {
+        final int[] quantities = new int[CHUNK_SIZE];
+        final int[] expirations = new int[CHUNK_SIZE];
+        final int[] versions = new int[CHUNK_SIZE];
+        final byte[] categories = new byte[CHUNK_SIZE];
+        final byte[] flags = new byte[CHUNK_SIZE];
+        final long[] idRefs = new long[CHUNK_SIZE];
+        final long[] nameRefs = new long[CHUNK_SIZE];
+    }
+}
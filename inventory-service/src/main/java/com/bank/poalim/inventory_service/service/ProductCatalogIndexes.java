@@ -0,0 +1,120 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+
+/**
+ * Secondary indexes of {@link InMemoryProductCatalogService}: product ids by category, by
+ * expiration date, and by quantity for products at or below the low-stock threshold.
+ * <p>
+ * Category and expiration entries change only when a product is added or removed. The low-stock
+ * entry of a product is refreshed after every change to its counter; each refresh reads the
+ * counter again under a per-product lock, so the last refresh always indexes the latest quantity.
+ * Products above the threshold are not in the low-stock index, so reservations of well-stocked
+ * SKUs never touch the skip list.
+ */
+final class ProductCatalogIndexes {
+
+    private record DatedId(LocalDate date, String productId) {
+    }
+
+    private record StockedId(int quantity, String productId) {
+    }
+
+    private static final Comparator<DatedId> BY_DATE = Comparator.comparing(DatedId::date)
+            .thenComparing(DatedId::productId);
+    private static final Comparator<StockedId> BY_QUANTITY = Comparator.comparingInt(StockedId::quantity)
+            .thenComparing(StockedId::productId);
+
+    private final Map<OrderItemCategory, Set<String>> byCategory = new EnumMap<>(OrderItemCategory.class);
+    private final NavigableSet<DatedId> byExpiration = new ConcurrentSkipListSet<>(BY_DATE);
+    private final NavigableSet<StockedId> lowStock = new ConcurrentSkipListSet<>(BY_QUANTITY);
+    // Quantity each low-stock product is indexed under; compute() on it serializes refreshes per product
+    private final Map<String, Integer> lowStockQuantities = new ConcurrentHashMap<>();
+    private final ToIntFunction<String> available;
+    private final int lowStockThreshold;
+
+    /**
+     * @param available current quantity of a product, or a negative value if it is not tracked
+     */
+    ProductCatalogIndexes(ToIntFunction<String> available, int lowStockThreshold) {
+        this.available = available;
+        this.lowStockThreshold = lowStockThreshold;
+        for (OrderItemCategory category : OrderItemCategory.values()) {
+            byCategory.put(category, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    int lowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    // Callers serialize add and remove of the same product
+    void add(Product product) {
+        if (product.getCategory() != null) {
+            byCategory.get(product.getCategory()).add(product.getProductId());
+        }
+        if (product.getExpirationDate() != null) {
+            byExpiration.add(new DatedId(product.getExpirationDate(), product.getProductId()));
+        }
+        refreshStock(product.getProductId());
+    }
+
+    void remove(Product product) {
+        if (product.getCategory() != null) {
+            byCategory.get(product.getCategory()).remove(product.getProductId());
+        }
+        if (product.getExpirationDate() != null) {
+            byExpiration.remove(new DatedId(product.getExpirationDate(), product.getProductId()));
+        }
+        refreshStock(product.getProductId());
+    }
+
+    void refreshStock(String productId) {
+        lowStockQuantities.compute(productId, (id, indexed) -> {
+            int quantity = available.applyAsInt(id);
+            Integer current = quantity >= 0 && quantity <= lowStockThreshold ? quantity : null;
+            if (indexed != null && !indexed.equals(current)) {
+                lowStock.remove(new StockedId(indexed, id));
+            }
+            if (current != null && !current.equals(indexed)) {
+                lowStock.add(new StockedId(current, id));
+            }
+            return current;
+        });
+    }
+
+    void forEachInCategory(OrderItemCategory category, Consumer<String> action) {
+        byCategory.get(category).forEach(action);
+    }
+
+    // Earliest date first; both bounds inclusive
+    void forEachExpiring(LocalDate from, LocalDate to, Consumer<String> action) {
+        if (from.isAfter(to)) {
+            return;
+        }
+        byExpiration.subSet(new DatedId(from, ""), true, new DatedId(to.plusDays(1), ""), false)
+                .forEach(entry -> action.accept(entry.productId()));
+    }
+
+    /**
+     * Lowest quantity first.
+     *
+     * @param maxQuantity at most {@link #lowStockThreshold()}
+     */
+    void forEachLowStock(int maxQuantity, Consumer<String> action) {
+        lowStock.headSet(new StockedId(maxQuantity + 1, ""), false)
+                .forEach(entry -> action.accept(entry.productId()));
+    }
+}
@@ -1,13 +1,79 @@
 package com.bank.poalim.inventory_service.service;
 
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
 import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ProductFilter;
+import com.bank.poalim.inventory_service.model.ProductPage;
+import com.bank.poalim.inventory_service.model.StockLevels;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductCatalogService {
     Optional<Product> findProduct(String productId);
     List<Product> getAllProducts();
+
+    // What order validation reads, one entry per id in the given order, without building Product objects
+    default StockLevels readStock(List<String> productIds) {
+        StockLevels levels = new StockLevels(productIds.size());
+        for (String productId : productIds) {
+            Product product = findProduct(productId).orElse(null);
+            if (product != null) {
+                levels.add(product, product.getAvailableQuantity() != null ? product.getAvailableQuantity() : 0);
+            } else {
+                levels.addMissing();
+            }
+        }
+        return levels;
+    }
+
+    // Up to limit matching products after cursor (null for the first page), in the store's own order
+    ProductPage findProducts(ProductFilter filter, String cursor, int limit);
+
+    // Hands every matching product to action as the store iterates, without collecting them
+    void forEachProduct(ProductFilter filter, Consumer<Product> action);
+
+    // Secondary-index queries. Stores without the indexes answer them with a filtered scan.
+    default List<Product> findByCategory(OrderItemCategory category) {
+        List<Product> products = new ArrayList<>();
+        forEachProduct(ProductFilter.builder().category(category).build(), products::add);
+        return products;
+    }
+
+    // Products expiring between from and to, both inclusive, earliest first
+    default List<Product> findExpiring(LocalDate from, LocalDate to) {
+        List<Product> products = new ArrayList<>();
+        forEachProduct(ProductFilter.all(), product -> {
+            LocalDate expiration = product.getExpirationDate();
+            if (expiration != null && !expiration.isBefore(from) && !expiration.isAfter(to)) {
+                products.add(product);
+            }
+        });
+        products.sort(Comparator.comparing(Product::getExpirationDate));
+        return products;
+    }
+
+    // Products with at most maxQuantity available, lowest first
+    default List<Product> findLowStock(int maxQuantity) {
+        List<Product> products = new ArrayList<>();
+        forEachProduct(ProductFilter.builder().maxQuantity(maxQuantity).build(), products::add);
+        products.sort(Comparator.comparing(Product::getAvailableQuantity));
+        return products;
+    }
+
     void updateProductQuantity(String productId, int newQuantity);
     void addProduct(Product product);
     void removeProduct(String productId);
+
+    // Flags the product as no longer sellable; it stays in the catalog
+    void markExpired(String productId);
+
+    // All-or-nothing: decrements every listed product or none of them
+    boolean reserveStock(Map<String, Integer> quantities);
+
+    void releaseStock(Map<String, Integer> quantities);
 }
@@ -0,0 +1,162 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import com.bank.poalim.inventory_service.event.ProductExpiredEvent;
+import com.bank.poalim.inventory_service.kafka.ProductEventsProducer;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ProductFilter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flips {@link Product#isExpired()} when a product's expiration date is reached, so order
+ * validation reads a flag instead of comparing dates, and publishes a {@link ProductExpiredEvent}
+ * for the stock that can no longer be sold.
+ * <p>
+ * A product expires at the start of its expiration date, in the clock's time zone. Every product
+ * with a date is kept in an {@link ExpirationWheel} that a single thread advances every
+ * {@code inventory.expiration.tick-ms}. On start, the whole catalog is scanned, and products already
+ * past their date are marked at once; this runs before the Kafka listeners start.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductExpirationService implements SmartLifecycle {
+
+    private final ProductCatalogService productCatalogService;
+    private final ProductEventsProducer productEventsProducer;
+
+    @Value("${inventory.expiration.tick-ms:60000}")
+    private long tickMs;
+
+    @Value("${inventory.expiration.wheel-size:4096}")
+    private int wheelSize;
+
+    private Clock clock = Clock.systemDefaultZone();
+    private volatile ExpirationWheel wheel;
+    private volatile ScheduledExecutorService ticker;
+
+    @Override
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-expiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        wheel = new ExpirationWheel(tickMs, wheelSize, clock.millis());
+        productCatalogService.forEachProduct(ProductFilter.all(), this::track);
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Product expiration wheel started with {} products scheduled", wheel.size());
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService current = ticker;
+        if (current != null) {
+            current.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    // After the Redis catalog (phase 0) has seeded, and well before the Kafka listener containers
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+
+    /**
+     * Schedules the expiration of a product that was added or replaced; a product already past its
+     * date is marked now.
+     */
+    public void track(Product product) {
+        ExpirationWheel current = wheel;
+        if (current == null) {
+            return;
+        }
+        LocalDate expirationDate = product.getExpirationDate();
+        if (expirationDate == null) {
+            current.cancel(product.getProductId());
+            return;
+        }
+        if (isDue(product)) {
+            current.cancel(product.getProductId());
+            if (!product.isExpired()) {
+                expire(product);
+            }
+        } else {
+            current.schedule(product.getProductId(), deadline(expirationDate));
+        }
+    }
+
+    public void untrack(String productId) {
+        ExpirationWheel current = wheel;
+        if (current != null) {
+            current.cancel(productId);
+        }
+    }
+
+    void tick() {
+        try {
+            for (String productId : wheel.advanceTo(clock.millis())) {
+                productCatalogService.findProduct(productId)
+                        // Skips products replaced with a later date since they were scheduled
+                        .filter(product -> !product.isExpired() && isDue(product))
+                        .ifPresent(this::expire);
+            }
+        } catch (RuntimeException e) {
+            // Keep the ticker alive; products that failed are picked up again on restart
+            log.error("Product expiration tick failed", e);
+        }
+    }
+
+    int scheduledCount() {
+        return wheel.size();
+    }
+
+    private boolean isDue(Product product) {
+        return product.getExpirationDate() != null && deadline(product.getExpirationDate()) <= clock.millis();
+    }
+
+    private long deadline(LocalDate expirationDate) {
+        return expirationDate.atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    // The flag flips here; the event is sent from the ticker thread, so a slow broker never holds up callers
+    private void expire(Product product) {
+        productCatalogService.markExpired(product.getProductId());
+        log.info("Product {} expired with {} units in stock", product.getProductId(), product.getAvailableQuantity());
+        ProductExpiredEvent event = ProductExpiredEvent.builder()
+                .productId(product.getProductId())
+                .name(product.getName())
+                .expirationDate(product.getExpirationDate())
+                .expiredQuantity(product.getAvailableQuantity())
+                .build();
+        ScheduledExecutorService current = ticker;
+        if (current != null) {
+            current.execute(() -> publish(event));
+        }
+    }
+
+    private void publish(ProductExpiredEvent event) {
+        try {
+            productEventsProducer.publishProductExpiredEvent(event);
+        } catch (RuntimeException e) {
+            log.error("Failed to publish product expired event for product {}", event.getProductId(), e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Open-addressing hash index from product id to a dense {@code int} slot.
+ * <p>
+ * The table is three parallel primitive arrays (hash, slot + 1, key reference into a
+ * {@link CharArena}) probed linearly and kept at most half full. Lookups take no lock and
+ * allocate nothing. Inserts must be serialized by the caller. An entry becomes visible when its
+ * slot is written with release semantics, and a resize publishes a fully built table. Slots are
+ * never removed from the index; the catalog marks them absent and reuses them if the id comes back.
+ */
+final class ProductSlotIndex {
+
+    static final int ABSENT = -1;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final CharArena keys;
+    private volatile Table table;
+    private volatile int size;
+
+    ProductSlotIndex(CharArena keys, int expectedSize) {
+        this.keys = keys;
+        this.table = new Table(tableSizeFor(expectedSize));
+    }
+
+    int slotOf(String productId) {
+        Table current = table;
+        int hash = hash(productId);
+        int mask = current.hashes.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int slot = (int) SLOTS.getAcquire(current.slots, i);
+            if (slot == 0) {
+                return ABSENT;
+            }
+            if (current.hashes[i] == hash && keys.matches(current.keyRefs[i], productId)) {
+                return slot - 1;
+            }
+        }
+    }
+
+    /**
+     * @return the slot already assigned to {@code productId}, or the next free slot, assigned to it now
+     */
+    int insert(String productId, long keyRef) {
+        int existing = slotOf(productId);
+        if (existing != ABSENT) {
+            return existing;
+        }
+        if ((size + 1) * 2 > table.hashes.length) {
+            table = rehash(table, table.hashes.length * 2);
+        }
+        int slot = size++;
+        put(table, hash(productId), keyRef, slot);
+        return slot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static Table rehash(Table from, int capacity) {
+        Table to = new Table(capacity);
+        for (int i = 0; i < from.slots.length; i++) {
+            if (from.slots[i] != 0) {
+                put(to, from.hashes[i], from.keyRefs[i], from.slots[i] - 1);
+            }
+        }
+        return to;
+    }
+
+    private static void put(Table table, int hash, long keyRef, int slot) {
+        int mask = table.hashes.length - 1;
+        int i = hash & mask;
+        while (table.slots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table.hashes[i] = hash;
+        table.keyRefs[i] = keyRef;
+        SLOTS.setRelease(table.slots, i, slot + 1);
+    }
+
+    private static int hash(String productId) {
+        int h = productId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static final class Table {
+        final int[] hashes;
+        final int[] slots;
+        final long[] keyRefs;
+
+        Table(int capacity) {
+            hashes = new int[capacity];
+            slots = new int[capacity];
+            keyRefs = new long[capacity];
+        }
+    }
+}
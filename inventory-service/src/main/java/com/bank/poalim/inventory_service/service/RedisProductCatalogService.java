@@ -0,0 +1,381 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ProductFilter;
+import com.bank.poalim.inventory_service.model.ProductPage;
+import com.bank.poalim.inventory_service.model.StockLevels;
+import com.bank.poalim.inventory_service.store.ProductHashMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+import reactor.util.retry.Retry;
+
+/**
+ * Product catalog kept in Redis, so several inventory instances share one stock.
+ * <p>
+ * Each product has a metadata hash ({@code inventory:product:{id}}) and a stock counter
+ * ({@code inventory:stock:{id}}), and the ids are kept in the sorted set {@code inventory:products}
+ * for listings. An order's reservation is a single Lua script that checks every
+ * line and then decrements them all, so it is atomic across instances and costs one round trip.
+ * <p>
+ * Metadata changes rarely, so each node keeps it in a near cache and reads only the counter from
+ * Redis. Writes publish the product id on {@code inventory:product-changes} and every node drops
+ * its copy. A lookup that raced with an invalidation does not cache what it read, and the whole
+ * cache is cleared whenever the subscription is (re)established, since messages sent while it was
+ * down are lost.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.catalog.store", havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisProductCatalogService implements ProductCatalogService, SmartLifecycle {
+
+    static final String PRODUCT_IDS_KEY = "inventory:products";
+    private static final int SCAN_BATCH = 500;
+    static final String SEEDED_KEY = "inventory:seeded";
+    static final String INVALIDATION_CHANNEL = "inventory:product-changes";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RedisScript<Long> reserveStockScript;
+    private final RedisScript<Long> releaseStockScript;
+    private final RedisScript<Long> putProductScript;
+    private final RedisScript<Long> removeProductScript;
+    private final RedisScript<Long> expireProductScript;
+
+    @Value("${inventory.catalog.redis.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @Value("${inventory.catalog.redis.near-cache-max-entries:100000}")
+    private int nearCacheMaxEntries;
+
+    private final Map<String, Product> nearCache = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile Disposable subscription;
+
+    @Override
+    public void start() {
+        subscription = redisTemplate.listenToChannel(INVALIDATION_CHANNEL)
+                .doOnSubscribe(ignored -> invalidateAll())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(100)).maxBackoff(Duration.ofSeconds(5))
+                        .doBeforeRetry(signal -> log.warn("Product invalidation subscription lost, resubscribing", signal.failure())))
+                .subscribe(message -> invalidate(message.getMessage()));
+
+        if (Boolean.TRUE.equals(block(redisTemplate.opsForValue().setIfAbsent(SEEDED_KEY, "1")))) {
+            SampleProducts.create().forEach(this::addProduct);
+            log.info("Initialized Redis product catalog with sample products");
+        }
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        Disposable current = subscription;
+        return current != null && !current.isDisposed();
+    }
+
+    // Before the Kafka listener containers, which start in a late phase
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public Optional<Product> findProduct(String productId) {
+        Product metadata = nearCache.get(productId);
+        String stock;
+        if (metadata != null) {
+            stock = block(stockOf(productId));
+        } else {
+            long seen = invalidations.get();
+            Tuple2<Optional<Product>, String> loaded = block(Mono.zip(
+                    loadMetadata(productId).map(Optional::of).defaultIfEmpty(Optional.empty()),
+                    stockOf(productId)));
+            metadata = loaded.getT1().orElse(null);
+            stock = loaded.getT2();
+            // An invalidation seen meanwhile may be newer than what was read
+            if (metadata != null && invalidations.get() == seen && nearCache.size() < nearCacheMaxEntries) {
+                nearCache.put(productId, metadata);
+            }
+        }
+        if (metadata == null || stock.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(metadata.toBuilder().availableQuantity(Integer.parseInt(stock)).build());
+    }
+
+    /**
+     * One MGET for every product's stock, with metadata from the near cache; only products missing from
+     * it add a hash read, issued alongside the MGET.
+     */
+    @Override
+    public StockLevels readStock(List<String> productIds) {
+        Tuple2<Map<String, Product>, List<String>> loaded = loadWithStock(productIds);
+        StockLevels levels = new StockLevels(productIds.size());
+        List<String> stocks = loaded.getT2();
+        for (int i = 0; i < productIds.size(); i++) {
+            Product product = loaded.getT1().get(productIds.get(i));
+            String stock = stocks.get(i);
+            if (product != null && stock != null) {
+                levels.add(product, Integer.parseInt(stock));
+            } else {
+                levels.addMissing();
+            }
+        }
+        return levels;
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        List<Product> products = new ArrayList<>();
+        forEachProduct(ProductFilter.all(), products::add);
+        return products;
+    }
+
+    /**
+     * Pages through the id sorted set by range; the cursor is the last product id returned, so a
+     * full page may be followed by an empty one.
+     */
+    @Override
+    public ProductPage findProducts(ProductFilter filter, String cursor, int limit) {
+        List<Product> products = new ArrayList<>(limit);
+        String after = cursor;
+        int batchSize = Math.min(Math.max(limit, 16), SCAN_BATCH);
+        while (true) {
+            List<String> productIds = block(idsAfter(after, batchSize));
+            if (productIds == null || productIds.isEmpty()) {
+                return new ProductPage(products, null);
+            }
+            for (Product product : loadProducts(productIds)) {
+                if (filter.matches(product)) {
+                    products.add(product);
+                    if (products.size() == limit) {
+                        return new ProductPage(products, product.getProductId());
+                    }
+                }
+            }
+            after = productIds.get(productIds.size() - 1);
+        }
+    }
+
+    @Override
+    public void forEachProduct(ProductFilter filter, Consumer<Product> action) {
+        String after = null;
+        while (true) {
+            List<String> productIds = block(idsAfter(after, SCAN_BATCH));
+            if (productIds == null || productIds.isEmpty()) {
+                return;
+            }
+            for (Product product : loadProducts(productIds)) {
+                if (filter.matches(product)) {
+                    action.accept(product);
+                }
+            }
+            after = productIds.get(productIds.size() - 1);
+        }
+    }
+
+    @Override
+    public void updateProductQuantity(String productId, int newQuantity) {
+        Boolean updated = block(redisTemplate.opsForValue()
+                .setIfPresent(stockKey(productId), Integer.toString(Math.max(newQuantity, 0))));
+        if (Boolean.TRUE.equals(updated)) {
+            log.info("Updated product {} quantity to {}", productId, newQuantity);
+        } else {
+            log.warn("Attempted to update quantity for non-existent product: {}", productId);
+        }
+    }
+
+    @Override
+    public void addProduct(Product product) {
+        String productId = product.getProductId();
+        int quantity = product.getAvailableQuantity() != null ? Math.max(product.getAvailableQuantity(), 0) : 0;
+        List<String> args = new ArrayList<>();
+        args.add(productId);
+        args.add(Integer.toString(quantity));
+        args.add(INVALIDATION_CHANNEL);
+        ProductHashMapper.toHash(product).forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        block(redisTemplate.execute(putProductScript, productKeys(productId), args).next());
+        invalidate(productId);
+        log.info("Added product to catalog: {}", productId);
+    }
+
+    @Override
+    public void markExpired(String productId) {
+        Long marked = block(redisTemplate.execute(expireProductScript, List.of(productKey(productId)),
+                List.of(productId, INVALIDATION_CHANNEL, ProductHashMapper.EXPIRED)).next());
+        invalidate(productId);
+        if (marked != null && marked > 0) {
+            log.info("Marked product as expired: {}", productId);
+        }
+    }
+
+    @Override
+    public void removeProduct(String productId) {
+        Long removed = block(redisTemplate.execute(removeProductScript, productKeys(productId),
+                List.of(productId, INVALIDATION_CHANNEL)).next());
+        invalidate(productId);
+        if (removed != null && removed > 0) {
+            log.info("Removed product from catalog: {}", productId);
+        } else {
+            log.warn("Attempted to remove non-existent product: {}", productId);
+        }
+    }
+
+    @Override
+    public boolean reserveStock(Map<String, Integer> quantities) {
+        List<String> keys = new ArrayList<>(quantities.size());
+        List<String> args = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> {
+            if (quantity > 0) {
+                keys.add(stockKey(productId));
+                args.add(Integer.toString(quantity));
+            }
+        });
+        if (keys.isEmpty()) {
+            return true;
+        }
+        Long reserved = block(redisTemplate.execute(reserveStockScript, keys, args).next());
+        return reserved != null && reserved == 1L;
+    }
+
+    @Override
+    public void releaseStock(Map<String, Integer> quantities) {
+        List<String> keys = new ArrayList<>(quantities.size());
+        List<String> args = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> {
+            if (quantity > 0) {
+                keys.add(stockKey(productId));
+                args.add(Integer.toString(quantity));
+            }
+        });
+        if (!keys.isEmpty()) {
+            block(redisTemplate.execute(releaseStockScript, keys, args).next());
+        }
+    }
+
+    void invalidate(String productId) {
+        invalidations.incrementAndGet();
+        nearCache.remove(productId);
+    }
+
+    int nearCacheSize() {
+        return nearCache.size();
+    }
+
+    private void invalidateAll() {
+        invalidations.incrementAndGet();
+        nearCache.clear();
+    }
+
+    private Mono<List<String>> idsAfter(String after, int count) {
+        Range<String> range = after != null ? Range.rightUnbounded(Range.Bound.exclusive(after)) : Range.unbounded();
+        return redisTemplate.opsForZSet().rangeByLex(PRODUCT_IDS_KEY, range, Limit.limit().count(count)).collectList();
+    }
+
+    private List<Product> loadProducts(List<String> productIds) {
+        Tuple2<Map<String, Product>, List<String>> loaded = loadWithStock(productIds);
+        List<Product> products = new ArrayList<>(productIds.size());
+        List<String> stocks = loaded.getT2();
+        for (int i = 0; i < productIds.size(); i++) {
+            Product product = loaded.getT1().get(productIds.get(i));
+            String stock = stocks.get(i);
+            if (product != null && stock != null) {
+                products.add(product.toBuilder().availableQuantity(Integer.parseInt(stock)).build());
+            }
+        }
+        return products;
+    }
+
+    // Metadata from the near cache where possible, and the stock of the whole batch in one MGET
+    private Tuple2<Map<String, Product>, List<String>> loadWithStock(List<String> productIds) {
+        long seen = invalidations.get();
+        Map<String, Product> metadata = new HashMap<>();
+        Set<String> misses = new HashSet<>();
+        for (String productId : productIds) {
+            Product cached = nearCache.get(productId);
+            if (cached != null) {
+                metadata.put(productId, cached);
+            } else {
+                misses.add(productId);
+            }
+        }
+        List<String> stockKeys = productIds.stream().map(RedisProductCatalogService::stockKey).toList();
+        Mono<List<String>> stocks = redisTemplate.opsForValue().multiGet(stockKeys);
+        if (misses.isEmpty()) {
+            return Tuples.of(metadata, block(stocks));
+        }
+        Tuple2<List<Product>, List<String>> loaded = block(Mono.zip(
+                Flux.fromIterable(misses).flatMap(this::loadMetadata).collectList(),
+                stocks));
+        boolean cacheable = invalidations.get() == seen;
+        for (Product product : loaded.getT1()) {
+            metadata.put(product.getProductId(), product);
+            if (cacheable && nearCache.size() < nearCacheMaxEntries) {
+                nearCache.put(product.getProductId(), product);
+            }
+        }
+        return Tuples.of(metadata, loaded.getT2());
+    }
+
+    private Mono<Product> loadMetadata(String productId) {
+        return redisTemplate.<String, String>opsForHash().entries(productKey(productId))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .mapNotNull(hash -> ProductHashMapper.fromHash(productId, hash));
+    }
+
+    private Mono<String> stockOf(String productId) {
+        return redisTemplate.opsForValue().get(stockKey(productId)).defaultIfEmpty("");
+    }
+
+    private <T> T block(Mono<T> mono) {
+        return mono.block(Duration.ofMillis(timeoutMs));
+    }
+
+    private static List<String> productKeys(String productId) {
+        return List.of(productKey(productId), stockKey(productId), PRODUCT_IDS_KEY);
+    }
+
+    static String productKey(String productId) {
+        return "inventory:product:" + productId;
+    }
+
+    static String stockKey(String productId) {
+        return "inventory:stock:" + productId;
+    }
+}
@@ -0,0 +1,77 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+
+/**
+ * The products every catalog backend starts with when it has no stored state.
+ */
+final class SampleProducts {
+
+    private SampleProducts() {
+    }
+
+    static List<Product> create() {
+        return List.of(
+                // Standard products
+                Product.builder()
+                        .productId("P1001")
+                        .name("Standard Product 1")
+                        .category(OrderItemCategory.STANDARD)
+                        .availableQuantity(50)
+                        .active(true)
+                        .build(),
+                Product.builder()
+                        .productId("P1002")
+                        .name("Standard Product 2")
+                        .category(OrderItemCategory.STANDARD)
+                        .availableQuantity(10)
+                        .active(true)
+                        .build(),
+
+                // Perishable products
+                Product.builder()
+                        .productId("P2001")
+                        .name("Fresh Milk")
+                        .category(OrderItemCategory.PERISHABLE)
+                        .availableQuantity(20)
+                        .expirationDate(LocalDate.now().plusDays(7))
+                        .active(true)
+                        .build(),
+                Product.builder()
+                        .productId("P2002")
+                        .name("Expired Yogurt")
+                        .category(OrderItemCategory.PERISHABLE)
+                        .availableQuantity(5)
+                        .expirationDate(LocalDate.now().minusDays(1)) // Expired
+                        .active(true)
+                        .build(),
+                Product.builder()
+                        .productId("P2003")
+                        .name("Fresh Bread")
+                        .category(OrderItemCategory.PERISHABLE)
+                        .availableQuantity(15)
+                        .expirationDate(LocalDate.now().plusDays(3))
+                        .active(true)
+                        .build(),
+
+                // Digital products
+                Product.builder()
+                        .productId("P3001")
+                        .name("Digital Book")
+                        .category(OrderItemCategory.DIGITAL)
+                        .availableQuantity(1000) // Unlimited
+                        .active(true)
+                        .build(),
+                Product.builder()
+                        .productId("P3002")
+                        .name("Software License")
+                        .category(OrderItemCategory.DIGITAL)
+                        .availableQuantity(500)
+                        .active(true)
+                        .build());
+    }
+}
@@ -0,0 +1,221 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.event.ShardReply;
+import com.bank.poalim.inventory_service.event.ShardRequest;
+import com.bank.poalim.inventory_service.kafka.OrderEventsProducer;
+import com.bank.poalim.inventory_service.kafka.ShardMessagesProducer;
+import com.bank.poalim.inventory_service.metrics.PipelineStage;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
+import com.bank.poalim.inventory_service.model.OrderItemDto;
+import com.bank.poalim.inventory_service.model.ValidationMissingItem;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Validates an order whose products are spread over several inventory nodes, all or nothing.
+ * <p>
+ * The order lines are split by owning shard and each shard is asked to PREPARE its part: validate it
+ * and hold the stock. Once every shard has answered, the holds are committed if all of them
+ * prepared and aborted otherwise; a shard that does not answer within
+ * {@code inventory.sharding.request-timeout-ms} counts as a rejection. A single
+ * {@link InventoryCheckResultEvent} is published after the decision has been sent.
+ * <p>
+ * The decision is kept in memory only. If this node dies before sending it, the shards' holds
+ * expire on their own, and the order is validated again from its redelivered event.
+ */
+@Service
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "sharded")
+@Slf4j
+public class ShardCoordinator {
+
+    static final String SHARD_TIMEOUT_REASON = "Inventory shard did not answer in time";
+
+    private final ShardTopology shardTopology;
+    private final ShardMessagesProducer shardMessagesProducer;
+    private final OrderEventsProducer orderEventsProducer;
+    private final long requestTimeoutMs;
+    private final Map<String, Gather> pending = new ConcurrentHashMap<>();
+
+    public ShardCoordinator(ShardTopology shardTopology,
+            ShardMessagesProducer shardMessagesProducer,
+            OrderEventsProducer orderEventsProducer,
+            @Value("${inventory.sharding.request-timeout-ms:5000}") long requestTimeoutMs) {
+        this.shardTopology = shardTopology;
+        this.shardMessagesProducer = shardMessagesProducer;
+        this.orderEventsProducer = orderEventsProducer;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    /**
+     * Runs both phases and publishes the result; returns once it is published or the shards timed out.
+     */
+    public InventoryCheckResultEvent coordinate(OrderCreatedEvent event, PipelineTimestamps timestamps) {
+        String orderId = event.getOrderId();
+        Map<Integer, List<OrderItemDto>> itemsByShard = new TreeMap<>();
+        if (event.getItems() != null) {
+            for (OrderItemDto item : event.getItems()) {
+                itemsByShard.computeIfAbsent(shardTopology.ownerOf(item.getProductId()), shard -> new ArrayList<>()).add(item);
+            }
+        }
+
+        Gather gather = new Gather(itemsByShard.keySet());
+        if (pending.putIfAbsent(orderId, gather) != null) {
+            throw new IllegalStateException("Order " + orderId + " is already being coordinated");
+        }
+        Map<Integer, ShardReply> replies;
+        boolean approved;
+        List<CompletableFuture<?>> decisions = new ArrayList<>();
+        try {
+            itemsByShard.forEach((shard, items) -> shardMessagesProducer.sendRequest(shard, request(orderId, ShardRequest.Phase.PREPARE)
+                    .items(items)
+                    .build()));
+            replies = gather.await(requestTimeoutMs);
+            approved = replies.size() == itemsByShard.size()
+                    && replies.values().stream().allMatch(ShardReply::isPrepared);
+            ShardRequest.Phase decision = approved ? ShardRequest.Phase.COMMIT : ShardRequest.Phase.ABORT;
+            for (ShardReply reply : replies.values()) {
+                if (reply.isPrepared() && reply.getHoldId() != null) {
+                    decisions.add(shardMessagesProducer.sendRequest(reply.getShard(), request(orderId, decision)
+                            .holdId(reply.getHoldId())
+                            .build()));
+                }
+            }
+        } finally {
+            // Only now: a reply still arriving is late, and the decision for it is already on its way
+            pending.remove(orderId, gather);
+        }
+
+        if (approved) {
+            awaitCommits(orderId, decisions);
+        }
+        List<ValidationMissingItem> missingItems = missingItems(itemsByShard, replies);
+        InventoryCheckResultEvent result = InventoryCheckResultEvent.builder()
+                .orderId(orderId)
+                .approved(approved)
+                .missingItems(missingItems.isEmpty() ? null : missingItems)
+                .build();
+        timestamps.stampNow(PipelineStage.VALIDATED);
+        orderEventsProducer.publishInventoryCheckResultEvent(result, timestamps);
+        if (approved) {
+            log.info("Order {} APPROVED by {} shards", orderId, itemsByShard.size());
+        } else {
+            log.warn("Order {} REJECTED - {} of {} shards answered, {} issues found",
+                    orderId, replies.size(), itemsByShard.size(), missingItems.size());
+        }
+        return result;
+    }
+
+    public void onReply(ShardReply reply) {
+        Gather gather = pending.get(reply.getOrderId());
+        Offer offer = gather != null ? gather.offer(reply) : Offer.LATE;
+        if (offer == Offer.LATE && reply.isPrepared() && reply.getHoldId() != null) {
+            // The order was decided without this shard, or by a coordinator that is gone
+            log.warn("Late reply of shard {} for order {}, releasing hold {}", reply.getShard(), reply.getOrderId(), reply.getHoldId());
+            shardMessagesProducer.sendRequest(reply.getShard(), request(reply.getOrderId(), ShardRequest.Phase.ABORT)
+                    .holdId(reply.getHoldId())
+                    .build());
+        }
+    }
+
+    int pendingOrders() {
+        return pending.size();
+    }
+
+    private ShardRequest.ShardRequestBuilder request(String orderId, ShardRequest.Phase phase) {
+        return ShardRequest.builder()
+                .orderId(orderId)
+                .phase(phase)
+                .coordinator(shardTopology.localIndex());
+    }
+
+    // The result may be published only once every commit is on the shard topic
+    private void awaitCommits(String orderId, List<CompletableFuture<?>> commits) {
+        try {
+            CompletableFuture.allOf(commits.toArray(CompletableFuture[]::new)).get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Commit of order {} could not be sent to every shard; uncommitted holds expire after their TTL", orderId, e);
+        }
+    }
+
+    private static List<ValidationMissingItem> missingItems(Map<Integer, List<OrderItemDto>> itemsByShard, Map<Integer, ShardReply> replies) {
+        List<ValidationMissingItem> missingItems = new ArrayList<>();
+        itemsByShard.forEach((shard, items) -> {
+            ShardReply reply = replies.get(shard);
+            if (reply == null) {
+                items.forEach(item -> missingItems.add(new ValidationMissingItem(item.getProductId(), SHARD_TIMEOUT_REASON)));
+            } else if (!reply.isPrepared() && reply.getMissingItems() != null) {
+                missingItems.addAll(reply.getMissingItems());
+            }
+        });
+        return missingItems;
+    }
+
+    enum Offer {
+        ACCEPTED,
+        // Redelivery of a reply that was already taken
+        DUPLICATE,
+        // Arrived after the order was decided
+        LATE
+    }
+
+    // The replies of one order's shards, closed once the order is decided
+    private static final class Gather {
+
+        private final Set<Integer> awaiting;
+        private final Map<Integer, ShardReply> replies = new HashMap<>();
+        private boolean closed;
+
+        Gather(Set<Integer> shards) {
+            this.awaiting = new HashSet<>(shards);
+        }
+
+        synchronized Offer offer(ShardReply reply) {
+            ShardReply taken = replies.get(reply.getShard());
+            if (taken != null) {
+                return Objects.equals(taken.getHoldId(), reply.getHoldId()) ? Offer.DUPLICATE : Offer.LATE;
+            }
+            if (closed || !awaiting.remove(reply.getShard())) {
+                return Offer.LATE;
+            }
+            replies.put(reply.getShard(), reply);
+            if (awaiting.isEmpty()) {
+                notifyAll();
+            }
+            return Offer.ACCEPTED;
+        }
+
+        synchronized Map<Integer, ShardReply> await(long timeoutMs) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            try {
+                long remaining;
+                while (!awaiting.isEmpty() && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            closed = true;
+            return new HashMap<>(replies);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.bank.poalim.inventory_service.event.ShardReply;
+import com.bank.poalim.inventory_service.event.ShardRequest;
+import com.bank.poalim.inventory_service.model.InventoryCheckResult;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.StockHold;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The shard side of a sharded order: validates the lines of the products this node owns and holds
+ * their stock until the coordinator commits or aborts.
+ * <p>
+ * A prepared shard keeps its stock in a {@link StockHold} that expires after
+ * {@code inventory.sharding.hold-ttl-ms}, so stock is given back if the coordinator never decides.
+ * On startup the products of other nodes are dropped from the local catalog.
+ */
+@Service
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "sharded")
+@Slf4j
+public class ShardParticipant {
+
+    private final InventoryValidationService inventoryValidationService;
+    private final StockHoldService stockHoldService;
+    private final ShardTopology shardTopology;
+    private final Duration holdTtl;
+
+    public ShardParticipant(ProductCatalogService productCatalogService,
+            InventoryValidationService inventoryValidationService,
+            StockHoldService stockHoldService,
+            ShardTopology shardTopology,
+            @Value("${inventory.sharding.hold-ttl-ms:60000}") long holdTtlMs) {
+        this.inventoryValidationService = inventoryValidationService;
+        this.stockHoldService = stockHoldService;
+        this.shardTopology = shardTopology;
+        this.holdTtl = Duration.ofMillis(holdTtlMs);
+        dropProductsOfOtherNodes(productCatalogService);
+    }
+
+    public ShardReply prepare(ShardRequest request) {
+        String orderId = request.getOrderId();
+        InventoryCheckResult result = inventoryValidationService.checkOrder(orderId,
+                request.getItems() != null ? request.getItems() : List.of());
+        String holdId = null;
+        if (result.isApproved()) {
+            Map<String, Integer> quantities = inventoryValidationService.stockQuantities(result);
+            if (!quantities.isEmpty()) {
+                Optional<StockHold> hold = stockHoldService.reserve(orderId, quantities, holdTtl);
+                if (hold.isPresent()) {
+                    holdId = hold.get().getHoldId();
+                } else {
+                    inventoryValidationService.rejectForInsufficientStock(result);
+                }
+            }
+        }
+        log.info("Shard {} {} order {}", shardTopology.localIndex(), result.isApproved() ? "prepared" : "rejected", orderId);
+        return ShardReply.builder()
+                .orderId(orderId)
+                .shard(shardTopology.localIndex())
+                .prepared(result.isApproved())
+                .holdId(holdId)
+                .missingItems(result.isApproved() ? null : inventoryValidationService.missingItems(result))
+                .build();
+    }
+
+    public void commit(ShardRequest request) {
+        if (request.getHoldId() != null && !stockHoldService.commit(request.getHoldId())) {
+            // The hold expired before the decision came and its stock is back on sale
+            log.error("Hold {} of order {} was no longer active when it was committed", request.getHoldId(), request.getOrderId());
+        }
+    }
+
+    public void abort(ShardRequest request) {
+        if (request.getHoldId() != null) {
+            stockHoldService.release(request.getHoldId());
+        }
+    }
+
+    private void dropProductsOfOtherNodes(ProductCatalogService productCatalogService) {
+        int dropped = 0;
+        for (Product product : productCatalogService.getAllProducts()) {
+            if (!shardTopology.isLocal(product.getProductId())) {
+                productCatalogService.removeProduct(product.getProductId());
+                dropped++;
+            }
+        }
+        log.info("Node {} is shard {} of {}; dropped {} products owned by other nodes",
+                shardTopology.localNode(), shardTopology.localIndex(), shardTopology.nodeCount(), dropped);
+    }
+}
@@ -0,0 +1,53 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * The inventory nodes of a sharded deployment and which of them owns each product.
+ * <p>
+ * Every node is configured with the same {@code inventory.sharding.nodes} list; its position in that
+ * list is the node's index, which is also its partition of the shard request and reply topics.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "sharded")
+public class ShardTopology {
+
+    private final List<String> nodes;
+    private final int localIndex;
+    private final ConsistentHashRing ring;
+
+    public ShardTopology(@Value("${inventory.sharding.node-id}") String nodeId,
+            @Value("${inventory.sharding.nodes}") String[] nodes,
+            @Value("${inventory.sharding.virtual-nodes:128}") int virtualNodes) {
+        this.nodes = List.of(nodes);
+        this.localIndex = this.nodes.indexOf(nodeId);
+        if (localIndex < 0) {
+            throw new IllegalArgumentException("Node " + nodeId + " is not one of inventory.sharding.nodes " + this.nodes);
+        }
+        this.ring = new ConsistentHashRing(this.nodes, virtualNodes);
+    }
+
+    public int localIndex() {
+        return localIndex;
+    }
+
+    public String localNode() {
+        return nodes.get(localIndex);
+    }
+
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    public int ownerOf(String productId) {
+        return ring.ownerOf(productId);
+    }
+
+    public boolean isLocal(String productId) {
+        return ownerOf(productId) == localIndex;
+    }
+}
@@ -0,0 +1,183 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import com.bank.poalim.inventory_service.model.StockHold;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reservations that hold stock while a downstream step runs: {@link #reserve} takes the stock at
+ * once, {@link #commit} keeps it, and {@link #release} or the end of the TTL gives it back.
+ * <p>
+ * Held stock is taken from the catalog counters with {@link ProductCatalogService#reserveStock},
+ * so availability checks exclude it without looking at the holds. TTLs are driven by a
+ * {@link HierarchicalTimingWheel} that one thread advances every {@code inventory.holds.tick-ms}.
+ * Whichever of commit, release and expiry removes a hold from the map settles it; the others
+ * find it gone. Holds live in memory only.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockHoldService implements SmartLifecycle {
+
+    private record ActiveHold(StockHold hold, HierarchicalTimingWheel.Timeout<String> timeout) {
+    }
+
+    private final ProductCatalogService productCatalogService;
+
+    @Value("${inventory.holds.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${inventory.holds.default-ttl-ms:300000}")
+    private long defaultTtlMs;
+
+    @Value("${inventory.holds.max-ttl-ms:86400000}")
+    private long maxTtlMs;
+
+    private Clock clock = Clock.systemUTC();
+    private final Map<String, ActiveHold> holds = new ConcurrentHashMap<>();
+    private volatile HierarchicalTimingWheel<String> wheel;
+    private volatile ScheduledExecutorService ticker;
+
+    @Override
+    public void start() {
+        wheel = new HierarchicalTimingWheel<>(tickMs, clock.millis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Stock hold expiry started with a tick of {} ms", tickMs);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService current = ticker;
+        if (current != null) {
+            current.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    /**
+     * Takes every requested quantity, or nothing.
+     *
+     * @param ttl null for {@code inventory.holds.default-ttl-ms}
+     * @return the hold, or empty if some product does not have enough stock
+     */
+    public Optional<StockHold> reserve(String orderId, Map<String, Integer> quantities, Duration ttl) {
+        if (quantities == null || quantities.isEmpty()) {
+            throw new IllegalArgumentException("A hold needs at least one product");
+        }
+        quantities.forEach((productId, quantity) -> {
+            if (quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("Hold quantity must be positive for product " + productId);
+            }
+        });
+        long ttlMs = ttl != null ? ttl.toMillis() : defaultTtlMs;
+        if (ttlMs <= 0 || ttlMs > maxTtlMs) {
+            throw new IllegalArgumentException("Hold TTL must be between 1 and " + maxTtlMs + " ms");
+        }
+        HierarchicalTimingWheel<String> current = wheel;
+        if (current == null) {
+            throw new IllegalStateException("Stock holds are not running");
+        }
+
+        Map<String, Integer> held = Map.copyOf(quantities);
+        if (!productCatalogService.reserveStock(held)) {
+            log.info("Could not hold stock for order {}: {}", orderId, held);
+            return Optional.empty();
+        }
+        long expiresAt = clock.millis() + ttlMs;
+        StockHold hold = StockHold.builder()
+                .holdId(UUID.randomUUID().toString())
+                .orderId(orderId)
+                .quantities(held)
+                .expiresAt(Instant.ofEpochMilli(expiresAt))
+                .build();
+        // Scheduled under the map's lock for this id, so an expiry cannot look for it before it is there
+        holds.compute(hold.getHoldId(), (holdId, absent) -> new ActiveHold(hold, current.schedule(holdId, expiresAt)));
+        log.info("Holding stock for order {} until {}: {}", orderId, hold.getExpiresAt(), held);
+        return Optional.of(hold);
+    }
+
+    /**
+     * Keeps the held stock for good.
+     *
+     * @return false if the hold is unknown, or was already released or expired
+     */
+    public boolean commit(String holdId) {
+        ActiveHold active = settle(holdId);
+        if (active == null) {
+            return false;
+        }
+        log.info("Committed hold {} of order {}", holdId, active.hold().getOrderId());
+        return true;
+    }
+
+    /**
+     * Gives the held stock back.
+     *
+     * @return false if the hold is unknown, or was already committed or expired
+     */
+    public boolean release(String holdId) {
+        ActiveHold active = settle(holdId);
+        if (active == null) {
+            return false;
+        }
+        productCatalogService.releaseStock(active.hold().getQuantities());
+        log.info("Released hold {} of order {}", holdId, active.hold().getOrderId());
+        return true;
+    }
+
+    public Optional<StockHold> findHold(String holdId) {
+        return Optional.ofNullable(holds.get(holdId)).map(ActiveHold::hold);
+    }
+
+    public int activeHolds() {
+        return holds.size();
+    }
+
+    void tick() {
+        try {
+            for (String holdId : wheel.advanceTo(clock.millis())) {
+                ActiveHold active = holds.remove(holdId);
+                if (active != null) {
+                    productCatalogService.releaseStock(active.hold().getQuantities());
+                    log.info("Hold {} of order {} expired, stock returned", holdId, active.hold().getOrderId());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Stock hold expiry tick failed", e);
+        }
+    }
+
+    private ActiveHold settle(String holdId) {
+        ActiveHold active = holds.remove(holdId);
+        if (active != null) {
+            wheel.cancel(active.timeout());
+        }
+        return active;
+    }
+}
@@ -0,0 +1,103 @@
+package com.bank.poalim.inventory_service.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-product stock counters updated with compare-and-set only.
+ * <p>
+ * A multi-item reservation takes each line with its own CAS loop and, if any line cannot be
+ * satisfied, gives back the lines it already took. A counter therefore never goes below zero
+ * (no oversell) and no lock is shared between products, so listener threads only contend
+ * when they hit the same SKU.
+ */
+public class StockReservationEngine {
+
+    private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    public void track(String productId, int quantity) {
+        counters.put(productId, new AtomicInteger(Math.max(quantity, 0)));
+    }
+
+    public void untrack(String productId) {
+        counters.remove(productId);
+    }
+
+    public boolean isTracked(String productId) {
+        return counters.containsKey(productId);
+    }
+
+    /**
+     * @return the current available quantity, or -1 if the product is not tracked
+     */
+    public int available(String productId) {
+        AtomicInteger counter = counters.get(productId);
+        return counter != null ? counter.get() : -1;
+    }
+
+    public boolean set(String productId, int quantity) {
+        AtomicInteger counter = counters.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        counter.set(Math.max(quantity, 0));
+        return true;
+    }
+
+    /**
+     * Reserves every requested quantity or none of them.
+     *
+     * @param quantities requested quantity per product id; each product must appear once
+     * @return true if all lines were reserved
+     */
+    public boolean reserve(Map<String, Integer> quantities) {
+        int size = quantities.size();
+        AtomicInteger[] taken = new AtomicInteger[size];
+        int[] takenQuantities = new int[size];
+        int count = 0;
+
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            int requested = line.getValue();
+            AtomicInteger counter = counters.get(line.getKey());
+            if (requested <= 0) {
+                continue;
+            }
+            if (counter == null || !tryDecrement(counter, requested)) {
+                rollback(taken, takenQuantities, count);
+                return false;
+            }
+            taken[count] = counter;
+            takenQuantities[count] = requested;
+            count++;
+        }
+        return true;
+    }
+
+    public void release(Map<String, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> {
+            AtomicInteger counter = counters.get(productId);
+            if (counter != null && quantity > 0) {
+                counter.addAndGet(quantity);
+            }
+        });
+    }
+
+    private static boolean tryDecrement(AtomicInteger counter, int requested) {
+        while (true) {
+            int current = counter.get();
+            if (current < requested) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - requested)) {
+                return true;
+            }
+        }
+    }
+
+    private static void rollback(AtomicInteger[] taken, int[] takenQuantities, int count) {
+        for (int i = 0; i < count; i++) {
+            taken[i].addAndGet(takenQuantities[i]);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.bank.poalim.inventory_service.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+
+/**
+ * Encoding of catalog changes for the write-ahead log, and of products for snapshots.
+ * <p>
+ * A log record is one change: a whole product, a removal, an absolute quantity, or a set of
+ * quantity deltas that were reserved or released together and must be replayed together.
+ */
+public final class CatalogRecords {
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte SET_QUANTITY = 3;
+    private static final byte ADJUST_QUANTITIES = 4;
+
+    private static final byte NO_CATEGORY = -1;
+    private static final long NO_EXPIRATION = Long.MIN_VALUE;
+
+    private CatalogRecords() {
+    }
+
+    public interface Handler {
+        void put(Product product);
+
+        void remove(String productId);
+
+        void setQuantity(String productId, int quantity);
+
+        void adjustQuantity(String productId, int delta);
+    }
+
+    public static byte[] put(Product product) {
+        return encode(out -> {
+            out.writeByte(PUT);
+            writeProduct(out, product);
+        });
+    }
+
+    public static byte[] remove(String productId) {
+        return encode(out -> {
+            out.writeByte(REMOVE);
+            out.writeUTF(productId);
+        });
+    }
+
+    public static byte[] setQuantity(String productId, int quantity) {
+        return encode(out -> {
+            out.writeByte(SET_QUANTITY);
+            out.writeUTF(productId);
+            out.writeInt(quantity);
+        });
+    }
+
+    /**
+     * @param sign -1 for a reservation, 1 for a release; lines with a non-positive quantity are left out
+     */
+    public static byte[] adjustQuantities(Map<String, Integer> quantities, int sign) {
+        return encode(out -> {
+            out.writeByte(ADJUST_QUANTITIES);
+            int count = 0;
+            for (Integer quantity : quantities.values()) {
+                if (quantity > 0) {
+                    count++;
+                }
+            }
+            out.writeInt(count);
+            for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                if (line.getValue() > 0) {
+                    out.writeUTF(line.getKey());
+                    out.writeInt(sign * line.getValue());
+                }
+            }
+        });
+    }
+
+    public static void apply(byte[] record, Handler handler) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            byte type = in.readByte();
+            switch (type) {
+                case PUT:
+                    handler.put(readProduct(in));
+                    break;
+                case REMOVE:
+                    handler.remove(in.readUTF());
+                    break;
+                case SET_QUANTITY:
+                    handler.setQuantity(in.readUTF(), in.readInt());
+                    break;
+                case ADJUST_QUANTITIES:
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        handler.adjustQuantity(in.readUTF(), in.readInt());
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown catalog record type " + type);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed catalog record", e);
+        }
+    }
+
+    static void writeProduct(DataOutput out, Product product) throws IOException {
+        out.writeUTF(product.getProductId());
+        out.writeBoolean(product.getName() != null);
+        if (product.getName() != null) {
+            out.writeUTF(product.getName());
+        }
+        out.writeByte(product.getCategory() != null ? product.getCategory().ordinal() : NO_CATEGORY);
+        out.writeLong(product.getExpirationDate() != null ? product.getExpirationDate().toEpochDay() : NO_EXPIRATION);
+        out.writeBoolean(product.isActive());
+        out.writeInt(product.getAvailableQuantity() != null ? product.getAvailableQuantity() : 0);
+    }
+
+    static Product readProduct(DataInput in) throws IOException {
+        String productId = in.readUTF();
+        String name = in.readBoolean() ? in.readUTF() : null;
+        byte category = in.readByte();
+        long expiration = in.readLong();
+        boolean active = in.readBoolean();
+        int quantity = in.readInt();
+        return Product.builder()
+                .productId(productId)
+                .name(name)
+                .category(category != NO_CATEGORY ? OrderItemCategory.values()[category] : null)
+                .expirationDate(expiration != NO_EXPIRATION ? LocalDate.ofEpochDay(expiration) : null)
+                .active(active)
+                .availableQuantity(quantity)
+                .build();
+    }
+
+    private static byte[] encode(Encoder encoder) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try {
+            encoder.encode(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private interface Encoder {
+        void encode(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,219 @@
+package com.bank.poalim.inventory_service.store;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.bank.poalim.inventory_service.model.Product;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compact point-in-time copy of the catalog, named after the WAL LSN it covers.
+ * <p>
+ * The file is a header (magic, version, LSN) followed by length-prefixed products and an end
+ * marker with the product count. It is written and read through memory-mapped windows of
+ * {@value #WINDOW_BYTES} bytes, built under a temporary name, forced, and then renamed into
+ * place, so a snapshot file is either complete or absent. Older snapshots are deleted once a new
+ * one is in place.
+ */
+@Slf4j
+public final class CatalogSnapshot {
+
+    private static final String SUFFIX = ".snapshot";
+    private static final String TEMP_SUFFIX = ".snapshot.tmp";
+    private static final int MAGIC = 0x43415453;
+    private static final byte VERSION = 1;
+    private static final int END_MARKER = -1;
+    private static final int WINDOW_BYTES = 64 * 1024 * 1024;
+
+    private CatalogSnapshot() {
+    }
+
+    public static Writer create(Path directory, long lsn) throws IOException {
+        Files.createDirectories(directory);
+        return new Writer(directory, lsn);
+    }
+
+    /**
+     * Feeds every product of the newest snapshot to {@code into}.
+     *
+     * @return the LSN the snapshot covers, or -1 if there is no snapshot
+     */
+    public static long loadLatest(Path directory, Consumer<Product> into) throws IOException {
+        List<Long> lsns = snapshots(directory);
+        if (lsns.isEmpty()) {
+            return -1L;
+        }
+        long lsn = lsns.get(lsns.size() - 1);
+        Path file = path(directory, lsn, SUFFIX);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                DataInputStream in = new DataInputStream(new MappedInputStream(channel))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION || in.readLong() != lsn) {
+                throw new IOException("Not a catalog snapshot: " + file);
+            }
+            long count = 0;
+            int length;
+            while ((length = in.readInt()) != END_MARKER) {
+                into.accept(CatalogRecords.readProduct(in));
+                count++;
+            }
+            if (in.readLong() != count) {
+                throw new IOException("Catalog snapshot " + file + " is incomplete");
+            }
+            log.info("Loaded catalog snapshot {} with {} products", file, count);
+        }
+        return lsn;
+    }
+
+    private static List<Long> snapshots(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(f -> f.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path path(Path directory, long lsn, String suffix) {
+        return directory.resolve(String.format("%020d%s", lsn, suffix));
+    }
+
+    /**
+     * Streams products into a new snapshot; nothing replaces the current snapshot until {@link #commit()}.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path directory;
+        private final long lsn;
+        private final Path tempFile;
+        private final FileChannel channel;
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream(128);
+        private final DataOutputStream recordOut = new DataOutputStream(record);
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long count;
+        private boolean committed;
+
+        private Writer(Path directory, long lsn) throws IOException {
+            this.directory = directory;
+            this.lsn = lsn;
+            this.tempFile = path(directory, lsn, TEMP_SUFFIX);
+            this.channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.window = channel.map(FileChannel.MapMode.READ_WRITE, 0, WINDOW_BYTES);
+            window.putInt(MAGIC).put(VERSION).putLong(lsn);
+        }
+
+        public void add(Product product) throws IOException {
+            record.reset();
+            CatalogRecords.writeProduct(recordOut, product);
+            ensureRemaining(Integer.BYTES + record.size());
+            window.putInt(record.size());
+            window.put(record.toByteArray());
+            count++;
+        }
+
+        public void commit() throws IOException {
+            ensureRemaining(Integer.BYTES + Long.BYTES);
+            window.putInt(END_MARKER).putLong(count);
+            long size = windowStart + window.position();
+            window.force();
+            channel.truncate(size);
+            channel.force(true);
+            channel.close();
+            Files.move(tempFile, path(directory, lsn, SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            for (long older : snapshots(directory)) {
+                if (older < lsn) {
+                    Files.deleteIfExists(path(directory, older, SUFFIX));
+                }
+            }
+            log.info("Wrote catalog snapshot at LSN {} with {} products ({} bytes)", lsn, count, size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(tempFile);
+            }
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (window.remaining() >= bytes) {
+                return;
+            }
+            window.force();
+            windowStart += window.position();
+            window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, Math.max(WINDOW_BYTES, bytes));
+        }
+    }
+
+    // Sequential reads over a file, one mapped window at a time
+    private static final class MappedInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        private ByteBuffer window;
+
+        MappedInputStream(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.window = map(0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!window.hasRemaining() && !advance()) {
+                return -1;
+            }
+            return window.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!window.hasRemaining() && !advance()) {
+                return -1;
+            }
+            int n = Math.min(length, window.remaining());
+            window.get(bytes, offset, n);
+            return n;
+        }
+
+        private boolean advance() throws IOException {
+            long next = windowStart + window.limit();
+            if (next >= size) {
+                return false;
+            }
+            windowStart = next;
+            window = map(next);
+            return true;
+        }
+
+        private ByteBuffer map(long position) throws IOException {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_BYTES, size - position));
+        }
+    }
+}
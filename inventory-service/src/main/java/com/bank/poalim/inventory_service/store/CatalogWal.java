@@ -0,0 +1,300 @@
+package com.bank.poalim.inventory_service.store;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only write-ahead log of catalog changes with group commit.
+ * <p>
+ * Records are numbered by a log sequence number (LSN). The log is a series of files, each named
+ * after the LSN of its first record; a new file is started by {@link #roll()} when a snapshot is
+ * taken, so every file before the snapshot's LSN can be deleted once the snapshot is durable.
+ * On disk a record is a 4-byte length, a CRC32 of the payload and the payload; replay stops at
+ * the first torn or corrupt record.
+ * <p>
+ * {@link #append} only copies the record into a memory buffer. A flusher thread writes the buffer
+ * and forces it to disk; records appended while a force is in progress go out together in the
+ * next one, so concurrent writers share fsyncs. {@link #awaitDurable} blocks until a record is on
+ * disk.
+ */
+@Slf4j
+public class CatalogWal implements Closeable {
+
+    private static final String SUFFIX = ".wal";
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final Path directory;
+    private final Object appendLock = new Object();
+    private final Object flushLock = new Object();
+    private final Object durableLock = new Object();
+    private final Thread flusher;
+
+    // guarded by appendLock
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream(64 * 1024);
+    private ByteArrayOutputStream spare = new ByteArrayOutputStream(64 * 1024);
+    private long nextLsn;
+    private FileChannel channel;
+    private boolean closed;
+
+    private volatile long durableLsn;
+    private volatile IOException failure;
+
+    /**
+     * Opens a new log file starting at {@code nextLsn}, which must follow everything already
+     * recovered by {@link #replay}.
+     */
+    public CatalogWal(Path directory, long nextLsn) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.nextLsn = nextLsn;
+        this.durableLsn = nextLsn;
+        this.channel = open(nextLsn);
+        this.flusher = new Thread(this::flushLoop, "catalog-wal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Feeds every intact record with an LSN of at least {@code fromLsn} to {@code handler}, in order.
+     *
+     * @return the LSN after the last intact record, or {@code fromLsn} if there is none
+     */
+    public static long replay(Path directory, long fromLsn, Consumer<byte[]> handler) throws IOException {
+        long next = fromLsn;
+        for (long base : files(directory)) {
+            if (base > next) {
+                log.warn("Catalog WAL has a gap: expected LSN {}, next file starts at {}", next, base);
+            }
+            long lsn = base;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path(directory, base))))) {
+                byte[] record;
+                while ((record = readRecord(in, directory, base)) != null) {
+                    if (lsn >= fromLsn) {
+                        handler.accept(record);
+                    }
+                    lsn++;
+                }
+            }
+            next = Math.max(next, lsn);
+        }
+        return next;
+    }
+
+    /**
+     * @return the LSN just past this record, to pass to {@link #awaitDurable}
+     */
+    public long append(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IllegalStateException("Catalog WAL is closed");
+            }
+            writeInt(pending, record.length);
+            writeInt(pending, (int) crc.getValue());
+            pending.write(record, 0, record.length);
+            appendLock.notify();
+            return ++nextLsn;
+        }
+    }
+
+    public void awaitDurable(long lsn) {
+        if (durableLsn >= lsn) {
+            return;
+        }
+        synchronized (durableLock) {
+            while (durableLsn < lsn) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Catalog WAL write failed", failure);
+                }
+                try {
+                    durableLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted waiting for the catalog WAL", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flushes the current file and starts a new one. Callers must make sure nothing is appended
+     * concurrently, so the returned LSN separates the files exactly.
+     *
+     * @return the LSN of the first record of the new file
+     */
+    public long roll() throws IOException {
+        synchronized (flushLock) {
+            flush();
+            synchronized (appendLock) {
+                channel.close();
+                channel = open(nextLsn);
+                return nextLsn;
+            }
+        }
+    }
+
+    public long nextLsn() {
+        synchronized (appendLock) {
+            return nextLsn;
+        }
+    }
+
+    /**
+     * Deletes the files holding only records before {@code lsn}.
+     */
+    public void deleteBefore(long lsn) throws IOException {
+        List<Long> bases = files(directory);
+        for (int i = 0; i + 1 < bases.size() && bases.get(i + 1) <= lsn; i++) {
+            Files.deleteIfExists(path(directory, bases.get(i)));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            closed = true;
+            appendLock.notify();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (flushLock) {
+            flush();
+            channel.close();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            synchronized (appendLock) {
+                while (pending.size() == 0 && !closed) {
+                    try {
+                        appendLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            }
+            try {
+                synchronized (flushLock) {
+                    flush();
+                }
+            } catch (IOException e) {
+                log.error("Catalog WAL flush failed; further writes will not be acknowledged", e);
+                failure = e;
+                synchronized (durableLock) {
+                    durableLock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    // Must hold flushLock
+    private void flush() throws IOException {
+        ByteArrayOutputStream batch;
+        long upTo;
+        FileChannel target;
+        synchronized (appendLock) {
+            if (pending.size() == 0) {
+                return;
+            }
+            batch = pending;
+            pending = spare;
+            spare = batch;
+            upTo = nextLsn;
+            target = channel;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        target.force(false);
+        batch.reset();
+        synchronized (durableLock) {
+            durableLsn = upTo;
+            durableLock.notifyAll();
+        }
+    }
+
+    private FileChannel open(long base) throws IOException {
+        return FileChannel.open(path(directory, base),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static byte[] readRecord(DataInputStream in, Path directory, long base) throws IOException {
+        int length;
+        int crc;
+        try {
+            length = in.readInt();
+            crc = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        byte[] record = length >= 0 && length <= MAX_RECORD_BYTES ? readFully(in, length) : null;
+        if (record == null) {
+            log.warn("Ignoring torn record at the end of catalog WAL file {}", path(directory, base));
+            return null;
+        }
+        CRC32 actual = new CRC32();
+        actual.update(record);
+        if ((int) actual.getValue() != crc) {
+            log.warn("Ignoring corrupt record at the end of catalog WAL file {}", path(directory, base));
+            return null;
+        }
+        return record;
+    }
+
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        return bytes.length == length ? bytes : null;
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static List<Long> files(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(f -> f.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path path(Path directory, long base) {
+        return directory.resolve(String.format("%020d%s", base, SUFFIX));
+    }
+}
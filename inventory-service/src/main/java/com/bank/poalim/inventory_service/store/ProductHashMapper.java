@@ -0,0 +1,59 @@
+package com.bank.poalim.inventory_service.store;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+
+/**
+ * Maps the metadata of a {@link Product} to the fields of its Redis hash and back. The quantity
+ * is not part of the hash; it lives in a separate counter so it can be reserved on its own.
+ */
+public final class ProductHashMapper {
+
+    public static final String NAME = "name";
+    public static final String CATEGORY = "category";
+    public static final String EXPIRATION_DATE = "expirationDate";
+    public static final String ACTIVE = "active";
+    public static final String EXPIRED = "expired";
+
+    private ProductHashMapper() {
+    }
+
+    public static Map<String, String> toHash(Product product) {
+        Map<String, String> hash = new LinkedHashMap<>();
+        if (product.getName() != null) {
+            hash.put(NAME, product.getName());
+        }
+        if (product.getCategory() != null) {
+            hash.put(CATEGORY, product.getCategory().name());
+        }
+        if (product.getExpirationDate() != null) {
+            hash.put(EXPIRATION_DATE, product.getExpirationDate().toString());
+        }
+        hash.put(ACTIVE, Boolean.toString(product.isActive()));
+        hash.put(EXPIRED, Boolean.toString(product.isExpired()));
+        return hash;
+    }
+
+    /**
+     * @return the product without a quantity, or null for an empty hash
+     */
+    public static Product fromHash(String productId, Map<String, String> hash) {
+        if (hash.isEmpty()) {
+            return null;
+        }
+        String category = hash.get(CATEGORY);
+        String expirationDate = hash.get(EXPIRATION_DATE);
+        return Product.builder()
+                .productId(productId)
+                .name(hash.get(NAME))
+                .category(category != null ? OrderItemCategory.valueOf(category) : null)
+                .expirationDate(expirationDate != null ? LocalDate.parse(expirationDate) : null)
+                .active(Boolean.parseBoolean(hash.get(ACTIVE)))
+                .expired(Boolean.parseBoolean(hash.get(EXPIRED)))
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+-- Flags a product as expired and tells every node to drop its cached copy.
+-- KEYS[1] metadata hash
+-- ARGV[1] product id, ARGV[2] invalidation channel, ARGV[3] expired field name
+-- Returns 1 if the product exists, 0 otherwise
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return 0
+end
+redis.call('HSET', KEYS[1], ARGV[3], 'true')
+redis.call('PUBLISH', ARGV[2], ARGV[1])
+return 1
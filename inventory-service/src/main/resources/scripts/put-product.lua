@@ -0,0 +1,9 @@
+-- Writes a product's metadata and stock together and tells every node to drop its cached copy.
+-- KEYS[1] metadata hash, KEYS[2] stock counter, KEYS[3] product ids (sorted set, all scores 0)
+-- ARGV[1] product id, ARGV[2] quantity, ARGV[3] invalidation channel, ARGV[4..] metadata field/value pairs
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], unpack(ARGV, 4))
+redis.call('SET', KEYS[2], ARGV[2])
+redis.call('ZADD', KEYS[3], 0, ARGV[1])
+redis.call('PUBLISH', ARGV[3], ARGV[1])
+return 1
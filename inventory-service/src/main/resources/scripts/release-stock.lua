@@ -0,0 +1,8 @@
+-- Gives stock back; counters of removed products are not recreated.
+-- KEYS stock counters, ARGV quantities in the same order
+for i = 1, #KEYS do
+    if redis.call('EXISTS', KEYS[i]) == 1 then
+        redis.call('INCRBY', KEYS[i], ARGV[i])
+    end
+end
+return 1
@@ -0,0 +1,8 @@
+-- Deletes a product's metadata and stock and tells every node to drop its cached copy.
+-- KEYS[1] metadata hash, KEYS[2] stock counter, KEYS[3] product ids (sorted set, all scores 0)
+-- ARGV[1] product id, ARGV[2] invalidation channel
+-- Returns 1 if the product existed, 0 otherwise
+local removed = redis.call('ZREM', KEYS[3], ARGV[1])
+redis.call('DEL', KEYS[1], KEYS[2])
+redis.call('PUBLISH', ARGV[2], ARGV[1])
+return removed
@@ -0,0 +1,13 @@
+-- Takes stock for every line of an order, or for none of them.
+-- KEYS stock counters, ARGV requested quantities in the same order
+-- Returns 1 if every line was reserved, 0 if a product is missing or short
+for i = 1, #KEYS do
+    local available = tonumber(redis.call('GET', KEYS[i]))
+    if not available or available < tonumber(ARGV[i]) then
+        return 0
+    end
+end
+for i = 1, #KEYS do
+    redis.call('DECRBY', KEYS[i], ARGV[i])
+end
+return 1
@@ -0,0 +1,183 @@
+package com.bank.poalim.inventory_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.service.ProductCatalogService;
+import com.bank.poalim.inventory_service.service.ShardTopology;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Three inventory nodes in sharded mode, in this JVM, on an embedded broker.
+ */
+class ShardedInventoryIntegrationTest {
+
+    private static final int NODES = 3;
+    private static final String NODE_IDS = "node-0,node-1,node-2";
+
+    private static EmbeddedKafkaKraftBroker broker;
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private static Producer<String, String> producer;
+    private static Consumer<String, String> results;
+    private static final Map<String, JsonNode> receivedResults = new HashMap<>();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static String productA;
+    private static String productB;
+
+    @BeforeAll
+    static void startNodes() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        broker = new EmbeddedKafkaKraftBroker(1, NODES,
+                "order-created", "inventory-check-result", "inventory-shard-request", "inventory-shard-reply");
+        broker.afterPropertiesSet();
+
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SpringApplicationBuilder(InventoryServiceApplication.class).run(
+                    "--server.port=0",
+                    "--spring.main.banner-mode=off",
+                    "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                    "--kafka.consumer.mode=sharded",
+                    "--inventory.sharding.node-id=node-" + i,
+                    "--inventory.sharding.nodes=" + NODE_IDS,
+                    "--inventory.sharding.request-timeout-ms=10000",
+                    "--logging.level.org.apache.kafka=WARN",
+                    "--logging.level.kafka=WARN",
+                    "--logging.level.org.apache.zookeeper=WARN"));
+        }
+
+        // Two products owned by different nodes, each added only to its owner
+        ShardTopology topology = nodes.get(0).getBean(ShardTopology.class);
+        productA = "SHARDED-0";
+        for (int i = 1; productB == null; i++) {
+            if (topology.ownerOf("SHARDED-" + i) != topology.ownerOf(productA)) {
+                productB = "SHARDED-" + i;
+            }
+        }
+        catalogOf(productA).addProduct(product(productA, 10));
+        catalogOf(productB).addProduct(product(productB, 10));
+
+        producer = new DefaultKafkaProducerFactory<>(KafkaTestUtils.producerProps(broker),
+                new StringSerializer(), new StringSerializer()).createProducer();
+        results = new DefaultKafkaConsumerFactory<>(KafkaTestUtils.consumerProps("sharded-test", "false", broker),
+                new StringDeserializer(), new StringDeserializer()).createConsumer();
+        broker.consumeFromAnEmbeddedTopic(results, "inventory-check-result");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (results != null) {
+            results.close();
+        }
+        if (producer != null) {
+            producer.close();
+        }
+        nodes.forEach(ConfigurableApplicationContext::close);
+        if (broker != null) {
+            broker.destroy();
+        }
+        System.clearProperty("spring.devtools.restart.enabled");
+    }
+
+    @Test
+    void orders_SpanningShards_AreAllOrNothing() throws Exception {
+        // Every product lives only on its owner
+        for (ConfigurableApplicationContext node : nodes) {
+            ProductCatalogService catalog = node.getBean(ProductCatalogService.class);
+            assertThat(catalog.findProduct(productA).isPresent()).isEqualTo(catalog == catalogOf(productA));
+            assertThat(catalog.findProduct(productB).isPresent()).isEqualTo(catalog == catalogOf(productB));
+        }
+
+        // Both shards have the stock: approved, and both take it
+        sendOrder("ORD-SHARD-1", Map.of(productA, 4, productB, 3));
+        JsonNode approved = awaitResult("ORD-SHARD-1");
+        assertThat(approved.get("approved").asBoolean()).isTrue();
+        assertThat(quantityOf(productA)).isEqualTo(6);
+        assertThat(quantityOf(productB)).isEqualTo(7);
+
+        // One shard is short: rejected, and the other shard's hold is given back
+        sendOrder("ORD-SHARD-2", Map.of(productA, 2, productB, 100));
+        JsonNode rejected = awaitResult("ORD-SHARD-2");
+        assertThat(rejected.get("approved").asBoolean()).isFalse();
+        assertThat(rejected.get("missingItems")).hasSize(1);
+        assertThat(rejected.get("missingItems").get(0).get("productId").asText()).isEqualTo(productB);
+        assertThat(rejected.get("missingItems").get(0).get("reason").asText())
+                .isEqualTo("Insufficient quantity. Requested: 100, Available: 7");
+        await(() -> quantityOf(productA) == 6);
+        assertThat(quantityOf(productB)).isEqualTo(7);
+    }
+
+    private static void sendOrder(String orderId, Map<String, Integer> quantities) throws Exception {
+        List<Map<String, Object>> items = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> items.add(Map.of("productId", productId, "quantity", quantity)));
+        String json = objectMapper.writeValueAsString(Map.of("orderId", orderId, "items", items));
+        producer.send(new ProducerRecord<>("order-created", orderId, json)).get();
+    }
+
+    private static JsonNode awaitResult(String orderId) throws Exception {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (!receivedResults.containsKey(orderId) && System.currentTimeMillis() < deadline) {
+            for (ConsumerRecord<String, String> record : results.poll(Duration.ofMillis(500))) {
+                receivedResults.put(record.key(), objectMapper.readTree(record.value()));
+            }
+        }
+        assertThat(receivedResults).containsKey(orderId);
+        return receivedResults.get(orderId);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static int quantityOf(String productId) {
+        return catalogOf(productId).findProduct(productId).orElseThrow().getAvailableQuantity();
+    }
+
+    private static ProductCatalogService catalogOf(String productId) {
+        for (ConfigurableApplicationContext node : nodes) {
+            if (node.getBean(ShardTopology.class).isLocal(productId)) {
+                return node.getBean(ProductCatalogService.class);
+            }
+        }
+        throw new IllegalStateException("No node owns " + productId);
+    }
+
+    private static Product product(String productId, int quantity) {
+        return Product.builder()
+                .productId(productId)
+                .name(productId)
+                .category(OrderItemCategory.STANDARD)
+                .availableQuantity(quantity)
+                .active(true)
+                .build();
+    }
+}
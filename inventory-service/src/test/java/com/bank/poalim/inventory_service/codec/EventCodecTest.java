@@ -0,0 +1,141 @@
+package com.bank.poalim.inventory_service.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.OrderItemDto;
+import com.bank.poalim.inventory_service.model.ValidationMissingItem;
+
+class EventCodecTest {
+
+    @Test
+    void deserialize_BinaryHeader_DecodesBinaryOrderCreatedEvent() {
+        // Given
+        OrderCreatedEvent event = orderCreatedEvent();
+        RecordHeaders headers = new RecordHeaders();
+        EventFormat.BINARY.writeTo(headers);
+
+        // When
+        OrderCreatedEvent decoded = new OrderCreatedEventDeserializer()
+                .deserialize("order-created", headers, OrderCreatedEventBinaryCodec.encode(event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void deserialize_NoFormatHeader_FallsBackToJson() {
+        // Given
+        byte[] json = """
+                {"orderId":"order-1","customerName":"Alice","items":[{"productId":"P1001","quantity":2,"category":"standard"}],
+                 "eventType":"ORDER_CREATED","eventTimestamp":"2025-08-25T06:16:57.859666Z"}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        OrderCreatedEvent decoded = new OrderCreatedEventDeserializer().deserialize("order-created", new RecordHeaders(), json);
+
+        // Then
+        assertThat(decoded.getOrderId()).isEqualTo("order-1");
+        assertThat(decoded.getItems()).singleElement()
+                .satisfies(item -> assertThat(item.getCategory()).isEqualTo(OrderItemCategory.STANDARD));
+    }
+
+    @Test
+    void serialize_BinaryFormat_RoundTripsInventoryCheckResultWithHeader() {
+        // Given
+        InventoryCheckResultEvent event = InventoryCheckResultEvent.builder()
+                .orderId("order-2")
+                .missingItems(List.of(new ValidationMissingItem("P1002", "Insufficient quantity. Requested: 20, Available: 10")))
+                .approved(false)
+                .eventTimestamp(Instant.parse("2025-08-25T06:16:58Z"))
+                .build();
+        RecordHeaders headers = new RecordHeaders();
+
+        // When
+        byte[] data = new InventoryCheckResultEventSerializer(EventFormat.BINARY).serialize("inventory-check-result", headers, event);
+
+        // Then
+        assertThat(EventFormat.fromHeaders(headers)).isEqualTo(EventFormat.BINARY);
+        assertThat(InventoryCheckResultEventBinaryCodec.decode(data)).isEqualTo(event);
+    }
+
+    @Test
+    void decode_NullApprovedAndMissingItems_StayNull() {
+        // Given
+        InventoryCheckResultEvent event = new InventoryCheckResultEvent();
+
+        // When
+        InventoryCheckResultEvent decoded = InventoryCheckResultEventBinaryCodec.decode(InventoryCheckResultEventBinaryCodec.encode(event));
+
+        // Then
+        assertThat(decoded.getApproved()).isNull();
+        assertThat(decoded.getMissingItems()).isNull();
+    }
+
+    @Test
+    void decode_UnknownCategoryOrdinal_Throws() {
+        // Given - a category ordinal past the end of OrderItemCategory, as a newer producer might send
+        byte[] data = new BinaryEventWriter(32)
+                .writeByte(OrderCreatedEventBinaryCodec.SCHEMA_VERSION)
+                .writeString("order-3")
+                .writeString(null)
+                .writeCount(1, true)
+                .writeString("P1001")
+                .writeNullableInt(1)
+                .writeVarLong(OrderItemCategory.values().length + 1)
+                .toByteArray();
+
+        // When / Then
+        assertThatThrownBy(() -> OrderCreatedEventBinaryCodec.decode(data))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("OrderItemCategory");
+    }
+
+    @Test
+    void writeVarLong_ExtremeValues_RoundTrip() {
+        // Given
+        BinaryEventWriter writer = new BinaryEventWriter(16)
+                .writeNullableInt(Integer.MIN_VALUE)
+                .writeNullableInt(Integer.MAX_VALUE)
+                .writeInstant(Instant.MIN)
+                .writeInstant(Instant.MAX);
+
+        // When
+        BinaryEventReader reader = new BinaryEventReader(writer.toByteArray());
+
+        // Then
+        assertThat(reader.readNullableInt()).isEqualTo(Integer.MIN_VALUE);
+        assertThat(reader.readNullableInt()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(reader.readInstant()).isEqualTo(Instant.MIN);
+        assertThat(reader.readInstant()).isEqualTo(Instant.MAX);
+    }
+
+    private static OrderCreatedEvent orderCreatedEvent() {
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId("P2001");
+        item.setQuantity(3);
+        item.setCategory(OrderItemCategory.PERISHABLE);
+
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId("order-1");
+        event.setCustomerName("Alice");
+        event.setItems(List.of(item));
+        event.setRequestedAt(Instant.parse("2025-06-30T14:00:00Z"));
+        event.setCreatedAt(Instant.parse("2025-08-25T06:16:57.859666Z"));
+        event.setStatus("PENDING");
+        event.setEventType("ORDER_CREATED");
+        event.setEventTimestamp(Instant.parse("2025-08-25T06:16:57.859666Z"));
+        return event;
+    }
+}
@@ -0,0 +1,120 @@
+package com.bank.poalim.inventory_service.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.OrderItemDto;
+
+class OrderCreatedEventDeserializerTest {
+
+    private static final byte[] JSON = """
+            {"orderId":"order-1","customerName":"Alice","extra":{"nested":[1,2,{"a":null}]},
+             "items":[{"productId":"P1001","quantity":2,"category":"standard","note":"ignored"},
+                      {"productId":"P2001","quantity":null,"category":"perishable"}],
+             "requestedAt":"2025-06-30T14:00:00Z","createdAt":"2025-08-25T06:16:57.859666Z",
+             "status":"PENDING","eventType":"ORDER_CREATED","eventTimestamp":"2025-08-25T06:16:57.859666Z"}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final OrderCreatedEventDeserializer partialDeserializer = new OrderCreatedEventDeserializer(true);
+
+    @Test
+    void deserialize_PartialJson_ReadsOnlyOrderIdAndItems() {
+        // When
+        OrderCreatedEvent event = partialDeserializer.deserialize("order-created", new RecordHeaders(), JSON);
+
+        // Then
+        assertThat(event.getOrderId()).isEqualTo("order-1");
+        assertThat(event.getItems()).hasSize(2);
+        assertThat(event.getItems().get(0).getProductId()).isEqualTo("P1001");
+        assertThat(event.getItems().get(0).getQuantity()).isEqualTo(2);
+        assertThat(event.getItems().get(0).getCategory()).isEqualTo(OrderItemCategory.STANDARD);
+        assertThat(event.getItems().get(1).getQuantity()).isNull();
+        assertThat(event.getItems().get(1).getCategory()).isEqualTo(OrderItemCategory.PERISHABLE);
+        assertThat(event.getCustomerName()).isNull();
+        assertThat(event.getCreatedAt()).isNull();
+        assertThat(event.getEventType()).isNull();
+    }
+
+    @Test
+    void deserialize_PartialJson_MatchesFullDeserializationOfDeclaredFields() {
+        // Given
+        OrderCreatedEvent full = new OrderCreatedEventDeserializer().deserialize("order-created", new RecordHeaders(), JSON);
+
+        // When
+        OrderCreatedEvent partial = partialDeserializer.deserialize("order-created", new RecordHeaders(), JSON);
+
+        // Then
+        assertThat(partial.getOrderId()).isEqualTo(full.getOrderId());
+        assertThat(partial.getItems()).isEqualTo(full.getItems());
+    }
+
+    @Test
+    void deserialize_PartialBinary_StopsAfterItems() {
+        // Given
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId("P3001");
+        item.setQuantity(1);
+        item.setCategory(OrderItemCategory.DIGITAL);
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId("order-2");
+        event.setCustomerName("Bob");
+        event.setItems(List.of(item));
+        event.setCreatedAt(Instant.parse("2025-08-25T06:16:57Z"));
+        RecordHeaders headers = new RecordHeaders();
+        EventFormat.BINARY.writeTo(headers);
+
+        // When
+        OrderCreatedEvent decoded = partialDeserializer.deserialize("order-created", headers, OrderCreatedEventBinaryCodec.encode(event));
+
+        // Then
+        assertThat(decoded.getOrderId()).isEqualTo("order-2");
+        assertThat(decoded.getItems()).containsExactly(item);
+        assertThat(decoded.getCustomerName()).isNull();
+        assertThat(decoded.getCreatedAt()).isNull();
+    }
+
+    @Test
+    void deserialize_OtherEventTypeHeader_ReturnsNullWithoutParsing() {
+        // Given - the value is not even valid JSON, so parsing it would throw
+        RecordHeaders headers = new RecordHeaders();
+        EventTypeHeader.write(headers, "ORDER_CANCELLED");
+        byte[] notJson = "not json".getBytes(StandardCharsets.UTF_8);
+
+        // When / Then
+        assertThat(partialDeserializer.deserialize("order-created", headers, notJson)).isNull();
+        assertThat(new OrderCreatedEventDeserializer().deserialize("order-created", headers, notJson)).isNull();
+    }
+
+    @Test
+    void deserialize_MatchingEventTypeHeader_Parses() {
+        // Given
+        RecordHeaders headers = new RecordHeaders();
+        EventTypeHeader.write(headers, OrderCreatedEvent.EVENT_TYPE);
+
+        // When
+        OrderCreatedEvent event = partialDeserializer.deserialize("order-created", headers, JSON);
+
+        // Then
+        assertThat(event.getOrderId()).isEqualTo("order-1");
+    }
+
+    @Test
+    void deserialize_PartialMalformedJson_Throws() {
+        // Given
+        byte[] truncated = "{\"orderId\":\"order-1\",\"items\":[{\"productId\":".getBytes(StandardCharsets.UTF_8);
+
+        // When / Then
+        assertThatThrownBy(() -> partialDeserializer.deserialize("order-created", new RecordHeaders(), truncated))
+                .isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,194 @@
+package com.bank.poalim.inventory_service.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ProductFilter;
+import com.bank.poalim.inventory_service.model.ProductPage;
+import com.bank.poalim.inventory_service.service.ProductCatalogService;
+import com.bank.poalim.inventory_service.service.ProductExpirationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@WebMvcTest(ProductCatalogController.class)
+class ProductCatalogControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductCatalogService productCatalogService;
+
+    @MockBean
+    private ProductExpirationService productExpirationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void getAllProducts_Json_StreamsArray() throws Exception {
+        // Given
+        streamProducts(product("P1001", OrderItemCategory.STANDARD), product("P1002", OrderItemCategory.STANDARD));
+
+        // When
+        String content = performStreaming(get("/api/products").accept(MediaType.APPLICATION_JSON));
+
+        // Then
+        JsonNode products = objectMapper.readTree(content);
+        assertThat(products.isArray()).isTrue();
+        assertThat(products).extracting(node -> node.get("productId").asText()).containsExactly("P1001", "P1002");
+    }
+
+    @Test
+    void getAllProducts_Ndjson_WritesOneProductPerLine() throws Exception {
+        // Given
+        streamProducts(product("P1001", OrderItemCategory.STANDARD), product("P3001", OrderItemCategory.DIGITAL));
+
+        // When
+        String content = performStreaming(get("/api/products").accept(MediaType.APPLICATION_NDJSON));
+
+        // Then
+        assertThat(content.lines().map(this::productId).toList()).containsExactly("P1001", "P3001");
+    }
+
+    @Test
+    void getAllProducts_Filters_PassedToStore() throws Exception {
+        // Given
+        streamProducts();
+
+        // When
+        performStreaming(get("/api/products").param("category", "perishable").param("maxQuantity", "10"));
+
+        // Then
+        verify(productCatalogService).forEachProduct(
+                eq(new ProductFilter(OrderItemCategory.PERISHABLE, 10)), any());
+    }
+
+    @Test
+    void getProductPage_Limit_ReturnsPageWithCursor() throws Exception {
+        // Given
+        ProductPage page = new ProductPage(List.of(product("P1001", OrderItemCategory.STANDARD)), "P1001");
+        when(productCatalogService.findProducts(ProductFilter.all(), "P0001", 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/products").param("limit", "1").param("cursor", "P0001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].productId").value("P1001"))
+                .andExpect(jsonPath("$.nextCursor").value("P1001"));
+    }
+
+    @Test
+    void getProductPage_LimitTooLarge_ReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/products").param("limit", "1000000"))
+                .andExpect(status().isBadRequest());
+        verify(productCatalogService, never()).findProducts(any(), any(), anyInt());
+    }
+
+    @Test
+    void getProductPage_UnknownCategory_ReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/products").param("limit", "10").param("category", "frozen"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getProductsByCategory_ReturnsIndexedProducts() throws Exception {
+        // Given
+        when(productCatalogService.findByCategory(OrderItemCategory.DIGITAL))
+                .thenReturn(List.of(product("P3001", OrderItemCategory.DIGITAL)));
+
+        // When & Then
+        mockMvc.perform(get("/api/products/by-category/digital"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value("P3001"));
+    }
+
+    @Test
+    void getExpiringProducts_NoFrom_StartsToday() throws Exception {
+        // Given
+        LocalDate to = LocalDate.now().plusDays(7);
+        when(productCatalogService.findExpiring(LocalDate.now(), to))
+                .thenReturn(List.of(product("P2001", OrderItemCategory.PERISHABLE)));
+
+        // When & Then
+        mockMvc.perform(get("/api/products/expiring").param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value("P2001"));
+    }
+
+    @Test
+    void getLowStockProducts_ReturnsIndexedProducts() throws Exception {
+        // Given
+        when(productCatalogService.findLowStock(10)).thenReturn(List.of(product("P1002", OrderItemCategory.STANDARD)));
+
+        // When & Then
+        mockMvc.perform(get("/api/products/low-stock").param("maxQuantity", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value("P1002"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamProducts(Product... products) {
+        doAnswer(invocation -> {
+            Consumer<Product> action = invocation.getArgument(1);
+            for (Product product : products) {
+                action.accept(product);
+            }
+            return null;
+        }).when(productCatalogService).forEachProduct(any(ProductFilter.class), any(Consumer.class));
+    }
+
+    private String performStreaming(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private String productId(String line) {
+        try {
+            return objectMapper.readTree(line).get("productId").asText();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Product product(String productId, OrderItemCategory category) {
+        return Product.builder()
+                .productId(productId)
+                .name(productId)
+                .category(category)
+                .availableQuantity(5)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.bank.poalim.inventory_service.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.bank.poalim.inventory_service.model.StockHold;
+import com.bank.poalim.inventory_service.service.StockHoldService;
+
+@WebMvcTest(StockHoldController.class)
+class StockHoldControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StockHoldService stockHoldService;
+
+    @Test
+    void reserve_StockAvailable_ReturnsCreatedHold() throws Exception {
+        // Given
+        StockHold hold = new StockHold("H1", "ORD-1", Map.of("P1001", 2), Instant.parse("2026-01-01T00:05:00Z"));
+        when(stockHoldService.reserve("ORD-1", Map.of("P1001", 2), Duration.ofSeconds(30))).thenReturn(Optional.of(hold));
+
+        // When & Then
+        mockMvc.perform(post("/api/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"orderId\": \"ORD-1\", \"quantities\": {\"P1001\": 2}, \"ttlMs\": 30000}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.holdId").value("H1"))
+                .andExpect(jsonPath("$.quantities.P1001").value(2));
+    }
+
+    @Test
+    void reserve_InsufficientStock_ReturnsConflict() throws Exception {
+        // Given
+        when(stockHoldService.reserve(eq("ORD-1"), any(), eq(null))).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(post("/api/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"orderId\": \"ORD-1\", \"quantities\": {\"P1002\": 99}}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void reserve_InvalidRequest_ReturnsBadRequest() throws Exception {
+        // Given
+        when(stockHoldService.reserve(any(), any(), any())).thenThrow(new IllegalArgumentException("A hold needs at least one product"));
+
+        // When & Then
+        mockMvc.perform(post("/api/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"orderId\": \"ORD-1\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A hold needs at least one product"));
+    }
+
+    @Test
+    void commit_UnknownHold_ReturnsNotFound() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/holds/H9/commit"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void release_ActiveHold_ReturnsOk() throws Exception {
+        // Given
+        when(stockHoldService.release("H1")).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(delete("/api/holds/H1"))
+                .andExpect(status().isOk());
+    }
+}
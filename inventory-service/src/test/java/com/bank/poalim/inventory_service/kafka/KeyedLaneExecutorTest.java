@@ -0,0 +1,84 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class KeyedLaneExecutorTest {
+
+    private KeyedLaneExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Test
+    void submit_SameKey_RunsInSubmissionOrder() {
+        // Given
+        executor = new KeyedLaneExecutor(4, "test-lane-");
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            int value = i;
+            futures.add(executor.submit("order-1", () -> seen.add(value)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // Then
+        assertThat(seen).hasSize(200).isSorted();
+    }
+
+    @Test
+    void submit_DifferentLanes_RunConcurrently() throws InterruptedException {
+        // Given
+        executor = new KeyedLaneExecutor(2, "test-lane-");
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable task = () -> {
+            bothStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // When - keys 0 and 1 hash to different lanes
+        CompletableFuture<Void> first = executor.submit(findKeyForLane(0, 2), task);
+        CompletableFuture<Void> second = executor.submit(findKeyForLane(1, 2), task);
+
+        // Then
+        assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        CompletableFuture.allOf(first, second).join();
+    }
+
+    @Test
+    void constructor_NonPositiveLaneCount_Throws() {
+        assertThatThrownBy(() -> new KeyedLaneExecutor(0, "test-lane-"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String findKeyForLane(int lane, int laneCount) {
+        for (int i = 0; ; i++) {
+            String key = "order-" + i;
+            if (Math.floorMod(key.hashCode(), laneCount) == lane) {
+                return key;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.metrics.PipelineMetrics;
+import com.bank.poalim.inventory_service.metrics.PipelineStage;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
+import com.bank.poalim.inventory_service.model.InventoryCheckResult;
+import com.bank.poalim.inventory_service.service.InventoryValidationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCreatedEventHandlerTest {
+
+    @Mock
+    private InventoryValidationService inventoryValidationService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderCreatedEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new OrderCreatedEventHandler(inventoryValidationService, new PipelineMetrics(meterRegistry));
+    }
+
+    @Test
+    void handle_StampedEvent_PassesTimestampsOnAndRecordsInventoryStages() {
+        // Given
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId("ORD-1");
+        event.setItems(List.of());
+        PipelineTimestamps timestamps = new PipelineTimestamps()
+                .stamp(PipelineStage.PRODUCED, 1_000L)
+                .stamp(PipelineStage.INVENTORY_CONSUMED, 1_020L);
+        when(inventoryValidationService.validateOrder(eq("ORD-1"), any(), eq(timestamps), any())).thenAnswer(invocation -> {
+            timestamps.stamp(PipelineStage.VALIDATED, 1_025L).stamp(PipelineStage.RESULT_PRODUCED, 1_026L);
+            return InventoryCheckResult.builder().orderId("ORD-1").approved(true).build();
+        });
+
+        // When
+        handler.handle(event, timestamps);
+
+        // Then
+        verify(inventoryValidationService).validateOrder(eq("ORD-1"), eq(List.of()), eq(timestamps), any());
+        assertThat(stageTime("produced", "inventory-consumed")).isEqualTo(20.0);
+        assertThat(stageTime("inventory-consumed", "validated")).isEqualTo(5.0);
+        assertThat(stageTime("validated", "result-produced")).isEqualTo(1.0);
+    }
+
+    @Test
+    void handle_ValidationThrows_DoesNotPropagate() {
+        // Given
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId("ORD-2");
+        when(inventoryValidationService.validateOrder(any(), any(), any(), any())).thenThrow(new IllegalStateException("boom"));
+
+        // When
+        handler.handle(event, new PipelineTimestamps());
+
+        // Then
+        assertThat(meterRegistry.find(PipelineMetrics.TIMER_NAME).timers()).isEmpty();
+    }
+
+    private double stageTime(String from, String to) {
+        return meterRegistry.get(PipelineMetrics.TIMER_NAME).tag("from", from).tag("to", to).timer()
+                .totalTime(TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,260 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+
+import com.bank.poalim.inventory_service.config.KafkaConsumerConfig;
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelOrderEventsListenerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("order-created", 0);
+
+    @Mock
+    private OrderCreatedEventHandler orderCreatedEventHandler;
+
+    private final MockConsumer<String, OrderCreatedEvent> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicReference<BooleanSupplier> blockedAbandoned = new AtomicReference<>();
+    private ParallelOrderEventsListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new ParallelOrderEventsListener(orderCreatedEventHandler, 4, 100, 5_000);
+        consumer.assign(List.of(PARTITION));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        listener.destroy();
+    }
+
+    @Test
+    void onOrderCreatedBatch_SlowRecord_ReturnsAndCommitsOnlyUpToIt() throws Exception {
+        // Given: offset 2 blocks its lane, records on the other lanes complete
+        blockOrder("ORD-2");
+        List<ConsumerRecord<String, OrderCreatedEvent>> records = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            records.add(record(i, "ORD-" + i));
+        }
+
+        // When
+        listener.onOrderCreatedBatch(records, consumer);
+        awaitCommittedOffset(2);
+        Thread.sleep(100);
+        idle();
+
+        // Then
+        assertThat(committedOffset()).isEqualTo(2);
+
+        release.countDown();
+        awaitCommittedOffset(20);
+    }
+
+    @Test
+    void onOrderCreatedBatch_SameOrderId_HandledInOffsetOrder() throws Exception {
+        // Given
+        List<Long> handledOffsets = Collections.synchronizedList(new ArrayList<>());
+        List<ConsumerRecord<String, OrderCreatedEvent>> records = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            records.add(record(i, "ORD-1"));
+        }
+        doAnswer(invocation -> {
+            OrderCreatedEvent event = invocation.getArgument(0);
+            handledOffsets.add(Long.parseLong(event.getStatus()));
+            return null;
+        }).when(orderCreatedEventHandler).handle(any(), any(), any());
+
+        // When
+        listener.onOrderCreatedBatch(records, consumer);
+        awaitCommittedOffset(50);
+
+        // Then
+        assertThat(handledOffsets).hasSize(50).isSorted();
+    }
+
+    @Test
+    void onOrderCreatedBatch_NullKey_FallsBackToOrderId() {
+        // Given
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId("ORD-9");
+        ConsumerRecord<String, OrderCreatedEvent> record = new ConsumerRecord<>("order-created", 0, 0L, null, event);
+
+        // When
+        listener.onOrderCreatedBatch(List.of(record), consumer);
+
+        // Then
+        verify(orderCreatedEventHandler, timeout(5000)).handle(eq(event), any(), any());
+    }
+
+    @Test
+    void onOrderCreatedBatch_NullKeyAndValue_SkipsRecordAndCommitsPastIt() throws Exception {
+        // Given
+        ConsumerRecord<String, OrderCreatedEvent> record = new ConsumerRecord<>("order-created", 0, 0L, null, null);
+
+        // When
+        listener.onOrderCreatedBatch(List.of(record), consumer);
+
+        // Then
+        assertThat(committedOffset()).isEqualTo(1);
+        verify(orderCreatedEventHandler, never()).handle(any(), any(), any());
+    }
+
+    @Test
+    void onOrderCreatedBatch_TooManyInFlight_PausesUntilLanesCatchUp() throws Exception {
+        // Given: every record of the first order waits in its lane
+        blockOrder("ORD-1");
+        List<ConsumerRecord<String, OrderCreatedEvent>> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(record(i, "ORD-1"));
+        }
+
+        // When
+        listener.onOrderCreatedBatch(records, consumer);
+
+        // Then
+        assertThat(consumer.paused()).containsExactly(PARTITION);
+
+        release.countDown();
+        awaitCommittedOffset(100);
+        assertThat(consumer.paused()).isEmpty();
+    }
+
+    @Test
+    void onPartitionsRevokedBeforeCommit_RecordsInFlight_WaitsForThemBeforeCommitting() {
+        // Given: the lane of the second order is released while the revocation waits
+        blockOrder("ORD-1");
+        listener.onOrderCreatedBatch(List.of(record(0, "ORD-0"), record(1, "ORD-1"), record(2, "ORD-1")), consumer);
+        CompletableFuture.runAsync(release::countDown, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        // When
+        listener.onPartitionsRevokedBeforeCommit(consumer, Set.of(PARTITION));
+
+        // Then: nothing is left for the next owner to handle again
+        assertThat(committedOffset()).isEqualTo(3);
+        verify(orderCreatedEventHandler, times(3)).handle(any(), any(), any());
+    }
+
+    @Test
+    void onPartitionsRevokedBeforeCommit_DrainTimesOut_SkipsQueuedAndAbandonsRunning() throws Exception {
+        // Given
+        listener.destroy();
+        listener = new ParallelOrderEventsListener(orderCreatedEventHandler, 4, 100, 100);
+        blockOrder("ORD-1");
+        listener.onOrderCreatedBatch(List.of(record(0, "ORD-0"), record(1, "ORD-1"), record(2, "ORD-1")), consumer);
+        awaitCommittedOffset(1);
+        verify(orderCreatedEventHandler, timeout(5000)).handle(argThat(e -> "ORD-1".equals(e.getOrderId())), any(), any());
+
+        // When
+        listener.onPartitionsRevokedBeforeCommit(consumer, Set.of(PARTITION));
+        release.countDown();
+        Thread.sleep(100);
+        idle();
+
+        // Then: offset 1 must not publish, offset 2 never runs, and both are left for the partition's next owner
+        assertThat(blockedAbandoned.get().getAsBoolean()).isTrue();
+        verify(orderCreatedEventHandler, never()).handle(argThat(e -> "2".equals(e.getStatus())), any(), any());
+        assertThat(committedOffset()).isEqualTo(1);
+    }
+
+    @Test
+    void resize_LaneTasksInFlight_EveryRecordPublishedOnce() throws Exception {
+        // Given: an autoscaler resize stops the container, revoking the partition, and restarts it from the
+        // committed offset; offset 1 is still running when the revocation gives up waiting
+        listener.destroy();
+        listener = new ParallelOrderEventsListener(orderCreatedEventHandler, 4, 100, 100);
+        List<Long> published = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            OrderCreatedEvent event = invocation.getArgument(0);
+            BooleanSupplier abandoned = invocation.getArgument(2);
+            if ("ORD-1".equals(event.getOrderId())) {
+                release.await();
+            }
+            if (!abandoned.getAsBoolean()) {
+                published.add(Long.parseLong(event.getStatus()));
+            }
+            return null;
+        }).when(orderCreatedEventHandler).handle(any(), any(), any());
+        List<ConsumerRecord<String, OrderCreatedEvent>> records = List.of(record(0, "ORD-0"), record(1, "ORD-1"), record(2, "ORD-1"));
+        listener.onOrderCreatedBatch(records, consumer);
+        awaitCommittedOffset(1);
+
+        // When
+        listener.onPartitionsRevokedBeforeCommit(consumer, Set.of(PARTITION));
+        release.countDown();
+        listener.onOrderCreatedBatch(records.subList((int) committedOffset(), records.size()), consumer);
+        awaitCommittedOffset(3);
+
+        // Then
+        assertThat(published).containsExactlyInAnyOrder(0L, 1L, 2L);
+    }
+
+    private void blockOrder(String orderId) {
+        doAnswer(invocation -> {
+            OrderCreatedEvent event = invocation.getArgument(0);
+            if (orderId.equals(event.getOrderId())) {
+                blockedAbandoned.compareAndSet(null, invocation.getArgument(2));
+                release.await();
+            }
+            return null;
+        }).when(orderCreatedEventHandler).handle(any(), any(), any());
+    }
+
+    private void idle() {
+        listener.onIdle(new ListenerContainerIdleEvent(this, this, 0, KafkaConsumerConfig.ORDER_LISTENER_ID + "-0",
+                List.of(PARTITION), consumer, false));
+    }
+
+    private void awaitCommittedOffset(long expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && committedOffset() != expected; attempt++) {
+            Thread.sleep(10);
+            idle();
+        }
+        assertThat(committedOffset()).isEqualTo(expected);
+    }
+
+    private long committedOffset() {
+        OffsetAndMetadata committed = consumer.committed(Set.of(PARTITION)).get(PARTITION);
+        return committed != null ? committed.offset() : 0;
+    }
+
+    private static ConsumerRecord<String, OrderCreatedEvent> record(long offset, String orderId) {
+        // status carries the offset so ordering can be asserted from the handler
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId(orderId);
+        event.setStatus(String.valueOf(offset));
+        return new ConsumerRecord<>("order-created", 0, offset, orderId, event);
+    }
+}
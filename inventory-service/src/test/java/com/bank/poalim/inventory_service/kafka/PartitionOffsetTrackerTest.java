@@ -0,0 +1,120 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+class PartitionOffsetTrackerTest {
+
+    private static final TopicPartition P0 = new TopicPartition("order-created", 0);
+    private static final TopicPartition P1 = new TopicPartition("order-created", 1);
+
+    private final PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+
+    @Test
+    void committable_CompletedOutOfOrder_StopsAtFirstPendingOffset() {
+        // Given
+        PartitionOffsetTracker.TrackedRecord first = tracker.track(P0, 10);
+        tracker.track(P0, 11);
+        PartitionOffsetTracker.TrackedRecord third = tracker.track(P0, 12);
+
+        // When
+        third.complete();
+        first.complete();
+
+        // Then
+        assertThat(tracker.committable(List.of(P0))).isEqualTo(Map.of(P0, new OffsetAndMetadata(11)));
+        assertThat(tracker.pending(List.of(P0))).isEqualTo(2);
+    }
+
+    @Test
+    void committable_GapFilled_AdvancesPastEveryCompletedOffset() {
+        // Given: offsets need not be consecutive, e.g. after filtered or compacted records
+        PartitionOffsetTracker.TrackedRecord first = tracker.track(P0, 3);
+        PartitionOffsetTracker.TrackedRecord second = tracker.track(P0, 7);
+        second.complete();
+
+        // When
+        first.complete();
+
+        // Then
+        assertThat(tracker.committable(List.of(P0))).isEqualTo(Map.of(P0, new OffsetAndMetadata(8)));
+        assertThat(tracker.pending(List.of(P0))).isZero();
+    }
+
+    @Test
+    void committable_NothingMovedSinceLastCall_ReturnsEmpty() {
+        // Given
+        tracker.track(P0, 0).complete();
+        tracker.committable(List.of(P0));
+
+        // When & Then
+        assertThat(tracker.committable(List.of(P0))).isEmpty();
+    }
+
+    @Test
+    void committable_OtherPartitions_NotIncluded() {
+        // Given
+        tracker.track(P0, 0).complete();
+        tracker.track(P1, 0).complete();
+
+        // When
+        Map<TopicPartition, OffsetAndMetadata> commits = tracker.committable(List.of(P1));
+
+        // Then
+        assertThat(commits).containsOnlyKeys(P1);
+    }
+
+    @Test
+    void drained_LastRecordCompleted_Completes() {
+        // Given
+        PartitionOffsetTracker.TrackedRecord first = tracker.track(P0, 0);
+        PartitionOffsetTracker.TrackedRecord second = tracker.track(P0, 1);
+        CompletableFuture<Void> drained = tracker.drained(List.of(P0));
+
+        // When
+        second.complete();
+        boolean drainedBeforeFirst = drained.isDone();
+        first.complete();
+
+        // Then
+        assertThat(drainedBeforeFirst).isFalse();
+        assertThat(drained).isDone();
+        assertThat(tracker.drained(List.of(P1))).isDone();
+    }
+
+    @Test
+    void revoke_CompletionAfterRevocation_DoesNotMoveCommittableOffset() {
+        // Given
+        tracker.track(P0, 0).complete();
+        PartitionOffsetTracker.TrackedRecord stillRunning = tracker.track(P0, 1);
+
+        // When
+        tracker.revoke(List.of(P0));
+        stillRunning.complete();
+
+        // Then
+        assertThat(stillRunning.isRevoked()).isTrue();
+        assertThat(tracker.committable(List.of(P0))).isEqualTo(Map.of(P0, new OffsetAndMetadata(1)));
+    }
+
+    @Test
+    void forget_CompletionAfterRevocation_IsIgnored() {
+        // Given
+        PartitionOffsetTracker.TrackedRecord beforeRevocation = tracker.track(P0, 5);
+        tracker.forget(List.of(P0));
+
+        // When
+        beforeRevocation.complete();
+
+        // Then
+        assertThat(tracker.committable(List.of(P0))).isEmpty();
+        assertThat(tracker.pending(List.of(P0))).isZero();
+    }
+}
@@ -0,0 +1,86 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ProcessedOrderFilterTest {
+
+    @Test
+    void isProcessed_NewOrder_ReturnsFalse() {
+        // Given
+        ProcessedOrderFilter filter = new ProcessedOrderFilter(100);
+
+        // When / Then
+        assertThat(filter.isProcessed("ORD-1")).isFalse();
+    }
+
+    @Test
+    void isProcessed_MarkedOrder_ReturnsTrue() {
+        // Given
+        ProcessedOrderFilter filter = new ProcessedOrderFilter(100);
+        filter.markProcessed("ORD-1");
+
+        // When / Then
+        assertThat(filter.isProcessed("ORD-1")).isTrue();
+        assertThat(filter.isProcessed("ORD-2")).isFalse();
+    }
+
+    @Test
+    void markProcessed_BeyondCapacity_EvictsLeastRecentlyUsed() {
+        // Given
+        ProcessedOrderFilter filter = new ProcessedOrderFilter(3);
+        filter.markProcessed("ORD-1");
+        filter.markProcessed("ORD-2");
+        filter.markProcessed("ORD-3");
+        filter.isProcessed("ORD-1");
+
+        // When
+        filter.markProcessed("ORD-4");
+
+        // Then
+        assertThat(filter.size()).isEqualTo(3);
+        assertThat(filter.isProcessed("ORD-2")).isFalse();
+        assertThat(filter.isProcessed("ORD-1")).isTrue();
+        assertThat(filter.isProcessed("ORD-3")).isTrue();
+        assertThat(filter.isProcessed("ORD-4")).isTrue();
+    }
+
+    @Test
+    void markProcessed_ManyGenerations_RecentOrdersStillRecognised() {
+        // Given
+        ProcessedOrderFilter filter = new ProcessedOrderFilter(1_000);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            filter.markProcessed("ORD-" + i);
+        }
+
+        // Then
+        for (int i = 9_000; i < 10_000; i++) {
+            assertThat(filter.isProcessed("ORD-" + i)).isTrue();
+        }
+        assertThat(filter.isProcessed("ORD-0")).isFalse();
+    }
+
+    @Test
+    void isProcessed_UnseenOrders_NeverReportedAsProcessed() {
+        // Given
+        ProcessedOrderFilter filter = new ProcessedOrderFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.markProcessed("ORD-" + i);
+        }
+
+        // When / Then
+        for (int i = 10_000; i < 50_000; i++) {
+            assertThat(filter.isProcessed("ORD-" + i)).isFalse();
+        }
+    }
+
+    @Test
+    void constructor_NonPositiveCapacity_Throws() {
+        assertThatThrownBy(() -> new ProcessedOrderFilter(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,147 @@
+package com.bank.poalim.inventory_service.kafka;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.metrics.PipelineMetrics;
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.OrderItemDto;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.service.InventoryValidationService;
+import com.bank.poalim.inventory_service.service.ProductCatalogService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionalOrderEventsListenerTest {
+
+    @Mock
+    private OrderCreatedEventHandler orderCreatedEventHandler;
+
+    private TransactionalOrderEventsListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new TransactionalOrderEventsListener(orderCreatedEventHandler, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onOrderCreated_SameOrderTwice_ProcessedOnce() {
+        // Given
+        ConsumerRecord<String, OrderCreatedEvent> record = record(0L, "ORD-1");
+        ConsumerRecord<String, OrderCreatedEvent> duplicate = record(1L, "ORD-1");
+
+        // When
+        listener.onOrderCreated(record);
+        listener.onOrderCreated(duplicate);
+
+        // Then
+        verify(orderCreatedEventHandler, times(1)).process(eq(record.value()), any());
+    }
+
+    @Test
+    void onOrderCreated_TransactionCommits_DuplicateDropped() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        ConsumerRecord<String, OrderCreatedEvent> record = record(0L, "ORD-1");
+
+        // When
+        listener.onOrderCreated(record);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        listener.onOrderCreated(record(1L, "ORD-1"));
+
+        // Then
+        verify(orderCreatedEventHandler, times(1)).process(any(), any());
+    }
+
+    @Test
+    void onOrderCreated_TransactionRollsBack_AllowsRedelivery() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        ConsumerRecord<String, OrderCreatedEvent> record = record(0L, "ORD-1");
+
+        // When
+        listener.onOrderCreated(record);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        listener.onOrderCreated(record);
+
+        // Then
+        verify(orderCreatedEventHandler, times(2)).process(any(), any());
+    }
+
+    @Test
+    void onOrderCreated_ResultSendThrows_FailsRecordAndReleasesStock() {
+        // Given: an approved order whose result cannot be sent
+        ProductCatalogService catalog = mock(ProductCatalogService.class);
+        OrderEventsProducer producer = mock(OrderEventsProducer.class);
+        when(catalog.readStock(anyList())).thenCallRealMethod();
+        when(catalog.findProduct("P1001")).thenReturn(Optional.of(Product.builder()
+                .productId("P1001")
+                .category(OrderItemCategory.STANDARD)
+                .availableQuantity(10)
+                .active(true)
+                .build()));
+        when(catalog.reserveStock(Map.of("P1001", 2))).thenReturn(true);
+        when(producer.publishInventoryCheckResultEvent(any(), any())).thenThrow(new SerializationException("boom"));
+        OrderCreatedEventHandler handler = new OrderCreatedEventHandler(new InventoryValidationService(catalog, producer),
+                new PipelineMetrics(new SimpleMeterRegistry()));
+        TransactionalOrderEventsListener transactional = new TransactionalOrderEventsListener(handler, 100);
+        ConsumerRecord<String, OrderCreatedEvent> record = record(0L, "ORD-1");
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId("P1001");
+        item.setQuantity(2);
+        item.setCategory(OrderItemCategory.STANDARD);
+        record.value().setItems(List.of(item));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When: the container rolls back when the listener throws, so the offset is not committed
+        assertThatThrownBy(() -> transactional.onOrderCreated(record)).isInstanceOf(SerializationException.class);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        verify(catalog).releaseStock(Map.of("P1001", 2));
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static ConsumerRecord<String, OrderCreatedEvent> record(long offset, String orderId) {
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId(orderId);
+        return new ConsumerRecord<>("order-created", 0, offset, orderId, event);
+    }
+}
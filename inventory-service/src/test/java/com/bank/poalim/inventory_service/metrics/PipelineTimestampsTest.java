@@ -0,0 +1,35 @@
+package com.bank.poalim.inventory_service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+class PipelineTimestampsTest {
+
+    @Test
+    void fromHeaders_UpstreamStamps_ForwardedWithInventoryStages() {
+        // Given: stamps from order-service, one malformed and one stage this service does not know
+        RecordHeaders incoming = new RecordHeaders();
+        incoming.add("x-stage-accepted", "1000".getBytes(StandardCharsets.US_ASCII));
+        incoming.add("x-stage-produced", "1010".getBytes(StandardCharsets.US_ASCII));
+        incoming.add(PipelineStage.VALIDATED.header(), "garbage".getBytes(StandardCharsets.US_ASCII));
+        incoming.add("x-stage-redis-saved", "1005".getBytes(StandardCharsets.US_ASCII));
+
+        // When
+        PipelineTimestamps timestamps = PipelineTimestamps.fromHeaders(incoming)
+                .stamp(PipelineStage.INVENTORY_CONSUMED, 1_020L);
+        RecordHeaders outgoing = new RecordHeaders();
+        timestamps.writeTo(outgoing);
+
+        // Then
+        assertThat(timestamps.get(PipelineStage.ACCEPTED)).isEqualTo(1_000L);
+        assertThat(timestamps.get(PipelineStage.PRODUCED)).isEqualTo(1_010L);
+        assertThat(timestamps.get(PipelineStage.VALIDATED)).isNull();
+        assertThat(new String(outgoing.lastHeader("x-stage-accepted").value(), StandardCharsets.US_ASCII)).isEqualTo("1000");
+        assertThat(new String(outgoing.lastHeader("x-stage-inventory-consumed").value(), StandardCharsets.US_ASCII)).isEqualTo("1020");
+        assertThat(outgoing.lastHeader("x-stage-redis-saved")).isNull();
+    }
+}
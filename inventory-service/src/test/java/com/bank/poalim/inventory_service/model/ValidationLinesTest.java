@@ -0,0 +1,75 @@
+package com.bank.poalim.inventory_service.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ValidationLinesTest {
+
+    @Test
+    void addLine_RoundTripsEveryField() {
+        // Given
+        ValidationLines lines = new ValidationLines(2);
+
+        // When
+        lines.addLine("P1001", 5, 50, OrderItemCategory.STANDARD, true);
+        lines.addLine("UNKNOWN", 1, 0, null, false);
+
+        // Then
+        assertThat(lines.size()).isEqualTo(2);
+        assertThat(lines.productId(0)).isEqualTo("P1001");
+        assertThat(lines.requestedQuantity(0)).isEqualTo(5);
+        assertThat(lines.availableQuantity(0)).isEqualTo(50);
+        assertThat(lines.category(0)).isEqualTo(OrderItemCategory.STANDARD);
+        assertThat(lines.isAvailable(0)).isTrue();
+        assertThat(lines.category(1)).isNull();
+        assertThat(lines.isAvailable(1)).isFalse();
+    }
+
+    @Test
+    void updateAvailability_KeepsCategory() {
+        // Given
+        ValidationLines lines = new ValidationLines(1);
+        lines.addLine("P2001", 3, 10, OrderItemCategory.PERISHABLE, true);
+
+        // When
+        lines.updateAvailability(0, 1, false);
+
+        // Then
+        assertThat(lines.availableQuantity(0)).isEqualTo(1);
+        assertThat(lines.isAvailable(0)).isFalse();
+        assertThat(lines.category(0)).isEqualTo(OrderItemCategory.PERISHABLE);
+    }
+
+    @Test
+    void toIssues_RendersReasonAndType() {
+        // Given
+        ValidationLines lines = new ValidationLines(2);
+        lines.addLine("P1002", 20, 10, OrderItemCategory.STANDARD, false);
+        lines.addLine("UNKNOWN", 1, 0, null, false);
+        lines.addIssue(0, ValidationReason.INSUFFICIENT_QUANTITY, 20, 10);
+        lines.addIssue(1, ValidationReason.PRODUCT_NOT_FOUND, 1, 0);
+
+        // When / Then
+        assertThat(lines.toIssues()).containsExactly(
+                new InventoryCheckResult.ValidationIssue("P1002", "Insufficient quantity. Requested: 20, Available: 10",
+                        InventoryCheckResult.ValidationIssueType.INSUFFICIENT_QUANTITY),
+                new InventoryCheckResult.ValidationIssue("UNKNOWN", "Product not found in catalog",
+                        InventoryCheckResult.ValidationIssueType.PRODUCT_NOT_FOUND));
+        assertThat(lines.toMissingItems()).containsExactly(
+                new ValidationMissingItem("P1002", "Insufficient quantity. Requested: 20, Available: 10"),
+                new ValidationMissingItem("UNKNOWN", "Product not found in catalog"));
+    }
+
+    @Test
+    void toIssues_NoIssues_ReturnsEmptyLists() {
+        // Given
+        ValidationLines lines = new ValidationLines(1);
+        lines.addLine("P3001", 1, 1000, OrderItemCategory.DIGITAL, true);
+
+        // When / Then
+        assertThat(lines.toIssues()).isEmpty();
+        assertThat(lines.toMissingItems()).isEmpty();
+        assertThat(lines.toValidatedItems()).hasSize(1);
+    }
+}
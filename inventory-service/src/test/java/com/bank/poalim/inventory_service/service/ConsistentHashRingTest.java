@@ -0,0 +1,68 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    void ownerOf_SameKey_SameNode() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-0", "node-1", "node-2"), 128);
+        ConsistentHashRing sameNodes = new ConsistentHashRing(List.of("node-0", "node-1", "node-2"), 128);
+
+        // When / Then
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(ring.ownerOf("P" + i)).isEqualTo(sameNodes.ownerOf("P" + i)).isBetween(0, 2);
+        }
+    }
+
+    @Test
+    void ownerOf_ManyKeys_SpreadOverEveryNode() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-0", "node-1", "node-2"), 128);
+        int[] counts = new int[3];
+
+        // When
+        for (int i = 0; i < KEYS; i++) {
+            counts[ring.ownerOf("P" + i)]++;
+        }
+
+        // Then
+        for (int count : counts) {
+            assertThat(count).isBetween(KEYS / 5, KEYS / 2);
+        }
+    }
+
+    @Test
+    void ownerOf_NodeAdded_OnlyKeysOfNewNodeMove() {
+        // Given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-0", "node-1", "node-2"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-0", "node-1", "node-2", "node-3"), 128);
+        int moved = 0;
+
+        // When
+        for (int i = 0; i < KEYS; i++) {
+            int owner = after.ownerOf("P" + i);
+            if (owner != before.ownerOf("P" + i)) {
+                assertThat(owner).isEqualTo(3);
+                moved++;
+            }
+        }
+
+        // Then
+        assertThat(moved).isBetween(KEYS / 8, KEYS * 3 / 8);
+    }
+
+    @Test
+    void constructor_NoNodes_Throws() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,148 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+
+class DurableProductCatalogServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private DurableProductCatalogService catalog;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (catalog != null) {
+            catalog.close();
+        }
+    }
+
+    @Test
+    void constructor_EmptyDirectory_SeedsSampleProducts() throws Exception {
+        // When
+        catalog = open();
+
+        // Then
+        assertThat(catalog.getAllProducts()).hasSize(7);
+        assertThat(catalog.findProduct("P1001")).map(Product::getAvailableQuantity).contains(50);
+    }
+
+    @Test
+    void constructor_AfterCrash_ReplaysReservationsFromTheWal() throws Exception {
+        // Given - no snapshot is taken because the WAL is abandoned instead of closed
+        catalog = open();
+        catalog.reserveStock(Map.of("P1001", 5, "P1002", 10));
+        catalog.releaseStock(Map.of("P1002", 3));
+        catalog.updateProductQuantity("P2001", 2);
+        catalog.removeProduct("P3002");
+        catalog.addProduct(product("NEW", 8));
+        DurableProductCatalogService crashed = catalog;
+
+        // When
+        catalog = open();
+
+        // Then
+        assertThat(catalog.findProduct("P1001")).map(Product::getAvailableQuantity).contains(45);
+        assertThat(catalog.findProduct("P1002")).map(Product::getAvailableQuantity).contains(3);
+        assertThat(catalog.findProduct("P2001")).map(Product::getAvailableQuantity).contains(2);
+        assertThat(catalog.findProduct("P3002")).isEmpty();
+        assertThat(catalog.findProduct("NEW")).map(Product::getAvailableQuantity).contains(8);
+        assertThat(snapshotFiles()).isZero();
+        crashed.close();
+    }
+
+    @Test
+    void constructor_SnapshotPlusWalTail_RecoversBoth() throws Exception {
+        // Given
+        catalog = open();
+        catalog.reserveStock(Map.of("P1001", 5));
+        catalog.snapshot();
+        catalog.reserveStock(Map.of("P1001", 1));
+        DurableProductCatalogService crashed = catalog;
+
+        // When
+        catalog = open();
+
+        // Then
+        assertThat(snapshotFiles()).isEqualTo(1);
+        assertThat(catalog.findProduct("P1001")).map(Product::getAvailableQuantity).contains(44);
+        Product milk = catalog.findProduct("P2001").orElseThrow();
+        assertThat(milk.getName()).isEqualTo("Fresh Milk");
+        assertThat(milk.getCategory()).isEqualTo(OrderItemCategory.PERISHABLE);
+        assertThat(milk.getExpirationDate()).isEqualTo(LocalDate.now().plusDays(7));
+        assertThat(milk.isActive()).isTrue();
+        crashed.close();
+    }
+
+    @Test
+    void close_TakesSnapshotAndDropsCoveredWalFiles() throws Exception {
+        // Given
+        catalog = open();
+        catalog.reserveStock(Map.of("P1001", 5));
+
+        // When
+        catalog.close();
+        catalog = open();
+
+        // Then
+        assertThat(catalog.findProduct("P1001")).map(Product::getAvailableQuantity).contains(45);
+        assertThat(snapshotFiles()).isEqualTo(1);
+        assertThat(walFiles()).isEqualTo(1);
+    }
+
+    @Test
+    void reserveStock_Insufficient_IsNotLogged() throws Exception {
+        // Given
+        catalog = open();
+
+        // When
+        boolean reserved = catalog.reserveStock(Map.of("P1002", 11));
+        DurableProductCatalogService crashed = catalog;
+        catalog = open();
+
+        // Then
+        assertThat(reserved).isFalse();
+        assertThat(catalog.findProduct("P1002")).map(Product::getAvailableQuantity).contains(10);
+        crashed.close();
+    }
+
+    private DurableProductCatalogService open() throws Exception {
+        return new DurableProductCatalogService(directory.toString(), true, 0, 16);
+    }
+
+    private long snapshotFiles() throws Exception {
+        return count(".snapshot");
+    }
+
+    private long walFiles() throws Exception {
+        return count(".wal");
+    }
+
+    private long count(String suffix) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.toString().endsWith(suffix)).count();
+        }
+    }
+
+    private static Product product(String productId, int quantity) {
+        return Product.builder()
+                .productId(productId)
+                .name(productId)
+                .category(OrderItemCategory.STANDARD)
+                .availableQuantity(quantity)
+                .active(true)
+                .build();
+    }
+}
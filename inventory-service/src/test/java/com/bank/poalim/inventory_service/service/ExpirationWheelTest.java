@@ -0,0 +1,101 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExpirationWheelTest {
+
+    private static final long TICK = 1000;
+
+    private ExpirationWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new ExpirationWheel(TICK, 8, 0);
+    }
+
+    @Test
+    void advanceTo_BeforeDeadline_FiresNothing() {
+        // Given
+        wheel.schedule("P1", 5_500);
+
+        // When / Then
+        assertThat(wheel.advanceTo(5_999)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void advanceTo_DeadlineReached_FiresOnceAndForgetsProduct() {
+        // Given
+        wheel.schedule("P1", 5_000);
+
+        // When / Then
+        assertThat(wheel.advanceTo(5_000)).containsExactly("P1");
+        assertThat(wheel.advanceTo(20_000)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advanceTo_DeadlineInLaterRevolution_WaitsForItsRound() {
+        // Given
+        wheel.schedule("LATER", 3_000 + 8 * TICK * 2);
+        wheel.schedule("SOON", 3_000);
+
+        // When / Then
+        assertThat(wheel.advanceTo(3_000)).containsExactly("SOON");
+        assertThat(wheel.advanceTo(11_000)).isEmpty();
+        assertThat(wheel.advanceTo(19_000)).containsExactly("LATER");
+    }
+
+    @Test
+    void advanceTo_LongGap_FiresEverythingDue() {
+        // Given
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule("P" + i, i * TICK);
+        }
+
+        // When / Then
+        assertThat(wheel.advanceTo(15_000)).hasSize(15);
+        assertThat(wheel.advanceTo(100_000)).hasSize(5);
+    }
+
+    @Test
+    void schedule_AgainWithLaterDeadline_ReplacesEarlierOne() {
+        // Given
+        wheel.schedule("P1", 2_000);
+
+        // When
+        wheel.schedule("P1", 6_000);
+
+        // Then
+        assertThat(wheel.advanceTo(5_000)).isEmpty();
+        assertThat(wheel.advanceTo(6_000)).containsExactly("P1");
+    }
+
+    @Test
+    void cancel_ScheduledProduct_NeverFires() {
+        // Given
+        wheel.schedule("P1", 2_000);
+
+        // When
+        wheel.cancel("P1");
+
+        // Then
+        assertThat(wheel.advanceTo(10_000)).isEmpty();
+    }
+
+    @Test
+    void schedule_DeadlineAlreadyPassed_FiresOnNextTick() {
+        // Given
+        wheel.advanceTo(4_000);
+
+        // When
+        wheel.schedule("P1", 1_000);
+
+        // Then
+        assertThat(wheel.advanceTo(4_999)).isEmpty();
+        assertThat(wheel.advanceTo(5_000)).containsExactly("P1");
+    }
+}
@@ -0,0 +1,102 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+
+    private HierarchicalTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HierarchicalTimingWheel<>(TICK, 0);
+    }
+
+    @Test
+    void advanceTo_WithinFirstLevel_FiresAtDeadlineNotBefore() {
+        // Given
+        wheel.schedule("A", 125);
+
+        // When / Then
+        assertThat(wheel.advanceTo(129)).isEmpty();
+        assertThat(wheel.advanceTo(130)).containsExactly("A");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advanceTo_DeadlinesOnEveryLevel_FireAfterCascading() {
+        // Given
+        long[] deadlines = {50 * TICK, 100 * TICK, 5_000 * TICK, 300_000 * TICK, 20_000_000 * TICK};
+        for (long deadline : deadlines) {
+            wheel.schedule("T" + deadline, deadline);
+        }
+
+        // When / Then
+        for (long deadline : deadlines) {
+            assertThat(wheel.advanceTo(deadline - TICK)).isEmpty();
+            assertThat(wheel.advanceTo(deadline)).containsExactly("T" + deadline);
+        }
+    }
+
+    @Test
+    void advanceTo_RandomDeadlines_EachFiresOnItsOwnTick() {
+        // Given
+        Random random = new Random(42);
+        List<Long> deadlineTicks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long tick = 1 + random.nextInt(300_000);
+            deadlineTicks.add(tick);
+            wheel.schedule(Long.toString(tick) + "/" + i, tick * TICK);
+        }
+
+        // When
+        List<String> fired = new ArrayList<>();
+        for (long tick = 1; tick <= 300_000; tick += 997) {
+            long now = Math.min(tick + 996, 300_000) * TICK;
+            for (String payload : wheel.advanceTo(now)) {
+                long deadlineTick = Long.parseLong(payload.substring(0, payload.indexOf('/')));
+                // Then: never early, and no later than the advance that covered it
+                assertThat(deadlineTick * TICK).isLessThanOrEqualTo(now);
+                assertThat(deadlineTick * TICK).isGreaterThan(now - 997 * TICK);
+                fired.add(payload);
+            }
+        }
+        assertThat(fired).hasSize(deadlineTicks.size());
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancel_PendingTimeout_NeverFires() {
+        // Given
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("A", 100_000);
+        wheel.schedule("B", 100_000);
+
+        // When
+        boolean cancelled = wheel.cancel(timeout);
+
+        // Then
+        assertThat(cancelled).isTrue();
+        assertThat(wheel.cancel(timeout)).isFalse();
+        assertThat(wheel.advanceTo(100_000)).containsExactly("B");
+    }
+
+    @Test
+    void schedule_DeadlinePassed_FiresOnNextTick() {
+        // Given
+        wheel.advanceTo(1_000);
+
+        // When
+        wheel.schedule("LATE", 10);
+
+        // Then
+        assertThat(wheel.advanceTo(1_010)).containsExactly("LATE");
+    }
+}
@@ -0,0 +1,148 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+
+class InMemoryProductCatalogServiceTest {
+
+    private InMemoryProductCatalogService catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new InMemoryProductCatalogService(10);
+    }
+
+    @Test
+    void findByCategory_SampleData_ReturnsOnlyThatCategory() {
+        assertThat(catalog.findByCategory(OrderItemCategory.DIGITAL))
+                .extracting(Product::getProductId)
+                .containsExactlyInAnyOrder("P3001", "P3002");
+    }
+
+    @Test
+    void findByCategory_ProductReplacedWithOtherCategory_MovesBetweenCategories() {
+        // When
+        catalog.addProduct(product("P3001", OrderItemCategory.STANDARD, 5, null));
+
+        // Then
+        assertThat(catalog.findByCategory(OrderItemCategory.DIGITAL)).extracting(Product::getProductId).containsExactly("P3002");
+        assertThat(catalog.findByCategory(OrderItemCategory.STANDARD)).extracting(Product::getProductId).contains("P3001");
+    }
+
+    @Test
+    void findExpiring_Range_ReturnsEarliestFirstWithBoundsInclusive() {
+        // When
+        var products = catalog.findExpiring(LocalDate.now().minusDays(1), LocalDate.now().plusDays(3));
+
+        // Then
+        assertThat(products).extracting(Product::getProductId).containsExactly("P2002", "P2003");
+    }
+
+    @Test
+    void findExpiring_RemovedProduct_NotReturned() {
+        // Given
+        catalog.removeProduct("P2003");
+
+        // When
+        var products = catalog.findExpiring(LocalDate.now(), LocalDate.now().plusDays(30));
+
+        // Then
+        assertThat(products).extracting(Product::getProductId).containsExactly("P2001");
+    }
+
+    @Test
+    void findLowStock_AfterReservation_IncludesProductThatDroppedBelow() {
+        // Given
+        assertThat(catalog.findLowStock(10)).extracting(Product::getProductId).doesNotContain("P2001");
+
+        // When
+        catalog.reserveStock(Map.of("P2001", 15));
+
+        // Then
+        assertThat(catalog.findLowStock(10))
+                .extracting(Product::getProductId)
+                .containsExactly("P2001", "P2002", "P1002");
+        assertThat(catalog.findLowStock(10)).extracting(Product::getAvailableQuantity).containsExactly(5, 5, 10);
+    }
+
+    @Test
+    void findLowStock_AfterRelease_DropsProductThatRecovered() {
+        // When
+        catalog.releaseStock(Map.of("P1002", 1));
+
+        // Then
+        assertThat(catalog.findLowStock(10)).extracting(Product::getProductId).containsExactly("P2002");
+    }
+
+    @Test
+    void findLowStock_AfterQuantityUpdate_ReindexesProduct() {
+        // When
+        catalog.updateProductQuantity("P1001", 0);
+        catalog.updateProductQuantity("P2002", 50);
+
+        // Then
+        assertThat(catalog.findLowStock(10)).extracting(Product::getProductId).containsExactly("P1001", "P1002");
+    }
+
+    @Test
+    void findLowStock_AboveThreshold_FallsBackToScan() {
+        assertThat(catalog.findLowStock(20))
+                .extracting(Product::getProductId)
+                .containsExactly("P2002", "P1002", "P2003", "P2001");
+    }
+
+    @Test
+    void findLowStock_ConcurrentReservations_IndexMatchesFinalQuantity() throws InterruptedException {
+        // Given
+        catalog.addProduct(product("HOT", OrderItemCategory.STANDARD, 1000, null));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    if (catalog.reserveStock(Map.of("HOT", 1)) && i % 2 == 0) {
+                        catalog.releaseStock(Map.of("HOT", 1));
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(catalog.findProduct("HOT")).map(Product::getAvailableQuantity).contains(200);
+        catalog.reserveStock(Map.of("HOT", 195));
+        assertThat(catalog.findLowStock(5)).extracting(Product::getProductId).contains("HOT");
+        catalog.releaseStock(Map.of("HOT", 195));
+        assertThat(catalog.findLowStock(10)).extracting(Product::getProductId).doesNotContain("HOT");
+    }
+
+    private static Product product(String productId, OrderItemCategory category, int quantity, LocalDate expirationDate) {
+        return Product.builder()
+                .productId(productId)
+                .name(productId)
+                .category(category)
+                .availableQuantity(quantity)
+                .expirationDate(expirationDate)
+                .active(true)
+                .build();
+    }
+}
@@ -1,8 +1,12 @@
 package com.bank.poalim.inventory_service.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -10,19 +14,24 @@ import static org.mockito.Mockito.when;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
 import com.bank.poalim.inventory_service.kafka.OrderEventsProducer;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
 import com.bank.poalim.inventory_service.model.InventoryCheckResult;
 import com.bank.poalim.inventory_service.model.OrderItemCategory;
 import com.bank.poalim.inventory_service.model.OrderItemDto;
 import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ValidationMissingItem;
 
 @ExtendWith(MockitoExtension.class)
 class InventoryValidationServiceTest {
@@ -38,6 +47,8 @@ class InventoryValidationServiceTest {
     @BeforeEach
     void setUp() {
         inventoryValidationService = new InventoryValidationService(productCatalogService, orderEventProducer);
+        // The default readStock answers from the findProduct stubs below
+        lenient().when(productCatalogService.readStock(anyList())).thenCallRealMethod();
     }
 
     @Test
@@ -53,6 +64,7 @@ class InventoryValidationServiceTest {
                 .thenReturn(Optional.of(createProduct("P1001", "Standard Product", OrderItemCategory.STANDARD, 50, null, true)));
         when(productCatalogService.findProduct("P3001"))
                 .thenReturn(Optional.of(createProduct("P3001", "Digital Product", OrderItemCategory.DIGITAL, 1000, null, true)));
+        when(productCatalogService.reserveStock(Map.of("P1001", 2))).thenReturn(true);
 
         // When
         InventoryCheckResult result = inventoryValidationService.validateOrder(orderId, items);
@@ -65,6 +77,22 @@ class InventoryValidationServiceTest {
         assertThat(result.getValidatedItems().get(1).isAvailable()).isTrue();
     }
 
+    @Test
+    void validateOrder_AbandonedAfterReserving_GivesStockBackWithoutPublishing() {
+        // Given
+        List<OrderItemDto> items = List.of(createOrderItem("P1001", 2, OrderItemCategory.STANDARD));
+        when(productCatalogService.findProduct("P1001"))
+                .thenReturn(Optional.of(createProduct("P1001", "Standard Product", OrderItemCategory.STANDARD, 50, null, true)));
+        when(productCatalogService.reserveStock(Map.of("P1001", 2))).thenReturn(true);
+
+        // When
+        inventoryValidationService.validateOrder("ORDER-ABANDONED", items, new PipelineTimestamps(), () -> true);
+
+        // Then
+        verify(productCatalogService).releaseStock(Map.of("P1001", 2));
+        verify(orderEventProducer, never()).publishInventoryCheckResultEvent(any(), any());
+    }
+
     @Test
     void validateOrder_SomeProductsUnavailable_OrderRejected() {
         // Given
@@ -141,6 +169,7 @@ class InventoryValidationServiceTest {
 
         when(productCatalogService.findProduct("P2001"))
                 .thenReturn(Optional.of(createProduct("P2001", "Fresh Milk", OrderItemCategory.PERISHABLE, 20, LocalDate.now().plusDays(7), true)));
+        when(productCatalogService.reserveStock(Map.of("P2001", 5))).thenReturn(true);
 
         // When
         InventoryCheckResult result = inventoryValidationService.validateOrder(orderId, items);
@@ -174,7 +203,98 @@ class InventoryValidationServiceTest {
     }
 
     @Test
-    void updateInventoryForApprovedOrder_UpdatesQuantities() {
+    void validateOrder_StockTakenByConcurrentOrder_OrderRejected() {
+        // Given
+        String orderId = "ORDER-009";
+        List<OrderItemDto> items = Arrays.asList(
+                createOrderItem("P1002", 8, OrderItemCategory.STANDARD)
+        );
+
+        when(productCatalogService.findProduct("P1002"))
+                .thenReturn(Optional.of(createProduct("P1002", "Standard Product 2", OrderItemCategory.STANDARD, 10, null, true)))
+                .thenReturn(Optional.of(createProduct("P1002", "Standard Product 2", OrderItemCategory.STANDARD, 3, null, true)));
+        when(productCatalogService.reserveStock(Map.of("P1002", 8))).thenReturn(false);
+
+        // When
+        InventoryCheckResult result = inventoryValidationService.validateOrder(orderId, items);
+
+        // Then
+        assertThat(result.isApproved()).isFalse();
+        assertThat(result.getIssues()).hasSize(1);
+        assertThat(result.getIssues().get(0).getProductId()).isEqualTo("P1002");
+        assertThat(result.getIssues().get(0).getType()).isEqualTo(InventoryCheckResult.ValidationIssueType.INSUFFICIENT_QUANTITY);
+        assertThat(result.getValidatedItems().get(0).getAvailableQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    void validateOrder_InsufficientQuantity_PublishesRenderedReason() {
+        // Given
+        String orderId = "ORDER-011";
+        List<OrderItemDto> items = Arrays.asList(
+                createOrderItem("P1002", 20, OrderItemCategory.STANDARD)
+        );
+
+        when(productCatalogService.findProduct("P1002"))
+                .thenReturn(Optional.of(createProduct("P1002", "Standard Product 2", OrderItemCategory.STANDARD, 10, null, true)));
+
+        // When
+        InventoryCheckResult result = inventoryValidationService.validateOrder(orderId, items);
+
+        // Then
+        ArgumentCaptor<InventoryCheckResultEvent> event = ArgumentCaptor.forClass(InventoryCheckResultEvent.class);
+        verify(orderEventProducer).publishInventoryCheckResultEvent(event.capture(), any());
+        assertThat(event.getValue().getApproved()).isFalse();
+        assertThat(event.getValue().getMissingItems())
+                .containsExactly(new ValidationMissingItem("P1002", "Insufficient quantity. Requested: 20, Available: 10"));
+        assertThat(result.getIssues().get(0).getReason()).isEqualTo("Insufficient quantity. Requested: 20, Available: 10");
+    }
+
+    @Test
+    void validateOrder_ReservationFailsButStockReturned_ReportsConcurrentReservation() {
+        // Given
+        String orderId = "ORDER-012";
+        List<OrderItemDto> items = Arrays.asList(
+                createOrderItem("P1001", 2, OrderItemCategory.STANDARD),
+                createOrderItem("P1001", 3, OrderItemCategory.STANDARD)
+        );
+
+        when(productCatalogService.findProduct("P1001"))
+                .thenReturn(Optional.of(createProduct("P1001", "Standard Product", OrderItemCategory.STANDARD, 50, null, true)));
+        when(productCatalogService.reserveStock(Map.of("P1001", 5))).thenReturn(false);
+
+        // When
+        InventoryCheckResult result = inventoryValidationService.validateOrder(orderId, items);
+
+        // Then
+        assertThat(result.isApproved()).isFalse();
+        assertThat(result.getIssues()).hasSize(1);
+        assertThat(result.getIssues().get(0).getReason()).isEqualTo("Stock reserved by a concurrent order");
+        assertThat(result.getValidatedItems()).allMatch(InventoryCheckResult.ValidatedItem::isAvailable);
+    }
+
+    @Test
+    void validateOrder_SameProductOnSeveralLines_ReservesTotalQuantity() {
+        // Given
+        String orderId = "ORDER-010";
+        List<OrderItemDto> items = Arrays.asList(
+                createOrderItem("P1001", 2, OrderItemCategory.STANDARD),
+                createOrderItem("P1001", 3, OrderItemCategory.STANDARD)
+        );
+
+        when(productCatalogService.findProduct("P1001"))
+                .thenReturn(Optional.of(createProduct("P1001", "Standard Product", OrderItemCategory.STANDARD, 50, null, true)));
+        when(productCatalogService.reserveStock(Map.of("P1001", 5))).thenReturn(true);
+
+        // When
+        InventoryCheckResult result = inventoryValidationService.validateOrder(orderId, items);
+
+        // Then
+        assertThat(result.isApproved()).isTrue();
+        verify(productCatalogService).reserveStock(Map.of("P1001", 5));
+    }
+
+    @Test
+    void updateInventoryForApprovedOrder_ReservesStockItemsOnly() {
         // Given
         String orderId = "ORDER-007";
         List<InventoryCheckResult.ValidatedItem> validatedItems = Arrays.asList(
@@ -199,13 +319,15 @@ class InventoryValidationServiceTest {
                 .approved(true)
                 .validatedItems(validatedItems)
                 .build();
+        when(productCatalogService.reserveStock(Map.of("P1001", 5))).thenReturn(true);
 
         // When
-        inventoryValidationService.updateInventoryForApprovedOrder(validationResult);
+        boolean reserved = inventoryValidationService.updateInventoryForApprovedOrder(validationResult);
 
         // Then
-        verify(productCatalogService).updateProductQuantity("P1001", 45); // 50 - 5
-        verify(productCatalogService, never()).updateProductQuantity("P3001", anyInt()); // Digital products don't decrement
+        assertThat(reserved).isTrue();
+        verify(productCatalogService).reserveStock(Map.of("P1001", 5)); // Digital products don't decrement
+        verify(productCatalogService, never()).updateProductQuantity(anyString(), anyInt());
     }
 
     @Test
@@ -221,6 +343,7 @@ class InventoryValidationServiceTest {
         inventoryValidationService.updateInventoryForApprovedOrder(validationResult);
 
         // Then
+        verify(productCatalogService, never()).reserveStock(anyMap());
         verify(productCatalogService, never()).updateProductQuantity(anyString(), anyInt());
     }
 
@@ -240,6 +363,8 @@ class InventoryValidationServiceTest {
                 .availableQuantity(quantity)
                 .expirationDate(expirationDate)
                 .active(active)
+                // As ProductExpirationService would have flagged it
+                .expired(expirationDate != null && !expirationDate.isAfter(LocalDate.now()))
                 .build();
     }
 }
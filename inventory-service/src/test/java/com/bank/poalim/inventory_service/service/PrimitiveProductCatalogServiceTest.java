@@ -0,0 +1,275 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ProductFilter;
+import com.bank.poalim.inventory_service.model.ProductPage;
+import com.bank.poalim.inventory_service.model.StockLevels;
+
+class PrimitiveProductCatalogServiceTest {
+
+    private PrimitiveProductCatalogService catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new PrimitiveProductCatalogService(16);
+    }
+
+    @Test
+    void findProduct_SampleProduct_ReturnsEveryField() {
+        // When
+        Product product = catalog.findProduct("P2001").orElseThrow();
+
+        // Then
+        assertThat(product.getProductId()).isEqualTo("P2001");
+        assertThat(product.getName()).isEqualTo("Fresh Milk");
+        assertThat(product.getCategory()).isEqualTo(OrderItemCategory.PERISHABLE);
+        assertThat(product.getAvailableQuantity()).isEqualTo(20);
+        assertThat(product.getExpirationDate()).isEqualTo(LocalDate.now().plusDays(7));
+        assertThat(product.isActive()).isTrue();
+    }
+
+    @Test
+    void findProduct_UnknownProduct_ReturnsEmpty() {
+        assertThat(catalog.findProduct("UNKNOWN")).isEmpty();
+    }
+
+    @Test
+    void readStock_MixedIds_ReportsEachEntryInOrder() {
+        // Given
+        catalog.markExpired("P2002");
+        catalog.removeProduct("P3002");
+
+        // When
+        StockLevels stock = catalog.readStock(List.of("P2001", "UNKNOWN", "P2002", "P3002"));
+
+        // Then
+        assertThat(stock.size()).isEqualTo(4);
+        assertThat(stock.isFound(0)).isTrue();
+        assertThat(stock.availableQuantity(0)).isEqualTo(20);
+        assertThat(stock.category(0)).isEqualTo(OrderItemCategory.PERISHABLE);
+        assertThat(stock.isActive(0)).isTrue();
+        assertThat(stock.hasExpirationDate(0)).isTrue();
+        assertThat(stock.isExpired(0)).isFalse();
+        assertThat(stock.isFound(1)).isFalse();
+        assertThat(stock.isExpired(2)).isTrue();
+        assertThat(stock.isFound(3)).isFalse();
+    }
+
+    @Test
+    void addProduct_ExistingId_ReplacesEveryField() {
+        // When
+        catalog.addProduct(Product.builder()
+                .productId("P1001")
+                .name("Renamed")
+                .category(OrderItemCategory.DIGITAL)
+                .availableQuantity(3)
+                .active(false)
+                .build());
+
+        // Then
+        Product product = catalog.findProduct("P1001").orElseThrow();
+        assertThat(product.getName()).isEqualTo("Renamed");
+        assertThat(product.getCategory()).isEqualTo(OrderItemCategory.DIGITAL);
+        assertThat(product.getAvailableQuantity()).isEqualTo(3);
+        assertThat(product.getExpirationDate()).isNull();
+        assertThat(product.isActive()).isFalse();
+        assertThat(catalog.getAllProducts()).hasSize(7);
+    }
+
+    @Test
+    void removeProduct_ThenAddAgain_ReusesTheId() {
+        // When
+        catalog.removeProduct("P1002");
+
+        // Then
+        assertThat(catalog.findProduct("P1002")).isEmpty();
+        assertThat(catalog.reserveStock(Map.of("P1002", 1))).isFalse();
+        assertThat(catalog.getAllProducts()).extracting(Product::getProductId).doesNotContain("P1002");
+
+        // When
+        catalog.addProduct(product("P1002", 4));
+
+        // Then
+        assertThat(catalog.findProduct("P1002")).map(Product::getAvailableQuantity).contains(4);
+    }
+
+    @Test
+    void updateProductQuantity_NegativeQuantity_ClampsToZero() {
+        // When
+        catalog.updateProductQuantity("P1001", -5);
+
+        // Then
+        assertThat(catalog.findProduct("P1001")).map(Product::getAvailableQuantity).contains(0);
+    }
+
+    @Test
+    void reserveStock_OneLineShort_LeavesEveryQuantityUntouched() {
+        // When
+        boolean reserved = catalog.reserveStock(Map.of("P1001", 4, "P1002", 11));
+
+        // Then
+        assertThat(reserved).isFalse();
+        assertThat(catalog.findProduct("P1001")).map(Product::getAvailableQuantity).contains(50);
+        assertThat(catalog.findProduct("P1002")).map(Product::getAvailableQuantity).contains(10);
+    }
+
+    @Test
+    void reserveStock_ThenRelease_RestoresQuantities() {
+        // When
+        boolean reserved = catalog.reserveStock(Map.of("P1001", 4, "P1002", 10));
+
+        // Then
+        assertThat(reserved).isTrue();
+        assertThat(catalog.findProduct("P1002")).map(Product::getAvailableQuantity).contains(0);
+
+        // When
+        catalog.releaseStock(Map.of("P1001", 4, "P1002", 10));
+
+        // Then
+        assertThat(catalog.findProduct("P1001")).map(Product::getAvailableQuantity).contains(50);
+        assertThat(catalog.findProduct("P1002")).map(Product::getAvailableQuantity).contains(10);
+    }
+
+    @Test
+    void addProduct_BeyondInitialCapacity_KeepsEveryProductAddressable() {
+        // Given - more products than one column chunk and many index resizes
+        int count = PrimitiveProductCatalogService.CHUNK_SIZE * 2 + 100;
+
+        // When
+        for (int i = 0; i < count; i++) {
+            catalog.addProduct(product("SKU-" + i, i));
+        }
+
+        // Then
+        assertThat(catalog.getAllProducts()).hasSize(count + 7);
+        for (int i = 0; i < count; i += 997) {
+            assertThat(catalog.findProduct("SKU-" + i)).map(Product::getAvailableQuantity).contains(i);
+        }
+        assertThat(catalog.findProduct("SKU-" + (count - 1))).isPresent();
+        assertThat(catalog.findProduct("SKU-" + count)).isEmpty();
+    }
+
+    @Test
+    void addProduct_NonAsciiIdAndName_RoundTrips() {
+        // When
+        catalog.addProduct(Product.builder()
+                .productId("מוצר-1")
+                .name("חלב טרי")
+                .category(OrderItemCategory.STANDARD)
+                .availableQuantity(1)
+                .active(true)
+                .build());
+
+        // Then
+        assertThat(catalog.findProduct("מוצר-1")).map(Product::getName).contains("חלב טרי");
+    }
+
+    @Test
+    void findProducts_FollowingCursors_VisitsEveryProductOnce() {
+        // Given
+        List<String> productIds = new ArrayList<>();
+        String cursor = null;
+
+        // When
+        do {
+            ProductPage page = catalog.findProducts(ProductFilter.all(), cursor, 3);
+            page.getProducts().forEach(product -> productIds.add(product.getProductId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertThat(productIds).containsExactlyInAnyOrder("P1001", "P1002", "P2001", "P2002", "P2003", "P3001", "P3002");
+    }
+
+    @Test
+    void findProducts_CategoryAndMaxQuantity_ReturnsLowStockOfCategory() {
+        // When
+        ProductPage page = catalog.findProducts(new ProductFilter(OrderItemCategory.PERISHABLE, 15), null, 10);
+
+        // Then
+        assertThat(page.getProducts()).extracting(Product::getProductId).containsExactlyInAnyOrder("P2002", "P2003");
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void forEachProduct_Filter_SkipsRemovedAndNonMatching() {
+        // Given
+        catalog.removeProduct("P3001");
+        List<String> productIds = new ArrayList<>();
+
+        // When
+        catalog.forEachProduct(new ProductFilter(OrderItemCategory.DIGITAL, null), product -> productIds.add(product.getProductId()));
+
+        // Then
+        assertThat(productIds).containsExactly("P3002");
+    }
+
+    @Test
+    void markExpired_KeepsProductAndFlagsIt() {
+        // When
+        catalog.markExpired("P2001");
+
+        // Then
+        Product product = catalog.findProduct("P2001").orElseThrow();
+        assertThat(product.isExpired()).isTrue();
+        assertThat(product.isActive()).isTrue();
+        assertThat(product.getAvailableQuantity()).isEqualTo(20);
+    }
+
+    @Test
+    void reserveStock_ConcurrentOrdersForSameProduct_NeverOversells() throws InterruptedException {
+        // Given
+        catalog.addProduct(product("HOT", 100));
+        int threads = 8;
+        int attemptsPerThread = 50;
+        AtomicInteger successes = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (catalog.reserveStock(Map.of("HOT", 1))) {
+                        successes.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(successes.get()).isEqualTo(100);
+        assertThat(catalog.findProduct("HOT")).map(Product::getAvailableQuantity).contains(0);
+    }
+
+    private static Product product(String productId, int quantity) {
+        return Product.builder()
+                .productId(productId)
+                .name(productId)
+                .category(OrderItemCategory.STANDARD)
+                .availableQuantity(quantity)
+                .active(true)
+                .build();
+    }
+}
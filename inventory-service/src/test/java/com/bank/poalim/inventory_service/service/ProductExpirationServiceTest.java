@@ -0,0 +1,141 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bank.poalim.inventory_service.kafka.ProductEventsProducer;
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExpirationServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    @Mock
+    private ProductEventsProducer productEventsProducer;
+
+    private InMemoryProductCatalogService catalog;
+    private ProductExpirationService expirations;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new InMemoryProductCatalogService();
+        expirations = new ProductExpirationService(catalog, productEventsProducer);
+        ReflectionTestUtils.setField(expirations, "tickMs", 3_600_000L);
+        ReflectionTestUtils.setField(expirations, "wheelSize", 64);
+        setClock(Instant.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        expirations.stop();
+    }
+
+    @Test
+    void start_SampleProductAlreadyExpired_MarkedAndReported() {
+        // When
+        expirations.start();
+
+        // Then
+        assertThat(catalog.findProduct("P2002")).map(Product::isExpired).contains(true);
+        assertThat(catalog.findProduct("P2001")).map(Product::isExpired).contains(false);
+        assertThat(expirations.scheduledCount()).isEqualTo(2);
+        verify(productEventsProducer, timeout(1000)).publishProductExpiredEvent(argThat(event ->
+                event.getProductId().equals("P2002") && event.getExpiredQuantity() == 5));
+    }
+
+    @Test
+    void tick_ExpirationDateReached_FlipsFlagOfDueProductsOnly() {
+        // Given
+        expirations.start();
+
+        // When
+        setClock(LocalDate.now(ZONE).plusDays(3).atStartOfDay(ZONE).toInstant());
+        expirations.tick();
+
+        // Then
+        assertThat(catalog.findProduct("P2003")).map(Product::isExpired).contains(true);
+        assertThat(catalog.findProduct("P2001")).map(Product::isExpired).contains(false);
+        verify(productEventsProducer, timeout(1000)).publishProductExpiredEvent(argThat(event ->
+                event.getProductId().equals("P2003")));
+    }
+
+    @Test
+    void tick_ProductReplacedWithLaterDate_DoesNotExpireIt() {
+        // Given
+        expirations.start();
+        Product extended = perishable("P2003", LocalDate.now(ZONE).plusDays(30));
+        catalog.addProduct(extended);
+        expirations.track(extended);
+
+        // When
+        setClock(LocalDate.now(ZONE).plusDays(4).atStartOfDay(ZONE).toInstant());
+        expirations.tick();
+
+        // Then
+        assertThat(catalog.findProduct("P2003")).map(Product::isExpired).contains(false);
+    }
+
+    @Test
+    void track_AddedWithPastDate_MarksImmediately() {
+        // Given
+        expirations.start();
+        Product stale = perishable("OLD", LocalDate.now(ZONE).minusDays(2));
+        catalog.addProduct(stale);
+
+        // When
+        expirations.track(stale);
+
+        // Then
+        assertThat(catalog.findProduct("OLD")).map(Product::isExpired).contains(true);
+    }
+
+    @Test
+    void untrack_RemovedProduct_NeverReported() {
+        // Given
+        expirations.start();
+        catalog.removeProduct("P2003");
+
+        // When
+        expirations.untrack("P2003");
+        setClock(LocalDate.now(ZONE).plusDays(5).atStartOfDay(ZONE).toInstant());
+        expirations.tick();
+
+        // Then
+        assertThat(expirations.scheduledCount()).isEqualTo(1);
+        verify(productEventsProducer, after(200).never()).publishProductExpiredEvent(argThat(event ->
+                event.getProductId().equals("P2003")));
+    }
+
+    private void setClock(Instant now) {
+        ReflectionTestUtils.setField(expirations, "clock", Clock.fixed(now, ZONE));
+    }
+
+    private static Product perishable(String productId, LocalDate expirationDate) {
+        return Product.builder()
+                .productId(productId)
+                .name(productId)
+                .category(OrderItemCategory.PERISHABLE)
+                .availableQuantity(4)
+                .expirationDate(expirationDate)
+                .active(true)
+                .build();
+    }
+}
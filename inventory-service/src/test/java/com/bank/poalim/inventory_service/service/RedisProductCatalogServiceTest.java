@@ -0,0 +1,281 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.ProductFilter;
+import com.bank.poalim.inventory_service.model.ProductPage;
+import com.bank.poalim.inventory_service.model.StockLevels;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class RedisProductCatalogServiceTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveHashOperations<String, String, String> hashOperations;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ReactiveZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private RedisScript<Long> reserveStockScript;
+
+    @Mock
+    private RedisScript<Long> releaseStockScript;
+
+    @Mock
+    private RedisScript<Long> putProductScript;
+
+    @Mock
+    private RedisScript<Long> removeProductScript;
+
+    @Mock
+    private RedisScript<Long> expireProductScript;
+
+    private RedisProductCatalogService catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new RedisProductCatalogService(redisTemplate, reserveStockScript, releaseStockScript,
+                putProductScript, removeProductScript, expireProductScript);
+        ReflectionTestUtils.setField(catalog, "timeoutMs", 1000L);
+        ReflectionTestUtils.setField(catalog, "nearCacheMaxEntries", 100);
+    }
+
+    @Test
+    void reserveStock_MultiItemOrder_RunsOneScriptWithEveryLine() {
+        // Given
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put("P1001", 2);
+        quantities.put("P2001", 1);
+        when(redisTemplate.execute(eq(reserveStockScript), anyList(), anyList())).thenReturn(Flux.just(1L));
+
+        // When
+        boolean reserved = catalog.reserveStock(quantities);
+
+        // Then
+        assertThat(reserved).isTrue();
+        verify(redisTemplate).execute(reserveStockScript,
+                List.of("inventory:stock:P1001", "inventory:stock:P2001"),
+                List.of("2", "1"));
+    }
+
+    @Test
+    void reserveStock_ScriptReportsShortage_ReturnsFalse() {
+        // Given
+        when(redisTemplate.execute(eq(reserveStockScript), anyList(), anyList())).thenReturn(Flux.just(0L));
+
+        // When
+        boolean reserved = catalog.reserveStock(Map.of("P1001", 60));
+
+        // Then
+        assertThat(reserved).isFalse();
+    }
+
+    @Test
+    void reserveStock_NothingToTake_SkipsRedis() {
+        // When
+        boolean reserved = catalog.reserveStock(Map.of("P1001", 0));
+
+        // Then
+        assertThat(reserved).isTrue();
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    void findProduct_SecondLookup_ReadsMetadataFromNearCache() {
+        // Given
+        givenProductInRedis("P2001", "20");
+
+        // When
+        Product first = catalog.findProduct("P2001").orElseThrow();
+        Product second = catalog.findProduct("P2001").orElseThrow();
+
+        // Then
+        assertThat(first).isEqualTo(second);
+        assertThat(second.getCategory()).isEqualTo(OrderItemCategory.PERISHABLE);
+        assertThat(second.getExpirationDate()).isEqualTo(LocalDate.of(2030, 1, 1));
+        assertThat(second.getAvailableQuantity()).isEqualTo(20);
+        verify(hashOperations, times(1)).entries("inventory:product:P2001");
+        verify(valueOperations, times(2)).get("inventory:stock:P2001");
+    }
+
+    @Test
+    void findProduct_AfterInvalidation_ReloadsMetadata() {
+        // Given
+        givenProductInRedis("P2001", "20");
+        catalog.findProduct("P2001");
+
+        // When
+        catalog.invalidate("P2001");
+        catalog.findProduct("P2001");
+
+        // Then
+        verify(hashOperations, times(2)).entries("inventory:product:P2001");
+    }
+
+    @Test
+    void findProduct_InvalidatedWhileLoading_DoesNotCacheWhatItRead() {
+        // Given
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("inventory:stock:P2001")).thenReturn(Mono.just("20"));
+        when(hashOperations.entries("inventory:product:P2001")).thenAnswer(invocation -> {
+            catalog.invalidate("P2001");
+            return Flux.fromIterable(metadata().entrySet());
+        });
+
+        // When
+        catalog.findProduct("P2001");
+
+        // Then
+        assertThat(catalog.nearCacheSize()).isZero();
+    }
+
+    @Test
+    void findProduct_StockCounterMissing_ReturnsEmpty() {
+        // Given
+        givenProductInRedis("P2001", null);
+
+        // When / Then
+        assertThat(catalog.findProduct("P2001")).isEmpty();
+    }
+
+    @Test
+    void readStock_MetadataCached_OneMgetPerOrder() {
+        // Given
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(hashOperations.entries(any(String.class))).thenAnswer(invocation -> Flux.fromIterable(metadata().entrySet()));
+        when(hashOperations.entries("inventory:product:P9")).thenReturn(Flux.empty());
+        when(valueOperations.multiGet(List.of("inventory:stock:P1", "inventory:stock:P9", "inventory:stock:P2")))
+                .thenReturn(Mono.just(Arrays.asList("3", null, "0")));
+        catalog.readStock(List.of("P1", "P9", "P2"));
+
+        // When
+        StockLevels stock = catalog.readStock(List.of("P1", "P9", "P2"));
+
+        // Then
+        assertThat(stock.isFound(0)).isTrue();
+        assertThat(stock.availableQuantity(0)).isEqualTo(3);
+        assertThat(stock.category(0)).isEqualTo(OrderItemCategory.PERISHABLE);
+        assertThat(stock.hasExpirationDate(0)).isTrue();
+        assertThat(stock.isFound(1)).isFalse();
+        assertThat(stock.isFound(2)).isTrue();
+        assertThat(stock.availableQuantity(2)).isZero();
+        verify(hashOperations, times(1)).entries("inventory:product:P1");
+        verify(valueOperations, times(2)).multiGet(anyList());
+        verify(valueOperations, never()).get(any());
+    }
+
+    @Test
+    void addProduct_RunsPutScriptWithQuantityAndMetadata() {
+        // Given
+        when(redisTemplate.execute(eq(putProductScript), anyList(), anyList())).thenReturn(Flux.just(1L));
+
+        // When
+        catalog.addProduct(Product.builder()
+                .productId("P9")
+                .name("Nine")
+                .category(OrderItemCategory.STANDARD)
+                .availableQuantity(9)
+                .active(true)
+                .build());
+
+        // Then
+        verify(redisTemplate).execute(putProductScript,
+                List.of("inventory:product:P9", "inventory:stock:P9", RedisProductCatalogService.PRODUCT_IDS_KEY),
+                List.of("P9", "9", RedisProductCatalogService.INVALIDATION_CHANNEL,
+                        "name", "Nine", "category", "STANDARD", "active", "true", "expired", "false"));
+    }
+
+    @Test
+    void findProducts_PageFull_ReturnsLastIdAsCursorAndSkipsFilteredOut() {
+        // Given
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByLex(eq(RedisProductCatalogService.PRODUCT_IDS_KEY), any(), any()))
+                .thenReturn(Flux.just("P1", "P2", "P3"));
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        when(hashOperations.entries(any(String.class))).thenAnswer(invocation -> Flux.fromIterable(metadata().entrySet()));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("inventory:stock:P1", "inventory:stock:P2", "inventory:stock:P3")))
+                .thenReturn(Mono.just(Arrays.asList("3", "50", "4")));
+
+        // When
+        ProductPage page = catalog.findProducts(new ProductFilter(null, 10), "P0", 2);
+
+        // Then
+        assertThat(page.getProducts()).extracting(Product::getProductId).containsExactly("P1", "P3");
+        assertThat(page.getProducts()).extracting(Product::getAvailableQuantity).containsExactly(3, 4);
+        assertThat(page.getNextCursor()).isEqualTo("P3");
+        assertThat(catalog.nearCacheSize()).isEqualTo(3);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    void start_CatalogAlreadySeeded_DoesNotWriteSampleProducts() {
+        // Given
+        when(redisTemplate.listenToChannel(RedisProductCatalogService.INVALIDATION_CHANNEL)).thenReturn(Flux.never());
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(RedisProductCatalogService.SEEDED_KEY, "1")).thenReturn(Mono.just(false));
+
+        // When
+        catalog.start();
+
+        // Then
+        assertThat(catalog.isRunning()).isTrue();
+        verify(redisTemplate, never()).execute(eq(putProductScript), anyList(), anyList());
+        catalog.stop();
+    }
+
+    private void givenProductInRedis(String productId, String stock) {
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(hashOperations.entries("inventory:product:" + productId)).thenAnswer(
+                invocation -> Flux.fromIterable(metadata().entrySet()));
+        when(valueOperations.get("inventory:stock:" + productId)).thenReturn(stock != null ? Mono.just(stock) : Mono.empty());
+    }
+
+    private static Map<String, String> metadata() {
+        return Map.of(
+                "name", "Fresh Milk",
+                "category", "PERISHABLE",
+                "expirationDate", "2030-01-01",
+                "active", "true");
+    }
+}
@@ -0,0 +1,181 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bank.poalim.inventory_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.inventory_service.event.OrderCreatedEvent;
+import com.bank.poalim.inventory_service.event.ShardReply;
+import com.bank.poalim.inventory_service.event.ShardRequest;
+import com.bank.poalim.inventory_service.kafka.OrderEventsProducer;
+import com.bank.poalim.inventory_service.kafka.ShardMessagesProducer;
+import com.bank.poalim.inventory_service.metrics.PipelineTimestamps;
+import com.bank.poalim.inventory_service.model.OrderItemDto;
+import com.bank.poalim.inventory_service.model.ValidationMissingItem;
+
+@ExtendWith(MockitoExtension.class)
+class ShardCoordinatorTest {
+
+    @Mock
+    private ShardMessagesProducer shardMessagesProducer;
+
+    @Mock
+    private OrderEventsProducer orderEventsProducer;
+
+    private ShardTopology topology;
+    private ShardCoordinator coordinator;
+    private final List<ShardRequest> sent = new ArrayList<>();
+    private String productOfShard0;
+    private String productOfShard1;
+
+    @BeforeEach
+    void setUp() {
+        topology = new ShardTopology("node-0", new String[] {"node-0", "node-1"}, 64);
+        coordinator = new ShardCoordinator(topology, shardMessagesProducer, orderEventsProducer, 200);
+        productOfShard0 = productOwnedBy(0);
+        productOfShard1 = productOwnedBy(1);
+    }
+
+    @Test
+    void coordinate_EveryShardPrepared_CommitsAndApproves() {
+        // Given
+        answerPrepare(shard -> prepared(shard));
+
+        // When
+        InventoryCheckResultEvent result = coordinator.coordinate(order("ORD-1"), new PipelineTimestamps());
+
+        // Then
+        assertThat(result.getApproved()).isTrue();
+        assertThat(result.getMissingItems()).isNull();
+        assertThat(sent).filteredOn(request -> request.getPhase() == ShardRequest.Phase.COMMIT)
+                .extracting(ShardRequest::getHoldId)
+                .containsExactlyInAnyOrder("HOLD-0", "HOLD-1");
+        assertThat(coordinator.pendingOrders()).isZero();
+        verifyPublished(result);
+    }
+
+    @Test
+    void coordinate_OneShardRejects_AbortsPreparedHolds() {
+        // Given
+        answerPrepare(shard -> shard == 0 ? prepared(0) : ShardReply.builder()
+                .orderId("ORD-2")
+                .shard(1)
+                .prepared(false)
+                .missingItems(List.of(new ValidationMissingItem(productOfShard1, "Insufficient quantity. Requested: 3, Available: 1")))
+                .build());
+
+        // When
+        InventoryCheckResultEvent result = coordinator.coordinate(order("ORD-2"), new PipelineTimestamps());
+
+        // Then
+        assertThat(result.getApproved()).isFalse();
+        assertThat(result.getMissingItems()).extracting(ValidationMissingItem::getProductId).containsExactly(productOfShard1);
+        assertThat(sent).filteredOn(request -> request.getPhase() == ShardRequest.Phase.ABORT)
+                .extracting(ShardRequest::getHoldId)
+                .containsExactly("HOLD-0");
+        assertThat(sent).noneMatch(request -> request.getPhase() == ShardRequest.Phase.COMMIT);
+    }
+
+    @Test
+    void coordinate_ShardDoesNotAnswer_RejectsAfterTimeout() {
+        // Given
+        answerPrepare(shard -> shard == 0 ? prepared(0) : null);
+
+        // When
+        InventoryCheckResultEvent result = coordinator.coordinate(order("ORD-3"), new PipelineTimestamps());
+
+        // Then
+        assertThat(result.getApproved()).isFalse();
+        assertThat(result.getMissingItems())
+                .containsExactly(new ValidationMissingItem(productOfShard1, ShardCoordinator.SHARD_TIMEOUT_REASON));
+        assertThat(sent).filteredOn(request -> request.getPhase() == ShardRequest.Phase.ABORT)
+                .extracting(ShardRequest::getHoldId)
+                .containsExactly("HOLD-0");
+    }
+
+    @Test
+    void onReply_OrderNotPending_ReleasesHold() {
+        // Given
+        recordSends();
+
+        // When
+        coordinator.onReply(ShardReply.builder().orderId("ORD-4").shard(1).prepared(true).holdId("HOLD-1").build());
+
+        // Then
+        assertThat(sent).singleElement()
+                .satisfies(request -> {
+                    assertThat(request.getPhase()).isEqualTo(ShardRequest.Phase.ABORT);
+                    assertThat(request.getHoldId()).isEqualTo("HOLD-1");
+                });
+    }
+
+    private void answerPrepare(IntFunction<ShardReply> replies) {
+        doAnswer(invocation -> {
+            int shard = invocation.getArgument(0);
+            ShardRequest request = invocation.getArgument(1);
+            sent.add(request);
+            if (request.getPhase() == ShardRequest.Phase.PREPARE) {
+                ShardReply reply = replies.apply(shard);
+                if (reply != null) {
+                    reply.setOrderId(request.getOrderId());
+                    coordinator.onReply(reply);
+                }
+            }
+            return CompletableFuture.completedFuture(null);
+        }).when(shardMessagesProducer).sendRequest(anyInt(), any());
+    }
+
+    private void recordSends() {
+        doAnswer(invocation -> {
+            sent.add(invocation.getArgument(1));
+            return CompletableFuture.completedFuture(null);
+        }).when(shardMessagesProducer).sendRequest(anyInt(), any());
+    }
+
+    private void verifyPublished(InventoryCheckResultEvent result) {
+        ArgumentCaptor<InventoryCheckResultEvent> published = ArgumentCaptor.forClass(InventoryCheckResultEvent.class);
+        verify(orderEventsProducer).publishInventoryCheckResultEvent(published.capture(), any());
+        assertThat(published.getValue()).isSameAs(result);
+    }
+
+    private static ShardReply prepared(int shard) {
+        return ShardReply.builder().shard(shard).prepared(true).holdId("HOLD-" + shard).build();
+    }
+
+    private OrderCreatedEvent order(String orderId) {
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId(orderId);
+        event.setItems(List.of(item(productOfShard0), item(productOfShard1)));
+        return event;
+    }
+
+    private static OrderItemDto item(String productId) {
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId(productId);
+        item.setQuantity(3);
+        return item;
+    }
+
+    private String productOwnedBy(int shard) {
+        for (int i = 0; ; i++) {
+            if (topology.ownerOf("P" + i) == shard) {
+                return "P" + i;
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bank.poalim.inventory_service.event.ShardReply;
+import com.bank.poalim.inventory_service.event.ShardRequest;
+import com.bank.poalim.inventory_service.kafka.OrderEventsProducer;
+import com.bank.poalim.inventory_service.model.OrderItemCategory;
+import com.bank.poalim.inventory_service.model.OrderItemDto;
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.StockHold;
+import com.bank.poalim.inventory_service.model.ValidationMissingItem;
+
+@ExtendWith(MockitoExtension.class)
+class ShardParticipantTest {
+
+    @Mock
+    private ProductCatalogService productCatalogService;
+
+    @Mock
+    private OrderEventsProducer orderEventsProducer;
+
+    @Mock
+    private StockHoldService stockHoldService;
+
+    private ShardTopology topology;
+    private ShardParticipant participant;
+
+    @BeforeEach
+    void setUp() {
+        topology = new ShardTopology("node-0", new String[] {"node-0"}, 64);
+        participant = participant(topology);
+        // The default readStock answers from the findProduct stubs
+        lenient().when(productCatalogService.readStock(anyList())).thenCallRealMethod();
+    }
+
+    @Test
+    void constructor_DropsProductsOfOtherNodes() {
+        // Given
+        ShardTopology twoNodes = new ShardTopology("node-0", new String[] {"node-0", "node-1"}, 64);
+        List<Product> products = List.of(product("P1", 10), product("P2", 10), product("P3", 10), product("P4", 10));
+        when(productCatalogService.getAllProducts()).thenReturn(products);
+
+        // When
+        participant(twoNodes);
+
+        // Then
+        for (Product product : products) {
+            if (twoNodes.isLocal(product.getProductId())) {
+                verify(productCatalogService, never()).removeProduct(product.getProductId());
+            } else {
+                verify(productCatalogService).removeProduct(product.getProductId());
+            }
+        }
+    }
+
+    @Test
+    void prepare_StockAvailable_HoldsIt() {
+        // Given
+        when(productCatalogService.findProduct("P1")).thenReturn(Optional.of(product("P1", 10)));
+        when(stockHoldService.reserve("ORD-1", Map.of("P1", 4), Duration.ofMillis(60_000)))
+                .thenReturn(Optional.of(StockHold.builder().holdId("HOLD-1").orderId("ORD-1")
+                        .quantities(Map.of("P1", 4)).expiresAt(Instant.now()).build()));
+
+        // When
+        ShardReply reply = participant.prepare(prepare("ORD-1", "P1", 4));
+
+        // Then
+        assertThat(reply.isPrepared()).isTrue();
+        assertThat(reply.getHoldId()).isEqualTo("HOLD-1");
+        assertThat(reply.getShard()).isZero();
+        assertThat(reply.getMissingItems()).isNull();
+    }
+
+    @Test
+    void prepare_HoldRefused_RejectsWithCurrentStock() {
+        // Given
+        when(productCatalogService.findProduct("P1"))
+                .thenReturn(Optional.of(product("P1", 10)))
+                .thenReturn(Optional.of(product("P1", 2)));
+        when(stockHoldService.reserve(anyString(), any(), any())).thenReturn(Optional.empty());
+
+        // When
+        ShardReply reply = participant.prepare(prepare("ORD-2", "P1", 4));
+
+        // Then
+        assertThat(reply.isPrepared()).isFalse();
+        assertThat(reply.getHoldId()).isNull();
+        assertThat(reply.getMissingItems())
+                .containsExactly(new ValidationMissingItem("P1", "Insufficient quantity. Requested: 4, Available: 2"));
+    }
+
+    @Test
+    void prepare_UnknownProduct_RejectsWithoutHolding() {
+        // Given
+        when(productCatalogService.findProduct("P9")).thenReturn(Optional.empty());
+
+        // When
+        ShardReply reply = participant.prepare(prepare("ORD-3", "P9", 1));
+
+        // Then
+        assertThat(reply.isPrepared()).isFalse();
+        assertThat(reply.getMissingItems())
+                .containsExactly(new ValidationMissingItem("P9", "Product not found in catalog"));
+        verify(stockHoldService, never()).reserve(anyString(), any(), any());
+    }
+
+    @Test
+    void commitAndAbort_SettleTheHold() {
+        // Given
+        ShardRequest commit = ShardRequest.builder().orderId("ORD-4").phase(ShardRequest.Phase.COMMIT).holdId("HOLD-4").build();
+        ShardRequest abort = ShardRequest.builder().orderId("ORD-5").phase(ShardRequest.Phase.ABORT).holdId("HOLD-5").build();
+        when(stockHoldService.commit("HOLD-4")).thenReturn(true);
+
+        // When
+        participant.commit(commit);
+        participant.abort(abort);
+
+        // Then
+        verify(stockHoldService).commit("HOLD-4");
+        verify(stockHoldService).release("HOLD-5");
+    }
+
+    private ShardParticipant participant(ShardTopology shardTopology) {
+        InventoryValidationService validationService = new InventoryValidationService(productCatalogService, orderEventsProducer);
+        return new ShardParticipant(productCatalogService, validationService, stockHoldService, shardTopology, 60_000);
+    }
+
+    private static ShardRequest prepare(String orderId, String productId, int quantity) {
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return ShardRequest.builder()
+                .orderId(orderId)
+                .phase(ShardRequest.Phase.PREPARE)
+                .items(List.of(item))
+                .build();
+    }
+
+    private static Product product(String productId, int quantity) {
+        return Product.builder()
+                .productId(productId)
+                .name(productId)
+                .category(OrderItemCategory.STANDARD)
+                .availableQuantity(quantity)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bank.poalim.inventory_service.model.Product;
+import com.bank.poalim.inventory_service.model.StockHold;
+
+class StockHoldServiceTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private InMemoryProductCatalogService catalog;
+    private StockHoldService holds;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new InMemoryProductCatalogService();
+        holds = new StockHoldService(catalog);
+        ReflectionTestUtils.setField(holds, "tickMs", 3_600_000L);
+        ReflectionTestUtils.setField(holds, "defaultTtlMs", 60_000L);
+        ReflectionTestUtils.setField(holds, "maxTtlMs", 600_000L);
+        setClock(START);
+        holds.start();
+        // Ticks are driven by the test
+        ReflectionTestUtils.setField(holds, "wheel", new HierarchicalTimingWheel<String>(100, START.toEpochMilli()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        holds.stop();
+    }
+
+    @Test
+    void reserve_EnoughStock_TakesItFromAvailability() {
+        // When
+        StockHold hold = holds.reserve("ORD-1", Map.of("P1001", 20, "P2001", 5), null).orElseThrow();
+
+        // Then
+        assertThat(hold.getExpiresAt()).isEqualTo(START.plusSeconds(60));
+        assertThat(available("P1001")).isEqualTo(30);
+        assertThat(available("P2001")).isEqualTo(15);
+        assertThat(holds.findHold(hold.getHoldId())).contains(hold);
+    }
+
+    @Test
+    void reserve_OneLineShort_HoldsNothing() {
+        // When / Then
+        assertThat(holds.reserve("ORD-1", Map.of("P1001", 20, "P1002", 11), null)).isEmpty();
+        assertThat(available("P1001")).isEqualTo(50);
+        assertThat(holds.activeHolds()).isZero();
+    }
+
+    @Test
+    void commit_KeepsStockTakenAndEndsHold() {
+        // Given
+        StockHold hold = holds.reserve("ORD-1", Map.of("P1001", 20), null).orElseThrow();
+
+        // When
+        boolean committed = holds.commit(hold.getHoldId());
+        expireEverything();
+
+        // Then
+        assertThat(committed).isTrue();
+        assertThat(available("P1001")).isEqualTo(30);
+        assertThat(holds.release(hold.getHoldId())).isFalse();
+    }
+
+    @Test
+    void release_GivesStockBackOnce() {
+        // Given
+        StockHold hold = holds.reserve("ORD-1", Map.of("P1001", 20), null).orElseThrow();
+
+        // When
+        boolean released = holds.release(hold.getHoldId());
+
+        // Then
+        assertThat(released).isTrue();
+        assertThat(holds.release(hold.getHoldId())).isFalse();
+        assertThat(holds.commit(hold.getHoldId())).isFalse();
+        assertThat(available("P1001")).isEqualTo(50);
+    }
+
+    @Test
+    void tick_TtlElapsed_ReturnsStockOfExpiredHoldsOnly() {
+        // Given
+        StockHold shortHold = holds.reserve("ORD-1", Map.of("P1001", 10), Duration.ofSeconds(5)).orElseThrow();
+        StockHold longHold = holds.reserve("ORD-2", Map.of("P1001", 10), Duration.ofSeconds(120)).orElseThrow();
+
+        // When
+        setClock(START.plusSeconds(5));
+        holds.tick();
+
+        // Then
+        assertThat(available("P1001")).isEqualTo(40);
+        assertThat(holds.findHold(shortHold.getHoldId())).isEmpty();
+        assertThat(holds.findHold(longHold.getHoldId())).isPresent();
+        assertThat(holds.commit(shortHold.getHoldId())).isFalse();
+    }
+
+    @Test
+    void reserve_TtlAboveMaximum_Throws() {
+        assertThatThrownBy(() -> holds.reserve("ORD-1", Map.of("P1001", 1), Duration.ofHours(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void reserve_NonPositiveQuantity_Throws() {
+        assertThatThrownBy(() -> holds.reserve("ORD-1", Map.of("P1001", 0), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void expireEverything() {
+        setClock(START.plus(Duration.ofDays(1)));
+        holds.tick();
+    }
+
+    private int available(String productId) {
+        return catalog.findProduct(productId).map(Product::getAvailableQuantity).orElseThrow();
+    }
+
+    private void setClock(Instant now) {
+        ReflectionTestUtils.setField(holds, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
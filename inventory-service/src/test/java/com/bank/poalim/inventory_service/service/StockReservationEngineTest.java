@@ -0,0 +1,109 @@
+package com.bank.poalim.inventory_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StockReservationEngineTest {
+
+    private StockReservationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new StockReservationEngine();
+        engine.track("P1001", 10);
+        engine.track("P1002", 5);
+    }
+
+    @Test
+    void reserve_AllLinesAvailable_DecrementsEveryLine() {
+        // When
+        boolean reserved = engine.reserve(Map.of("P1001", 4, "P1002", 5));
+
+        // Then
+        assertThat(reserved).isTrue();
+        assertThat(engine.available("P1001")).isEqualTo(6);
+        assertThat(engine.available("P1002")).isZero();
+    }
+
+    @Test
+    void reserve_OneLineShort_LeavesEveryCounterUntouched() {
+        // When
+        boolean reserved = engine.reserve(Map.of("P1001", 4, "P1002", 6));
+
+        // Then
+        assertThat(reserved).isFalse();
+        assertThat(engine.available("P1001")).isEqualTo(10);
+        assertThat(engine.available("P1002")).isEqualTo(5);
+    }
+
+    @Test
+    void reserve_UnknownProduct_Fails() {
+        // When
+        boolean reserved = engine.reserve(Map.of("P1001", 1, "UNKNOWN", 1));
+
+        // Then
+        assertThat(reserved).isFalse();
+        assertThat(engine.available("P1001")).isEqualTo(10);
+        assertThat(engine.available("UNKNOWN")).isEqualTo(-1);
+    }
+
+    @Test
+    void release_ReturnsStock() {
+        // Given
+        engine.reserve(Map.of("P1001", 3));
+
+        // When
+        engine.release(Map.of("P1001", 3));
+
+        // Then
+        assertThat(engine.available("P1001")).isEqualTo(10);
+    }
+
+    @Test
+    void reserve_ManyThreadsOnHotProducts_NeverOversells() throws Exception {
+        // Given
+        engine.track("HOT-1", 1_000);
+        engine.track("HOT-2", 1_000);
+        int threads = 16;
+        int attemptsPerThread = 2_000;
+        AtomicInteger hot1Taken = new AtomicInteger();
+        AtomicInteger hot2Taken = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    int first = ThreadLocalRandom.current().nextInt(1, 4);
+                    int second = ThreadLocalRandom.current().nextInt(1, 4);
+                    if (engine.reserve(Map.of("HOT-1", first, "HOT-2", second))) {
+                        hot1Taken.addAndGet(first);
+                        hot2Taken.addAndGet(second);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(engine.available("HOT-1")).isGreaterThanOrEqualTo(0);
+        assertThat(engine.available("HOT-2")).isGreaterThanOrEqualTo(0);
+        assertThat(hot1Taken.get() + engine.available("HOT-1")).isEqualTo(1_000);
+        assertThat(hot2Taken.get() + engine.available("HOT-2")).isEqualTo(1_000);
+    }
+}
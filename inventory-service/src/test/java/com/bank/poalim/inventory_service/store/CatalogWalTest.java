@@ -0,0 +1,136 @@
+package com.bank.poalim.inventory_service.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogWalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_AfterClose_ReturnsRecordsInOrder() throws Exception {
+        // Given
+        try (CatalogWal wal = new CatalogWal(directory, 0)) {
+            wal.append(bytes("a"));
+            wal.append(bytes("b"));
+            wal.awaitDurable(wal.append(bytes("c")));
+        }
+
+        // When
+        List<String> replayed = new ArrayList<>();
+        long next = CatalogWal.replay(directory, 0, record -> replayed.add(text(record)));
+
+        // Then
+        assertThat(replayed).containsExactly("a", "b", "c");
+        assertThat(next).isEqualTo(3);
+    }
+
+    @Test
+    void replay_FromLsnAfterRoll_SkipsEarlierRecords() throws Exception {
+        // Given
+        try (CatalogWal wal = new CatalogWal(directory, 0)) {
+            wal.append(bytes("a"));
+            long rolledAt = wal.roll();
+            wal.append(bytes("b"));
+            assertThat(rolledAt).isEqualTo(1);
+        }
+
+        // When
+        List<String> replayed = new ArrayList<>();
+        long next = CatalogWal.replay(directory, 1, record -> replayed.add(text(record)));
+
+        // Then
+        assertThat(replayed).containsExactly("b");
+        assertThat(next).isEqualTo(2);
+    }
+
+    @Test
+    void replay_TornTail_StopsAtLastIntactRecord() throws Exception {
+        // Given
+        try (CatalogWal wal = new CatalogWal(directory, 0)) {
+            wal.append(bytes("a"));
+        }
+        Path file = walFiles().get(0);
+        Files.write(file, new byte[] {0, 0, 0, 9, 1, 2}, StandardOpenOption.APPEND);
+
+        // When
+        List<String> replayed = new ArrayList<>();
+        long next = CatalogWal.replay(directory, 0, record -> replayed.add(text(record)));
+
+        // Then
+        assertThat(replayed).containsExactly("a");
+        assertThat(next).isEqualTo(1);
+    }
+
+    @Test
+    void deleteBefore_SnapshotLsn_KeepsOnlyFilesAfterIt() throws Exception {
+        // Given
+        try (CatalogWal wal = new CatalogWal(directory, 0)) {
+            wal.append(bytes("a"));
+            long rolledAt = wal.roll();
+            wal.append(bytes("b"));
+
+            // When
+            wal.deleteBefore(rolledAt);
+        }
+
+        // Then
+        assertThat(walFiles()).hasSize(1);
+        List<String> replayed = new ArrayList<>();
+        CatalogWal.replay(directory, 1, record -> replayed.add(text(record)));
+        assertThat(replayed).containsExactly("b");
+    }
+
+    @Test
+    void awaitDurable_ConcurrentWriters_AllRecordsReachDisk() throws Exception {
+        // Given
+        int threads = 8;
+        int recordsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        try (CatalogWal wal = new CatalogWal(directory, 0)) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        wal.awaitDurable(wal.append(bytes("r")));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // Then
+        long next = CatalogWal.replay(directory, 0, record -> { });
+        assertThat(next).isEqualTo(threads * recordsPerThread);
+    }
+
+    private List<Path> walFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package com.bank.poalim.listener_autoscaler;
+
+/**
+ * Decides the listener concurrency from one sample of consumer lag and per-record processing time,
+ * taken every autoscaler tick.
+ * <p>
+ * The backlog is expected to drain in {@code lag * recordLatencyMs / concurrency}. Above
+ * {@code scaleUpLag}, when that exceeds {@code targetDrainMs}, the concurrency jumps straight to the
+ * thread count that meets the target (at least one more). It is lowered one thread at a time, once lag
+ * has stayed at or below {@code scaleDownLag} for {@code scaleDownTicks} ticks in a row. Every change
+ * restarts the container and rebalances the group, so the following {@code cooldownTicks} ticks keep it.
+ * Not thread-safe; the autoscaler calls it from its single ticker thread.
+ */
+final class ConcurrencyPolicy {
+
+    private final int minConcurrency;
+    private final long scaleUpLag;
+    private final long scaleDownLag;
+    private final long targetDrainMs;
+    private final int scaleDownTicks;
+    private final int cooldownTicks;
+
+    private int quietTicks;
+    private int cooldown;
+
+    ConcurrencyPolicy(int minConcurrency, long scaleUpLag, long scaleDownLag, long targetDrainMs,
+            int scaleDownTicks, int cooldownTicks) {
+        if (minConcurrency <= 0) {
+            throw new IllegalArgumentException("Minimum concurrency must be positive: " + minConcurrency);
+        }
+        if (targetDrainMs <= 0) {
+            throw new IllegalArgumentException("Target drain time must be positive: " + targetDrainMs);
+        }
+        this.minConcurrency = minConcurrency;
+        this.scaleUpLag = scaleUpLag;
+        this.scaleDownLag = scaleDownLag;
+        this.targetDrainMs = targetDrainMs;
+        this.scaleDownTicks = scaleDownTicks;
+        this.cooldownTicks = cooldownTicks;
+    }
+
+    /**
+     * @param maxConcurrency  the topic's partition count, or a lower configured cap
+     * @param recordLatencyMs listener time per record over the last tick, NaN if no record completed
+     * @return the concurrency to run with, {@code current} to keep it
+     */
+    int next(int current, int maxConcurrency, long lag, double recordLatencyMs) {
+        int ceiling = Math.max(minConcurrency, maxConcurrency);
+        int target = current;
+        if (lag <= scaleDownLag) {
+            quietTicks++;
+            if (quietTicks >= scaleDownTicks && current > minConcurrency) {
+                target = current - 1;
+            }
+        } else {
+            quietTicks = 0;
+            if (lag >= scaleUpLag && current < ceiling) {
+                target = scaleUpTarget(current, lag, recordLatencyMs);
+            }
+        }
+        target = Math.max(minConcurrency, Math.min(ceiling, target));
+
+        if (cooldown > 0) {
+            cooldown--;
+            return current;
+        }
+        if (target != current) {
+            quietTicks = 0;
+            cooldown = cooldownTicks;
+        }
+        return target;
+    }
+
+    private int scaleUpTarget(int current, long lag, double recordLatencyMs) {
+        // Nothing completed during the tick: the backlog is not draining, one more thread at a time
+        if (Double.isNaN(recordLatencyMs)) {
+            return current + 1;
+        }
+        double drainMs = lag * recordLatencyMs;
+        if (drainMs / current <= targetDrainMs) {
+            return current;
+        }
+        long needed = (long) Math.ceil(drainMs / targetDrainMs);
+        return (int) Math.max(current + 1, Math.min(needed, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,240 @@
+package com.bank.poalim.listener_autoscaler;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resizes one listener container, found by its listener id, between
+ * {@code kafka.consumer.autoscale.min-concurrency} and the partition count of the topic it reads, as
+ * decided by a {@link ConcurrencyPolicy}. Each service declares it as a bean for its own listener.
+ * <p>
+ * Every {@code kafka.consumer.autoscale.interval-ms} one thread samples the container's consumers:
+ * the summed {@code records-lag} of their partitions, and the listener time per record, from the
+ * {@code spring.kafka.listener} timer over {@code records-consumed-total}. The concurrency of a
+ * running container cannot be changed in place, so a resize stops the container, which commits what
+ * it has processed, and starts it again with the new thread count.
+ * <p>
+ * The current and maximum concurrency, the lag and the record latency are published as
+ * {@code kafka.listener.*} gauges, tagged with the listener id, under /actuator/metrics. While no
+ * container with that id is running, for example in a mode without one, the autoscaler leaves it alone.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ListenerConcurrencyAutoscaler implements SmartLifecycle {
+
+    static final String LISTENER_TIMER = "spring.kafka.listener";
+    private static final String FETCH_METRICS_GROUP = "consumer-fetch-manager-metrics";
+    private static final long PARTITION_REFRESH_MS = 60_000;
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    private final String listenerId;
+    private final String topic;
+
+    @Value("${kafka.consumer.autoscale.interval-ms:5000}")
+    private long intervalMs;
+
+    @Value("${kafka.consumer.autoscale.min-concurrency:1}")
+    private int minConcurrency;
+
+    // 0 for the partition count
+    @Value("${kafka.consumer.autoscale.max-concurrency:0}")
+    private int maxConcurrency;
+
+    @Value("${kafka.consumer.autoscale.scale-up-lag:1000}")
+    private long scaleUpLag;
+
+    @Value("${kafka.consumer.autoscale.scale-down-lag:100}")
+    private long scaleDownLag;
+
+    @Value("${kafka.consumer.autoscale.target-drain-ms:10000}")
+    private long targetDrainMs;
+
+    @Value("${kafka.consumer.autoscale.scale-down-ticks:6}")
+    private int scaleDownTicks;
+
+    @Value("${kafka.consumer.autoscale.cooldown-ticks:2}")
+    private int cooldownTicks;
+
+    private ConcurrencyPolicy policy;
+    private volatile ScheduledExecutorService ticker;
+
+    private int partitionCount;
+    private long partitionsReadAt;
+    // Previous cumulative samples; negative when the consumers were just restarted
+    private double lastConsumed = -1;
+    private double lastListenerMs = -1;
+
+    private volatile int concurrency;
+    private volatile int concurrencyCeiling;
+    private volatile long lag;
+    private volatile double recordLatencyMs = Double.NaN;
+
+    @Override
+    public void start() {
+        policy = new ConcurrencyPolicy(minConcurrency, scaleUpLag, scaleDownLag, targetDrainMs, scaleDownTicks, cooldownTicks);
+        registerGauges();
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "listener-autoscaler-" + listenerId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Listener autoscaler started for {} on {} every {} ms", listenerId, topic, intervalMs);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService current = ticker;
+        if (current != null) {
+            current.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    void tick() {
+        try {
+            scale();
+        } catch (RuntimeException e) {
+            log.warn("Listener autoscaling failed", e);
+        }
+    }
+
+    private void scale() {
+        ConcurrentMessageListenerContainer<?, ?> container = listenerContainer();
+        if (container == null || !container.isRunning()) {
+            return;
+        }
+        Map<String, Map<MetricName, ? extends Metric>> metrics = container.metrics();
+        int current = container.getConcurrency();
+        concurrency = current;
+        lag = (long) sumTopicMetric(metrics, "records-lag");
+        recordLatencyMs = sampleRecordLatency(sumTopicMetric(metrics, "records-consumed-total"), listenerTimeMs());
+        concurrencyCeiling = concurrencyCeiling(current);
+
+        int next = policy.next(current, concurrencyCeiling, lag, recordLatencyMs);
+        if (next != current) {
+            resize(container, current, next);
+        }
+    }
+
+    private void resize(ConcurrentMessageListenerContainer<?, ?> container, int current, int next) {
+        log.info("Resizing {} listener from {} to {} threads, lag {} records, {} ms per record",
+                topic, current, next, lag, recordLatencyMs);
+        container.stop();
+        container.setConcurrency(next);
+        container.start();
+        concurrency = next;
+        // The new consumers count from zero
+        lastConsumed = -1;
+        lastListenerMs = -1;
+    }
+
+    private ConcurrentMessageListenerContainer<?, ?> listenerContainer() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+        return container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent ? concurrent : null;
+    }
+
+    private double sampleRecordLatency(double consumed, double listenerMs) {
+        double consumedDelta = consumed - lastConsumed;
+        double listenerDelta = listenerMs - lastListenerMs;
+        boolean baseline = lastConsumed >= 0 && lastListenerMs >= 0;
+        lastConsumed = consumed;
+        lastListenerMs = listenerMs;
+        if (!baseline || consumedDelta <= 0 || listenerDelta < 0) {
+            return Double.NaN;
+        }
+        return listenerDelta / consumedDelta;
+    }
+
+    // Sums a per-partition or per-topic fetch metric over every consumer of the container; they only read the one topic
+    static double sumTopicMetric(Map<String, Map<MetricName, ? extends Metric>> metrics, String name) {
+        double sum = 0;
+        for (Map<MetricName, ? extends Metric> consumerMetrics : metrics.values()) {
+            for (Map.Entry<MetricName, ? extends Metric> entry : consumerMetrics.entrySet()) {
+                MetricName metricName = entry.getKey();
+                if (!name.equals(metricName.name()) || !FETCH_METRICS_GROUP.equals(metricName.group())
+                        || !metricName.tags().containsKey("topic")) {
+                    continue;
+                }
+                if (entry.getValue().metricValue() instanceof Number value && Double.isFinite(value.doubleValue())) {
+                    sum += value.doubleValue();
+                }
+            }
+        }
+        return sum;
+    }
+
+    private double listenerTimeMs() {
+        String prefix = listenerId + "-";
+        double total = 0;
+        for (Timer timer : meterRegistry.find(LISTENER_TIMER).timers()) {
+            String name = timer.getId().getTag("name");
+            if (name != null && name.startsWith(prefix)) {
+                total += timer.totalTime(TimeUnit.MILLISECONDS);
+            }
+        }
+        return total;
+    }
+
+    private int concurrencyCeiling(int current) {
+        long now = System.currentTimeMillis();
+        if (partitionCount == 0 || now - partitionsReadAt >= PARTITION_REFRESH_MS) {
+            partitionsReadAt = now;
+            try {
+                partitionCount = kafkaAdmin.describeTopics(topic).get(topic).partitions().size();
+            } catch (RuntimeException e) {
+                log.warn("Could not read the partition count of {}: {}", topic, e.getMessage());
+            }
+        }
+        if (partitionCount == 0) {
+            return maxConcurrency > 0 ? maxConcurrency : current;
+        }
+        return maxConcurrency > 0 ? Math.min(maxConcurrency, partitionCount) : partitionCount;
+    }
+
+    private void registerGauges() {
+        Gauge.builder("kafka.listener.concurrency", this, autoscaler -> autoscaler.concurrency)
+                .description("Consumer threads of the listener container")
+                .tag("listener", listenerId)
+                .register(meterRegistry);
+        Gauge.builder("kafka.listener.concurrency.max", this, autoscaler -> autoscaler.concurrencyCeiling)
+                .description("Most consumer threads the autoscaler may run, at most the partition count")
+                .tag("listener", listenerId)
+                .register(meterRegistry);
+        Gauge.builder("kafka.listener.lag", this, autoscaler -> autoscaler.lag)
+                .description("Records behind the end of the assigned partitions")
+                .tag("listener", listenerId)
+                .baseUnit("records")
+                .register(meterRegistry);
+        Gauge.builder("kafka.listener.record.latency", this, autoscaler -> autoscaler.recordLatencyMs)
+                .description("Listener time per record over the last autoscaler tick")
+                .tag("listener", listenerId)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+}
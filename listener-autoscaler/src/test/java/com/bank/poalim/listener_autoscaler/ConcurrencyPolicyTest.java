@@ -0,0 +1,113 @@
+package com.bank.poalim.listener_autoscaler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyPolicyTest {
+
+    // min 1, scale up from 1000 records, down at 100 or less after 3 ticks, 10 s drain target, 1 tick cooldown
+    private final ConcurrencyPolicy policy = new ConcurrencyPolicy(1, 1000, 100, 10_000, 3, 1);
+
+    @Test
+    void next_LagBelowScaleUpThreshold_KeepsConcurrency() {
+        // When
+        int next = policy.next(2, 12, 999, 50.0);
+
+        // Then
+        assertThat(next).isEqualTo(2);
+    }
+
+    @Test
+    void next_BacklogDrainsWithinTarget_KeepsConcurrency() {
+        // When: 5000 records at 2 ms over 1 thread drain in 10 s
+        int next = policy.next(1, 12, 5000, 2.0);
+
+        // Then
+        assertThat(next).isEqualTo(1);
+    }
+
+    @Test
+    void next_BacklogTooSlowToDrain_JumpsToThreadsMeetingTarget() {
+        // When: 5000 records at 10 ms need 50 s of listener time, 5 threads for 10 s
+        int next = policy.next(1, 12, 5000, 10.0);
+
+        // Then
+        assertThat(next).isEqualTo(5);
+    }
+
+    @Test
+    void next_ScaleUpBeyondPartitions_CappedAtMaximum() {
+        // When
+        int next = policy.next(1, 3, 100_000, 10.0);
+
+        // Then
+        assertThat(next).isEqualTo(3);
+    }
+
+    @Test
+    void next_LaggingWithoutCompletedRecords_AddsOneThread() {
+        // When
+        int next = policy.next(2, 12, 5000, Double.NaN);
+
+        // Then
+        assertThat(next).isEqualTo(3);
+    }
+
+    @Test
+    void next_AfterChange_HoldsDuringCooldown() {
+        // Given
+        assertThat(policy.next(1, 12, 5000, 10.0)).isEqualTo(5);
+
+        // When
+        int duringCooldown = policy.next(5, 12, 100_000, 10.0);
+        int afterCooldown = policy.next(5, 12, 100_000, 10.0);
+
+        // Then
+        assertThat(duringCooldown).isEqualTo(5);
+        assertThat(afterCooldown).isEqualTo(12);
+    }
+
+    @Test
+    void next_QuietForScaleDownTicks_RemovesOneThreadAtATime() {
+        // When
+        int first = policy.next(4, 12, 0, 1.0);
+        int second = policy.next(4, 12, 100, 1.0);
+        int third = policy.next(4, 12, 0, 1.0);
+
+        // Then
+        assertThat(first).isEqualTo(4);
+        assertThat(second).isEqualTo(4);
+        assertThat(third).isEqualTo(3);
+    }
+
+    @Test
+    void next_LagBetweenThresholds_ResetsQuietTicks() {
+        // Given
+        policy.next(4, 12, 0, 1.0);
+        policy.next(4, 12, 0, 1.0);
+
+        // When
+        policy.next(4, 12, 500, 1.0);
+        int next = policy.next(4, 12, 0, 1.0);
+
+        // Then
+        assertThat(next).isEqualTo(4);
+    }
+
+    @Test
+    void next_AtMinimum_NeverScalesBelow() {
+        // When
+        for (int tick = 0; tick < 5; tick++) {
+            assertThat(policy.next(1, 12, 0, 1.0)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void constructor_NonPositiveMinimum_Throws() {
+        // When & Then
+        assertThatThrownBy(() -> new ConcurrencyPolicy(0, 1000, 100, 10_000, 3, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,181 @@
+package com.bank.poalim.listener_autoscaler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ListenerConcurrencyAutoscalerTest {
+
+    private static final String LISTENER_ID = "order-events";
+    private static final String TOPIC = "order-created";
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private KafkaAdmin kafkaAdmin;
+
+    @Mock
+    private ConcurrentMessageListenerContainer<String, Object> container;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Timer listenerTimer;
+    private ListenerConcurrencyAutoscaler autoscaler;
+
+    @BeforeEach
+    void setUp() {
+        autoscaler = new ListenerConcurrencyAutoscaler(listenerRegistry, kafkaAdmin, meterRegistry, LISTENER_ID, TOPIC);
+        ReflectionTestUtils.setField(autoscaler, "intervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(autoscaler, "minConcurrency", 1);
+        ReflectionTestUtils.setField(autoscaler, "maxConcurrency", 0);
+        ReflectionTestUtils.setField(autoscaler, "scaleUpLag", 1000L);
+        ReflectionTestUtils.setField(autoscaler, "scaleDownLag", 100L);
+        ReflectionTestUtils.setField(autoscaler, "targetDrainMs", 10_000L);
+        ReflectionTestUtils.setField(autoscaler, "scaleDownTicks", 3);
+        ReflectionTestUtils.setField(autoscaler, "cooldownTicks", 0);
+        autoscaler.start();
+
+        listenerTimer = Timer.builder(ListenerConcurrencyAutoscaler.LISTENER_TIMER)
+                .tag("name", LISTENER_ID + "-0")
+                .register(meterRegistry);
+        when(listenerRegistry.getListenerContainer(LISTENER_ID)).thenReturn(container);
+        when(container.isRunning()).thenReturn(true);
+        when(container.getConcurrency()).thenReturn(1);
+        when(kafkaAdmin.describeTopics(TOPIC)).thenReturn(Map.of(TOPIC, topic(6)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        autoscaler.stop();
+    }
+
+    @Test
+    void tick_SlowBacklog_RestartsContainerWithThreadsToDrainIt() {
+        // Given: a quiet tick as baseline, then 100 records at 10 ms each with 5000 behind
+        givenConsumerMetrics(0, 0);
+        autoscaler.tick();
+        listenerTimer.record(Duration.ofMillis(1000));
+        givenConsumerMetrics(5000, 100);
+
+        // When
+        autoscaler.tick();
+
+        // Then: 50 s of work for a 10 s target
+        InOrder order = inOrder(container);
+        order.verify(container).stop();
+        order.verify(container).setConcurrency(5);
+        order.verify(container).start();
+        assertThat(gauge("kafka.listener.lag")).isEqualTo(5000);
+        assertThat(gauge("kafka.listener.record.latency")).isEqualTo(10.0);
+        assertThat(gauge("kafka.listener.concurrency")).isEqualTo(5);
+        assertThat(gauge("kafka.listener.concurrency.max")).isEqualTo(6);
+    }
+
+    @Test
+    void tick_NoLag_KeepsContainerRunning() {
+        // Given
+        givenConsumerMetrics(10, 50);
+
+        // When
+        autoscaler.tick();
+        autoscaler.tick();
+        autoscaler.tick();
+
+        // Then
+        verify(container, never()).stop();
+        verify(container, never()).setConcurrency(anyInt());
+        assertThat(gauge("kafka.listener.concurrency")).isEqualTo(1);
+    }
+
+    @Test
+    void tick_NoListenerContainer_DoesNothing() {
+        // Given
+        when(listenerRegistry.getListenerContainer(LISTENER_ID)).thenReturn(null);
+
+        // When
+        autoscaler.tick();
+
+        // Then
+        verify(container, never()).stop();
+        assertThat(gauge("kafka.listener.lag")).isZero();
+    }
+
+    @Test
+    void tick_PartitionCountUnavailable_KeepsCurrentConcurrency() {
+        // Given
+        when(kafkaAdmin.describeTopics(TOPIC)).thenThrow(new KafkaException("unreachable"));
+        givenConsumerMetrics(5000, 0);
+
+        // When
+        autoscaler.tick();
+
+        // Then
+        verify(container, never()).setConcurrency(anyInt());
+    }
+
+    private void givenConsumerMetrics(double lag, double consumedTotal) {
+        Map<MetricName, Metric> consumerMetrics = new HashMap<>();
+        // Lag is reported per partition, split over two here
+        put(consumerMetrics, "records-lag", Map.of("client-id", "c-0", "topic", TOPIC, "partition", "0"), lag / 2);
+        put(consumerMetrics, "records-lag", Map.of("client-id", "c-0", "topic", TOPIC, "partition", "1"), lag / 2);
+        put(consumerMetrics, "records-consumed-total", Map.of("client-id", "c-0", "topic", TOPIC), consumedTotal);
+        // The client-wide total must not be counted twice
+        put(consumerMetrics, "records-consumed-total", Map.of("client-id", "c-0"), consumedTotal);
+        when(container.metrics()).thenReturn(Map.of("c-0", consumerMetrics));
+    }
+
+    private static void put(Map<MetricName, Metric> metrics, String name, Map<String, String> tags, double value) {
+        MetricName metricName = new MetricName(name, "consumer-fetch-manager-metrics", "", tags);
+        Metric metric = mock(Metric.class);
+        when(metric.metricValue()).thenReturn(value);
+        metrics.put(metricName, metric);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("listener", LISTENER_ID).gauge().value();
+    }
+
+    private static TopicDescription topic(int partitions) {
+        Node node = new Node(0, "localhost", 9092);
+        List<TopicPartitionInfo> infos = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            infos.add(new TopicPartitionInfo(partition, node, List.of(node), List.of(node)));
+        }
+        return new TopicDescription(TOPIC, false, infos);
+    }
+}
@@ -0,0 +1,15 @@
+package com.bank.poalim.loadgen;
+
+public record CatalogProduct(String productId, String category) {
+
+    /**
+     * Parses {@code P1001:standard}.
+     */
+    public static CatalogProduct parse(String text) {
+        int separator = text.indexOf(':');
+        if (separator <= 0 || separator == text.length() - 1) {
+            throw new IllegalArgumentException("Expected productId:category, got " + text);
+        }
+        return new CatalogProduct(text.substring(0, separator), text.substring(separator + 1));
+    }
+}
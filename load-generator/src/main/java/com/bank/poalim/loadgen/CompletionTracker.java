@@ -0,0 +1,131 @@
+package com.bank.poalim.loadgen;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+
+/**
+ * Watches {@code order:{id}} hashes for their final status through Redis keyspace notifications.
+ * <p>
+ * Every {@code hset} on an order key triggers an {@code HGET status}; a COMPLETED or REJECTED value is a
+ * decision, timed at the moment the notification arrived. A decision can arrive before the HTTP response
+ * that tells us the order id, so it is parked until {@link #register} catches up.
+ */
+public class CompletionTracker implements AutoCloseable {
+
+    private static final String CHANNEL_PATTERN = "__keyspace@*__:order:*";
+    private static final String KEY_MARKER = "__:";
+    private static final List<String> FINAL_STATUSES = List.of("COMPLETED", "REJECTED");
+
+    public interface DecisionListener {
+        void onDecision(String orderId, String status, long intendedStartNanos, long decidedAtNanos);
+    }
+
+    private record Decision(String status, long decidedAtNanos) {
+    }
+
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, String> connection;
+    private final StatefulRedisPubSubConnection<String, String> pubSub;
+    private final DecisionListener listener;
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final Map<String, Decision> early = new ConcurrentHashMap<>();
+
+    public CompletionTracker(String redisUri, DecisionListener listener) {
+        this.listener = listener;
+        this.client = RedisClient.create(redisUri);
+        this.connection = client.connect();
+        enableKeyspaceNotifications();
+
+        this.pubSub = client.connectPubSub();
+        pubSub.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String pattern, String channel, String message) {
+                if ("hset".equals(message)) {
+                    onOrderChanged(channel.substring(channel.indexOf(KEY_MARKER) + KEY_MARKER.length()), System.nanoTime());
+                }
+            }
+        });
+        pubSub.sync().psubscribe(CHANNEL_PATTERN);
+    }
+
+    public void register(String orderId, long intendedStartNanos) {
+        Decision decision = early.remove(orderId);
+        if (decision != null) {
+            listener.onDecision(orderId, decision.status(), intendedStartNanos, decision.decidedAtNanos());
+            return;
+        }
+        pending.put(orderId, intendedStartNanos);
+        // The decision may have been parked between the two lookups above
+        decision = early.remove(orderId);
+        if (decision != null && pending.remove(orderId) != null) {
+            listener.onDecision(orderId, decision.status(), intendedStartNanos, decision.decidedAtNanos());
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Waits until every registered order is decided or the timeout passes.
+     *
+     * @return the ids still undecided
+     */
+    public List<String> awaitDecisions(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!pending.isEmpty() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        return List.copyOf(pending.keySet());
+    }
+
+    /**
+     * @return the current status of an order, or null if it has none
+     */
+    public String currentStatus(String orderId) {
+        return connection.sync().hget("order:" + orderId, "status");
+    }
+
+    @Override
+    public void close() {
+        pubSub.close();
+        connection.close();
+        client.shutdown();
+    }
+
+    private void onOrderChanged(String orderId, long seenAtNanos) {
+        connection.async().hget("order:" + orderId, "status").thenAccept(status -> {
+            if (status == null || !FINAL_STATUSES.contains(status)) {
+                return;
+            }
+            Long intendedStart = pending.remove(orderId);
+            if (intendedStart != null) {
+                listener.onDecision(orderId, status, intendedStart, seenAtNanos);
+            } else {
+                early.putIfAbsent(orderId, new Decision(status, seenAtNanos));
+            }
+        });
+    }
+
+    // Adds K (keyspace events) and h (hash commands) to whatever the server already publishes
+    private void enableKeyspaceNotifications() {
+        String current = connection.sync().configGet("notify-keyspace-events").getOrDefault("notify-keyspace-events", "");
+        StringBuilder flags = new StringBuilder(current);
+        for (char flag : new char[] {'K', 'h'}) {
+            if (current.indexOf(flag) < 0 && !(flag == 'h' && current.indexOf('A') >= 0)) {
+                flags.append(flag);
+            }
+        }
+        if (!flags.toString().equals(current)) {
+            connection.sync().configSet("notify-keyspace-events", flags.toString());
+        }
+    }
+}
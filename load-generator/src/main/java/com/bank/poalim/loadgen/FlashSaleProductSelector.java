@@ -0,0 +1,36 @@
+package com.bank.poalim.loadgen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Background popularity from another selector, plus a flash sale: between {@code startNanos} and
+ * {@code startNanos + durationNanos} a {@code share} of all lines go to one hot product.
+ */
+public class FlashSaleProductSelector implements ProductSelector {
+
+    private final ProductSelector background;
+    private final CatalogProduct hotProduct;
+    private final double share;
+    private final long startNanos;
+    private final long endNanos;
+
+    public FlashSaleProductSelector(ProductSelector background, CatalogProduct hotProduct, double share,
+            long startNanos, long durationNanos) {
+        if (share < 0 || share > 1) {
+            throw new IllegalArgumentException("Flash sale share must be between 0 and 1: " + share);
+        }
+        this.background = background;
+        this.hotProduct = hotProduct;
+        this.share = share;
+        this.startNanos = startNanos;
+        this.endNanos = startNanos + durationNanos;
+    }
+
+    @Override
+    public CatalogProduct next(SplittableRandom random, long elapsedNanos) {
+        if (elapsedNanos >= startNanos && elapsedNanos < endNanos && random.nextDouble() < share) {
+            return hotProduct;
+        }
+        return background.next(random, elapsedNanos);
+    }
+}
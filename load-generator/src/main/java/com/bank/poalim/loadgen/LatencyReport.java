@@ -0,0 +1,113 @@
+package com.bank.poalim.loadgen;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+/**
+ * Counters and latency histograms of one run, in microseconds.
+ * <p>
+ * Latencies are measured from the time a request was <em>scheduled</em> to be sent, not from when it
+ * actually went out, so a stalled generator or server shows up as latency instead of being hidden
+ * (coordinated omission).
+ */
+public class LatencyReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final Histogram acceptLatency = new ConcurrentHistogram(3);
+    private final Histogram decisionLatency = new ConcurrentHistogram(3);
+
+    final AtomicLong sent = new AtomicLong();
+    final AtomicLong accepted = new AtomicLong();
+    final AtomicLong httpErrors = new AtomicLong();
+    final AtomicLong completed = new AtomicLong();
+    final AtomicLong rejected = new AtomicLong();
+    final AtomicLong lastDecisionNanos = new AtomicLong();
+
+    public void recordAccepted(long intendedStartNanos, long respondedAtNanos) {
+        accepted.incrementAndGet();
+        acceptLatency.recordValue(micros(respondedAtNanos - intendedStartNanos));
+    }
+
+    public void recordHttpError() {
+        httpErrors.incrementAndGet();
+    }
+
+    public void recordDecision(String status, long intendedStartNanos, long decidedAtNanos) {
+        ("COMPLETED".equals(status) ? completed : rejected).incrementAndGet();
+        decisionLatency.recordValue(micros(decidedAtNanos - intendedStartNanos));
+        lastDecisionNanos.accumulateAndGet(decidedAtNanos, Math::max);
+    }
+
+    public Histogram acceptLatency() {
+        return acceptLatency;
+    }
+
+    public Histogram decisionLatency() {
+        return decisionLatency;
+    }
+
+    /**
+     * @param startNanos when the first request was scheduled
+     * @param sendEndNanos when the last request was sent
+     */
+    public void print(PrintStream out, LoadGeneratorOptions options, long startNanos, long sendEndNanos,
+            long undecided, long decidedWithoutNotification) {
+        double sendSeconds = (sendEndNanos - startNanos) / 1e9;
+        long decided = completed.get() + rejected.get();
+        double decideSeconds = (Math.max(lastDecisionNanos.get(), sendEndNanos) - startNanos) / 1e9;
+
+        out.println();
+        out.printf("Target              : %d orders/s for %s%n", options.rate(), options.duration());
+        out.printf("Sent                : %d (%.1f/s achieved)%n", sent.get(), sent.get() / sendSeconds);
+        out.printf("Accepted (201)      : %d, HTTP errors: %d%n", accepted.get(), httpErrors.get());
+        out.printf("Decided             : %d (COMPLETED %d, REJECTED %d)%n", decided, completed.get(), rejected.get());
+        out.printf("Undecided           : %d timed out, %d decided but missed by the notification stream%n",
+                undecided, decidedWithoutNotification);
+        out.printf("Sustained throughput: %.1f decisions/s%n", decided / decideSeconds);
+        printHistogram(out, "Accept latency (POST /orders -> 201)", acceptLatency);
+        printHistogram(out, "Order-to-decision latency (POST /orders -> final status in Redis)", decisionLatency);
+    }
+
+    public void writeLog(Path file, long startEpochMillis) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startEpochMillis);
+            writer.outputLegend();
+            acceptLatency.setTag("accept");
+            decisionLatency.setTag("decision");
+            writer.outputIntervalHistogram(acceptLatency);
+            writer.outputIntervalHistogram(decisionLatency);
+        }
+    }
+
+    private static void printHistogram(PrintStream out, String title, Histogram histogram) {
+        out.println();
+        out.println(title + ", ms");
+        if (histogram.getTotalCount() == 0) {
+            out.println("  no samples");
+            return;
+        }
+        for (double percentile : PERCENTILES) {
+            out.printf("  p%-6s %10.3f%n", trim(percentile), histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf("  %-7s %10.3f%n", "max", histogram.getMaxValue() / 1000.0);
+        out.printf("  %-7s %10.3f%n", "mean", histogram.getMean() / 1000.0);
+    }
+
+    private static String trim(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0);
+    }
+}
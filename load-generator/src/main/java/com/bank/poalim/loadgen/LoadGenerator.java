@@ -0,0 +1,139 @@
+package com.bank.poalim.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Open-loop load generator for the order pipeline.
+ * <p>
+ * Requests are scheduled at a fixed rate and sent asynchronously whether or not earlier ones have
+ * answered, the way independent clients behave. Each accepted order is followed through Redis until
+ * notification-service writes its final status, giving the order-to-decision latency at that rate.
+ */
+public class LoadGenerator {
+
+    private final LoadGeneratorOptions options;
+    private final OrderSource orderSource;
+    private final LatencyReport report = new LatencyReport();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    public LoadGenerator(LoadGeneratorOptions options, OrderSource orderSource) {
+        this.options = options;
+        this.orderSource = orderSource;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadGeneratorOptions options;
+        try {
+            options = LoadGeneratorOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadGeneratorOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        OrderSource orderSource = options.replay() != null
+                ? new ReplayOrderSource(options.replay())
+                : new SyntheticOrderSource(new ObjectMapper(), options.productSelector(),
+                        options.maxItems(), options.maxQuantity(), options.seed());
+        new LoadGenerator(options, orderSource).run();
+    }
+
+    public void run() throws Exception {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(options.httpThreads());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(httpExecutor)
+                .build();
+        URI orderUri = URI.create(options.orderUrl());
+
+        try (CompletionTracker tracker = new CompletionTracker(options.redisUri(),
+                (orderId, status, intendedStart, decidedAt) -> report.recordDecision(status, intendedStart, decidedAt))) {
+            long startEpochMillis = System.currentTimeMillis();
+            System.out.printf("Sending %d orders/s for %s to %s%n", options.rate(), options.duration(), orderUri);
+
+            long total = options.rate() * options.duration().toSeconds();
+            long startNanos = System.nanoTime();
+            for (long i = 0; i < total; i++) {
+                long intendedStart = startNanos + i * 1_000_000_000L / options.rate();
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                send(httpClient, orderUri, orderSource.next(intendedStart - startNanos), intendedStart, tracker);
+            }
+            long sendEndNanos = System.nanoTime();
+
+            System.out.println("Waiting for outstanding responses and decisions...");
+            awaitResponses(options.completionTimeout());
+            List<String> undecided = tracker.awaitDecisions(options.completionTimeout());
+            long missed = undecided.stream()
+                    .map(tracker::currentStatus)
+                    .filter(status -> "COMPLETED".equals(status) || "REJECTED".equals(status))
+                    .count();
+
+            report.print(System.out, options, startNanos, sendEndNanos, undecided.size() - missed, missed);
+            if (options.histogramLog() != null) {
+                report.writeLog(options.histogramLog(), startEpochMillis);
+                System.out.println();
+                System.out.println("Histogram log written to " + options.histogramLog());
+            }
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    private void send(HttpClient httpClient, URI orderUri, byte[] body, long intendedStart, CompletionTracker tracker) {
+        HttpRequest request = HttpRequest.newBuilder(orderUri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        report.sent.incrementAndGet();
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            try {
+                long respondedAt = System.nanoTime();
+                if (error != null || response.statusCode() != 201) {
+                    report.recordHttpError();
+                    return;
+                }
+                JsonNode orderId = objectMapper.readTree(response.body()).get("orderId");
+                if (orderId == null) {
+                    report.recordHttpError();
+                    return;
+                }
+                report.recordAccepted(intendedStart, respondedAt);
+                tracker.register(orderId.asText(), intendedStart);
+            } catch (Exception e) {
+                report.recordHttpError();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private void awaitResponses(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        if (inFlight.get() > 0) {
+            System.out.println(inFlight.get() + " request(s) still unanswered after " + timeout);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.bank.poalim.loadgen;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value} or {@code --name value}.
+ */
+public record LoadGeneratorOptions(
+        String orderUrl,
+        String redisUri,
+        int rate,
+        Duration duration,
+        Duration completionTimeout,
+        String distribution,
+        double zipfExponent,
+        List<CatalogProduct> products,
+        CatalogProduct flashSaleProduct,
+        double flashSaleShare,
+        Duration flashSaleStart,
+        Duration flashSaleDuration,
+        int maxItems,
+        int maxQuantity,
+        Path replay,
+        Path histogramLog,
+        int httpThreads,
+        long seed) {
+
+    // The sample catalog of inventory-service, most popular first for the Zipf distribution
+    static final String DEFAULT_PRODUCTS =
+            "P1001:standard,P3001:digital,P2001:perishable,P1002:standard,P2003:perishable,P3002:digital,P2002:perishable";
+
+    static final String USAGE = """
+            Usage: java -jar load-generator.jar [options]
+              --order-url=URL               POST /orders endpoint (default http://localhost:8081/orders)
+              --redis-uri=URI               Redis holding order:{id} hashes (default redis://localhost:6379)
+              --rate=N                      target orders per second, open loop (default 100)
+              --duration=SECONDS            how long to send (default 60)
+              --completion-timeout=SECONDS  wait for outstanding decisions after sending (default 30)
+              --replay=FILE                 replay NDJSON order requests instead of synthesizing them
+              --distribution=NAME           uniform | zipf | flash-sale (default zipf)
+              --zipf-exponent=S             Zipf skew, 0 = uniform (default 1.0)
+              --products=ID:CATEGORY,...    catalog to draw from, most popular first
+              --flash-sale-product=ID:CAT   hot product during the sale (default first product)
+              --flash-sale-share=F          share of lines going to the hot product during the sale (default 0.8)
+              --flash-sale-start=SECONDS    sale start, relative to the run (default 10)
+              --flash-sale-duration=SECONDS sale length (default 10)
+              --max-items=N                 items per synthetic order, 1..N (default 3)
+              --max-quantity=N              quantity per item, 1..N (default 2)
+              --histogram-log=FILE          also write the latency histograms as an HdrHistogram log
+              --http-threads=N              HTTP client threads (default 8)
+              --seed=N                      random seed for synthetic orders (default 42)
+            """;
+
+    public static LoadGeneratorOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            } else if (i + 1 < args.length) {
+                values.put(arg.substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+        }
+
+        List<CatalogProduct> products = Arrays.stream(values.getOrDefault("products", DEFAULT_PRODUCTS).split(","))
+                .map(String::strip)
+                .map(CatalogProduct::parse)
+                .toList();
+        String distribution = values.getOrDefault("distribution", "zipf");
+        if (!List.of("uniform", "zipf", "flash-sale").contains(distribution)) {
+            throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+        LoadGeneratorOptions options = new LoadGeneratorOptions(
+                values.getOrDefault("order-url", "http://localhost:8081/orders"),
+                values.getOrDefault("redis-uri", "redis://localhost:6379"),
+                Integer.parseInt(values.getOrDefault("rate", "100")),
+                seconds(values.getOrDefault("duration", "60")),
+                seconds(values.getOrDefault("completion-timeout", "30")),
+                distribution,
+                Double.parseDouble(values.getOrDefault("zipf-exponent", "1.0")),
+                products,
+                values.containsKey("flash-sale-product") ? CatalogProduct.parse(values.get("flash-sale-product")) : products.get(0),
+                Double.parseDouble(values.getOrDefault("flash-sale-share", "0.8")),
+                seconds(values.getOrDefault("flash-sale-start", "10")),
+                seconds(values.getOrDefault("flash-sale-duration", "10")),
+                Integer.parseInt(values.getOrDefault("max-items", "3")),
+                Integer.parseInt(values.getOrDefault("max-quantity", "2")),
+                values.containsKey("replay") ? Path.of(values.get("replay")) : null,
+                values.containsKey("histogram-log") ? Path.of(values.get("histogram-log")) : null,
+                Integer.parseInt(values.getOrDefault("http-threads", "8")),
+                Long.parseLong(values.getOrDefault("seed", "42")));
+
+        values.keySet().removeAll(List.of("order-url", "redis-uri", "rate", "duration", "completion-timeout",
+                "distribution", "zipf-exponent", "products", "flash-sale-product", "flash-sale-share",
+                "flash-sale-start", "flash-sale-duration", "max-items", "max-quantity", "replay",
+                "histogram-log", "http-threads", "seed"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + values.keySet());
+        }
+        if (options.rate() <= 0 || options.maxItems() <= 0 || options.maxQuantity() <= 0 || options.httpThreads() <= 0) {
+            throw new IllegalArgumentException("rate, max-items, max-quantity and http-threads must be positive");
+        }
+        return options;
+    }
+
+    public ProductSelector productSelector() {
+        return switch (distribution) {
+            case "uniform" -> new UniformProductSelector(products);
+            case "zipf" -> new ZipfProductSelector(products, zipfExponent);
+            default -> new FlashSaleProductSelector(new ZipfProductSelector(products, zipfExponent),
+                    flashSaleProduct, flashSaleShare, flashSaleStart.toNanos(), flashSaleDuration.toNanos());
+        };
+    }
+
+    private static Duration seconds(String value) {
+        return Duration.ofMillis(Math.round(Double.parseDouble(value) * 1000));
+    }
+}
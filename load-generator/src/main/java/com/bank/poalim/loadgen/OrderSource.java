@@ -0,0 +1,9 @@
+package com.bank.poalim.loadgen;
+
+/**
+ * Supplies the JSON bodies posted to {@code POST /orders}. Called from the scheduler thread only.
+ */
+public interface OrderSource {
+
+    byte[] next(long elapsedNanos);
+}
@@ -0,0 +1,14 @@
+package com.bank.poalim.loadgen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Picks the product of each synthetic order line.
+ */
+public interface ProductSelector {
+
+    /**
+     * @param elapsedNanos time since the run started, for distributions that change over time
+     */
+    CatalogProduct next(SplittableRandom random, long elapsedNanos);
+}
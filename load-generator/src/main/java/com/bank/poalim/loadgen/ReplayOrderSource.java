@@ -0,0 +1,35 @@
+package com.bank.poalim.loadgen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Replays an NDJSON file of order requests, the same format {@code POST /orders/batch} accepts,
+ * from the top again once it runs out.
+ */
+public class ReplayOrderSource implements OrderSource {
+
+    private final List<byte[]> orders;
+    private int next;
+
+    public ReplayOrderSource(Path file) throws IOException {
+        this.orders = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .map(line -> line.getBytes(StandardCharsets.UTF_8))
+                .toList();
+        if (orders.isEmpty()) {
+            throw new IllegalArgumentException("No orders in " + file);
+        }
+    }
+
+    @Override
+    public byte[] next(long elapsedNanos) {
+        byte[] order = orders.get(next);
+        next = (next + 1) % orders.size();
+        return order;
+    }
+}
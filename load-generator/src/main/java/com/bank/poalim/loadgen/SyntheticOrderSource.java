@@ -0,0 +1,60 @@
+package com.bank.poalim.loadgen;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Random orders of 1 to {@code maxItems} distinct products, 1 to {@code maxQuantity} each.
+ */
+public class SyntheticOrderSource implements OrderSource {
+
+    private final ObjectMapper objectMapper;
+    private final ProductSelector productSelector;
+    private final int maxItems;
+    private final int maxQuantity;
+    private final SplittableRandom random;
+    private long sequence;
+
+    public SyntheticOrderSource(ObjectMapper objectMapper, ProductSelector productSelector,
+            int maxItems, int maxQuantity, long seed) {
+        this.objectMapper = objectMapper;
+        this.productSelector = productSelector;
+        this.maxItems = maxItems;
+        this.maxQuantity = maxQuantity;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public byte[] next(long elapsedNanos) {
+        int itemCount = 1 + random.nextInt(maxItems);
+        Map<String, CatalogProduct> lines = new LinkedHashMap<>();
+        // Popular products repeat; a few extra draws keep the requested line count likely
+        for (int attempt = 0; attempt < itemCount * 4 && lines.size() < itemCount; attempt++) {
+            CatalogProduct product = productSelector.next(random, elapsedNanos);
+            lines.putIfAbsent(product.productId(), product);
+        }
+
+        ObjectNode order = objectMapper.createObjectNode();
+        order.put("customerName", "load-" + sequence++);
+        order.put("requestedAt", Instant.now().toString());
+        ArrayNode items = order.putArray("items");
+        for (CatalogProduct product : lines.values()) {
+            items.addObject()
+                    .put("productId", product.productId())
+                    .put("quantity", 1 + random.nextInt(maxQuantity))
+                    .put("category", product.category());
+        }
+        try {
+            return objectMapper.writeValueAsBytes(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize synthetic order", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.poalim.loadgen;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class UniformProductSelector implements ProductSelector {
+
+    private final List<CatalogProduct> products;
+
+    public UniformProductSelector(List<CatalogProduct> products) {
+        if (products.isEmpty()) {
+            throw new IllegalArgumentException("At least one product is required");
+        }
+        this.products = List.copyOf(products);
+    }
+
+    @Override
+    public CatalogProduct next(SplittableRandom random, long elapsedNanos) {
+        return products.get(random.nextInt(products.size()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.bank.poalim.loadgen;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf popularity: the product at rank {@code k} (1-based, in list order) is picked with
+ * probability proportional to {@code 1 / k^exponent}. An exponent of 0 is uniform; around 1
+ * matches typical retail catalogs, higher values concentrate load on the first few products.
+ */
+public class ZipfProductSelector implements ProductSelector {
+
+    private final List<CatalogProduct> products;
+    private final double[] cumulative;
+
+    public ZipfProductSelector(List<CatalogProduct> products, double exponent) {
+        if (products.isEmpty()) {
+            throw new IllegalArgumentException("At least one product is required");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Zipf exponent must not be negative: " + exponent);
+        }
+        this.products = List.copyOf(products);
+        this.cumulative = new double[products.size()];
+        double total = 0;
+        for (int rank = 1; rank <= products.size(); rank++) {
+            total += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    @Override
+    public CatalogProduct next(SplittableRandom random, long elapsedNanos) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        // binarySearch returns -(insertion point) - 1 when the value is not an exact match
+        index = index >= 0 ? index : -index - 1;
+        return products.get(Math.min(index, products.size() - 1));
+    }
+}
@@ -0,0 +1,50 @@
+package com.bank.poalim.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class LoadGeneratorOptionsTest {
+
+    @Test
+    void parse_NoArguments_UsesDefaults() {
+        // When
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse();
+
+        // Then
+        assertThat(options.orderUrl()).isEqualTo("http://localhost:8081/orders");
+        assertThat(options.rate()).isEqualTo(100);
+        assertThat(options.duration()).isEqualTo(Duration.ofSeconds(60));
+        assertThat(options.products()).hasSize(7);
+        assertThat(options.productSelector()).isInstanceOf(ZipfProductSelector.class);
+    }
+
+    @Test
+    void parse_BothSyntaxes_AreAccepted() {
+        // When
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(
+                "--rate=2500", "--duration", "0.5", "--distribution=flash-sale", "--products", "A:standard,B:digital");
+
+        // Then
+        assertThat(options.rate()).isEqualTo(2500);
+        assertThat(options.duration()).isEqualTo(Duration.ofMillis(500));
+        assertThat(options.flashSaleProduct()).isEqualTo(new CatalogProduct("A", "standard"));
+        assertThat(options.productSelector()).isInstanceOf(FlashSaleProductSelector.class);
+    }
+
+    @Test
+    void parse_UnknownOption_Throws() {
+        assertThatThrownBy(() -> LoadGeneratorOptions.parse("--rte=10"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rte");
+    }
+
+    @Test
+    void parse_UnknownDistribution_Throws() {
+        assertThatThrownBy(() -> LoadGeneratorOptions.parse("--distribution=pareto"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
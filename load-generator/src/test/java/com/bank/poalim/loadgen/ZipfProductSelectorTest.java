@@ -0,0 +1,76 @@
+package com.bank.poalim.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class ZipfProductSelectorTest {
+
+    private static final List<CatalogProduct> PRODUCTS = List.of(
+            new CatalogProduct("P1", "standard"),
+            new CatalogProduct("P2", "standard"),
+            new CatalogProduct("P3", "standard"),
+            new CatalogProduct("P4", "standard"));
+
+    @Test
+    void next_ExponentOne_FrequenciesFollowOneOverRank() {
+        // Given
+        ZipfProductSelector selector = new ZipfProductSelector(PRODUCTS, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+
+        // When
+        Map<String, Integer> counts = draw(selector, random, 200_000);
+
+        // Then - weights 1, 1/2, 1/3, 1/4 over a total of 25/12
+        assertThat(counts.get("P1") / 200_000.0).isCloseTo(12.0 / 25, within(0.01));
+        assertThat(counts.get("P2") / 200_000.0).isCloseTo(6.0 / 25, within(0.01));
+        assertThat(counts.get("P4") / 200_000.0).isCloseTo(3.0 / 25, within(0.01));
+    }
+
+    @Test
+    void next_ExponentZero_Uniform() {
+        // Given
+        ZipfProductSelector selector = new ZipfProductSelector(PRODUCTS, 0.0);
+
+        // When
+        Map<String, Integer> counts = draw(selector, new SplittableRandom(2), 100_000);
+
+        // Then
+        counts.values().forEach(count -> assertThat(count / 100_000.0).isCloseTo(0.25, within(0.01)));
+    }
+
+    @Test
+    void flashSale_OnlyInsideWindow_SendsShareToHotProduct() {
+        // Given
+        CatalogProduct hot = new CatalogProduct("HOT", "standard");
+        FlashSaleProductSelector selector = new FlashSaleProductSelector(
+                new UniformProductSelector(PRODUCTS), hot, 0.9, 1_000, 1_000);
+        SplittableRandom random = new SplittableRandom(3);
+
+        // When
+        long hotBefore = 0;
+        long hotDuring = 0;
+        for (int i = 0; i < 10_000; i++) {
+            hotBefore += selector.next(random, 500).equals(hot) ? 1 : 0;
+            hotDuring += selector.next(random, 1_500).equals(hot) ? 1 : 0;
+        }
+
+        // Then
+        assertThat(hotBefore).isZero();
+        assertThat(hotDuring / 10_000.0).isCloseTo(0.9, within(0.02));
+    }
+
+    private static Map<String, Integer> draw(ProductSelector selector, SplittableRandom random, int draws) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < draws; i++) {
+            counts.merge(selector.next(random, 0).productId(), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,102 @@
+package com.bank.poalim.notification_service.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Reads values written by {@link BinaryEventWriter}.
+ */
+public final class BinaryEventReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryEventReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint at byte " + position);
+    }
+
+    public Integer readNullableInt() {
+        long raw = readVarLong();
+        return raw == 0 ? null : (int) unZigZag(raw - 1);
+    }
+
+    public Boolean readNullableBoolean() {
+        int raw = readByte();
+        return raw == 0 ? null : raw == 2;
+    }
+
+    public <E extends Enum<E>> E readNullableOrdinal(E[] values) {
+        long raw = readVarLong();
+        if (raw == 0) {
+            return null;
+        }
+        if (raw > values.length) {
+            throw new SerializationException("Unknown ordinal " + (raw - 1) + " for " + values[0].getDeclaringClass().getSimpleName());
+        }
+        return values[(int) raw - 1];
+    }
+
+    public String readString() {
+        int length = readLength();
+        if (length < 0) {
+            return null;
+        }
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public Instant readInstant() {
+        long raw = readVarLong();
+        if (raw == 0) {
+            return null;
+        }
+        long seconds = unZigZag(raw - 1);
+        return Instant.ofEpochSecond(seconds, readVarLong());
+    }
+
+    /**
+     * @return the element count, or -1 if the collection was null
+     */
+    public int readCount() {
+        return readLength();
+    }
+
+    private int readLength() {
+        long raw = readVarLong();
+        if (raw > Integer.MAX_VALUE) {
+            throw new SerializationException("Length " + (raw - 1) + " out of range at byte " + position);
+        }
+        return (int) raw - 1;
+    }
+
+    private void require(int bytes) {
+        if (bytes > buffer.length - position) {
+            throw new SerializationException("Binary event truncated at byte " + position);
+        }
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
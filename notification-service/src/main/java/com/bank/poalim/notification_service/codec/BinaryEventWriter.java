@@ -0,0 +1,87 @@
+package com.bank.poalim.notification_service.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Growable buffer for the binary event format. Integers are unsigned LEB128 varints, signed values are
+ * zig-zag encoded first, and every nullable field is shifted by one so that 0 means null.
+ */
+public final class BinaryEventWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    public BinaryEventWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public BinaryEventWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public BinaryEventWriter writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public BinaryEventWriter writeNullableInt(Integer value) {
+        return writeVarLong(value == null ? 0 : zigZag(value) + 1);
+    }
+
+    public BinaryEventWriter writeNullableBoolean(Boolean value) {
+        return writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    public BinaryEventWriter writeNullableOrdinal(Enum<?> value) {
+        return writeVarLong(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    // Length-prefixed UTF-8
+    public BinaryEventWriter writeString(String value) {
+        if (value == null) {
+            return writeVarLong(0);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    // Epoch second then nano adjustment, so the full Instant range and precision survive
+    public BinaryEventWriter writeInstant(Instant value) {
+        if (value == null) {
+            return writeVarLong(0);
+        }
+        writeVarLong(zigZag(value.getEpochSecond()) + 1);
+        return writeVarLong(value.getNano());
+    }
+
+    public BinaryEventWriter writeCount(int size, boolean present) {
+        return writeVarLong(present ? size + 1L : 0);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
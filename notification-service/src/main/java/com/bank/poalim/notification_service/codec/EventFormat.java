@@ -0,0 +1,44 @@
+package com.bank.poalim.notification_service.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Wire format of an event value, announced in the {@code x-event-format} header so that JSON and
+ * binary producers can share a topic while consumers are rolled out. A record without the header is JSON.
+ */
+public enum EventFormat {
+    JSON("json"),
+    BINARY("binary");
+
+    public static final String HEADER = "x-event-format";
+
+    private final String id;
+    private final byte[] headerValue;
+
+    EventFormat(String id) {
+        this.id = id;
+        this.headerValue = id.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public void writeTo(Headers headers) {
+        headers.remove(HEADER);
+        headers.add(HEADER, headerValue);
+    }
+
+    public static EventFormat fromHeaders(Headers headers) {
+        Header header = headers != null ? headers.lastHeader(HEADER) : null;
+        if (header != null && header.value() != null
+                && Arrays.equals(header.value(), BINARY.headerValue)) {
+            return BINARY;
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.poalim.notification_service.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * The {@code x-event-type} header repeats the event's {@code eventType}, so consumers can skip
+ * records of other types without parsing their value.
+ */
+public final class EventTypeHeader {
+
+    public static final String HEADER = "x-event-type";
+
+    private EventTypeHeader() {
+    }
+
+    public static byte[] encode(String eventType) {
+        return eventType.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return false only if the record names a different event type; records from producers that
+     *         do not write the header are accepted
+     */
+    public static boolean accepts(Headers headers, byte[] eventType) {
+        Header header = headers != null ? headers.lastHeader(HEADER) : null;
+        return header == null || Arrays.equals(header.value(), eventType);
+    }
+}
@@ -0,0 +1,63 @@
+package com.bank.poalim.notification_service.codec;
+
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+
+/**
+ * Reads {@link InventoryCheckResultEvent}s in whichever {@link EventFormat} the record header announces,
+ * so JSON and binary producers can publish to the same topic during a rollout.
+ * <p>
+ * A record whose {@link EventTypeHeader} names another event type is returned as null without
+ * looking at its value. With {@code partial} set, only the fields the listeners use are read, see
+ * {@link InventoryCheckResultEventPartialReader}.
+ */
+public class InventoryCheckResultEventDeserializer implements Deserializer<InventoryCheckResultEvent> {
+
+    private static final byte[] EVENT_TYPE = EventTypeHeader.encode(InventoryCheckResultEvent.EVENT_TYPE);
+
+    private final boolean partial;
+    private final JsonDeserializer<InventoryCheckResultEvent> jsonDeserializer = new JsonDeserializer<>(InventoryCheckResultEvent.class, false);
+
+    public InventoryCheckResultEventDeserializer() {
+        this(false);
+    }
+
+    public InventoryCheckResultEventDeserializer(boolean partial) {
+        this.partial = partial;
+        jsonDeserializer.addTrustedPackages("*");
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public InventoryCheckResultEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return partial ? InventoryCheckResultEventPartialReader.readJson(data) : jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public InventoryCheckResultEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null || !EventTypeHeader.accepts(headers, EVENT_TYPE)) {
+            return null;
+        }
+        if (EventFormat.fromHeaders(headers) == EventFormat.BINARY) {
+            return partial ? InventoryCheckResultEventPartialReader.readBinary(data) : InventoryCheckResultEventBinaryCodec.decode(data);
+        }
+        return partial ? InventoryCheckResultEventPartialReader.readJson(data) : jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
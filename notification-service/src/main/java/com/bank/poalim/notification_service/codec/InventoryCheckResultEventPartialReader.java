@@ -0,0 +1,103 @@
+package com.bank.poalim.notification_service.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.notification_service.model.MissingItem;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads only the fields the notification listeners use, {@code orderId}, {@code approved} and
+ * {@code missingItems}, and leaves {@code eventType} and {@code eventTimestamp} null.
+ * <p>
+ * JSON is walked with a streaming parser that skips other fields without materializing them.
+ * In the binary layout the declared fields come first, so reading stops after {@code approved}.
+ */
+final class InventoryCheckResultEventPartialReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private InventoryCheckResultEventPartialReader() {
+    }
+
+    static InventoryCheckResultEvent readJson(byte[] data) {
+        InventoryCheckResultEvent event = new InventoryCheckResultEvent();
+        event.setEventType(null);
+        event.setEventTimestamp(null);
+        try (JsonParser parser = JSON_FACTORY.createParser(data)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "orderId" -> event.setOrderId(value == JsonToken.VALUE_NULL ? null : parser.getText());
+                    case "approved" -> event.setApproved(value == JsonToken.VALUE_NULL ? null : parser.getValueAsBoolean());
+                    case "missingItems" -> event.setMissingItems(value == JsonToken.VALUE_NULL ? null : readMissingItems(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Failed to read InventoryCheckResultEvent", e);
+        }
+        return event;
+    }
+
+    static InventoryCheckResultEvent readBinary(byte[] data) {
+        BinaryEventReader reader = new BinaryEventReader(data);
+        int version = reader.readByte();
+        if (version != InventoryCheckResultEventBinaryCodec.SCHEMA_VERSION) {
+            throw new SerializationException("Unsupported InventoryCheckResultEvent schema version " + version);
+        }
+        InventoryCheckResultEvent event = new InventoryCheckResultEvent();
+        event.setEventType(null);
+        event.setEventTimestamp(null);
+        event.setOrderId(reader.readString());
+        int count = reader.readCount();
+        if (count >= 0) {
+            List<MissingItem> missingItems = new ArrayList<>(Math.min(count, data.length));
+            for (int i = 0; i < count; i++) {
+                MissingItem item = new MissingItem();
+                item.setProductId(reader.readString());
+                item.setReason(reader.readString());
+                missingItems.add(item);
+            }
+            event.setMissingItems(missingItems);
+        }
+        event.setApproved(reader.readNullableBoolean());
+        return event;
+    }
+
+    private static List<MissingItem> readMissingItems(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        List<MissingItem> missingItems = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            MissingItem item = new MissingItem();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "productId" -> item.setProductId(parser.getText());
+                    case "reason" -> item.setReason(parser.getText());
+                    default -> parser.skipChildren();
+                }
+            }
+            missingItems.add(item);
+        }
+        return missingItems;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new SerializationException("Expected " + expected + " in InventoryCheckResultEvent but found " + actual);
+        }
+    }
+}
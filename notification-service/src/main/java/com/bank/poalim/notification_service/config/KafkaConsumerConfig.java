@@ -6,41 +6,82 @@ import java.util.Map;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
+import com.bank.poalim.notification_service.codec.InventoryCheckResultEventDeserializer;
 import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.listener_autoscaler.ListenerConcurrencyAutoscaler;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 public class KafkaConsumerConfig {
 
+    // Listener id of the inventory-check-result container, in record and batch modes
+    public static final String ORDER_LISTENER_ID = "order-events";
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${kafka.consumer.mode:record}")
+    private String consumerMode;
+
+    // Starting thread count; ListenerConcurrencyAutoscaler changes it at runtime when enabled
+    @Value("${kafka.consumer.concurrency:1}")
+    private int concurrency;
+
+    @Value("${kafka.consumer.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${kafka.consumer.deserialization:full}")
+    private String deserialization;
+
     @Bean
     public ConsumerFactory<String, InventoryCheckResultEvent> orderConsumerFactory() {
-        JsonDeserializer<InventoryCheckResultEvent> jsonDeserializer = new JsonDeserializer<>(InventoryCheckResultEvent.class, false);
-        jsonDeserializer.addTrustedPackages("*");
+        // Reads JSON and binary events, depending on the record's format header
+        InventoryCheckResultEventDeserializer valueDeserializer = new InventoryCheckResultEventDeserializer("partial".equals(deserialization));
         
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "notification-service");
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, jsonDeserializer);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, valueDeserializer);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        if (isBatchMode()) {
+            props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+        }
         
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), jsonDeserializer);
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), valueDeserializer);
+    }
+
+    // The reactive mode has no listener container, and the autoscaler leaves it alone
+    @Bean
+    @ConditionalOnProperty(name = "kafka.consumer.autoscale.enabled", havingValue = "true")
+    public ListenerConcurrencyAutoscaler orderListenerAutoscaler(KafkaListenerEndpointRegistry listenerRegistry,
+            KafkaAdmin kafkaAdmin, MeterRegistry meterRegistry,
+            @Value("${kafka.topic.inventory-check-result:inventory-check-result}") String inventoryCheckResultTopic) {
+        return new ListenerConcurrencyAutoscaler(listenerRegistry, kafkaAdmin, meterRegistry, ORDER_LISTENER_ID, inventoryCheckResultTopic);
     }
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, InventoryCheckResultEvent> orderKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, InventoryCheckResultEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(orderConsumerFactory());
-        factory.setConcurrency(1);
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(isBatchMode());
+        // Records of other event types come out of the deserializer as null and never reach the listeners
+        factory.setRecordFilterStrategy(record -> record.value() == null);
         return factory;
     }
+
+    private boolean isBatchMode() {
+        return "batch".equals(consumerMode);
+    }
 }
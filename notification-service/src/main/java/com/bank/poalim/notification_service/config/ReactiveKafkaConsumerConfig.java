@@ -0,0 +1,61 @@
+package com.bank.poalim.notification_service.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bank.poalim.notification_service.codec.InventoryCheckResultEventDeserializer;
+import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+
+import reactor.kafka.receiver.ReceiverOptions;
+
+@Configuration
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "reactive")
+public class ReactiveKafkaConsumerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${kafka.topic.inventory-check-result:inventory-check-result}")
+    private String inventoryCheckResultTopic;
+
+    @Value("${kafka.consumer.reactive.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${kafka.consumer.deserialization:full}")
+    private String deserialization;
+
+    @Value("${kafka.consumer.reactive.commit-interval-ms:1000}")
+    private long commitIntervalMs;
+
+    // Records acknowledged out of order are held back until the gap before them is acknowledged
+    @Value("${kafka.consumer.reactive.max-deferred-commits:2000}")
+    private int maxDeferredCommits;
+
+    @Bean
+    public ReceiverOptions<String, InventoryCheckResultEvent> inventoryCheckResultReceiverOptions() {
+        // Reads JSON and binary events, depending on the record's format header
+        InventoryCheckResultEventDeserializer valueDeserializer = new InventoryCheckResultEventDeserializer("partial".equals(deserialization));
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "notification-service");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        return ReceiverOptions.<String, InventoryCheckResultEvent>create(props)
+                .withKeyDeserializer(new StringDeserializer())
+                .withValueDeserializer(valueDeserializer)
+                .subscription(List.of(inventoryCheckResultTopic))
+                .commitInterval(Duration.ofMillis(commitIntervalMs))
+                .maxDeferredCommits(maxDeferredCommits);
+    }
+}
@@ -16,11 +16,13 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class InventoryCheckResultEvent {
     
+    public static final String EVENT_TYPE = "INVENTORY_CHECK_RESULT";
+    
     private String orderId;
     private List<MissingItem> missingItems;
     private Boolean approved;
     @Builder.Default
-    private String eventType = "INVENTORY_CHECK_RESULT";
+    private String eventType = EVENT_TYPE;
     @Builder.Default
     private Instant eventTimestamp = Instant.now();
     
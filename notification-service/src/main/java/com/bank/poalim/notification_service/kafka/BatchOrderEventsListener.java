@@ -0,0 +1,58 @@
+package com.bank.poalim.notification_service.kafka;
+
+import java.util.List;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.bank.poalim.notification_service.config.KafkaConsumerConfig;
+import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.notification_service.metrics.PipelineMetrics;
+import com.bank.poalim.notification_service.metrics.PipelineStage;
+import com.bank.poalim.notification_service.metrics.PipelineTimestamps;
+import com.bank.poalim.notification_service.model.InventoryCheckResult;
+import com.bank.poalim.notification_service.service.NotificationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batch alternative to {@link OrderEventsListener}, enabled with {@code kafka.consumer.mode=batch}.
+ * Receives the whole poll() result; its offsets are committed once this method returns.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "batch")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchOrderEventsListener {
+
+    private final NotificationService notificationService;
+    private final PipelineMetrics pipelineMetrics;
+
+    @KafkaListener(id = KafkaConsumerConfig.ORDER_LISTENER_ID, idIsGroup = false,
+            topics = "${kafka.topic.inventory-check-result:inventory-check-result}", containerFactory = "orderKafkaListenerContainerFactory")
+    public void onInventoryCheckResults(List<ConsumerRecord<String, InventoryCheckResultEvent>> records) {
+        long consumedAt = System.currentTimeMillis();
+
+        log.info("Notification received batch of {} InventoryCheckResultEvents", records.size());
+
+        List<InventoryCheckResult> inventoryCheckResults = records.stream()
+                .map(ConsumerRecord::value)
+                .map(event -> new InventoryCheckResult(
+                        event.getOrderId(),
+                        event.getMissingItems(),
+                        event.getApproved()))
+                .toList();
+
+        notificationService.processInventoryCheckResults(inventoryCheckResults);
+
+        long persistedAt = System.currentTimeMillis();
+        for (ConsumerRecord<String, InventoryCheckResultEvent> record : records) {
+            pipelineMetrics.recordNotificationStages(PipelineTimestamps.fromHeaders(record.headers())
+                    .stamp(PipelineStage.NOTIFICATION_CONSUMED, consumedAt)
+                    .stamp(PipelineStage.STATUS_PERSISTED, persistedAt));
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.bank.poalim.notification_service.kafka;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import com.bank.poalim.notification_service.config.KafkaConsumerConfig;
 import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.notification_service.metrics.PipelineMetrics;
+import com.bank.poalim.notification_service.metrics.PipelineStage;
+import com.bank.poalim.notification_service.metrics.PipelineTimestamps;
 import com.bank.poalim.notification_service.model.InventoryCheckResult;
 import com.bank.poalim.notification_service.service.NotificationServiceImpl;
 
@@ -12,15 +17,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "record", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventsListener {
 
     private final NotificationServiceImpl notificationService;
+    private final PipelineMetrics pipelineMetrics;
 
     
-    @KafkaListener(topics = "${kafka.topic.inventory-check-result:inventory-check-result}", containerFactory = "orderKafkaListenerContainerFactory")
-    public void onOrderCreated(@Payload InventoryCheckResultEvent event) {
+    @KafkaListener(id = KafkaConsumerConfig.ORDER_LISTENER_ID, idIsGroup = false,
+            topics = "${kafka.topic.inventory-check-result:inventory-check-result}", containerFactory = "orderKafkaListenerContainerFactory")
+    public void onOrderCreated(ConsumerRecord<String, InventoryCheckResultEvent> record) {
+    	PipelineTimestamps timestamps = PipelineTimestamps.fromHeaders(record.headers())
+    			.stampNow(PipelineStage.NOTIFICATION_CONSUMED);
+    	InventoryCheckResultEvent event = record.value();
         
     	log.info("Notification received InventoryCheckResultEvent id={} isApproved={}",
                 event.getOrderId(),
@@ -36,5 +47,7 @@ public class OrderEventsListener {
     	log.info("Starting to process Inventory check result of orderID={}", event.getOrderId());
     	notificationService.processInventoryCheckResult(inventoryCheckResult);
     	
+    	timestamps.stampNow(PipelineStage.STATUS_PERSISTED);
+    	pipelineMetrics.recordNotificationStages(timestamps);
     }
 }
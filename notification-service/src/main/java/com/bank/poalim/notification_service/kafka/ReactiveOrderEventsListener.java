@@ -0,0 +1,118 @@
+package com.bank.poalim.notification_service.kafka;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.notification_service.metrics.PipelineMetrics;
+import com.bank.poalim.notification_service.metrics.PipelineStage;
+import com.bank.poalim.notification_service.metrics.PipelineTimestamps;
+import com.bank.poalim.notification_service.model.InventoryCheckResult;
+import com.bank.poalim.notification_service.service.NotificationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+/**
+ * Reactive alternative to {@link OrderEventsListener}, enabled with {@code kafka.consumer.mode=reactive}.
+ * <p>
+ * Records of each partition are spread over a fixed number of lanes by key hash. A lane handles one record
+ * at a time, so events of the same order stay in order while Redis calls of different orders overlap.
+ * An offset is acknowledged only after its status write completes.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderEventsListener implements SmartLifecycle {
+
+    private final ReceiverOptions<String, InventoryCheckResultEvent> receiverOptions;
+    private final NotificationService notificationService;
+    private final PipelineMetrics pipelineMetrics;
+
+    @Value("${kafka.consumer.reactive.lanes-per-partition:16}")
+    private int lanesPerPartition;
+
+    @Value("${kafka.consumer.reactive.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${kafka.consumer.reactive.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    private volatile Disposable subscription;
+
+    @Override
+    public void start() {
+        subscription = consume(KafkaReceiver.create(receiverOptions).receive())
+                .subscribe(null, err -> log.error("Reactive inventory check result consumer terminated", err));
+        log.info("Reactive inventory check result consumer started with {} lanes per partition", lanesPerPartition);
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        Disposable current = subscription;
+        return current != null && !current.isDisposed();
+    }
+
+    Flux<ReceiverOffset> consume(Flux<ReceiverRecord<String, InventoryCheckResultEvent>> records) {
+        return records
+                .groupBy(record -> record.receiverOffset().topicPartition())
+                .flatMap(partition -> partition
+                        .groupBy(record -> Math.floorMod(Objects.hashCode(record.key()), lanesPerPartition))
+                        .flatMap(lane -> lane.concatMap(this::handle), lanesPerPartition),
+                        Integer.MAX_VALUE);
+    }
+
+    private Mono<ReceiverOffset> handle(ReceiverRecord<String, InventoryCheckResultEvent> record) {
+        ReceiverOffset offset = record.receiverOffset();
+        if (record.value() == null) {
+            // Another event type, skipped by the deserializer; its offset still has to be acknowledged
+            offset.acknowledge();
+            return Mono.just(offset);
+        }
+        PipelineTimestamps timestamps = PipelineTimestamps.fromHeaders(record.headers())
+                .stampNow(PipelineStage.NOTIFICATION_CONSUMED);
+        InventoryCheckResultEvent event = record.value();
+        log.info("Notification received InventoryCheckResultEvent id={} isApproved={}",
+                event.getOrderId(),
+                event.getApproved());
+
+        InventoryCheckResult inventoryCheckResult = new InventoryCheckResult(
+                event.getOrderId(),
+                event.getMissingItems(),
+                event.getApproved());
+
+        return Mono.defer(() -> notificationService.processInventoryCheckResultAsync(inventoryCheckResult))
+                .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(retryBackoffMs)))
+                .doOnSuccess(ignored -> pipelineMetrics.recordNotificationStages(
+                        timestamps.stampNow(PipelineStage.STATUS_PERSISTED)))
+                .onErrorResume(err -> {
+                    log.error("Giving up on inventory check result of orderID={} at {}-{}",
+                            event.getOrderId(), offset.topicPartition(), offset.offset(), err);
+                    return Mono.empty();
+                })
+                .then(Mono.fromRunnable(offset::acknowledge))
+                .thenReturn(offset);
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.poalim.notification_service.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records the notification-service hops and the end-to-end time in the {@code order.pipeline.stage} timer,
+ * tagged {@code from} and {@code to}, with a percentile histogram for the actuator metrics endpoint.
+ * <p>
+ * {@code accepted} and {@code result-produced} are stamped on other hosts; a negative duration means the
+ * clocks disagree and is dropped rather than recorded as zero.
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    public static final String TIMER_NAME = "order.pipeline.stage";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public void record(PipelineTimestamps timestamps, PipelineStage from, PipelineStage to) {
+        Long start = timestamps.get(from);
+        Long end = timestamps.get(to);
+        if (start == null || end == null || end < start) {
+            return;
+        }
+        timer(from, to).record(end - start, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records the notification hops and the end-to-end time from acceptance to the persisted status.
+     */
+    public void recordNotificationStages(PipelineTimestamps timestamps) {
+        record(timestamps, PipelineStage.RESULT_PRODUCED, PipelineStage.NOTIFICATION_CONSUMED);
+        record(timestamps, PipelineStage.NOTIFICATION_CONSUMED, PipelineStage.STATUS_PERSISTED);
+        record(timestamps, PipelineStage.ACCEPTED, PipelineStage.STATUS_PERSISTED);
+    }
+
+    private Timer timer(PipelineStage from, PipelineStage to) {
+        return timers.computeIfAbsent(from.id() + '>' + to.id(), key -> Timer.builder(TIMER_NAME)
+                .description("Time an order takes between two pipeline stages")
+                .tag("from", from.id())
+                .tag("to", to.id())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
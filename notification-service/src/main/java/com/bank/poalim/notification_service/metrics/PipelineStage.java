@@ -0,0 +1,32 @@
+package com.bank.poalim.notification_service.metrics;
+
+/**
+ * Stages notification-service reads from inventory result headers ({@code ACCEPTED}, {@code RESULT_PRODUCED})
+ * or stamps itself once the status is stored. Ids must match the {@code x-stage-<id>} headers written upstream;
+ * other stage headers are ignored.
+ */
+public enum PipelineStage {
+
+    ACCEPTED("accepted"),
+    RESULT_PRODUCED("result-produced"),
+    NOTIFICATION_CONSUMED("notification-consumed"),
+    STATUS_PERSISTED("status-persisted");
+
+    public static final String HEADER_PREFIX = "x-stage-";
+
+    private final String id;
+    private final String header;
+
+    PipelineStage(String id) {
+        this.id = id;
+        this.header = HEADER_PREFIX + id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String header() {
+        return header;
+    }
+}
@@ -1,9 +1,19 @@
 package com.bank.poalim.notification_service.service;
 
+import java.util.List;
+
 import com.bank.poalim.notification_service.model.InventoryCheckResult;
 
+import reactor.core.publisher.Mono;
+
 public interface NotificationService {
 	
 	void processInventoryCheckResult(InventoryCheckResult inventoryCheckResult);
 	
+	// Completes once the new order status has been written to Redis
+	Mono<Void> processInventoryCheckResultAsync(InventoryCheckResult inventoryCheckResult);
+	
+	// Handles a whole poll() batch with one Redis read and one Redis write
+	void processInventoryCheckResults(List<InventoryCheckResult> inventoryCheckResults);
+	
 }
@@ -1,14 +1,16 @@
 package com.bank.poalim.notification_service.service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
 import com.bank.poalim.notification_service.model.InventoryCheckResult;
 import com.bank.poalim.notification_service.model.MissingItem;
-import com.bank.poalim.notification_service.model.OrderRecord;
 import com.bank.poalim.notification_service.model.OrderStatus;
 import com.bank.poalim.notification_service.store.OrderStore;
+import com.bank.poalim.notification_service.store.StatusUpdateResult;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,44 +25,59 @@ public class NotificationServiceImpl implements NotificationService{
 	
 	@Override
 	public void processInventoryCheckResult(InventoryCheckResult inventoryCheckResult) {
+		processInventoryCheckResultAsync(inventoryCheckResult).block();
+	}
+	
+	@Override
+	public Mono<Void> processInventoryCheckResultAsync(InventoryCheckResult inventoryCheckResult) {
 		
 		String orderId = inventoryCheckResult.getOrderId();
+		// Update the order status to COMPLETED or REJECTED based on approval
+		OrderStatus newStatus = newStatus(inventoryCheckResult);
+		
+		return orderStore.updateStatusIfPending(orderId, newStatus)
+				.doOnNext(result -> logUpdate(orderId, newStatus, result))
+				.then(Mono.fromRunnable(() -> logOutcome(inventoryCheckResult)));
+	}
 	
-		log.info("Retrieve the original order from Redis using the orderId");
+	@Override
+	public void processInventoryCheckResults(List<InventoryCheckResult> inventoryCheckResults) {
 		
-		OrderRecord savedOrder = orderStore.getOrderById(orderId).block();
-		log.info("Retrieved order: {}", savedOrder);
-
-		if (savedOrder != null) {
-			// Update the order status to COMPLETED or REJECTED based on approval
-			OrderStatus newStatus = inventoryCheckResult.getApproved() ? OrderStatus.COMPLETED : OrderStatus.REJECTED;
-			
-			OrderRecord updatedOrder = OrderRecord.builder()
-					.orderId(savedOrder.getOrderId())
-					.customerName(savedOrder.getCustomerName())
-					.items(savedOrder.getItems())
-					.requestedAt(savedOrder.getRequestedAt())
-					.createdAt(savedOrder.getCreatedAt())
-					.status(newStatus)  // Set status based on approval
-					.build();
-			
-			Boolean updated = orderStore.updateOrderStatus(updatedOrder).block();
-			if (Boolean.TRUE.equals(updated)) {
-				log.info("Successfully updated order {} status to {}", orderId, newStatus);
-			} else {
-				log.error("Failed to update order {} status", orderId);
-			}
-		} else {
-			log.error("Order {} not found in Redis", orderId);
+		// The last result of an order in the batch wins, as it would when processed one by one
+		Map<String, InventoryCheckResult> latestByOrder = new LinkedHashMap<>();
+		inventoryCheckResults.forEach(result -> latestByOrder.put(result.getOrderId(), result));
+		
+		Map<String, OrderStatus> newStatuses = new LinkedHashMap<>();
+		latestByOrder.forEach((orderId, result) -> newStatuses.put(orderId, newStatus(result)));
+		
+		Map<String, StatusUpdateResult> results = orderStore.updateStatusesIfPending(newStatuses).block();
+		if (results != null) {
+			results.forEach((orderId, result) -> logUpdate(orderId, newStatuses.get(orderId), result));
 		}
 		
+		latestByOrder.values().forEach(this::logOutcome);
+	}
+	
+	private OrderStatus newStatus(InventoryCheckResult inventoryCheckResult) {
+		return inventoryCheckResult.getApproved() ? OrderStatus.COMPLETED : OrderStatus.REJECTED;
+	}
+	
+	private void logUpdate(String orderId, OrderStatus newStatus, StatusUpdateResult result) {
+		switch (result) {
+			case UPDATED -> log.info("Successfully updated order {} status to {}", orderId, newStatus);
+			case NOT_PENDING -> log.warn("Order {} is no longer PENDING, status not changed to {}", orderId, newStatus);
+			case NOT_FOUND -> log.error("Order {} not found in Redis", orderId);
+		}
+	}
+	
+	private void logOutcome(InventoryCheckResult inventoryCheckResult) {
+		String orderId = inventoryCheckResult.getOrderId();
 		if(inventoryCheckResult.getApproved()) {
 			log.info("Order {} Confirmed!", orderId);
 		} else {
 			List<MissingItem> missingItems = inventoryCheckResult.getMissingItems();
 			log.info("Order {} Rejected due to missing items: {}", orderId, missingItems);
 		}
-		
 	}
    
 }
@@ -0,0 +1,87 @@
+package com.bank.poalim.notification_service.store;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.bank.poalim.notification_service.dto.OrderItemDto;
+import com.bank.poalim.notification_service.model.OrderRecord;
+import com.bank.poalim.notification_service.model.OrderStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps an {@link OrderRecord} to the fields of its {@code order:{id}} Redis hash and back.
+ * Items are kept as one JSON field; everything else is a plain string so status can be changed on its own.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderHashMapper {
+
+    public static final String ORDER_ID = "orderId";
+    public static final String CUSTOMER_NAME = "customerName";
+    public static final String ITEMS = "items";
+    public static final String REQUESTED_AT = "requestedAt";
+    public static final String CREATED_AT = "createdAt";
+    public static final String STATUS = "status";
+
+    private static final TypeReference<List<OrderItemDto>> ITEM_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public Map<String, String> toHash(OrderRecord orderRecord) {
+        Map<String, String> hash = new HashMap<>();
+        put(hash, ORDER_ID, orderRecord.getOrderId());
+        put(hash, CUSTOMER_NAME, orderRecord.getCustomerName());
+        put(hash, REQUESTED_AT, orderRecord.getRequestedAt());
+        put(hash, CREATED_AT, orderRecord.getCreatedAt());
+        put(hash, STATUS, orderRecord.getStatus());
+        if (orderRecord.getItems() != null) {
+            try {
+                hash.put(ITEMS, objectMapper.writeValueAsString(orderRecord.getItems()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Cannot serialize items of order " + orderRecord.getOrderId(), e);
+            }
+        }
+        return hash;
+    }
+
+    public OrderRecord fromHash(Map<String, String> hash) {
+        try {
+            return OrderRecord.builder()
+                    .orderId(hash.get(ORDER_ID))
+                    .customerName(hash.get(CUSTOMER_NAME))
+                    .items(hash.containsKey(ITEMS) ? objectMapper.readValue(hash.get(ITEMS), ITEM_LIST) : null)
+                    .requestedAt(hash.containsKey(REQUESTED_AT) ? Instant.parse(hash.get(REQUESTED_AT)) : null)
+                    .createdAt(hash.containsKey(CREATED_AT) ? Instant.parse(hash.get(CREATED_AT)) : null)
+                    .status(hash.containsKey(STATUS) ? OrderStatus.valueOf(hash.get(STATUS)) : null)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot deserialize items of order " + hash.get(ORDER_ID), e);
+        }
+    }
+
+    /**
+     * Reads an order stored as one JSON string, the layout before orders became hashes.
+     */
+    public OrderRecord fromLegacyJson(String json) {
+        try {
+            return objectMapper.readValue(json, OrderRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot deserialize legacy order " + json, e);
+        }
+    }
+
+    private static void put(Map<String, String> hash, String field, Object value) {
+        if (value != null) {
+            hash.put(field, value.toString());
+        }
+    }
+}
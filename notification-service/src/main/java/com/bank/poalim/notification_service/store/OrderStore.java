@@ -1,6 +1,9 @@
 package com.bank.poalim.notification_service.store;
 
+import java.util.Map;
+
 import com.bank.poalim.notification_service.model.OrderRecord;
+import com.bank.poalim.notification_service.model.OrderStatus;
 
 import reactor.core.publisher.Mono;
 
@@ -10,6 +13,10 @@ public interface OrderStore {
 	
 	Mono<Boolean> deleteOrder(String orderId);
 	
-	Mono<Boolean> updateOrderStatus(OrderRecord orderRecord);
+	// Atomic PENDING -> newStatus on the order hash, without reading the order first
+	Mono<StatusUpdateResult> updateStatusIfPending(String orderId, OrderStatus newStatus);
+	
+	// Same as updateStatusIfPending for many orders, in one script call
+	Mono<Map<String, StatusUpdateResult>> updateStatusesIfPending(Map<String, OrderStatus> newStatuses);
 	
 }
@@ -1,9 +1,16 @@
 package com.bank.poalim.notification_service.store;
 
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
 import com.bank.poalim.notification_service.model.OrderRecord;
+import com.bank.poalim.notification_service.model.OrderStatus;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,32 +20,76 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 @Slf4j
 public class RedisOrderStore implements OrderStore {
-    
-    private final ReactiveRedisTemplate<String, OrderRecord> orderReactiveRedisTemplate;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> updateStatusesIfPendingScript;
+    private final OrderHashMapper orderHashMapper;
 
 	@Override
 	public Mono<OrderRecord> getOrderById(String orderId) {
-		return orderReactiveRedisTemplate.opsForValue().get(key(orderId));
-		
+		return redisTemplate.<String, String>opsForHash().entries(key(orderId))
+				.collectMap(Map.Entry::getKey, Map.Entry::getValue)
+				.filter(hash -> !hash.isEmpty())
+				.map(orderHashMapper::fromHash)
+				// Written as a JSON string by the previous version and not updated since
+				.onErrorResume(RedisOrderStore::isWrongType, e -> redisTemplate.opsForValue().get(key(orderId))
+						.map(orderHashMapper::fromLegacyJson));
 	}
-	
+
 	@Override
 	public Mono<Boolean> deleteOrder(String orderId) {
-	    String redisKey = key(orderId);
+	    return redisTemplate.delete(key(orderId)).map(deleted -> deleted > 0);
+	}
 
-	    return orderReactiveRedisTemplate.opsForValue().delete(redisKey);
+	@Override
+	public Mono<StatusUpdateResult> updateStatusIfPending(String orderId, OrderStatus newStatus) {
+	    return updateStatusesIfPending(Map.of(orderId, newStatus)).map(results -> results.get(orderId));
 	}
-	
+
 	@Override
-	public Mono<Boolean> updateOrderStatus(OrderRecord orderRecord) {
-	    String redisKey = key(orderRecord.getOrderId());
-	    
-	    return orderReactiveRedisTemplate.opsForValue()
-	            .set(redisKey, orderRecord)
-	            .map(result -> Boolean.TRUE)
-	            .onErrorReturn(Boolean.FALSE);
+	public Mono<Map<String, StatusUpdateResult>> updateStatusesIfPending(Map<String, OrderStatus> newStatuses) {
+	    if (newStatuses.isEmpty()) {
+	        return Mono.just(Map.of());
+	    }
+	    List<String> orderIds = new ArrayList<>(newStatuses.size());
+	    List<String> keys = new ArrayList<>(newStatuses.size());
+	    List<String> args = new ArrayList<>(newStatuses.size() + 1);
+	    args.add(OrderStatus.PENDING.name());
+	    newStatuses.forEach((orderId, newStatus) -> {
+	        orderIds.add(orderId);
+	        keys.add(key(orderId));
+	        args.add(newStatus.name());
+	    });
+
+	    return redisTemplate.execute(updateStatusesIfPendingScript, keys, args)
+	            .cast(Object.class)
+	            .flatMapIterable(RedisOrderStore::replyElements)
+	            .collectList()
+	            .map(replies -> {
+	                Map<String, StatusUpdateResult> results = new HashMap<>();
+	                for (int i = 0; i < orderIds.size(); i++) {
+	                    Long reply = i < replies.size() ? ((Number) replies.get(i)).longValue() : null;
+	                    results.put(orderIds.get(i), StatusUpdateResult.fromScriptResult(reply));
+	                }
+	                return results;
+	            });
+	}
+
+	// The driver emits an array reply either whole or element by element
+	private static List<?> replyElements(Object reply) {
+	    return reply instanceof List<?> elements ? elements : List.of(reply);
 	}
-	
+
+	private static boolean isWrongType(Throwable error) {
+	    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+	        if (cause.getMessage() != null && cause.getMessage().contains("WRONGTYPE")) {
+	            return true;
+	        }
+	    }
+	    return false;
+	}
+
 	private String key(String orderId) {
         return "order:" + orderId;
     }
@@ -0,0 +1,15 @@
+package com.bank.poalim.notification_service.store;
+
+public enum StatusUpdateResult {
+    UPDATED,
+    // The order already left PENDING, e.g. a redelivered event
+    NOT_PENDING,
+    NOT_FOUND;
+
+    static StatusUpdateResult fromScriptResult(Long result) {
+        if (result == null || result < 0) {
+            return NOT_FOUND;
+        }
+        return result == 1 ? UPDATED : NOT_PENDING;
+    }
+}
@@ -0,0 +1,48 @@
+-- Moves order hashes from one status to another without a client-side read, for any number of
+-- orders in one call. On a Redis Cluster all keys would have to share a slot; this service uses one node.
+-- KEYS order keys, ARGV[1] expected current status, ARGV[i + 1] new status for KEYS[i]
+-- Returns, per key, 1 if updated, 0 if the order is in another status, -1 if it does not exist
+local order_fields = { 'orderId', 'customerName', 'requestedAt', 'createdAt', 'status' }
+
+-- Orders written before the hash layout are one JSON string; rewrite them as a hash in place
+local function to_hash(key)
+    if redis.call('TYPE', key).ok ~= 'string' then
+        return true
+    end
+    local ok, order = pcall(cjson.decode, redis.call('GET', key))
+    if not ok or type(order) ~= 'table' then
+        return false
+    end
+    local fields = {}
+    for _, name in ipairs(order_fields) do
+        local value = order[name]
+        if value ~= nil and value ~= cjson.null then
+            fields[#fields + 1] = name
+            fields[#fields + 1] = tostring(value)
+        end
+    end
+    if type(order.items) == 'table' then
+        fields[#fields + 1] = 'items'
+        -- cjson encodes an empty table as an object
+        fields[#fields + 1] = #order.items == 0 and '[]' or cjson.encode(order.items)
+    end
+    redis.call('DEL', key)
+    if #fields > 0 then
+        redis.call('HSET', key, unpack(fields))
+    end
+    return true
+end
+
+local results = {}
+for i, key in ipairs(KEYS) do
+    local current = to_hash(key) and redis.call('HGET', key, 'status')
+    if not current then
+        results[i] = -1
+    elseif current ~= ARGV[1] then
+        results[i] = 0
+    else
+        redis.call('HSET', key, 'status', ARGV[i + 1])
+        results[i] = 1
+    end
+end
+return results
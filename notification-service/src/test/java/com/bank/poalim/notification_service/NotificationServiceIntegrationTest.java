@@ -10,7 +10,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -27,8 +27,9 @@ import com.bank.poalim.notification_service.model.OrderItemCategory;
 import com.bank.poalim.notification_service.model.OrderRecord;
 import com.bank.poalim.notification_service.model.OrderStatus;
 import com.bank.poalim.notification_service.service.NotificationService;
+import com.bank.poalim.notification_service.store.OrderHashMapper;
+import com.bank.poalim.notification_service.store.OrderStore;
 
-import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 @SpringBootTest
@@ -51,7 +52,13 @@ class NotificationServiceIntegrationTest {
     private NotificationService notificationService;
 
     @Autowired
-    private ReactiveRedisTemplate<String, OrderRecord> redisTemplate;
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Autowired
+    private OrderHashMapper orderHashMapper;
+
+    @Autowired
+    private OrderStore orderStore;
 
     private OrderRecord testOrder;
     private InventoryCheckResult approvedResult;
@@ -101,10 +108,10 @@ class NotificationServiceIntegrationTest {
     void processInventoryCheckResult_WhenOrderExistsAndApproved_ShouldUpdateStatusToCompleted() {
         // Arrange - Save order to Redis
         String redisKey = "order:integration-test-order-123";
-        redisTemplate.opsForValue().set(redisKey, testOrder).block();
+        save(redisKey, testOrder);
 
         // Verify order exists in Redis
-        OrderRecord savedOrder = redisTemplate.opsForValue().get(redisKey).block();
+        OrderRecord savedOrder = read(redisKey);
         assertThat(savedOrder).isNotNull();
         assertThat(savedOrder.getStatus()).isEqualTo(OrderStatus.PENDING);
 
@@ -112,7 +119,7 @@ class NotificationServiceIntegrationTest {
         notificationService.processInventoryCheckResult(approvedResult);
 
         // Assert - Check that order status was updated to COMPLETED
-        OrderRecord updatedOrder = redisTemplate.opsForValue().get(redisKey).block();
+        OrderRecord updatedOrder = read(redisKey);
         assertThat(updatedOrder).isNotNull();
         assertThat(updatedOrder.getStatus()).isEqualTo(OrderStatus.COMPLETED);
         assertThat(updatedOrder.getOrderId()).isEqualTo("integration-test-order-123");
@@ -132,10 +139,10 @@ class NotificationServiceIntegrationTest {
                 .status(OrderStatus.PENDING)
                 .build();
 
-        redisTemplate.opsForValue().set(redisKey, orderToReject).block();
+        save(redisKey, orderToReject);
 
         // Verify order exists in Redis
-        OrderRecord savedOrder = redisTemplate.opsForValue().get(redisKey).block();
+        OrderRecord savedOrder = read(redisKey);
         assertThat(savedOrder).isNotNull();
         assertThat(savedOrder.getStatus()).isEqualTo(OrderStatus.PENDING);
 
@@ -143,7 +150,7 @@ class NotificationServiceIntegrationTest {
         notificationService.processInventoryCheckResult(rejectedResult);
 
         // Assert - Check that order status was updated to REJECTED
-        OrderRecord updatedOrder = redisTemplate.opsForValue().get(redisKey).block();
+        OrderRecord updatedOrder = read(redisKey);
         assertThat(updatedOrder).isNotNull();
         assertThat(updatedOrder.getStatus()).isEqualTo(OrderStatus.REJECTED);
         assertThat(updatedOrder.getOrderId()).isEqualTo("integration-test-order-456");
@@ -156,14 +163,14 @@ class NotificationServiceIntegrationTest {
         String redisKey = "order:integration-test-order-123";
         
         // Verify order doesn't exist in Redis
-        OrderRecord savedOrder = redisTemplate.opsForValue().get(redisKey).block();
+        OrderRecord savedOrder = read(redisKey);
         assertThat(savedOrder).isNull();
 
         // Act
         notificationService.processInventoryCheckResult(approvedResult);
 
         // Assert - Order should still not exist in Redis
-        OrderRecord updatedOrder = redisTemplate.opsForValue().get(redisKey).block();
+        OrderRecord updatedOrder = read(redisKey);
         assertThat(updatedOrder).isNull();
     }
 
@@ -171,13 +178,13 @@ class NotificationServiceIntegrationTest {
     void processInventoryCheckResult_ShouldPreserveAllOrderDataExceptStatus() {
         // Arrange - Save order to Redis
         String redisKey = "order:integration-test-order-123";
-        redisTemplate.opsForValue().set(redisKey, testOrder).block();
+        save(redisKey, testOrder);
 
         // Act
         notificationService.processInventoryCheckResult(approvedResult);
 
         // Assert - Check that all data is preserved except status
-        OrderRecord updatedOrder = redisTemplate.opsForValue().get(redisKey).block();
+        OrderRecord updatedOrder = read(redisKey);
         assertThat(updatedOrder).isNotNull();
         assertThat(updatedOrder.getOrderId()).isEqualTo(testOrder.getOrderId());
         assertThat(updatedOrder.getCustomerName()).isEqualTo(testOrder.getCustomerName());
@@ -187,36 +194,69 @@ class NotificationServiceIntegrationTest {
         assertThat(updatedOrder.getStatus()).isEqualTo(OrderStatus.COMPLETED); // Only status should change
     }
 
+    @Test
+    void processInventoryCheckResult_WhenOrderAlreadyCompleted_ShouldNotOverwriteStatus() {
+        // Arrange - Order already moved out of PENDING, e.g. by an earlier delivery of the same event
+        String redisKey = "order:integration-test-order-123";
+        save(redisKey, OrderRecord.builder()
+                .orderId(testOrder.getOrderId())
+                .customerName(testOrder.getCustomerName())
+                .items(testOrder.getItems())
+                .requestedAt(testOrder.getRequestedAt())
+                .createdAt(testOrder.getCreatedAt())
+                .status(OrderStatus.COMPLETED)
+                .build());
+
+        // Act
+        notificationService.processInventoryCheckResult(new InventoryCheckResult("integration-test-order-123", null, false));
+
+        // Assert
+        assertThat(read(redisKey).getStatus()).isEqualTo(OrderStatus.COMPLETED);
+    }
+
     @Test
     void redisOperations_ShouldWorkCorrectly() {
         // Test basic Redis operations
-        String testKey = "test:key";
+        String testKey = "order:test-redis-order";
         OrderRecord testData = OrderRecord.builder()
                 .orderId("test-redis-order")
                 .customerName("Redis Test User")
                 .items(Arrays.asList())
-                .requestedAt(Instant.now())
-                .createdAt(Instant.now())
+                .requestedAt(Instant.parse("2025-06-30T14:00:00Z"))
+                .createdAt(Instant.parse("2025-06-30T14:00:01Z"))
                 .status(OrderStatus.PENDING)
                 .build();
 
-        // Test set operation
-        StepVerifier.create(redisTemplate.opsForValue().set(testKey, testData))
+        // Test hash write
+        StepVerifier.create(redisTemplate.opsForHash().putAll(testKey, orderHashMapper.toHash(testData)))
                 .expectNext(true)
                 .verifyComplete();
 
-        // Test get operation
-        StepVerifier.create(redisTemplate.opsForValue().get(testKey))
+        // Test status field
+        StepVerifier.create(redisTemplate.opsForHash().get(testKey, "status"))
+                .expectNext("PENDING")
+                .verifyComplete();
+
+        // Test read through the store
+        StepVerifier.create(orderStore.getOrderById("test-redis-order"))
                 .expectNext(testData)
                 .verifyComplete();
 
         // Test delete operation
-        StepVerifier.create(redisTemplate.opsForValue().delete(testKey))
+        StepVerifier.create(orderStore.deleteOrder("test-redis-order"))
                 .expectNext(true)
                 .verifyComplete();
 
         // Verify deletion
-        StepVerifier.create(redisTemplate.opsForValue().get(testKey))
+        StepVerifier.create(orderStore.getOrderById("test-redis-order"))
                 .verifyComplete();
     }
+
+    private void save(String redisKey, OrderRecord order) {
+        redisTemplate.opsForHash().putAll(redisKey, orderHashMapper.toHash(order)).block();
+    }
+
+    private OrderRecord read(String redisKey) {
+        return orderStore.getOrderById(redisKey.substring("order:".length())).block();
+    }
 }
@@ -0,0 +1,112 @@
+package com.bank.poalim.notification_service.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.notification_service.model.MissingItem;
+
+class InventoryCheckResultEventDeserializerTest {
+
+    private final InventoryCheckResultEventDeserializer deserializer = new InventoryCheckResultEventDeserializer();
+
+    @Test
+    void deserialize_BinaryHeader_DecodesBinaryEvent() {
+        // Given
+        MissingItem missingItem = new MissingItem();
+        missingItem.setProductId("P2002");
+        missingItem.setReason("Product expired");
+        InventoryCheckResultEvent event = InventoryCheckResultEvent.builder()
+                .orderId("order-1")
+                .missingItems(List.of(missingItem))
+                .approved(false)
+                .eventTimestamp(Instant.parse("2025-08-25T06:16:58Z"))
+                .build();
+        RecordHeaders headers = new RecordHeaders();
+        EventFormat.BINARY.writeTo(headers);
+
+        // When
+        InventoryCheckResultEvent decoded = deserializer.deserialize("inventory-check-result", headers,
+                InventoryCheckResultEventBinaryCodec.encode(event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void deserialize_NoFormatHeader_FallsBackToJson() {
+        // Given
+        byte[] json = """
+                {"orderId":"order-2","missingItems":null,"approved":true,"eventType":"INVENTORY_CHECK_RESULT"}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        InventoryCheckResultEvent decoded = deserializer.deserialize("inventory-check-result", new RecordHeaders(), json);
+
+        // Then
+        assertThat(decoded.getOrderId()).isEqualTo("order-2");
+        assertThat(decoded.getApproved()).isTrue();
+        assertThat(decoded.getMissingItems()).isNull();
+    }
+
+    @Test
+    void deserialize_PartialJson_ReadsOnlyDeclaredFields() {
+        // Given
+        byte[] json = """
+                {"orderId":"order-3","missingItems":[{"productId":"P1002","reason":"Insufficient quantity","extra":[1,{}]}],
+                 "approved":false,"eventType":"INVENTORY_CHECK_RESULT","eventTimestamp":"2025-08-25T06:16:58Z","unknown":{"a":1}}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        InventoryCheckResultEvent event = new InventoryCheckResultEventDeserializer(true)
+                .deserialize("inventory-check-result", new RecordHeaders(), json);
+
+        // Then
+        assertThat(event.getOrderId()).isEqualTo("order-3");
+        assertThat(event.getApproved()).isFalse();
+        assertThat(event.getMissingItems()).singleElement().satisfies(item -> {
+            assertThat(item.getProductId()).isEqualTo("P1002");
+            assertThat(item.getReason()).isEqualTo("Insufficient quantity");
+        });
+        assertThat(event.getEventType()).isNull();
+        assertThat(event.getEventTimestamp()).isNull();
+    }
+
+    @Test
+    void deserialize_PartialBinary_ReadsDeclaredFields() {
+        // Given
+        InventoryCheckResultEvent event = InventoryCheckResultEvent.builder()
+                .orderId("order-4")
+                .missingItems(null)
+                .approved(true)
+                .build();
+        RecordHeaders headers = new RecordHeaders();
+        EventFormat.BINARY.writeTo(headers);
+
+        // When
+        InventoryCheckResultEvent decoded = new InventoryCheckResultEventDeserializer(true)
+                .deserialize("inventory-check-result", headers, InventoryCheckResultEventBinaryCodec.encode(event));
+
+        // Then
+        assertThat(decoded.getOrderId()).isEqualTo("order-4");
+        assertThat(decoded.getApproved()).isTrue();
+        assertThat(decoded.getMissingItems()).isNull();
+        assertThat(decoded.getEventTimestamp()).isNull();
+    }
+
+    @Test
+    void deserialize_OtherEventTypeHeader_ReturnsNullWithoutParsing() {
+        // Given
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(EventTypeHeader.HEADER, "ORDER_CREATED".getBytes(StandardCharsets.US_ASCII));
+
+        // When / Then
+        assertThat(deserializer.deserialize("inventory-check-result", headers, "{broken".getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bank.poalim.notification_service.kafka;
+
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.notification_service.metrics.PipelineMetrics;
+import com.bank.poalim.notification_service.model.MissingItem;
+import com.bank.poalim.notification_service.service.NotificationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class BatchOrderEventsListenerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private BatchOrderEventsListener batchOrderEventsListener;
+
+    @Test
+    void onInventoryCheckResults_WholeBatch_DelegatesInOneCall() {
+        // Arrange
+        MissingItem missingItem = new MissingItem();
+        missingItem.setProductId("P1001");
+        missingItem.setReason("Insufficient quantity");
+
+        InventoryCheckResultEvent approved = InventoryCheckResultEvent.builder()
+                .orderId("order-1")
+                .approved(true)
+                .build();
+        InventoryCheckResultEvent rejected = InventoryCheckResultEvent.builder()
+                .orderId("order-2")
+                .missingItems(List.of(missingItem))
+                .approved(false)
+                .build();
+
+        // Act
+        batchOrderEventsListener.onInventoryCheckResults(List.of(
+                new ConsumerRecord<>("inventory-check-result", 0, 0L, "order-1", approved),
+                new ConsumerRecord<>("inventory-check-result", 0, 1L, "order-2", rejected)));
+
+        // Assert
+        verify(notificationService).processInventoryCheckResults(argThat(results ->
+            results.size() == 2 &&
+            results.get(0).getOrderId().equals("order-1") &&
+            results.get(0).getApproved() &&
+            results.get(1).getOrderId().equals("order-2") &&
+            !results.get(1).getApproved() &&
+            results.get(1).getMissingItems().size() == 1
+        ));
+        verifyNoMoreInteractions(notificationService);
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.poalim.notification_service.kafka;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -7,23 +8,34 @@ import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.notification_service.metrics.PipelineMetrics;
+import com.bank.poalim.notification_service.metrics.PipelineStage;
 import com.bank.poalim.notification_service.model.MissingItem;
 import com.bank.poalim.notification_service.service.NotificationServiceImpl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class OrderEventsListenerTest {
 
     @Mock
     private NotificationServiceImpl notificationService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(meterRegistry);
+
     @InjectMocks
     private OrderEventsListener orderEventsListener;
 
@@ -62,7 +74,7 @@ class OrderEventsListenerTest {
         doNothing().when(notificationService).processInventoryCheckResult(any());
 
         // Act
-        orderEventsListener.onOrderCreated(approvedEvent);
+        orderEventsListener.onOrderCreated(record(approvedEvent));
 
         // Assert
         verify(notificationService).processInventoryCheckResult(argThat(result -> 
@@ -79,7 +91,7 @@ class OrderEventsListenerTest {
         doNothing().when(notificationService).processInventoryCheckResult(any());
 
         // Act
-        orderEventsListener.onOrderCreated(rejectedEvent);
+        orderEventsListener.onOrderCreated(record(rejectedEvent));
 
         // Assert
         verify(notificationService).processInventoryCheckResult(argThat(result -> 
@@ -106,7 +118,7 @@ class OrderEventsListenerTest {
         doNothing().when(notificationService).processInventoryCheckResult(any());
 
         // Act
-        orderEventsListener.onOrderCreated(eventWithEmptyItems);
+        orderEventsListener.onOrderCreated(record(eventWithEmptyItems));
 
         // Assert
         verify(notificationService).processInventoryCheckResult(argThat(result -> 
@@ -125,7 +137,7 @@ class OrderEventsListenerTest {
 
         // Act & Assert - The exception should be thrown since we're not handling it gracefully
         org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class, () -> {
-            orderEventsListener.onOrderCreated(approvedEvent);
+            orderEventsListener.onOrderCreated(record(approvedEvent));
         });
 
         verify(notificationService).processInventoryCheckResult(any());
@@ -156,7 +168,7 @@ class OrderEventsListenerTest {
         doNothing().when(notificationService).processInventoryCheckResult(any());
 
         // Act
-        orderEventsListener.onOrderCreated(eventWithMultipleItems);
+        orderEventsListener.onOrderCreated(record(eventWithMultipleItems));
 
         // Assert
         verify(notificationService).processInventoryCheckResult(argThat(result -> 
@@ -169,4 +181,26 @@ class OrderEventsListenerTest {
         ));
         verifyNoMoreInteractions(notificationService);
     }
+
+    @Test
+    void onOrderCreated_WhenRecordCarriesStageHeaders_ShouldRecordEndToEndTime() {
+        // Arrange
+        ConsumerRecord<String, InventoryCheckResultEvent> record = record(approvedEvent);
+        long now = System.currentTimeMillis();
+        record.headers().add(PipelineStage.ACCEPTED.header(), Long.toString(now - 50).getBytes());
+        record.headers().add(PipelineStage.RESULT_PRODUCED.header(), Long.toString(now - 10).getBytes());
+
+        // Act
+        orderEventsListener.onOrderCreated(record);
+
+        // Assert
+        assertThat(meterRegistry.get(PipelineMetrics.TIMER_NAME)
+                .tag("from", "accepted").tag("to", "status-persisted").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PipelineMetrics.TIMER_NAME)
+                .tag("from", "result-produced").tag("to", "notification-consumed").timer().count()).isEqualTo(1);
+    }
+
+    private static ConsumerRecord<String, InventoryCheckResultEvent> record(InventoryCheckResultEvent event) {
+        return new ConsumerRecord<>("inventory-check-result", 0, 0L, event.getOrderId(), event);
+    }
 }
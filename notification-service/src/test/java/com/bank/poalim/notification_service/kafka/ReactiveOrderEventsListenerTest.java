@@ -0,0 +1,153 @@
+package com.bank.poalim.notification_service.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bank.poalim.notification_service.event.InventoryCheckResultEvent;
+import com.bank.poalim.notification_service.metrics.PipelineMetrics;
+import com.bank.poalim.notification_service.model.InventoryCheckResult;
+import com.bank.poalim.notification_service.service.NotificationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOrderEventsListenerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("inventory-check-result", 0);
+
+    @Mock
+    private ReceiverOptions<String, InventoryCheckResultEvent> receiverOptions;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private ReactiveOrderEventsListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new ReactiveOrderEventsListener(receiverOptions, notificationService,
+                new PipelineMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(listener, "lanesPerPartition", 4);
+        ReflectionTestUtils.setField(listener, "maxRetries", 2);
+        ReflectionTestUtils.setField(listener, "retryBackoffMs", 1L);
+    }
+
+    @Test
+    void consume_SameOrderTwice_ProcessesInOffsetOrderAndAcknowledgesAfterWrite() {
+        // Given
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        when(notificationService.processInventoryCheckResultAsync(any(InventoryCheckResult.class)))
+                .thenAnswer(invocation -> {
+                    InventoryCheckResult result = invocation.getArgument(0);
+                    // The first event is slower; it must still complete before the second starts
+                    Duration delay = result.getApproved() ? Duration.ofMillis(50) : Duration.ZERO;
+                    return Mono.delay(delay).then(Mono.fromRunnable(() ->
+                            processed.add(result.getOrderId() + ":" + result.getApproved())));
+                });
+
+        ReceiverRecord<String, InventoryCheckResultEvent> first = record("order-1", true, 0);
+        ReceiverRecord<String, InventoryCheckResultEvent> second = record("order-1", false, 1);
+
+        // When & Then
+        StepVerifier.create(listener.consume(Flux.just(first, second)))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertThat(processed).containsExactly("order-1:true", "order-1:false");
+        verify(first.receiverOffset()).acknowledge();
+        verify(second.receiverOffset()).acknowledge();
+    }
+
+    @Test
+    void consume_DifferentOrders_OverlapRedisCalls() {
+        // Given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(notificationService.processInventoryCheckResultAsync(any(InventoryCheckResult.class)))
+                .thenAnswer(invocation -> Mono.defer(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return Mono.delay(Duration.ofMillis(50)).then(Mono.fromRunnable(inFlight::decrementAndGet));
+                }));
+
+        Flux<ReceiverRecord<String, InventoryCheckResultEvent>> records = Flux.range(0, 8)
+                .map(i -> record("order-" + i, true, i));
+
+        // When & Then
+        StepVerifier.create(listener.consume(records))
+                .expectNextCount(8)
+                .verifyComplete();
+
+        assertThat(maxInFlight.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void consume_WriteKeepsFailing_RetriesThenAcknowledges() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        when(notificationService.processInventoryCheckResultAsync(any(InventoryCheckResult.class)))
+                .thenAnswer(invocation -> Mono.defer(() -> {
+                    attempts.incrementAndGet();
+                    return Mono.error(new IllegalStateException("Redis unavailable"));
+                }));
+
+        ReceiverRecord<String, InventoryCheckResultEvent> record = record("order-1", true, 0);
+
+        // When & Then
+        StepVerifier.create(listener.consume(Flux.just(record)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(3);
+        verify(record.receiverOffset()).acknowledge();
+    }
+
+    @Test
+    void consume_RecordOfAnotherEventType_AcknowledgesWithoutProcessing() {
+        // Given - the deserializer returns null for records whose event type header does not match
+        ReceiverOffset receiverOffset = mock(ReceiverOffset.class);
+        lenient().when(receiverOffset.topicPartition()).thenReturn(PARTITION);
+        ReceiverRecord<String, InventoryCheckResultEvent> skipped = new ReceiverRecord<>(
+                new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), 0L, "order-1", (InventoryCheckResultEvent) null), receiverOffset);
+
+        // When & Then
+        StepVerifier.create(listener.consume(Flux.just(skipped)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(receiverOffset).acknowledge();
+        verifyNoInteractions(notificationService);
+    }
+
+    private ReceiverRecord<String, InventoryCheckResultEvent> record(String orderId, boolean approved, long offset) {
+        InventoryCheckResultEvent event = InventoryCheckResultEvent.builder()
+                .orderId(orderId)
+                .approved(approved)
+                .build();
+        ReceiverOffset receiverOffset = mock(ReceiverOffset.class);
+        lenient().when(receiverOffset.topicPartition()).thenReturn(PARTITION);
+        lenient().when(receiverOffset.offset()).thenReturn(offset);
+        return new ReceiverRecord<>(new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset, orderId, event), receiverOffset);
+    }
+}
@@ -1,11 +1,14 @@
 package com.bank.poalim.notification_service.service;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
-import java.time.Instant;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,15 +17,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.bank.poalim.notification_service.dto.OrderItemDto;
 import com.bank.poalim.notification_service.model.InventoryCheckResult;
 import com.bank.poalim.notification_service.model.MissingItem;
-import com.bank.poalim.notification_service.model.OrderItemCategory;
-import com.bank.poalim.notification_service.model.OrderRecord;
 import com.bank.poalim.notification_service.model.OrderStatus;
 import com.bank.poalim.notification_service.store.OrderStore;
+import com.bank.poalim.notification_service.store.StatusUpdateResult;
 
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationServiceImplTest {
@@ -33,27 +35,11 @@ class NotificationServiceImplTest {
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
-    private OrderRecord testOrder;
     private InventoryCheckResult approvedResult;
     private InventoryCheckResult rejectedResult;
 
     @BeforeEach
     void setUp() {
-        // Create test order
-        OrderItemDto orderItem = new OrderItemDto();
-        orderItem.setProductId("P1001");
-        orderItem.setQuantity(2);
-        orderItem.setCategory(OrderItemCategory.STANDARD);
-        
-        testOrder = OrderRecord.builder()
-                .orderId("test-order-123")
-                .customerName("John Doe")
-                .items(Arrays.asList(orderItem))
-                .requestedAt(Instant.now().minusSeconds(300))
-                .createdAt(Instant.now().minusSeconds(200))
-                .status(OrderStatus.PENDING)
-                .build();
-
         // Create approved inventory check result
         approvedResult = new InventoryCheckResult(
                 "test-order-123",
@@ -77,123 +63,143 @@ class NotificationServiceImplTest {
     @Test
     void processInventoryCheckResult_WhenOrderExistsAndApproved_ShouldUpdateStatusToCompleted() {
         // Arrange
-        when(orderStore.getOrderById("test-order-123")).thenReturn(Mono.just(testOrder));
-        when(orderStore.updateOrderStatus(any(OrderRecord.class))).thenReturn(Mono.just(true));
+        when(orderStore.updateStatusIfPending("test-order-123", OrderStatus.COMPLETED))
+                .thenReturn(Mono.just(StatusUpdateResult.UPDATED));
 
         // Act
         notificationService.processInventoryCheckResult(approvedResult);
 
         // Assert
-        verify(orderStore).getOrderById("test-order-123");
-        verify(orderStore).updateOrderStatus(argThat(order -> 
-            order.getOrderId().equals("test-order-123") &&
-            order.getStatus() == OrderStatus.COMPLETED &&
-            order.getCustomerName().equals("John Doe")
-        ));
+        verify(orderStore).updateStatusIfPending("test-order-123", OrderStatus.COMPLETED);
         verifyNoMoreInteractions(orderStore);
     }
 
     @Test
     void processInventoryCheckResult_WhenOrderExistsAndRejected_ShouldUpdateStatusToRejected() {
         // Arrange
-        when(orderStore.getOrderById("test-order-123")).thenReturn(Mono.just(testOrder));
-        when(orderStore.updateOrderStatus(any(OrderRecord.class))).thenReturn(Mono.just(true));
+        when(orderStore.updateStatusIfPending("test-order-123", OrderStatus.REJECTED))
+                .thenReturn(Mono.just(StatusUpdateResult.UPDATED));
 
         // Act
         notificationService.processInventoryCheckResult(rejectedResult);
 
         // Assert
-        verify(orderStore).getOrderById("test-order-123");
-        verify(orderStore).updateOrderStatus(argThat(order -> 
-            order.getOrderId().equals("test-order-123") &&
-            order.getStatus() == OrderStatus.REJECTED &&
-            order.getCustomerName().equals("John Doe")
-        ));
+        verify(orderStore).updateStatusIfPending("test-order-123", OrderStatus.REJECTED);
         verifyNoMoreInteractions(orderStore);
     }
 
     @Test
-    void processInventoryCheckResult_WhenOrderNotFound_ShouldLogErrorAndNotUpdate() {
+    void processInventoryCheckResult_ShouldNotReadOrderBeforeUpdating() {
         // Arrange
-        when(orderStore.getOrderById("test-order-123")).thenReturn(Mono.empty());
+        when(orderStore.updateStatusIfPending(anyString(), any(OrderStatus.class)))
+                .thenReturn(Mono.just(StatusUpdateResult.UPDATED));
 
         // Act
         notificationService.processInventoryCheckResult(approvedResult);
 
         // Assert
-        verify(orderStore).getOrderById("test-order-123");
-        verify(orderStore, never()).updateOrderStatus(any(OrderRecord.class));
-        verifyNoMoreInteractions(orderStore);
+        verify(orderStore, never()).getOrderById(anyString());
     }
 
     @Test
-    void processInventoryCheckResult_WhenUpdateFails_ShouldLogError() {
+    void processInventoryCheckResult_WhenOrderNotFound_ShouldComplete() {
         // Arrange
-        when(orderStore.getOrderById("test-order-123")).thenReturn(Mono.just(testOrder));
-        when(orderStore.updateOrderStatus(any(OrderRecord.class))).thenReturn(Mono.just(false));
+        when(orderStore.updateStatusIfPending("test-order-123", OrderStatus.COMPLETED))
+                .thenReturn(Mono.just(StatusUpdateResult.NOT_FOUND));
 
         // Act
         notificationService.processInventoryCheckResult(approvedResult);
 
         // Assert
-        verify(orderStore).getOrderById("test-order-123");
-        verify(orderStore).updateOrderStatus(any(OrderRecord.class));
+        verify(orderStore).updateStatusIfPending("test-order-123", OrderStatus.COMPLETED);
         verifyNoMoreInteractions(orderStore);
     }
 
     @Test
-    void processInventoryCheckResult_WhenOrderExistsAndApproved_ShouldPreserveAllOrderData() {
+    void processInventoryCheckResult_WhenOrderNoLongerPending_ShouldComplete() {
         // Arrange
-        when(orderStore.getOrderById("test-order-123")).thenReturn(Mono.just(testOrder));
-        when(orderStore.updateOrderStatus(any(OrderRecord.class))).thenReturn(Mono.just(true));
+        when(orderStore.updateStatusIfPending("test-order-123", OrderStatus.REJECTED))
+                .thenReturn(Mono.just(StatusUpdateResult.NOT_PENDING));
 
         // Act
-        notificationService.processInventoryCheckResult(approvedResult);
+        notificationService.processInventoryCheckResult(rejectedResult);
 
         // Assert
-        verify(orderStore).updateOrderStatus(argThat(order -> 
-            order.getOrderId().equals(testOrder.getOrderId()) &&
-            order.getCustomerName().equals(testOrder.getCustomerName()) &&
-            order.getItems().equals(testOrder.getItems()) &&
-            order.getRequestedAt().equals(testOrder.getRequestedAt()) &&
-            order.getCreatedAt().equals(testOrder.getCreatedAt()) &&
-            order.getStatus() == OrderStatus.COMPLETED
-        ));
+        verify(orderStore).updateStatusIfPending("test-order-123", OrderStatus.REJECTED);
+        verifyNoMoreInteractions(orderStore);
+    }
+
+    @Test
+    void processInventoryCheckResult_WhenUpdateThrowsException_ShouldHandleGracefully() {
+        // Arrange
+        when(orderStore.updateStatusIfPending("test-order-123", OrderStatus.COMPLETED))
+                .thenReturn(Mono.error(new RuntimeException("Redis error")));
+
+        // Act & Assert - The exception should be thrown since we're not handling it gracefully
+        org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class, () -> {
+            notificationService.processInventoryCheckResult(approvedResult);
+        });
+
+        verify(orderStore).updateStatusIfPending("test-order-123", OrderStatus.COMPLETED);
+        verifyNoMoreInteractions(orderStore);
+    }
+
+    @Test
+    void processInventoryCheckResultAsync_WhenOrderExists_CompletesAfterStatusWrite() {
+        // Arrange
+        when(orderStore.updateStatusIfPending("test-order-123", OrderStatus.COMPLETED))
+                .thenReturn(Mono.just(StatusUpdateResult.UPDATED));
+
+        // Act & Assert
+        StepVerifier.create(notificationService.processInventoryCheckResultAsync(approvedResult))
+                .verifyComplete();
+    }
+
+    @Test
+    void processInventoryCheckResultAsync_WhenRedisFails_PropagatesError() {
+        // Arrange
+        when(orderStore.updateStatusIfPending("test-order-123", OrderStatus.COMPLETED))
+                .thenReturn(Mono.error(new IllegalStateException("Redis unavailable")));
+
+        // Act & Assert
+        StepVerifier.create(notificationService.processInventoryCheckResultAsync(approvedResult))
+                .expectError(IllegalStateException.class)
+                .verify();
     }
 
     @Test
-    void processInventoryCheckResult_WhenOrderExistsAndRejected_ShouldPreserveAllOrderData() {
+    void processInventoryCheckResults_SeveralOrders_OneStoreCall() {
         // Arrange
-        when(orderStore.getOrderById("test-order-123")).thenReturn(Mono.just(testOrder));
-        when(orderStore.updateOrderStatus(any(OrderRecord.class))).thenReturn(Mono.just(true));
+        InventoryCheckResult otherRejected = new InventoryCheckResult("test-order-456", null, false);
+        InventoryCheckResult missingOrder = new InventoryCheckResult("missing-order", null, true);
+
+        Map<String, OrderStatus> expected = new LinkedHashMap<>();
+        expected.put("test-order-123", OrderStatus.COMPLETED);
+        expected.put("test-order-456", OrderStatus.REJECTED);
+        expected.put("missing-order", OrderStatus.COMPLETED);
+        when(orderStore.updateStatusesIfPending(expected)).thenReturn(Mono.just(Map.of(
+                "test-order-123", StatusUpdateResult.UPDATED,
+                "test-order-456", StatusUpdateResult.UPDATED,
+                "missing-order", StatusUpdateResult.NOT_FOUND)));
 
         // Act
-        notificationService.processInventoryCheckResult(rejectedResult);
+        notificationService.processInventoryCheckResults(List.of(approvedResult, otherRejected, missingOrder));
 
         // Assert
-        verify(orderStore).updateOrderStatus(argThat(order -> 
-            order.getOrderId().equals(testOrder.getOrderId()) &&
-            order.getCustomerName().equals(testOrder.getCustomerName()) &&
-            order.getItems().equals(testOrder.getItems()) &&
-            order.getRequestedAt().equals(testOrder.getRequestedAt()) &&
-            order.getCreatedAt().equals(testOrder.getCreatedAt()) &&
-            order.getStatus() == OrderStatus.REJECTED
-        ));
+        verify(orderStore).updateStatusesIfPending(expected);
+        verifyNoMoreInteractions(orderStore);
     }
 
     @Test
-    void processInventoryCheckResult_WhenUpdateThrowsException_ShouldHandleGracefully() {
+    void processInventoryCheckResults_SameOrderTwice_LastResultWins() {
         // Arrange
-        when(orderStore.getOrderById("test-order-123")).thenReturn(Mono.just(testOrder));
-        when(orderStore.updateOrderStatus(any(OrderRecord.class))).thenReturn(Mono.error(new RuntimeException("Redis error")));
+        when(orderStore.updateStatusesIfPending(anyMap()))
+                .thenReturn(Mono.just(Map.of("test-order-123", StatusUpdateResult.UPDATED)));
 
-        // Act & Assert - The exception should be thrown since we're not handling it gracefully
-        org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class, () -> {
-            notificationService.processInventoryCheckResult(approvedResult);
-        });
+        // Act
+        notificationService.processInventoryCheckResults(List.of(approvedResult, rejectedResult));
 
-        verify(orderStore).getOrderById("test-order-123");
-        verify(orderStore).updateOrderStatus(any(OrderRecord.class));
-        verifyNoMoreInteractions(orderStore);
+        // Assert
+        verify(orderStore).updateStatusesIfPending(Map.of("test-order-123", OrderStatus.REJECTED));
     }
 }
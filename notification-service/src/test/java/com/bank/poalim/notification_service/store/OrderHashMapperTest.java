@@ -0,0 +1,60 @@
+package com.bank.poalim.notification_service.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.bank.poalim.notification_service.dto.OrderItemDto;
+import com.bank.poalim.notification_service.model.OrderItemCategory;
+import com.bank.poalim.notification_service.model.OrderRecord;
+import com.bank.poalim.notification_service.model.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class OrderHashMapperTest {
+
+    private final OrderHashMapper orderHashMapper = new OrderHashMapper(new ObjectMapper());
+
+    @Test
+    void toHash_FullOrder_StoresStatusAsOwnField() {
+        // Arrange
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId("P1001");
+        item.setQuantity(2);
+        item.setCategory(OrderItemCategory.PERISHABLE);
+        OrderRecord order = OrderRecord.builder()
+                .orderId("order-1")
+                .customerName("Alice")
+                .items(List.of(item))
+                .requestedAt(Instant.parse("2025-06-30T14:00:00Z"))
+                .createdAt(Instant.parse("2025-06-30T14:00:01Z"))
+                .status(OrderStatus.PENDING)
+                .build();
+
+        // Act
+        Map<String, String> hash = orderHashMapper.toHash(order);
+
+        // Assert
+        assertThat(hash)
+                .containsEntry("orderId", "order-1")
+                .containsEntry("status", "PENDING")
+                .containsEntry("requestedAt", "2025-06-30T14:00:00Z")
+                .containsEntry("items", "[{\"productId\":\"P1001\",\"quantity\":2,\"category\":\"perishable\"}]");
+        assertThat(orderHashMapper.fromHash(hash)).isEqualTo(order);
+    }
+
+    @Test
+    void fromHash_MissingFields_LeavesThemNull() {
+        // Act
+        OrderRecord order = orderHashMapper.fromHash(Map.of("orderId", "order-1", "status", "COMPLETED"));
+
+        // Assert
+        assertThat(order.getOrderId()).isEqualTo("order-1");
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(order.getItems()).isNull();
+        assertThat(order.getCreatedAt()).isNull();
+    }
+}
@@ -1,26 +1,36 @@
 package com.bank.poalim.notification_service.store;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import com.bank.poalim.notification_service.dto.OrderItemDto;
 import com.bank.poalim.notification_service.model.OrderItemCategory;
 import com.bank.poalim.notification_service.model.OrderRecord;
 import com.bank.poalim.notification_service.model.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -28,12 +38,20 @@ import reactor.test.StepVerifier;
 class RedisOrderStoreTest {
 
     @Mock
-    private ReactiveRedisTemplate<String, OrderRecord> orderReactiveRedisTemplate;
+    private ReactiveStringRedisTemplate redisTemplate;
 
     @Mock
-    private ReactiveValueOperations<String, OrderRecord> valueOperations;
+    private ReactiveHashOperations<String, String, String> hashOperations;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    @Mock
+    @SuppressWarnings("rawtypes")
+    private RedisScript<List> updateStatusesIfPendingScript;
+
+    private final OrderHashMapper orderHashMapper = new OrderHashMapper(new ObjectMapper());
 
-    @InjectMocks
     private RedisOrderStore redisOrderStore;
 
     private OrderRecord testOrder;
@@ -49,160 +67,161 @@ class RedisOrderStoreTest {
                 .orderId("test-order-123")
                 .customerName("John Doe")
                 .items(Arrays.asList(orderItem))
-                .requestedAt(Instant.now().minusSeconds(300))
-                .createdAt(Instant.now().minusSeconds(200))
+                .requestedAt(Instant.parse("2025-06-30T14:00:00Z"))
+                .createdAt(Instant.parse("2025-06-30T14:00:01Z"))
                 .status(OrderStatus.PENDING)
                 .build();
 
-        when(orderReactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        redisOrderStore = new RedisOrderStore(redisTemplate, updateStatusesIfPendingScript, orderHashMapper);
     }
 
     @Test
     void getOrderById_WhenOrderExists_ShouldReturnOrder() {
         // Arrange
-        String orderId = "test-order-123";
-        String expectedKey = "order:" + orderId;
-        when(valueOperations.get(expectedKey)).thenReturn(Mono.just(testOrder));
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        when(hashOperations.entries("order:test-order-123"))
+                .thenReturn(Flux.fromIterable(orderHashMapper.toHash(testOrder).entrySet()));
 
         // Act & Assert
-        StepVerifier.create(redisOrderStore.getOrderById(orderId))
+        StepVerifier.create(redisOrderStore.getOrderById("test-order-123"))
                 .expectNext(testOrder)
                 .verifyComplete();
-
-        verify(valueOperations).get(expectedKey);
-        verifyNoMoreInteractions(valueOperations);
     }
 
     @Test
     void getOrderById_WhenOrderDoesNotExist_ShouldReturnEmpty() {
         // Arrange
-        String orderId = "non-existent-order";
-        String expectedKey = "order:" + orderId;
-        when(valueOperations.get(expectedKey)).thenReturn(Mono.empty());
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        when(hashOperations.entries("order:non-existent-order")).thenReturn(Flux.empty());
 
         // Act & Assert
-        StepVerifier.create(redisOrderStore.getOrderById(orderId))
+        StepVerifier.create(redisOrderStore.getOrderById("non-existent-order"))
                 .verifyComplete();
-
-        verify(valueOperations).get(expectedKey);
-        verifyNoMoreInteractions(valueOperations);
     }
 
     @Test
     void deleteOrder_WhenOrderExists_ShouldReturnTrue() {
         // Arrange
-        String orderId = "test-order-123";
-        String expectedKey = "order:" + orderId;
-        when(valueOperations.delete(expectedKey)).thenReturn(Mono.just(true));
+        when(redisTemplate.delete("order:test-order-123")).thenReturn(Mono.just(1L));
 
         // Act & Assert
-        StepVerifier.create(redisOrderStore.deleteOrder(orderId))
+        StepVerifier.create(redisOrderStore.deleteOrder("test-order-123"))
                 .expectNext(true)
                 .verifyComplete();
-
-        verify(valueOperations).delete(expectedKey);
-        verifyNoMoreInteractions(valueOperations);
     }
 
     @Test
     void deleteOrder_WhenOrderDoesNotExist_ShouldReturnFalse() {
         // Arrange
-        String orderId = "non-existent-order";
-        String expectedKey = "order:" + orderId;
-        when(valueOperations.delete(expectedKey)).thenReturn(Mono.just(false));
+        when(redisTemplate.delete("order:non-existent-order")).thenReturn(Mono.just(0L));
 
         // Act & Assert
-        StepVerifier.create(redisOrderStore.deleteOrder(orderId))
+        StepVerifier.create(redisOrderStore.deleteOrder("non-existent-order"))
                 .expectNext(false)
                 .verifyComplete();
-
-        verify(valueOperations).delete(expectedKey);
-        verifyNoMoreInteractions(valueOperations);
     }
 
     @Test
-    void updateOrderStatus_WhenSuccessful_ShouldReturnTrue() {
+    void updateStatusIfPending_ShouldRunScriptWithExpectedAndNewStatus() {
         // Arrange
-        OrderRecord updatedOrder = OrderRecord.builder()
-                .orderId("test-order-123")
-                .customerName("John Doe")
-                .items(testOrder.getItems())
-                .requestedAt(testOrder.getRequestedAt())
-                .createdAt(testOrder.getCreatedAt())
-                .status(OrderStatus.COMPLETED)
-                .build();
-
-        String expectedKey = "order:test-order-123";
-        when(valueOperations.set(eq(expectedKey), eq(updatedOrder))).thenReturn(Mono.just(true));
+        when(redisTemplate.execute(updateStatusesIfPendingScript, List.of("order:test-order-123"), List.of("PENDING", "COMPLETED")))
+                .thenReturn(Flux.just(List.of(1L)));
 
         // Act & Assert
-        StepVerifier.create(redisOrderStore.updateOrderStatus(updatedOrder))
-                .expectNext(true)
+        StepVerifier.create(redisOrderStore.updateStatusIfPending("test-order-123", OrderStatus.COMPLETED))
+                .expectNext(StatusUpdateResult.UPDATED)
                 .verifyComplete();
-
-        verify(valueOperations).set(expectedKey, updatedOrder);
-        verifyNoMoreInteractions(valueOperations);
     }
 
     @Test
-    void updateOrderStatus_WhenRedisError_ShouldReturnFalse() {
+    void updateStatusIfPending_WhenAlreadyTransitioned_ShouldReturnNotPending() {
         // Arrange
-        OrderRecord updatedOrder = OrderRecord.builder()
-                .orderId("test-order-123")
-                .customerName("John Doe")
-                .items(testOrder.getItems())
-                .requestedAt(testOrder.getRequestedAt())
-                .createdAt(testOrder.getCreatedAt())
-                .status(OrderStatus.REJECTED)
-                .build();
-
-        String expectedKey = "order:test-order-123";
-        when(valueOperations.set(eq(expectedKey), eq(updatedOrder))).thenReturn(Mono.error(new RuntimeException("Redis error")));
+        when(redisTemplate.execute(eq(updateStatusesIfPendingScript), eq(List.of("order:test-order-123")), eq(List.of("PENDING", "REJECTED"))))
+                .thenReturn(Flux.just(List.of(0L)));
 
         // Act & Assert
-        StepVerifier.create(redisOrderStore.updateOrderStatus(updatedOrder))
-                .expectNext(false)
+        StepVerifier.create(redisOrderStore.updateStatusIfPending("test-order-123", OrderStatus.REJECTED))
+                .expectNext(StatusUpdateResult.NOT_PENDING)
                 .verifyComplete();
+    }
+
+    @Test
+    void updateStatusIfPending_WhenOrderMissing_ShouldReturnNotFound() {
+        // Arrange
+        when(redisTemplate.execute(eq(updateStatusesIfPendingScript), eq(List.of("order:missing")), eq(List.of("PENDING", "COMPLETED"))))
+                .thenReturn(Flux.just(List.of(-1L)));
 
-        verify(valueOperations).set(expectedKey, updatedOrder);
-        verifyNoMoreInteractions(valueOperations);
+        // Act & Assert
+        StepVerifier.create(redisOrderStore.updateStatusIfPending("missing", OrderStatus.COMPLETED))
+                .expectNext(StatusUpdateResult.NOT_FOUND)
+                .verifyComplete();
     }
 
     @Test
-    void updateOrderStatus_WhenSetReturnsFalse_ShouldReturnFalse() {
+    void updateStatusIfPending_WhenRedisError_ShouldPropagate() {
         // Arrange
-        OrderRecord updatedOrder = OrderRecord.builder()
-                .orderId("test-order-123")
-                .customerName("John Doe")
-                .items(testOrder.getItems())
-                .requestedAt(testOrder.getRequestedAt())
-                .createdAt(testOrder.getCreatedAt())
-                .status(OrderStatus.COMPLETED)
-                .build();
+        when(redisTemplate.execute(eq(updateStatusesIfPendingScript), eq(List.of("order:test-order-123")), eq(List.of("PENDING", "COMPLETED"))))
+                .thenReturn(Flux.error(new RuntimeException("Redis error")));
 
-        String expectedKey = "order:test-order-123";
-        when(valueOperations.set(eq(expectedKey), eq(updatedOrder))).thenReturn(Mono.just(false));
+        // Act & Assert
+        StepVerifier.create(redisOrderStore.updateStatusIfPending("test-order-123", OrderStatus.COMPLETED))
+                .expectErrorMessage("Redis error")
+                .verify();
+    }
+
+    @Test
+    void updateStatusesIfPending_SeveralOrders_ShouldRunOneScriptAndReturnResultPerOrder() {
+        // Arrange
+        Map<String, OrderStatus> newStatuses = new LinkedHashMap<>();
+        newStatuses.put("order-1", OrderStatus.COMPLETED);
+        newStatuses.put("order-2", OrderStatus.REJECTED);
+        newStatuses.put("order-3", OrderStatus.COMPLETED);
+        when(redisTemplate.execute(updateStatusesIfPendingScript,
+                List.of("order:order-1", "order:order-2", "order:order-3"),
+                List.of("PENDING", "COMPLETED", "REJECTED", "COMPLETED")))
+                .thenReturn(Flux.just(List.of(1L, -1L, 0L)));
 
         // Act & Assert
-        StepVerifier.create(redisOrderStore.updateOrderStatus(updatedOrder))
-                .expectNext(true) // The implementation maps any result to TRUE
+        StepVerifier.create(redisOrderStore.updateStatusesIfPending(newStatuses))
+                .assertNext(results -> assertThat(results).containsExactlyInAnyOrderEntriesOf(Map.of(
+                        "order-1", StatusUpdateResult.UPDATED,
+                        "order-2", StatusUpdateResult.NOT_FOUND,
+                        "order-3", StatusUpdateResult.NOT_PENDING)))
                 .verifyComplete();
-
-        verify(valueOperations).set(expectedKey, updatedOrder);
-        verifyNoMoreInteractions(valueOperations);
+        verify(redisTemplate, times(1)).execute(eq(updateStatusesIfPendingScript), anyList(), anyList());
     }
 
     @Test
-    void keyGeneration_ShouldUseCorrectFormat() {
+    void updateStatusesIfPending_ReplyEmittedPerElement_ShouldReturnResultPerOrder() {
         // Arrange
-        String orderId = "test-order-123";
-        String expectedKey = "order:" + orderId;
-        when(valueOperations.get(expectedKey)).thenReturn(Mono.empty());
+        Map<String, OrderStatus> newStatuses = new LinkedHashMap<>();
+        newStatuses.put("order-1", OrderStatus.COMPLETED);
+        newStatuses.put("order-2", OrderStatus.REJECTED);
+        doReturn(Flux.just(1L, 0L)).when(redisTemplate).execute(eq(updateStatusesIfPendingScript), anyList(), anyList());
 
-        // Act
-        redisOrderStore.getOrderById(orderId).block();
+        // Act & Assert
+        StepVerifier.create(redisOrderStore.updateStatusesIfPending(newStatuses))
+                .assertNext(results -> assertThat(results).containsExactlyInAnyOrderEntriesOf(Map.of(
+                        "order-1", StatusUpdateResult.UPDATED,
+                        "order-2", StatusUpdateResult.NOT_PENDING)))
+                .verifyComplete();
+    }
 
-        // Assert
-        verify(valueOperations).get(expectedKey);
+    @Test
+    void getOrderById_WhenStoredAsLegacyJsonString_ShouldReadIt() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        redisOrderStore = new RedisOrderStore(redisTemplate, updateStatusesIfPendingScript, new OrderHashMapper(objectMapper));
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        doReturn(valueOperations).when(redisTemplate).opsForValue();
+        when(hashOperations.entries("order:test-order-123")).thenReturn(Flux.error(new RedisSystemException(
+                "Error in execution", new RuntimeException("WRONGTYPE Operation against a key holding the wrong kind of value"))));
+        when(valueOperations.get("order:test-order-123")).thenReturn(Mono.just(objectMapper.writeValueAsString(testOrder)));
+
+        // Act & Assert
+        StepVerifier.create(redisOrderStore.getOrderById("test-order-123"))
+                .expectNext(testOrder)
+                .verifyComplete();
     }
 }
@@ -0,0 +1,25 @@
+package com.bank.poalim.order_service.codec;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * The {@code x-event-type} header repeats the event's {@code eventType}, so consumers can skip
+ * records of other types without parsing their value.
+ */
+public final class EventTypeHeader {
+
+    public static final String HEADER = "x-event-type";
+
+    private EventTypeHeader() {
+    }
+
+    public static void write(Headers headers, String eventType) {
+        if (eventType == null) {
+            return;
+        }
+        headers.remove(HEADER);
+        headers.add(HEADER, eventType.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,59 @@
+package com.bank.poalim.order_service.codec;
+
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import com.bank.poalim.order_service.event.OrderCreatedEvent;
+
+/**
+ * Writes {@link OrderCreatedEvent}s in the configured {@link EventFormat} and marks binary records with
+ * the format header. JSON output is exactly what {@link JsonSerializer} produced before. Every record
+ * also gets the {@link EventTypeHeader}.
+ */
+public class OrderCreatedEventSerializer implements Serializer<OrderCreatedEvent> {
+
+    private final EventFormat format;
+    private final JsonSerializer<OrderCreatedEvent> jsonSerializer = new JsonSerializer<>();
+
+    public OrderCreatedEventSerializer(EventFormat format) {
+        this.format = format;
+    }
+
+    public EventFormat format() {
+        return format;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, OrderCreatedEvent data) {
+        if (data == null) {
+            return null;
+        }
+        return format == EventFormat.BINARY ? OrderCreatedEventBinaryCodec.encode(data) : jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, OrderCreatedEvent data) {
+        if (data == null) {
+            return null;
+        }
+        EventTypeHeader.write(headers, data.getEventType());
+        if (format == EventFormat.BINARY) {
+            EventFormat.BINARY.writeTo(headers);
+            return OrderCreatedEventBinaryCodec.encode(data);
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
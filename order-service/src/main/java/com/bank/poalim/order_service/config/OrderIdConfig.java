@@ -0,0 +1,26 @@
+package com.bank.poalim.order_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bank.poalim.order_service.id.OrderIdGenerator;
+import com.bank.poalim.order_service.id.TimeOrderedOrderIdGenerator;
+import com.bank.poalim.order_service.id.UuidOrderIdGenerator;
+
+@Configuration
+public class OrderIdConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.id.generator", havingValue = "time-ordered", matchIfMissing = true)
+    public OrderIdGenerator timeOrderedOrderIdGenerator(@Value("${orders.id.node-id:0}") int nodeId) {
+        return new TimeOrderedOrderIdGenerator(nodeId);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.id.generator", havingValue = "uuid")
+    public OrderIdGenerator uuidOrderIdGenerator() {
+        return new UuidOrderIdGenerator();
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.poalim.order_service.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bank.poalim.order_service.outbox.OutboxLog;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean(destroyMethod = "close")
+    public OutboxLog outboxLog(
+            @Value("${outbox.directory:data/outbox}") String directory,
+            @Value("${outbox.segment-size-bytes:67108864}") int segmentSizeBytes) throws IOException {
+        return new OutboxLog(Path.of(directory), segmentSizeBytes);
+    }
+}
@@ -0,0 +1,43 @@
+package com.bank.poalim.order_service.config;
+
+import com.bank.poalim.order_service.codec.EventFormat;
+import com.bank.poalim.order_service.codec.OrderCreatedEventSerializer;
+import com.bank.poalim.order_service.event.OrderCreatedEvent;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveKafkaConfig {
+    
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+    
+    @Value("${kafka.sender.max-in-flight:1024}")
+    private int maxInFlight;
+    
+    @Bean(destroyMethod = "close")
+    public KafkaSender<String, OrderCreatedEvent> orderEventSender(EventFormat orderEventFormat) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 1);
+        configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
+        
+        SenderOptions<String, OrderCreatedEvent> senderOptions = SenderOptions.<String, OrderCreatedEvent>create(configProps)
+                .withKeySerializer(new StringSerializer())
+                .withValueSerializer(new OrderCreatedEventSerializer(orderEventFormat))
+                .maxInFlight(maxInFlight);
+        return KafkaSender.create(senderOptions);
+    }
+}
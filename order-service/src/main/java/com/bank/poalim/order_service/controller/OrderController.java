@@ -1,22 +1,56 @@
 package com.bank.poalim.order_service.controller;
 
+import com.bank.poalim.order_service.dto.BatchOrderResultDto;
 import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
 import com.bank.poalim.order_service.dto.OrderResponseDto;
 import com.bank.poalim.order_service.service.OrderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/orders")
-@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class OrderController {
     
     private final OrderService orderService;
+    private final Validator validator;
+    private final ObjectReader orderReader;
+    private final ObjectWriter resultWriter;
+    
+    @Value("${orders.batch.chunk-size:500}")
+    private int batchChunkSize;
+    
+    public OrderController(OrderService orderService, Validator validator, ObjectMapper objectMapper) {
+        this.orderService = orderService;
+        this.validator = validator;
+        this.orderReader = objectMapper.readerFor(CreateOrderRequestDto.class);
+        this.resultWriter = objectMapper.writerFor(BatchOrderResultDto.class);
+    }
     
     @PostMapping
     public ResponseEntity<OrderResponseDto> createOrder(@Valid @RequestBody CreateOrderRequestDto request) {
@@ -26,4 +60,94 @@ public class OrderController {
         
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+    
+    /**
+     * Accepts a JSON array or NDJSON stream of orders and streams back one NDJSON result line per order.
+     * Orders are created in chunks, each chunk with one Redis write and one outbox append.
+     */
+    @PostMapping(path = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createOrders(InputStream body) {
+        StreamingResponseBody stream = out -> ingest(body, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(stream);
+    }
+    
+    private void ingest(InputStream body, OutputStream out) throws IOException {
+        List<CreateOrderRequestDto> chunk = new ArrayList<>(batchChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(batchChunkSize);
+        int index = 0;
+        int accepted = 0;
+        
+        // readValues unwraps a top-level array and also reads whitespace-separated root values (NDJSON)
+        try (MappingIterator<CreateOrderRequestDto> orders = orderReader.readValues(body)) {
+            while (orders.hasNextValue()) {
+                CreateOrderRequestDto order = orders.nextValue();
+                Map<String, String> violations = validate(order);
+                if (violations.isEmpty()) {
+                    chunk.add(order);
+                    chunkIndexes.add(index);
+                } else {
+                    writeResult(out, BatchOrderResultDto.builder()
+                            .index(index)
+                            .status("REJECTED")
+                            .message("Invalid request data")
+                            .details(violations)
+                            .build());
+                }
+                index++;
+                
+                if (chunk.size() == batchChunkSize) {
+                    accepted += flushChunk(chunk, chunkIndexes, out);
+                }
+            }
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            log.warn("Stopped reading order batch at index {}: {}", index, e.getMessage());
+            accepted += flushChunk(chunk, chunkIndexes, out);
+            writeResult(out, BatchOrderResultDto.builder()
+                    .index(index)
+                    .status("INVALID")
+                    .message("Malformed order, remaining input ignored")
+                    .build());
+            return;
+        }
+        
+        accepted += flushChunk(chunk, chunkIndexes, out);
+        log.info("Processed order batch: {} received, {} accepted", index, accepted);
+    }
+    
+    private int flushChunk(List<CreateOrderRequestDto> chunk, List<Integer> chunkIndexes, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<OrderResponseDto> created = orderService.createOrders(List.copyOf(chunk));
+        for (int i = 0; i < created.size(); i++) {
+            OrderResponseDto response = created.get(i);
+            writeResult(out, BatchOrderResultDto.builder()
+                    .index(chunkIndexes.get(i))
+                    .orderId(response.getOrderId())
+                    .status(response.getStatus())
+                    .build());
+        }
+        out.flush();
+        int count = chunk.size();
+        chunk.clear();
+        chunkIndexes.clear();
+        return count;
+    }
+    
+    private Map<String, String> validate(CreateOrderRequestDto order) {
+        if (order == null) {
+            return Map.of("order", "Order is required");
+        }
+        Set<ConstraintViolation<CreateOrderRequestDto>> violations = validator.validate(order);
+        Map<String, String> errors = new LinkedHashMap<>();
+        violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
+    
+    private void writeResult(OutputStream out, BatchOrderResultDto result) throws IOException {
+        out.write(resultWriter.writeValueAsBytes(result));
+        out.write('\n');
+    }
 }
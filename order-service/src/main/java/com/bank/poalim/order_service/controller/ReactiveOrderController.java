@@ -0,0 +1,31 @@
+package com.bank.poalim.order_service.controller;
+
+import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
+import com.bank.poalim.order_service.dto.OrderResponseDto;
+import com.bank.poalim.order_service.service.ReactiveOrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/orders")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderController {
+    
+    private final ReactiveOrderService orderService;
+    
+    @PostMapping
+    public Mono<ResponseEntity<OrderResponseDto>> createOrder(@Valid @RequestBody CreateOrderRequestDto request) {
+        log.info("Received order creation request for customer: {}", request.getCustomerName());
+        
+        return orderService.createOrder(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+}
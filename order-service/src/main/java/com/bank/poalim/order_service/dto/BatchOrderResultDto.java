@@ -0,0 +1,23 @@
+package com.bank.poalim.order_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * One line of the NDJSON response of {@code POST /orders/batch}.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchOrderResultDto {
+    
+    // Zero-based position of the order in the request body
+    private int index;
+    private String orderId;
+    private String status;
+    private String message;
+    private Map<String, String> details;
+}
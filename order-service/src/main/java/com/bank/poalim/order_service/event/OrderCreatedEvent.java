@@ -15,6 +15,8 @@ import java.util.List;
 @AllArgsConstructor
 public class OrderCreatedEvent {
     
+    public static final String EVENT_TYPE = "ORDER_CREATED";
+    
     private String orderId;
     private String customerName;
     private List<OrderItemDto> items;
@@ -22,7 +24,7 @@ public class OrderCreatedEvent {
     private Instant createdAt;
     private String status;
     @Builder.Default
-    private String eventType = "ORDER_CREATED";
+    private String eventType = EVENT_TYPE;
     @Builder.Default
     private Instant eventTimestamp = Instant.now();
 }
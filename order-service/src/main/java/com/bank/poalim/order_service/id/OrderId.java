@@ -0,0 +1,95 @@
+package com.bank.poalim.order_service.id;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * 128-bit order id.
+ * <p>
+ * Layout, most significant first: 48-bit epoch millisecond, 16-bit sequence, 16-bit node id and
+ * 48 random bits. The text form is 26 characters of Crockford base32, the same shape as a ULID, and
+ * sorts in creation order both as text and as its 16-byte big-endian binary form.
+ */
+public record OrderId(long high, long low) implements Comparable<OrderId> {
+
+    public static final int BYTES = 16;
+    public static final int TEXT_LENGTH = 26;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+            DECODE[Character.toLowerCase(ALPHABET[i])] = (byte) i;
+        }
+    }
+
+    public static OrderId parse(String text) {
+        if (text.length() != TEXT_LENGTH || decode(text.charAt(0), text) > 7) {
+            throw new IllegalArgumentException("Not an order id: " + text);
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < TEXT_LENGTH; i++) {
+            high = (high << 5) | (low >>> 59);
+            low = (low << 5) | decode(text.charAt(i), text);
+        }
+        return new OrderId(high, low);
+    }
+
+    public static OrderId fromBytes(byte[] bytes) {
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("Order id must be " + BYTES + " bytes, got " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new OrderId(buffer.getLong(), buffer.getLong());
+    }
+
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(BYTES).putLong(high).putLong(low).array();
+    }
+
+    public Instant timestamp() {
+        return Instant.ofEpochMilli(high >>> 16);
+    }
+
+    public int nodeId() {
+        return (int) (low >>> 48);
+    }
+
+    @Override
+    public int compareTo(OrderId other) {
+        int result = Long.compareUnsigned(high, other.high);
+        return result != 0 ? result : Long.compareUnsigned(low, other.low);
+    }
+
+    @Override
+    public String toString() {
+        char[] text = new char[TEXT_LENGTH];
+        for (int i = 0; i < TEXT_LENGTH; i++) {
+            text[i] = ALPHABET[fiveBits((TEXT_LENGTH - 1 - i) * 5)];
+        }
+        return new String(text);
+    }
+
+    private int fiveBits(int shift) {
+        if (shift >= 64) {
+            return (int) (high >>> (shift - 64)) & 31;
+        }
+        if (shift > 59) {
+            return (int) ((low >>> shift) | (high << (64 - shift))) & 31;
+        }
+        return (int) (low >>> shift) & 31;
+    }
+
+    private static int decode(char c, String text) {
+        int value = c < DECODE.length ? DECODE[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Not an order id: " + text);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,6 @@
+package com.bank.poalim.order_service.id;
+
+public interface OrderIdGenerator {
+
+    String nextId();
+}
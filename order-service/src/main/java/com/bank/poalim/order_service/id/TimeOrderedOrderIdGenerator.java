@@ -0,0 +1,51 @@
+package com.bank.poalim.order_service.id;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free generator of monotonic, time-ordered {@link OrderId}s.
+ * <p>
+ * The high word packs the epoch millisecond with a 16-bit sequence and is advanced with a single
+ * CAS: to the current millisecond if the clock moved on, otherwise by one. When more than 65536 ids
+ * are taken within a millisecond (or the clock steps back) the value simply runs ahead of the clock,
+ * so ids stay strictly increasing per generator. The low word carries the node id, keeping ids from
+ * different instances apart, and 48 bits from {@link ThreadLocalRandom}, which unlike
+ * {@code UUID.randomUUID()} does not share a {@code SecureRandom} between threads.
+ */
+public class TimeOrderedOrderIdGenerator implements OrderIdGenerator {
+
+    public static final int MAX_NODE_ID = 0xFFFF;
+
+    private static final int SEQUENCE_BITS = 16;
+    private static final long RANDOM_MASK = (1L << 48) - 1;
+
+    private final AtomicLong state = new AtomicLong();
+    private final long nodeBits;
+    private final Clock clock;
+
+    public TimeOrderedOrderIdGenerator(int nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    public TimeOrderedOrderIdGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << 48;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        return next().toString();
+    }
+
+    public OrderId next() {
+        long floor = clock.millis() << SEQUENCE_BITS;
+        long high = state.updateAndGet(current -> Math.max(floor, current + 1));
+        long low = nodeBits | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new OrderId(high, low);
+    }
+}
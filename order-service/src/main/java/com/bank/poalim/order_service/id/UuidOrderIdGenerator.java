@@ -0,0 +1,14 @@
+package com.bank.poalim.order_service.id;
+
+import java.util.UUID;
+
+/**
+ * Random version 4 UUIDs, the original order id format.
+ */
+public class UuidOrderIdGenerator implements OrderIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
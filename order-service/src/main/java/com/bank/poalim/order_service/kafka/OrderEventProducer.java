@@ -1,8 +1,12 @@
 package com.bank.poalim.order_service.kafka;
 
+import com.bank.poalim.order_service.codec.EventFormat;
+import com.bank.poalim.order_service.codec.EventTypeHeader;
 import com.bank.poalim.order_service.event.OrderCreatedEvent;
+import com.bank.poalim.order_service.metrics.PipelineTimestamps;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
@@ -15,22 +19,29 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class OrderEventProducer {
     
-    private final KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> outboxKafkaTemplate;
     
     @Value("${kafka.topic.order-created:order-created}")
     private String orderCreatedTopic;
     
-    public CompletableFuture<SendResult<String, OrderCreatedEvent>> publishOrderCreatedEvent(OrderCreatedEvent event) {
-        log.info("Publishing order created event to topic '{}': {}", orderCreatedTopic, event.getOrderId());
-        
-        return kafkaTemplate.send(orderCreatedTopic, event.getOrderId(), event)
+    // Publishes an event that was serialized when it was written to the outbox, with its type, format and stage timestamps as headers.
+    // The format is taken from the payload, so records written before a format switch are still labelled correctly.
+    public CompletableFuture<SendResult<String, byte[]>> publishSerializedOrderCreatedEvent(String orderId, byte[] payload,
+            PipelineTimestamps timestamps) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(orderCreatedTopic, orderId, payload);
+        timestamps.writeTo(record.headers());
+        EventTypeHeader.write(record.headers(), OrderCreatedEvent.EVENT_TYPE);
+        if (EventFormat.detect(payload) == EventFormat.BINARY) {
+            EventFormat.BINARY.writeTo(record.headers());
+        }
+        return outboxKafkaTemplate.send(record)
                 .whenComplete((result, throwable) -> {
                     if (throwable == null) {
-                        log.info("Order created event published successfully to topic '{}' with key '{}' at partition {} offset {}",
-                                orderCreatedTopic, event.getOrderId(), result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
+                        log.debug("Order created event relayed to topic '{}' with key '{}' at partition {} offset {}",
+                                orderCreatedTopic, orderId, result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
                     } else {
-                        log.error("Failed to publish order created event to topic '{}' with key '{}'", 
-                                orderCreatedTopic, event.getOrderId(), throwable);
+                        log.error("Failed to relay order created event to topic '{}' with key '{}'",
+                                orderCreatedTopic, orderId, throwable);
                     }
                 });
     }
@@ -0,0 +1,48 @@
+package com.bank.poalim.order_service.kafka;
+
+import com.bank.poalim.order_service.event.OrderCreatedEvent;
+import com.bank.poalim.order_service.metrics.PipelineMetrics;
+import com.bank.poalim.order_service.metrics.PipelineStage;
+import com.bank.poalim.order_service.metrics.PipelineTimestamps;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderEventProducer {
+    
+    private final KafkaSender<String, OrderCreatedEvent> orderEventSender;
+    private final PipelineMetrics pipelineMetrics;
+    
+    @Value("${kafka.topic.order-created:order-created}")
+    private String orderCreatedTopic;
+    
+    // Completes once the broker has acknowledged the record. The Redis write runs concurrently and times redis-saved itself.
+    public Mono<Void> publishOrderCreatedEvent(OrderCreatedEvent event) {
+        ProducerRecord<String, OrderCreatedEvent> producerRecord = new ProducerRecord<>(orderCreatedTopic, event.getOrderId(), event);
+        PipelineTimestamps timestamps = new PipelineTimestamps().stampNow(PipelineStage.PRODUCED);
+        if (event.getCreatedAt() != null) {
+            timestamps.stamp(PipelineStage.ACCEPTED, event.getCreatedAt().toEpochMilli());
+        }
+        timestamps.writeTo(producerRecord.headers());
+        pipelineMetrics.record(timestamps, PipelineStage.ACCEPTED, PipelineStage.PRODUCED);
+        SenderRecord<String, OrderCreatedEvent, String> record = SenderRecord.create(producerRecord, event.getOrderId());
+        
+        return orderEventSender.send(Mono.just(record))
+                .next()
+                .doOnNext(result -> log.info("Order created event published successfully to topic '{}' with key '{}' at partition {} offset {}",
+                        orderCreatedTopic, result.correlationMetadata(), result.recordMetadata().partition(), result.recordMetadata().offset()))
+                .doOnError(err -> log.error("Failed to publish order created event to topic '{}' with key '{}'",
+                        orderCreatedTopic, event.getOrderId(), err))
+                .then();
+    }
+}
@@ -0,0 +1,31 @@
+package com.bank.poalim.order_service.metrics;
+
+/**
+ * Stages order-service stamps. {@code ACCEPTED} and {@code PRODUCED} travel downstream as
+ * {@code x-stage-<id>} Kafka headers holding the epoch millisecond; {@code REDIS_SAVED} is only timed here,
+ * because the Redis write is not awaited before the event is sent.
+ */
+public enum PipelineStage {
+
+    ACCEPTED("accepted"),
+    REDIS_SAVED("redis-saved"),
+    PRODUCED("produced");
+
+    public static final String HEADER_PREFIX = "x-stage-";
+
+    private final String id;
+    private final String header;
+
+    PipelineStage(String id) {
+        this.id = id;
+        this.header = HEADER_PREFIX + id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String header() {
+        return header;
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.poalim.order_service.metrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Epoch-millisecond timestamps of the {@link PipelineStage}s an order reached in order-service, written onto
+ * the order-created record as {@code x-stage-*} headers with decimal values.
+ */
+public class PipelineTimestamps {
+
+    private final Map<PipelineStage, Long> stamps = new EnumMap<>(PipelineStage.class);
+
+    public PipelineTimestamps stamp(PipelineStage stage, long epochMillis) {
+        stamps.put(stage, epochMillis);
+        return this;
+    }
+
+    public PipelineTimestamps stampNow(PipelineStage stage) {
+        return stamp(stage, System.currentTimeMillis());
+    }
+
+    /**
+     * @return the epoch millisecond the stage was reached, or null if it was not stamped
+     */
+    public Long get(PipelineStage stage) {
+        return stamps.get(stage);
+    }
+
+    public void writeTo(Headers headers) {
+        stamps.forEach((stage, millis) -> {
+            headers.remove(stage.header());
+            headers.add(stage.header(), Long.toString(millis).getBytes(StandardCharsets.US_ASCII));
+        });
+    }
+}
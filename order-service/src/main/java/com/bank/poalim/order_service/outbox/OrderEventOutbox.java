@@ -0,0 +1,52 @@
+package com.bank.poalim.order_service.outbox;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.stereotype.Component;
+
+import com.bank.poalim.order_service.codec.EventFormat;
+import com.bank.poalim.order_service.codec.OrderCreatedEventBinaryCodec;
+import com.bank.poalim.order_service.event.OrderCreatedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventOutbox {
+
+    private final OutboxLog outboxLog;
+    private final EventFormat orderEventFormat;
+    // Same mapper JsonSerializer uses, so relayed bytes match what the template would have sent
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    public long append(OrderCreatedEvent event) {
+        long offset = outboxLog.append(toRecord(event).encode());
+        log.debug("Appended order created event {} to outbox, write offset {}", event.getOrderId(), offset);
+        return offset;
+    }
+
+    // All events land contiguously in the log, so the relay sends them in the same producer batch
+    public long appendAll(List<OrderCreatedEvent> events) {
+        long offset = outboxLog.appendAll(events.stream().map(event -> toRecord(event).encode()).toList());
+        log.debug("Appended {} order created events to outbox, write offset {}", events.size(), offset);
+        return offset;
+    }
+
+    private OutboxRecord toRecord(OrderCreatedEvent event) {
+        try {
+            long acceptedAt = event.getCreatedAt() != null ? event.getCreatedAt().toEpochMilli() : OutboxRecord.UNKNOWN;
+            byte[] payload = orderEventFormat == EventFormat.BINARY
+                    ? OrderCreatedEventBinaryCodec.encode(event)
+                    : objectMapper.writeValueAsBytes(event);
+            return new OutboxRecord(event.getOrderId(), payload, System.currentTimeMillis(), acceptedAt);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize order created event " + event.getOrderId(), e);
+        }
+    }
+}
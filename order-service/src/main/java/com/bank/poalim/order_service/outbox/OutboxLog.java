@@ -0,0 +1,275 @@
+package com.bank.poalim.order_service.outbox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of opaque records stored in fixed-size memory-mapped segment files.
+ * <p>
+ * Offsets are global byte positions: a segment file is named after the offset of its first byte.
+ * Each record is a 4-byte length followed by the record bytes; the length is written last, so a
+ * record only becomes visible once it is complete. A length of -1 marks the unused tail of a
+ * segment that was rolled, and 0 marks space that was never written.
+ * <p>
+ * Appends may come from any thread. Reads and commits are expected from a single relay thread,
+ * which persists the offset it has delivered so it can resume from there after a restart.
+ */
+@Slf4j
+public class OutboxLog implements Closeable {
+
+    private static final int LENGTH_BYTES = 4;
+    private static final int ROLL_MARKER = -1;
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String OFFSET_FILE = "relay.offset";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final FileChannel offsetChannel;
+    private final ByteBuffer offsetBuffer = ByteBuffer.allocate(Long.BYTES);
+
+    private Segment active;
+    // next free offset, guarded by the monitor; writeOffset is what readers may see
+    private long tail;
+    private volatile long writeOffset;
+    private volatile long committedOffset;
+
+    public OutboxLog(Path directory, int segmentSize) throws IOException {
+        if (segmentSize <= LENGTH_BYTES) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX))::iterator) {
+                long base = Long.parseLong(file.getFileName().toString().replace(SEGMENT_SUFFIX, ""));
+                segments.put(base, Segment.open(file, base, segmentSize));
+            }
+        }
+        offsetChannel = FileChannel.open(directory.resolve(OFFSET_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long storedOffset = readCommittedOffset();
+        // Everything was delivered and its segments dropped: continue where the relay stopped
+        if (segments.isEmpty()) {
+            segments.put(storedOffset, Segment.open(segmentPath(storedOffset), storedOffset, segmentSize));
+        }
+        active = segments.lastEntry().getValue();
+        tail = active.base + scanEnd(active);
+        writeOffset = tail;
+        committedOffset = Math.max(storedOffset, segments.firstKey());
+
+        log.info("Opened outbox log at {} with {} segment(s), committed offset {}, write offset {}",
+                directory, segments.size(), committedOffset, writeOffset);
+    }
+
+    /**
+     * @return the offset just past the appended record
+     */
+    public synchronized long append(byte[] record) {
+        write(record);
+        writeOffset = tail;
+        return tail;
+    }
+
+    /**
+     * Appends several records under one lock acquisition and publishes them together.
+     *
+     * @return the offset just past the last appended record
+     */
+    public synchronized long appendAll(List<byte[]> records) {
+        for (byte[] record : records) {
+            write(record);
+        }
+        writeOffset = tail;
+        return tail;
+    }
+
+    /**
+     * Copies up to {@code maxRecords} records starting at {@code fromOffset} into {@code into}.
+     *
+     * @return the offset to continue reading from
+     */
+    public long read(long fromOffset, int maxRecords, List<byte[]> into) {
+        long limit = writeOffset;
+        long offset = fromOffset;
+        int count = 0;
+        while (offset < limit && count < maxRecords) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+            if (entry == null) {
+                throw new IllegalStateException("Offset " + offset + " is no longer in the outbox log");
+            }
+            Segment segment = entry.getValue();
+            int position = (int) (offset - segment.base);
+            int length = position + LENGTH_BYTES <= segmentSize ? segment.buffer.getInt(position) : ROLL_MARKER;
+            if (length == ROLL_MARKER) {
+                offset = segment.base + segmentSize;
+                continue;
+            }
+            byte[] record = new byte[length];
+            segment.buffer.get(position + LENGTH_BYTES, record);
+            into.add(record);
+            offset += LENGTH_BYTES + length;
+            count++;
+        }
+        return offset;
+    }
+
+    /**
+     * Records that everything before {@code offset} has been delivered and drops fully delivered segments.
+     */
+    public void commit(long offset) {
+        try {
+            offsetBuffer.clear();
+            offsetBuffer.putLong(0, offset);
+            offsetChannel.write(offsetBuffer, 0);
+            offsetChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to persist outbox offset " + offset, e);
+        }
+        committedOffset = offset;
+
+        Segment current;
+        synchronized (this) {
+            current = active;
+        }
+        // The active segment stays even when full, appends continue from its end
+        for (Segment segment : segments.headMap(offset, true).values()) {
+            if (segment != current && segment.base + segmentSize <= offset) {
+                segments.remove(segment.base);
+                segment.delete();
+            }
+        }
+    }
+
+    public long committedOffset() {
+        return committedOffset;
+    }
+
+    public long writeOffset() {
+        return writeOffset;
+    }
+
+    public long pendingBytes() {
+        return writeOffset - committedOffset;
+    }
+
+    public synchronized void force() {
+        active.buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        offsetChannel.close();
+    }
+
+    // Must hold the monitor. Rolls to a new segment when the record does not fit in the active one.
+    private void write(byte[] record) {
+        int needed = LENGTH_BYTES + record.length;
+        if (record.length == 0 || needed > segmentSize) {
+            throw new IllegalArgumentException("Record of " + record.length + " bytes does not fit an outbox segment");
+        }
+        int position = (int) (tail - active.base);
+        if (position + needed > segmentSize) {
+            if (segmentSize - position >= LENGTH_BYTES) {
+                active.buffer.putInt(position, ROLL_MARKER);
+            }
+            long base = active.base + segmentSize;
+            try {
+                active = Segment.open(segmentPath(base), base, segmentSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create outbox segment " + base, e);
+            }
+            segments.put(base, active);
+            position = 0;
+        }
+        active.buffer.put(position + LENGTH_BYTES, record);
+        active.buffer.putInt(position, record.length);
+        tail = active.base + position + needed;
+    }
+
+    private int scanEnd(Segment segment) {
+        int position = 0;
+        while (position + LENGTH_BYTES <= segmentSize) {
+            int length = segment.buffer.getInt(position);
+            if (length == 0) {
+                return position;
+            }
+            if (length == ROLL_MARKER) {
+                return segmentSize;
+            }
+            if (length < 0 || position + LENGTH_BYTES + length > segmentSize) {
+                log.warn("Ignoring corrupt outbox record at offset {}", segment.base + position);
+                return position;
+            }
+            position += LENGTH_BYTES + length;
+        }
+        return segmentSize;
+    }
+
+    private long readCommittedOffset() throws IOException {
+        if (offsetChannel.size() < Long.BYTES) {
+            return 0L;
+        }
+        offsetBuffer.clear();
+        offsetChannel.read(offsetBuffer, 0);
+        return offsetBuffer.getLong(0);
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+
+    private static final class Segment {
+        private final long base;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(long base, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.base = base;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, long base, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(base, path, channel, buffer);
+        }
+
+        void close() throws IOException {
+            buffer.force();
+            channel.close();
+        }
+
+        void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete delivered outbox segment {}", path, e);
+            }
+        }
+    }
+}
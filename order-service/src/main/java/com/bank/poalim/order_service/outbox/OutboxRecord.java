@@ -0,0 +1,50 @@
+package com.bank.poalim.order_service.outbox;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A Kafka record waiting in the outbox: key, serialized value, when the order was accepted and when it
+ * was appended (after its pending record was saved to Redis).
+ * <p>
+ * Encoded as {@code [byte version][long appendedAt][long acceptedAt][short keyLen][key][payload]}.
+ * Records written before the version byte existed start directly with {@code appendedAt}, whose first
+ * byte is zero for any realistic epoch millisecond, and decode with an unknown accept time.
+ */
+public record OutboxRecord(String key, byte[] payload, long appendedAtMillis, long acceptedAtMillis) {
+
+    public static final long UNKNOWN = -1L;
+
+    private static final byte VERSION = 1;
+
+    public OutboxRecord(String key, byte[] payload, long appendedAtMillis) {
+        this(key, payload, appendedAtMillis, UNKNOWN);
+    }
+
+    public byte[] encode() {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Long.BYTES * 2 + Short.BYTES + keyBytes.length + payload.length);
+        buffer.put(VERSION);
+        buffer.putLong(appendedAtMillis);
+        buffer.putLong(acceptedAtMillis);
+        buffer.putShort((short) keyBytes.length);
+        buffer.put(keyBytes);
+        buffer.put(payload);
+        return buffer.array();
+    }
+
+    public static OutboxRecord decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        boolean versioned = bytes[0] == VERSION;
+        if (versioned) {
+            buffer.get();
+        }
+        long appendedAtMillis = buffer.getLong();
+        long acceptedAtMillis = versioned ? buffer.getLong() : UNKNOWN;
+        byte[] keyBytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(keyBytes);
+        byte[] payload = new byte[buffer.remaining()];
+        buffer.get(payload);
+        return new OutboxRecord(new String(keyBytes, StandardCharsets.UTF_8), payload, appendedAtMillis, acceptedAtMillis);
+    }
+}
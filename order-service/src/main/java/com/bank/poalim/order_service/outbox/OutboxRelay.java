@@ -0,0 +1,130 @@
+package com.bank.poalim.order_service.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.bank.poalim.order_service.kafka.OrderEventProducer;
+import com.bank.poalim.order_service.metrics.PipelineMetrics;
+import com.bank.poalim.order_service.metrics.PipelineStage;
+import com.bank.poalim.order_service.metrics.PipelineTimestamps;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background thread that drains the outbox log to Kafka in batches.
+ * <p>
+ * A batch is committed only after every send in it is acknowledged; on failure the same batch is
+ * retried from the committed offset, so delivery is at-least-once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxLog outboxLog;
+    private final OrderEventProducer orderEventProducer;
+    private final PipelineMetrics pipelineMetrics;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.poll-interval-ms:5}")
+    private long pollIntervalMs;
+
+    @Value("${outbox.relay.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.relay.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Outbox relay started from offset {}", outboxLog.committedOffset());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(sendTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("Outbox relay stopped at offset {}, {} bytes pending", outboxLog.committedOffset(), outboxLog.pendingBytes());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        List<byte[]> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                if (relayBatch(batch) == 0) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Failed to relay outbox batch from offset {}, retrying in {} ms",
+                        outboxLog.committedOffset(), retryBackoffMs, e);
+                try {
+                    Thread.sleep(retryBackoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    int relayBatch(List<byte[]> batch) throws Exception {
+        batch.clear();
+        long next = outboxLog.read(outboxLog.committedOffset(), batchSize, batch);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[batch.size()];
+        for (int i = 0; i < sends.length; i++) {
+            OutboxRecord record = OutboxRecord.decode(batch.get(i));
+            PipelineTimestamps timestamps = timestamps(record);
+            sends[i] = orderEventProducer.publishSerializedOrderCreatedEvent(record.key(), record.payload(), timestamps);
+        }
+        CompletableFuture.allOf(sends).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+
+        outboxLog.commit(next);
+        log.debug("Relayed {} outbox records, committed offset {}", sends.length, next);
+        return sends.length;
+    }
+
+    // redis-saved is timed by the pending order store when Redis acknowledges, which may be after this send
+    private PipelineTimestamps timestamps(OutboxRecord record) {
+        PipelineTimestamps timestamps = new PipelineTimestamps().stampNow(PipelineStage.PRODUCED);
+        if (record.acceptedAtMillis() != OutboxRecord.UNKNOWN) {
+            timestamps.stamp(PipelineStage.ACCEPTED, record.acceptedAtMillis());
+        }
+        pipelineMetrics.record(timestamps, PipelineStage.ACCEPTED, PipelineStage.PRODUCED);
+        return timestamps;
+    }
+}
@@ -0,0 +1,50 @@
+package com.bank.poalim.order_service.service;
+
+import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
+import com.bank.poalim.order_service.dto.OrderResponseDto;
+import com.bank.poalim.order_service.event.OrderCreatedEvent;
+import com.bank.poalim.order_service.model.OrderRecord;
+import com.bank.poalim.order_service.model.OrderStatus;
+
+import java.time.Instant;
+
+// Builds the Redis record, Kafka event and API response for a newly created order
+final class OrderAssembler {
+    
+    private OrderAssembler() {
+    }
+    
+    static OrderRecord toRecord(String orderId, CreateOrderRequestDto request, Instant createdAt) {
+        return OrderRecord.builder()
+                .orderId(orderId)
+                .customerName(request.getCustomerName())
+                .items(request.getItems())
+                .requestedAt(request.getRequestedAt())
+                .createdAt(createdAt)
+                .status(OrderStatus.PENDING)
+                .build();
+    }
+    
+    static OrderCreatedEvent toEvent(String orderId, CreateOrderRequestDto request, Instant createdAt) {
+        return OrderCreatedEvent.builder()
+                .orderId(orderId)
+                .customerName(request.getCustomerName())
+                .items(request.getItems())
+                .requestedAt(request.getRequestedAt())
+                .createdAt(createdAt)
+                .status("CREATED")
+                .build();
+    }
+    
+    // Reflects the current PENDING status
+    static OrderResponseDto toResponse(String orderId, CreateOrderRequestDto request, Instant createdAt) {
+        OrderResponseDto response = new OrderResponseDto();
+        response.setOrderId(orderId);
+        response.setCustomerName(request.getCustomerName());
+        response.setItems(request.getItems());
+        response.setRequestedAt(request.getRequestedAt());
+        response.setCreatedAt(createdAt);
+        response.setStatus("PENDING");
+        return response;
+    }
+}
@@ -3,7 +3,12 @@ package com.bank.poalim.order_service.service;
 import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
 import com.bank.poalim.order_service.dto.OrderResponseDto;
 
+import java.util.List;
+
 public interface OrderService {
     
     OrderResponseDto createOrder(CreateOrderRequestDto request);
+    
+    // Requests must already be validated; responses are returned in request order
+    List<OrderResponseDto> createOrders(List<CreateOrderRequestDto> requests);
 }
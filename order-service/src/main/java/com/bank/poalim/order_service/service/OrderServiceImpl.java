@@ -3,71 +3,66 @@ package com.bank.poalim.order_service.service;
 import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
 import com.bank.poalim.order_service.dto.OrderResponseDto;
 import com.bank.poalim.order_service.event.OrderCreatedEvent;
-import com.bank.poalim.order_service.kafka.OrderEventProducer;
+import com.bank.poalim.order_service.id.OrderIdGenerator;
 import com.bank.poalim.order_service.model.OrderRecord;
-import com.bank.poalim.order_service.model.OrderStatus;
+import com.bank.poalim.order_service.outbox.OrderEventOutbox;
 import com.bank.poalim.order_service.store.PendingOrderStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bank.poalim.order_service.service.OrderAssembler.toEvent;
+import static com.bank.poalim.order_service.service.OrderAssembler.toRecord;
+import static com.bank.poalim.order_service.service.OrderAssembler.toResponse;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderServiceImpl implements OrderService {
     
-    private final OrderEventProducer orderEventProducer;
+    private final OrderEventOutbox orderEventOutbox;
     private final PendingOrderStore pendingOrderStore;
+    private final OrderIdGenerator orderIdGenerator;
     
     @Override
     public OrderResponseDto createOrder(CreateOrderRequestDto request) {
         log.info("Creating order for customer: {}", request.getCustomerName());
         
-        // Generate a unique order ID
-        String orderId = UUID.randomUUID().toString();
+        String orderId = orderIdGenerator.nextId();
         Instant createdAt = Instant.now();
                 
         // Save PENDING order in Redis
-        OrderRecord record = OrderRecord.builder()
-                .orderId(orderId)
-                .customerName(request.getCustomerName())
-                .items(request.getItems())
-                .requestedAt(request.getRequestedAt())
-                .createdAt(createdAt)
-                .status(OrderStatus.PENDING)
-                .build();
-        pendingOrderStore.savePending(record);
-                
-        // Create the response (reflect current PENDING status)
-        OrderResponseDto response = new OrderResponseDto();
-        response.setOrderId(orderId);
-        response.setCustomerName(request.getCustomerName());
-        response.setItems(request.getItems());
-        response.setRequestedAt(request.getRequestedAt());
-        response.setCreatedAt(createdAt);
-        response.setStatus("PENDING");
+        pendingOrderStore.savePending(toRecord(orderId, request, createdAt));
+        
+        // Append the order created event to the outbox; the relay publishes it to Kafka
+        orderEventOutbox.append(toEvent(orderId, request, createdAt));
+        log.info("Order created event appended to outbox for order ID: {}", orderId);
         
-        // Publish order created event to Kafka
-        try {
-            OrderCreatedEvent event = OrderCreatedEvent.builder()
-                    .orderId(orderId)
-                    .customerName(request.getCustomerName())
-                    .items(request.getItems())
-                    .requestedAt(createdAt.isAfter(request.getRequestedAt()) ? request.getRequestedAt() : request.getRequestedAt())
-                    .createdAt(createdAt)
-                    .status("CREATED")
-                    .build();
-            
-            orderEventProducer.publishOrderCreatedEvent(event);
-            log.info("Order created event published to Kafka for order ID: {}", orderId);
-        } catch (Exception e) {
-            log.error("Failed to publish order created event to Kafka for order ID: {}", orderId, e);
-            // order remains PENDING in Redis, Ideally we should have a retry mechanism to publish the event again
+        return toResponse(orderId, request, createdAt);
+    }
+    
+    @Override
+    public List<OrderResponseDto> createOrders(List<CreateOrderRequestDto> requests) {
+        Instant createdAt = Instant.now();
+        List<OrderRecord> records = new ArrayList<>(requests.size());
+        List<OrderCreatedEvent> events = new ArrayList<>(requests.size());
+        List<OrderResponseDto> responses = new ArrayList<>(requests.size());
+        
+        for (CreateOrderRequestDto request : requests) {
+            String orderId = orderIdGenerator.nextId();
+            records.add(toRecord(orderId, request, createdAt));
+            events.add(toEvent(orderId, request, createdAt));
+            responses.add(toResponse(orderId, request, createdAt));
         }
         
-        return response;
+        pendingOrderStore.savePendingAll(records);
+        orderEventOutbox.appendAll(events);
+        log.info("Created batch of {} orders", requests.size());
+        
+        return responses;
     }
 }
@@ -0,0 +1,11 @@
+package com.bank.poalim.order_service.service;
+
+import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
+import com.bank.poalim.order_service.dto.OrderResponseDto;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveOrderService {
+    
+    // Emits the response only after both the Redis write and the Kafka send are acknowledged
+    Mono<OrderResponseDto> createOrder(CreateOrderRequestDto request);
+}
@@ -0,0 +1,45 @@
+package com.bank.poalim.order_service.service;
+
+import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
+import com.bank.poalim.order_service.dto.OrderResponseDto;
+import com.bank.poalim.order_service.id.OrderIdGenerator;
+import com.bank.poalim.order_service.kafka.ReactiveOrderEventProducer;
+import com.bank.poalim.order_service.store.PendingOrderStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+import static com.bank.poalim.order_service.service.OrderAssembler.toEvent;
+import static com.bank.poalim.order_service.service.OrderAssembler.toRecord;
+import static com.bank.poalim.order_service.service.OrderAssembler.toResponse;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderServiceImpl implements ReactiveOrderService {
+    
+    private final ReactiveOrderEventProducer orderEventProducer;
+    private final PendingOrderStore pendingOrderStore;
+    private final OrderIdGenerator orderIdGenerator;
+    
+    @Override
+    public Mono<OrderResponseDto> createOrder(CreateOrderRequestDto request) {
+        return Mono.defer(() -> {
+            log.info("Creating order for customer: {}", request.getCustomerName());
+            
+            String orderId = orderIdGenerator.nextId();
+            Instant createdAt = Instant.now();
+            
+            // Redis write and Kafka send run concurrently; either failing fails the request
+            return Mono.when(
+                            pendingOrderStore.savePendingAsync(toRecord(orderId, request, createdAt)),
+                            orderEventProducer.publishOrderCreatedEvent(toEvent(orderId, request, createdAt)))
+                    .thenReturn(toResponse(orderId, request, createdAt));
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.bank.poalim.order_service.store;
+
+import com.bank.poalim.order_service.model.OrderRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps an {@link OrderRecord} to the fields of its {@code order:{id}} Redis hash.
+ * Items are kept as one JSON field; everything else is a plain string so status can be changed on its own.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderHashMapper {
+    
+    public static final String ORDER_ID = "orderId";
+    public static final String CUSTOMER_NAME = "customerName";
+    public static final String ITEMS = "items";
+    public static final String REQUESTED_AT = "requestedAt";
+    public static final String CREATED_AT = "createdAt";
+    public static final String STATUS = "status";
+    
+    private final ObjectMapper objectMapper;
+    
+    public Map<String, String> toHash(OrderRecord orderRecord) {
+        Map<String, String> hash = new HashMap<>();
+        put(hash, ORDER_ID, orderRecord.getOrderId());
+        put(hash, CUSTOMER_NAME, orderRecord.getCustomerName());
+        put(hash, REQUESTED_AT, orderRecord.getRequestedAt());
+        put(hash, CREATED_AT, orderRecord.getCreatedAt());
+        put(hash, STATUS, orderRecord.getStatus());
+        if (orderRecord.getItems() != null) {
+            try {
+                hash.put(ITEMS, objectMapper.writeValueAsString(orderRecord.getItems()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Cannot serialize items of order " + orderRecord.getOrderId(), e);
+            }
+        }
+        return hash;
+    }
+    
+    private static void put(Map<String, String> hash, String field, Object value) {
+        if (value != null) {
+            hash.put(field, value.toString());
+        }
+    }
+}
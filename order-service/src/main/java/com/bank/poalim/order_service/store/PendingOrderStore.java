@@ -1,7 +1,15 @@
 package com.bank.poalim.order_service.store;
 
 import com.bank.poalim.order_service.model.OrderRecord;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 public interface PendingOrderStore {
     void savePending(OrderRecord orderRecord);
+    
+    // Completes once Redis has acknowledged the write
+    Mono<Void> savePendingAsync(OrderRecord orderRecord);
+    
+    void savePendingAll(List<OrderRecord> orderRecords);
 }
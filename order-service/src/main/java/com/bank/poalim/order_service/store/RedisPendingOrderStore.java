@@ -1,8 +1,16 @@
 package com.bank.poalim.order_service.store;
 
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
+import com.bank.poalim.order_service.metrics.PipelineMetrics;
+import com.bank.poalim.order_service.metrics.PipelineStage;
+import com.bank.poalim.order_service.metrics.PipelineTimestamps;
 import com.bank.poalim.order_service.model.OrderRecord;
 
 import lombok.RequiredArgsConstructor;
@@ -14,18 +22,72 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class RedisPendingOrderStore implements PendingOrderStore {
     
-    private final ReactiveRedisTemplate<String, OrderRecord> orderReactiveRedisTemplate;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final OrderHashMapper orderHashMapper;
+    private final RedisScript<Long> savePendingOrdersScript;
+    private final PipelineMetrics pipelineMetrics;
     
     @Override
     public void savePending(OrderRecord orderRecord) {
-        String key = key(orderRecord.getOrderId());
-        orderReactiveRedisTemplate.opsForValue()
-                .set(key, orderRecord)
-                .doOnSuccess(saved -> log.info("Saved pending order {}", orderRecord.getOrderId()))
-                .doOnError(err -> log.error("Failed to save pending order {}", orderRecord.getOrderId(), err))
+        savePendingAsync(orderRecord)
                 .onErrorResume(e -> Mono.empty())
                 .subscribe();
-        
+    }
+    
+    @Override
+    public Mono<Void> savePendingAsync(OrderRecord orderRecord) {
+        return write(orderRecord)
+                .doOnSuccess(saved -> {
+                    recordSaved(orderRecord, System.currentTimeMillis());
+                    log.info("Saved pending order {}", orderRecord.getOrderId());
+                })
+                .doOnError(err -> log.error("Failed to save pending order {}", orderRecord.getOrderId(), err));
+    }
+    
+    @Override
+    public void savePendingAll(List<OrderRecord> orderRecords) {
+        if (orderRecords.isEmpty()) {
+            return;
+        }
+        // One script call writes every hash, so the batch costs a single round trip
+        List<String> keys = new ArrayList<>(orderRecords.size());
+        List<String> args = new ArrayList<>();
+        for (OrderRecord orderRecord : orderRecords) {
+            Map<String, String> hash = orderHashMapper.toHash(orderRecord);
+            keys.add(key(orderRecord.getOrderId()));
+            args.add(Integer.toString(hash.size()));
+            hash.forEach((field, value) -> {
+                args.add(field);
+                args.add(value);
+            });
+        }
+        redisTemplate.execute(savePendingOrdersScript, keys, args)
+                .then()
+                .doOnSuccess(saved -> {
+                    long savedAt = System.currentTimeMillis();
+                    orderRecords.forEach(orderRecord -> recordSaved(orderRecord, savedAt));
+                    log.info("Saved {} pending orders", orderRecords.size());
+                })
+                .doOnError(err -> log.error("Failed to save batch of {} pending orders", orderRecords.size(), err))
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
+    }
+    
+    private Mono<Void> write(OrderRecord orderRecord) {
+        return redisTemplate.<String, String>opsForHash()
+                .putAll(key(orderRecord.getOrderId()), orderHashMapper.toHash(orderRecord))
+                .then();
+    }
+    
+    // Timed on the Redis acknowledgement; the save is not awaited, so the stage never travels as a header
+    private void recordSaved(OrderRecord orderRecord, long savedAt) {
+        if (orderRecord.getCreatedAt() == null) {
+            return;
+        }
+        PipelineTimestamps timestamps = new PipelineTimestamps()
+                .stamp(PipelineStage.ACCEPTED, orderRecord.getCreatedAt().toEpochMilli())
+                .stamp(PipelineStage.REDIS_SAVED, savedAt);
+        pipelineMetrics.record(timestamps, PipelineStage.ACCEPTED, PipelineStage.REDIS_SAVED);
     }
     
     private String key(String orderId) {
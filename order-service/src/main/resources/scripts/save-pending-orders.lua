@@ -0,0 +1,12 @@
+-- Writes several order hashes in one call.
+-- KEYS order keys; ARGV, for each key in turn, its number of fields then that many field, value pairs
+-- Returns the number of orders written
+local arg = 1
+for _, key in ipairs(KEYS) do
+    local count = tonumber(ARGV[arg])
+    if count > 0 then
+        redis.call('HSET', key, unpack(ARGV, arg + 1, arg + count * 2))
+    end
+    arg = arg + 1 + count * 2
+end
+return #KEYS
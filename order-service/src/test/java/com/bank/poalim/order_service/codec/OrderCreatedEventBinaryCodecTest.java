@@ -0,0 +1,139 @@
+package com.bank.poalim.order_service.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.JacksonUtils;
+
+import com.bank.poalim.order_service.dto.OrderItemDto;
+import com.bank.poalim.order_service.event.OrderCreatedEvent;
+import com.bank.poalim.order_service.model.OrderItemCategory;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderCreatedEventBinaryCodecTest {
+
+    @Test
+    void decode_EncodedEvent_RoundTripsAllFields() {
+        // Given
+        OrderCreatedEvent event = event();
+
+        // When
+        OrderCreatedEvent decoded = OrderCreatedEventBinaryCodec.decode(OrderCreatedEventBinaryCodec.encode(event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void decode_NullFieldsAndEmptyItems_KeepsNullsDistinctFromEmpty() {
+        // Given
+        OrderCreatedEvent withNulls = new OrderCreatedEvent();
+        OrderCreatedEvent withEmptyItems = new OrderCreatedEvent();
+        withEmptyItems.setItems(List.of());
+        withEmptyItems.setCustomerName("");
+
+        // When
+        OrderCreatedEvent decodedNulls = OrderCreatedEventBinaryCodec.decode(OrderCreatedEventBinaryCodec.encode(withNulls));
+        OrderCreatedEvent decodedEmpty = OrderCreatedEventBinaryCodec.decode(OrderCreatedEventBinaryCodec.encode(withEmptyItems));
+
+        // Then
+        assertThat(decodedNulls).isEqualTo(withNulls);
+        assertThat(decodedEmpty.getItems()).isEmpty();
+        assertThat(decodedEmpty.getCustomerName()).isEmpty();
+    }
+
+    @Test
+    void encode_TypicalEvent_IsLessThanHalfTheJsonSize() throws Exception {
+        // Given
+        OrderCreatedEvent event = event();
+
+        // When
+        byte[] binary = OrderCreatedEventBinaryCodec.encode(event);
+        byte[] json = JacksonUtils.enhancedObjectMapper().writeValueAsBytes(event);
+
+        // Then
+        assertThat(binary[0]).isEqualTo((byte) OrderCreatedEventBinaryCodec.SCHEMA_VERSION);
+        assertThat(binary.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    void decode_UnknownVersion_Throws() {
+        // Given
+        byte[] data = OrderCreatedEventBinaryCodec.encode(event());
+        data[0] = 9;
+
+        // When / Then
+        assertThatThrownBy(() -> OrderCreatedEventBinaryCodec.decode(data))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("version 9");
+    }
+
+    @Test
+    void decode_TruncatedPayload_Throws() {
+        // Given
+        byte[] data = OrderCreatedEventBinaryCodec.encode(event());
+        byte[] truncated = Arrays.copyOf(data, data.length / 2);
+
+        // When / Then
+        assertThatThrownBy(() -> OrderCreatedEventBinaryCodec.decode(truncated))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void serialize_BinaryFormat_MarksRecordWithFormatHeader() {
+        // Given
+        RecordHeaders headers = new RecordHeaders();
+        OrderCreatedEventSerializer serializer = new OrderCreatedEventSerializer(EventFormat.BINARY);
+
+        // When
+        byte[] data = serializer.serialize("order-created", headers, event());
+
+        // Then
+        assertThat(EventFormat.fromHeaders(headers)).isEqualTo(EventFormat.BINARY);
+        assertThat(EventFormat.detect(data)).isEqualTo(EventFormat.BINARY);
+        assertThat(headers.lastHeader(EventTypeHeader.HEADER).value()).asString().isEqualTo(OrderCreatedEvent.EVENT_TYPE);
+    }
+
+    @Test
+    void serialize_JsonFormat_LeavesFormatHeaderOut() {
+        // Given
+        RecordHeaders headers = new RecordHeaders();
+        OrderCreatedEventSerializer serializer = new OrderCreatedEventSerializer(EventFormat.JSON);
+
+        // When
+        byte[] data = serializer.serialize("order-created", headers, event());
+
+        // Then
+        assertThat(headers.lastHeader(EventFormat.HEADER)).isNull();
+        assertThat(EventFormat.fromHeaders(headers)).isEqualTo(EventFormat.JSON);
+        assertThat(EventFormat.detect(data)).isEqualTo(EventFormat.JSON);
+        assertThat(headers.lastHeader(EventTypeHeader.HEADER).value()).asString().isEqualTo(OrderCreatedEvent.EVENT_TYPE);
+    }
+
+    private static OrderCreatedEvent event() {
+        OrderItemDto first = new OrderItemDto();
+        first.setProductId("P1001");
+        first.setQuantity(2);
+        first.setCategory(OrderItemCategory.STANDARD);
+        OrderItemDto second = new OrderItemDto();
+        second.setProductId("P3001");
+        second.setQuantity(1);
+        second.setCategory(OrderItemCategory.DIGITAL);
+
+        return OrderCreatedEvent.builder()
+                .orderId("01M53TWK40000001E2N0BYNW01")
+                .customerName("Zoë Alice")
+                .items(List.of(first, second))
+                .requestedAt(Instant.parse("2025-06-30T14:00:00Z"))
+                .createdAt(Instant.parse("2025-08-25T06:16:57.859666Z"))
+                .status("PENDING")
+                .eventTimestamp(Instant.parse("2025-08-25T06:16:57.859666123Z"))
+                .build();
+    }
+}
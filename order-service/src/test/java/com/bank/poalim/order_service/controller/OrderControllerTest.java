@@ -1,13 +1,20 @@
 package com.bank.poalim.order_service.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,12 +22,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
 import com.bank.poalim.order_service.dto.OrderItemDto;
 import com.bank.poalim.order_service.dto.OrderResponseDto;
 import com.bank.poalim.order_service.model.OrderItemCategory;
 import com.bank.poalim.order_service.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @WebMvcTest(OrderController.class)
@@ -80,4 +89,103 @@ class OrderControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
+    
+    @Test
+    void createOrders_JsonArray_StreamsResultPerOrder() throws Exception {
+        // Given
+        CreateOrderRequestDto valid = validRequest("Alice");
+        CreateOrderRequestDto invalid = new CreateOrderRequestDto();
+        
+        when(orderService.createOrders(anyList())).thenReturn(List.of(response("order-1", valid)));
+        
+        // When
+        List<JsonNode> results = performBatch(MediaType.APPLICATION_JSON,
+                objectMapper.writeValueAsString(List.of(valid, invalid)));
+        
+        // Then
+        assertThat(results).hasSize(2);
+        JsonNode rejected = results.get(0);
+        assertThat(rejected.get("index").asInt()).isEqualTo(1);
+        assertThat(rejected.get("status").asText()).isEqualTo("REJECTED");
+        assertThat(rejected.get("details").has("customerName")).isTrue();
+        JsonNode accepted = results.get(1);
+        assertThat(accepted.get("index").asInt()).isEqualTo(0);
+        assertThat(accepted.get("orderId").asText()).isEqualTo("order-1");
+        assertThat(accepted.get("status").asText()).isEqualTo("PENDING");
+        verify(orderService).createOrders(List.of(valid));
+    }
+    
+    @Test
+    void createOrders_NdjsonBody_CreatesAllOrdersInOneCall() throws Exception {
+        // Given
+        CreateOrderRequestDto alice = validRequest("Alice");
+        CreateOrderRequestDto bob = validRequest("Bob");
+        String body = objectMapper.writeValueAsString(alice) + "\n" + objectMapper.writeValueAsString(bob) + "\n";
+        
+        when(orderService.createOrders(anyList())).thenReturn(List.of(response("order-1", alice), response("order-2", bob)));
+        
+        // When
+        List<JsonNode> results = performBatch(MediaType.APPLICATION_NDJSON, body);
+        
+        // Then
+        assertThat(results).extracting(result -> result.get("orderId").asText()).containsExactly("order-1", "order-2");
+        verify(orderService).createOrders(List.of(alice, bob));
+    }
+    
+    @Test
+    void createOrders_MalformedInput_ReportsInvalidAndStops() throws Exception {
+        // Given
+        String body = "{\"customerName\": \"Alice\", \"items\": [";
+        
+        // When
+        List<JsonNode> results = performBatch(MediaType.APPLICATION_NDJSON, body);
+        
+        // Then
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).get("status").asText()).isEqualTo("INVALID");
+        verify(orderService, never()).createOrders(anyList());
+    }
+    
+    private List<JsonNode> performBatch(MediaType contentType, String body) throws Exception {
+        MvcResult started = mockMvc.perform(post("/orders/batch")
+                .contentType(contentType)
+                .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String content = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return content.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+    
+    private CreateOrderRequestDto validRequest(String customerName) {
+        CreateOrderRequestDto request = new CreateOrderRequestDto();
+        request.setCustomerName(customerName);
+        request.setRequestedAt(Instant.parse("2025-06-30T14:00:00Z"));
+        
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId("P1001");
+        item.setQuantity(2);
+        item.setCategory(OrderItemCategory.STANDARD);
+        request.setItems(List.of(item));
+        return request;
+    }
+    
+    private OrderResponseDto response(String orderId, CreateOrderRequestDto request) {
+        OrderResponseDto response = new OrderResponseDto();
+        response.setOrderId(orderId);
+        response.setCustomerName(request.getCustomerName());
+        response.setItems(request.getItems());
+        response.setRequestedAt(request.getRequestedAt());
+        response.setStatus("PENDING");
+        return response;
+    }
 }
@@ -0,0 +1,105 @@
+package com.bank.poalim.order_service.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
+import com.bank.poalim.order_service.dto.OrderItemDto;
+import com.bank.poalim.order_service.dto.OrderResponseDto;
+import com.bank.poalim.order_service.model.OrderItemCategory;
+import com.bank.poalim.order_service.service.ReactiveOrderService;
+
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(ReactiveOrderController.class)
+class ReactiveOrderControllerTest {
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @MockBean
+    private ReactiveOrderService orderService;
+    
+    @Test
+    void createOrder_ValidRequest_ReturnsCreatedOrder() {
+        // Given
+        CreateOrderRequestDto request = new CreateOrderRequestDto();
+        request.setCustomerName("Alice");
+        request.setRequestedAt(Instant.parse("2025-06-30T14:00:00Z"));
+        
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId("P1001");
+        item.setQuantity(2);
+        item.setCategory(OrderItemCategory.STANDARD);
+        request.setItems(List.of(item));
+        
+        OrderResponseDto response = new OrderResponseDto();
+        response.setOrderId("test-order-id");
+        response.setCustomerName("Alice");
+        response.setItems(request.getItems());
+        response.setRequestedAt(request.getRequestedAt());
+        response.setCreatedAt(Instant.now());
+        response.setStatus("PENDING");
+        
+        when(orderService.createOrder(any(CreateOrderRequestDto.class))).thenReturn(Mono.just(response));
+        
+        // When & Then
+        webTestClient.post().uri("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.orderId").isEqualTo("test-order-id")
+                .jsonPath("$.status").isEqualTo("PENDING");
+    }
+    
+    @Test
+    void createOrder_InvalidRequest_ReturnsBadRequest() {
+        // Given
+        CreateOrderRequestDto request = new CreateOrderRequestDto();
+        // Missing required fields
+        
+        // When & Then
+        webTestClient.post().uri("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.details.customerName").isEqualTo("Customer name is required");
+    }
+    
+    @Test
+    void createOrder_ServiceFails_ReturnsInternalServerError() {
+        // Given
+        CreateOrderRequestDto request = new CreateOrderRequestDto();
+        request.setCustomerName("Alice");
+        request.setRequestedAt(Instant.parse("2025-06-30T14:00:00Z"));
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId("P1001");
+        item.setQuantity(2);
+        item.setCategory(OrderItemCategory.STANDARD);
+        request.setItems(List.of(item));
+        
+        when(orderService.createOrder(any(CreateOrderRequestDto.class)))
+                .thenReturn(Mono.error(new RuntimeException("Kafka connection failed")));
+        
+        // When & Then
+        webTestClient.post().uri("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+}
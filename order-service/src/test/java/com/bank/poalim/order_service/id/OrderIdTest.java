@@ -0,0 +1,63 @@
+package com.bank.poalim.order_service.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class OrderIdTest {
+
+    @Test
+    void toString_ParseRoundTrip_PreservesAllBits() {
+        // Given
+        OrderId id = new OrderId(0xFEDCBA9876543210L, 0x0123456789ABCDEFL);
+
+        // When
+        String text = id.toString();
+
+        // Then
+        assertThat(text).hasSize(OrderId.TEXT_LENGTH);
+        assertThat(OrderId.parse(text)).isEqualTo(id);
+        assertThat(OrderId.parse(text.toLowerCase())).isEqualTo(id);
+    }
+
+    @Test
+    void toBytes_FromBytesRoundTrip_SixteenBytes() {
+        // Given
+        OrderId id = new TimeOrderedOrderIdGenerator(3).next();
+
+        // When
+        byte[] bytes = id.toBytes();
+
+        // Then
+        assertThat(bytes).hasSize(OrderId.BYTES);
+        assertThat(OrderId.fromBytes(bytes)).isEqualTo(id);
+    }
+
+    @Test
+    void toBytes_OrderMatchesIdOrder() {
+        // Given
+        OrderId smaller = new OrderId(1L, -1L);
+        OrderId larger = new OrderId(2L, 0L);
+
+        // When
+        int comparison = Arrays.compareUnsigned(smaller.toBytes(), larger.toBytes());
+
+        // Then
+        assertThat(comparison).isNegative();
+        assertThat(smaller).isLessThan(larger);
+        assertThat(smaller.toString()).isLessThan(larger.toString());
+    }
+
+    @Test
+    void parse_InvalidText_Throws() {
+        assertThatThrownBy(() -> OrderId.parse("not-an-id"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderId.parse("8ZZZZZZZZZZZZZZZZZZZZZZZZZ"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderId.parse("0000000000000000000000000U"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
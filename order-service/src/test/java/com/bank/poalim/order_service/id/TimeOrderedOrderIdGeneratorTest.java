@@ -0,0 +1,113 @@
+package com.bank.poalim.order_service.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedOrderIdGeneratorTest {
+
+    private static final Instant NOW = Instant.parse("2025-09-01T10:15:30.123Z");
+
+    @Test
+    void next_SameMillisecond_StrictlyIncreasingAsTextAndBinary() {
+        // Given
+        TimeOrderedOrderIdGenerator generator = new TimeOrderedOrderIdGenerator(7, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // When
+        List<OrderId> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(generator.next());
+        }
+
+        // Then - more than 65536 ids in one millisecond run ahead of the clock but stay ordered
+        for (int i = 1; i < ids.size(); i++) {
+            OrderId previous = ids.get(i - 1);
+            OrderId current = ids.get(i);
+            assertThat(current).isGreaterThan(previous);
+            assertThat(current.toString()).isGreaterThan(previous.toString());
+        }
+        assertThat(ids.get(0).timestamp()).isEqualTo(NOW);
+        assertThat(ids.get(0).nodeId()).isEqualTo(7);
+    }
+
+    @Test
+    void next_ClockStepsBack_StillIncreasing() {
+        // Given
+        MutableClock clock = new MutableClock(NOW);
+        TimeOrderedOrderIdGenerator generator = new TimeOrderedOrderIdGenerator(0, clock);
+        OrderId before = generator.next();
+
+        // When
+        clock.instant = NOW.minusSeconds(5);
+        OrderId after = generator.next();
+
+        // Then
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    void nextId_ConcurrentThreads_AllUnique() throws InterruptedException {
+        // Given
+        TimeOrderedOrderIdGenerator generator = new TimeOrderedOrderIdGenerator(1);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(ids).hasSize(160_000);
+    }
+
+    @Test
+    void constructor_NodeIdOutOfRange_Throws() {
+        assertThatThrownBy(() -> new TimeOrderedOrderIdGenerator(TimeOrderedOrderIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimeOrderedOrderIdGenerator(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.bank.poalim.order_service.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PipelineMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PipelineMetrics pipelineMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pipelineMetrics = new PipelineMetrics(meterRegistry);
+    }
+
+    @Test
+    void record_BothStagesStamped_RecordsDurationTaggedByStages() {
+        // Given
+        PipelineTimestamps timestamps = new PipelineTimestamps()
+                .stamp(PipelineStage.ACCEPTED, 1_000L)
+                .stamp(PipelineStage.REDIS_SAVED, 1_004L);
+
+        // When
+        pipelineMetrics.record(timestamps, PipelineStage.ACCEPTED, PipelineStage.REDIS_SAVED);
+
+        // Then
+        Timer timer = meterRegistry.get(PipelineMetrics.TIMER_NAME)
+                .tag("from", "accepted")
+                .tag("to", "redis-saved")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(4.0);
+    }
+
+    @Test
+    void record_MissingStageOrClockSkew_RecordsNothing() {
+        // Given
+        PipelineTimestamps missing = new PipelineTimestamps().stamp(PipelineStage.REDIS_SAVED, 1_000L);
+        PipelineTimestamps skewed = new PipelineTimestamps()
+                .stamp(PipelineStage.REDIS_SAVED, 1_000L)
+                .stamp(PipelineStage.PRODUCED, 990L);
+
+        // When
+        pipelineMetrics.record(missing, PipelineStage.ACCEPTED, PipelineStage.REDIS_SAVED);
+        pipelineMetrics.record(skewed, PipelineStage.REDIS_SAVED, PipelineStage.PRODUCED);
+
+        // Then
+        assertThat(meterRegistry.find(PipelineMetrics.TIMER_NAME).timers()).isEmpty();
+    }
+
+    @Test
+    void writeTo_StampedStages_WritesDecimalHeaders() {
+        // Given
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(PipelineStage.PRODUCED.header(), "1".getBytes(StandardCharsets.US_ASCII));
+
+        // When
+        new PipelineTimestamps()
+                .stamp(PipelineStage.ACCEPTED, 1_000L)
+                .stamp(PipelineStage.PRODUCED, 1_010L)
+                .writeTo(headers);
+
+        // Then
+        assertThat(new String(headers.lastHeader("x-stage-accepted").value(), StandardCharsets.US_ASCII)).isEqualTo("1000");
+        assertThat(headers.headers("x-stage-produced")).hasSize(1);
+        assertThat(new String(headers.lastHeader("x-stage-produced").value(), StandardCharsets.US_ASCII)).isEqualTo("1010");
+    }
+}
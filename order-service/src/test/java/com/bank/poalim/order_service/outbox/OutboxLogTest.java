@@ -0,0 +1,185 @@
+package com.bank.poalim.order_service.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxLogTest {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_AppendedRecords_ReturnsThemInOrder() throws Exception {
+        // Given
+        try (OutboxLog log = new OutboxLog(directory, SEGMENT_SIZE)) {
+            log.append(bytes("first"));
+            log.appendAll(List.of(bytes("second"), bytes("third")));
+
+            // When
+            List<byte[]> records = new ArrayList<>();
+            long next = log.read(0, 10, records);
+
+            // Then
+            assertThat(records).extracting(OutboxLogTest::text).containsExactly("first", "second", "third");
+            assertThat(next).isEqualTo(log.writeOffset());
+        }
+    }
+
+    @Test
+    void read_RecordsSpanSegments_SkipsRolledTail() throws Exception {
+        // Given
+        try (OutboxLog log = new OutboxLog(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(bytes("record-" + i + "-padding"));
+            }
+
+            // When
+            List<byte[]> records = new ArrayList<>();
+            log.read(0, 100, records);
+
+            // Then
+            assertThat(records).hasSize(10);
+            assertThat(text(records.get(9))).isEqualTo("record-9-padding");
+            assertThat(segmentFiles()).isGreaterThan(1);
+        }
+    }
+
+    @Test
+    void read_MaxRecordsReached_ReturnsOffsetToContinueFrom() throws Exception {
+        // Given
+        try (OutboxLog log = new OutboxLog(directory, SEGMENT_SIZE)) {
+            log.appendAll(List.of(bytes("a"), bytes("b"), bytes("c")));
+
+            // When
+            List<byte[]> first = new ArrayList<>();
+            long next = log.read(0, 2, first);
+            List<byte[]> rest = new ArrayList<>();
+            log.read(next, 2, rest);
+
+            // Then
+            assertThat(first).extracting(OutboxLogTest::text).containsExactly("a", "b");
+            assertThat(rest).extracting(OutboxLogTest::text).containsExactly("c");
+        }
+    }
+
+    @Test
+    void reopen_AfterCommit_ResumesFromCommittedOffset() throws Exception {
+        // Given
+        long committed;
+        try (OutboxLog log = new OutboxLog(directory, SEGMENT_SIZE)) {
+            log.append(bytes("delivered"));
+            committed = log.read(0, 1, new ArrayList<>());
+            log.commit(committed);
+            log.append(bytes("pending"));
+        }
+
+        // When
+        try (OutboxLog reopened = new OutboxLog(directory, SEGMENT_SIZE)) {
+            List<byte[]> records = new ArrayList<>();
+            reopened.read(reopened.committedOffset(), 10, records);
+
+            // Then
+            assertThat(reopened.committedOffset()).isEqualTo(committed);
+            assertThat(records).extracting(OutboxLogTest::text).containsExactly("pending");
+
+            reopened.append(bytes("after-restart"));
+            records.clear();
+            reopened.read(reopened.committedOffset(), 10, records);
+            assertThat(records).extracting(OutboxLogTest::text).containsExactly("pending", "after-restart");
+        }
+    }
+
+    @Test
+    void commit_PastWholeSegments_DeletesDeliveredSegments() throws Exception {
+        // Given
+        try (OutboxLog log = new OutboxLog(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(bytes("record-" + i + "-padding"));
+            }
+            long segmentsBefore = segmentFiles();
+
+            // When
+            log.commit(log.read(0, 100, new ArrayList<>()));
+
+            // Then
+            assertThat(segmentFiles()).isLessThan(segmentsBefore);
+            assertThat(log.pendingBytes()).isZero();
+        }
+    }
+
+    @Test
+    void reopen_SegmentExactlyFilledAndCommitted_RelaysNewAppends() throws Exception {
+        // Given: one record of exactly a segment, delivered
+        long committed;
+        try (OutboxLog log = new OutboxLog(directory, SEGMENT_SIZE)) {
+            log.append(new byte[SEGMENT_SIZE - 4]);
+            committed = log.read(0, 10, new ArrayList<>());
+            log.commit(committed);
+            assertThat(committed).isEqualTo(SEGMENT_SIZE);
+            assertThat(segmentFiles()).isEqualTo(1);
+        }
+
+        // When
+        try (OutboxLog reopened = new OutboxLog(directory, SEGMENT_SIZE)) {
+            reopened.append(bytes("after-restart"));
+            List<byte[]> records = new ArrayList<>();
+            reopened.read(reopened.committedOffset(), 10, records);
+
+            // Then
+            assertThat(reopened.committedOffset()).isEqualTo(committed);
+            assertThat(records).extracting(OutboxLogTest::text).containsExactly("after-restart");
+        }
+    }
+
+    @Test
+    void reopen_NoSegmentsLeft_StartsAtCommittedOffset() throws Exception {
+        // Given: every segment deleted after delivery, only the relay offset remains
+        long committed;
+        try (OutboxLog log = new OutboxLog(directory, SEGMENT_SIZE)) {
+            log.append(new byte[SEGMENT_SIZE - 4]);
+            committed = log.read(0, 10, new ArrayList<>());
+            log.commit(committed);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".log")).toList()) {
+                Files.delete(file);
+            }
+        }
+
+        // When
+        try (OutboxLog reopened = new OutboxLog(directory, SEGMENT_SIZE)) {
+            reopened.append(bytes("after-restart"));
+            List<byte[]> records = new ArrayList<>();
+            reopened.read(reopened.committedOffset(), 10, records);
+
+            // Then
+            assertThat(reopened.committedOffset()).isEqualTo(committed);
+            assertThat(records).extracting(OutboxLogTest::text).containsExactly("after-restart");
+        }
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
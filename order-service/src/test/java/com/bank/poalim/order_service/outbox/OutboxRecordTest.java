@@ -0,0 +1,52 @@
+package com.bank.poalim.order_service.outbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxRecordTest {
+
+    @Test
+    void decode_EncodedRecord_RoundTripsAllFields() {
+        // Given
+        OutboxRecord record = new OutboxRecord("order-1", bytes("{\"orderId\":\"order-1\"}"), 1_700_000_000_500L, 1_700_000_000_000L);
+
+        // When
+        OutboxRecord decoded = OutboxRecord.decode(record.encode());
+
+        // Then
+        assertThat(decoded.key()).isEqualTo("order-1");
+        assertThat(decoded.payload()).isEqualTo(record.payload());
+        assertThat(decoded.appendedAtMillis()).isEqualTo(1_700_000_000_500L);
+        assertThat(decoded.acceptedAtMillis()).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    void decode_RecordWithoutVersionByte_ReadsLegacyLayout() {
+        // Given - [long appendedAt][short keyLen][key][payload], as written before accept times were kept
+        byte[] key = bytes("order-2");
+        byte[] payload = bytes("{}");
+        byte[] legacy = ByteBuffer.allocate(Long.BYTES + Short.BYTES + key.length + payload.length)
+                .putLong(1_700_000_000_500L)
+                .putShort((short) key.length)
+                .put(key)
+                .put(payload)
+                .array();
+
+        // When
+        OutboxRecord decoded = OutboxRecord.decode(legacy);
+
+        // Then
+        assertThat(decoded.key()).isEqualTo("order-2");
+        assertThat(decoded.payload()).isEqualTo(payload);
+        assertThat(decoded.appendedAtMillis()).isEqualTo(1_700_000_000_500L);
+        assertThat(decoded.acceptedAtMillis()).isEqualTo(OutboxRecord.UNKNOWN);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -4,9 +4,10 @@ import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
 import com.bank.poalim.order_service.dto.OrderItemDto;
 import com.bank.poalim.order_service.dto.OrderResponseDto;
 import com.bank.poalim.order_service.event.OrderCreatedEvent;
-import com.bank.poalim.order_service.kafka.OrderEventProducer;
+import com.bank.poalim.order_service.id.TimeOrderedOrderIdGenerator;
 import com.bank.poalim.order_service.model.OrderItemCategory;
 import com.bank.poalim.order_service.model.OrderRecord;
+import com.bank.poalim.order_service.outbox.OrderEventOutbox;
 import com.bank.poalim.order_service.store.PendingOrderStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,9 +17,10 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,7 +30,7 @@ import static org.mockito.Mockito.*;
 class OrderServiceImplTest {
     
     @Mock
-    private OrderEventProducer orderEventProducer;
+    private OrderEventOutbox orderEventOutbox;
     
     @Mock
     private PendingOrderStore pendingOrderStore;
@@ -39,15 +41,21 @@ class OrderServiceImplTest {
     @Captor
     private ArgumentCaptor<OrderRecord> recordCaptor;
     
+    @Captor
+    private ArgumentCaptor<List<OrderRecord>> recordsCaptor;
+    
+    @Captor
+    private ArgumentCaptor<List<OrderCreatedEvent>> eventsCaptor;
+    
     private OrderServiceImpl orderService;
     
     @BeforeEach
     void setUp() {
-        orderService = new OrderServiceImpl(orderEventProducer, pendingOrderStore);
+        orderService = new OrderServiceImpl(orderEventOutbox, pendingOrderStore, new TimeOrderedOrderIdGenerator(0));
     }
     
     @Test
-    void createOrder_ValidRequest_SavesPendingAndPublishesEvent() {
+    void createOrder_ValidRequest_SavesPendingAndAppendsEventToOutbox() {
         // Given
         CreateOrderRequestDto request = new CreateOrderRequestDto();
         request.setCustomerName("Alice");
@@ -59,9 +67,6 @@ class OrderServiceImplTest {
         item.setCategory(OrderItemCategory.STANDARD);
         request.setItems(List.of(item));
         
-        when(orderEventProducer.publishOrderCreatedEvent(any(OrderCreatedEvent.class)))
-                .thenReturn(CompletableFuture.completedFuture(null));
-        
         // When
         OrderResponseDto response = orderService.createOrder(request);
         
@@ -79,8 +84,8 @@ class OrderServiceImplTest {
         assertEquals("Alice", saved.getCustomerName());
         assertNotNull(saved.getStatus());
         
-        // Verify Kafka event was published
-        verify(orderEventProducer).publishOrderCreatedEvent(eventCaptor.capture());
+        // Verify event was appended to the outbox
+        verify(orderEventOutbox).append(eventCaptor.capture());
         OrderCreatedEvent capturedEvent = eventCaptor.getValue();
         
         assertEquals(response.getOrderId(), capturedEvent.getOrderId());
@@ -91,7 +96,7 @@ class OrderServiceImplTest {
     }
     
     @Test
-    void createOrder_KafkaPublishFails_StillReturnsPendingAndSaves() {
+    void createOrder_OutboxAppendFails_PropagatesError() {
         // Given
         CreateOrderRequestDto request = new CreateOrderRequestDto();
         request.setCustomerName("Alice");
@@ -103,21 +108,47 @@ class OrderServiceImplTest {
         item.setCategory(OrderItemCategory.DIGITAL);
         request.setItems(List.of(item));
         
-        when(orderEventProducer.publishOrderCreatedEvent(any(OrderCreatedEvent.class)))
-                .thenThrow(new RuntimeException("Kafka connection failed"));
+        when(orderEventOutbox.append(any(OrderCreatedEvent.class)))
+                .thenThrow(new UncheckedIOException(new IOException("No space left on device")));
+        
+        // When / Then
+        assertThrows(UncheckedIOException.class, () -> orderService.createOrder(request));
+        verify(pendingOrderStore).savePending(any(OrderRecord.class));
+    }
+    
+    @Test
+    void createOrders_SeveralRequests_SavesAndAppendsWholeBatchOnce() {
+        // Given
+        CreateOrderRequestDto alice = new CreateOrderRequestDto();
+        alice.setCustomerName("Alice");
+        alice.setRequestedAt(Instant.parse("2025-06-30T14:00:00Z"));
+        CreateOrderRequestDto bob = new CreateOrderRequestDto();
+        bob.setCustomerName("Bob");
+        bob.setRequestedAt(Instant.parse("2025-06-30T14:01:00Z"));
+        
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId("P1001");
+        item.setQuantity(1);
+        item.setCategory(OrderItemCategory.STANDARD);
+        alice.setItems(List.of(item));
+        bob.setItems(List.of(item));
         
         // When
-        OrderResponseDto response = orderService.createOrder(request);
+        List<OrderResponseDto> responses = orderService.createOrders(List.of(alice, bob));
         
         // Then
-        assertNotNull(response);
-        assertNotNull(response.getOrderId());
-        assertEquals("Alice", response.getCustomerName());
-        assertEquals("PENDING", response.getStatus());
+        assertEquals(2, responses.size());
+        assertEquals("Alice", responses.get(0).getCustomerName());
+        assertEquals("Bob", responses.get(1).getCustomerName());
+        assertNotEquals(responses.get(0).getOrderId(), responses.get(1).getOrderId());
         
-        // Verify pending save attempted
-        verify(pendingOrderStore).savePending(any(OrderRecord.class));
-        // Verify Kafka event was attempted
-        verify(orderEventProducer).publishOrderCreatedEvent(any(OrderCreatedEvent.class));
+        verify(pendingOrderStore).savePendingAll(recordsCaptor.capture());
+        assertEquals(List.of(responses.get(0).getOrderId(), responses.get(1).getOrderId()),
+                recordsCaptor.getValue().stream().map(OrderRecord::getOrderId).toList());
+        
+        verify(orderEventOutbox).appendAll(eventsCaptor.capture());
+        assertEquals(2, eventsCaptor.getValue().size());
+        assertEquals(responses.get(1).getOrderId(), eventsCaptor.getValue().get(1).getOrderId());
+        verify(pendingOrderStore, never()).savePending(any(OrderRecord.class));
     }
 }
@@ -0,0 +1,111 @@
+package com.bank.poalim.order_service.service;
+
+import com.bank.poalim.order_service.dto.CreateOrderRequestDto;
+import com.bank.poalim.order_service.dto.OrderItemDto;
+import com.bank.poalim.order_service.event.OrderCreatedEvent;
+import com.bank.poalim.order_service.id.TimeOrderedOrderIdGenerator;
+import com.bank.poalim.order_service.kafka.ReactiveOrderEventProducer;
+import com.bank.poalim.order_service.model.OrderItemCategory;
+import com.bank.poalim.order_service.model.OrderRecord;
+import com.bank.poalim.order_service.model.OrderStatus;
+import com.bank.poalim.order_service.store.PendingOrderStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.PublisherProbe;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOrderServiceImplTest {
+    
+    @Mock
+    private ReactiveOrderEventProducer orderEventProducer;
+    
+    @Mock
+    private PendingOrderStore pendingOrderStore;
+    
+    @Captor
+    private ArgumentCaptor<OrderCreatedEvent> eventCaptor;
+    
+    @Captor
+    private ArgumentCaptor<OrderRecord> recordCaptor;
+    
+    private ReactiveOrderServiceImpl orderService;
+    
+    @BeforeEach
+    void setUp() {
+        orderService = new ReactiveOrderServiceImpl(orderEventProducer, pendingOrderStore, new TimeOrderedOrderIdGenerator(0));
+    }
+    
+    @Test
+    void createOrder_RedisAndKafkaAcknowledge_EmitsPendingResponse() {
+        // Given
+        PublisherProbe<Void> redisWrite = PublisherProbe.empty();
+        PublisherProbe<Void> kafkaSend = PublisherProbe.empty();
+        when(pendingOrderStore.savePendingAsync(any(OrderRecord.class))).thenReturn(redisWrite.mono());
+        when(orderEventProducer.publishOrderCreatedEvent(any(OrderCreatedEvent.class))).thenReturn(kafkaSend.mono());
+        
+        // When & Then
+        StepVerifier.create(orderService.createOrder(request()))
+                .assertNext(response -> {
+                    assertEquals("Alice", response.getCustomerName());
+                    assertEquals("PENDING", response.getStatus());
+                    assertNotNull(response.getOrderId());
+                })
+                .verifyComplete();
+        
+        redisWrite.assertWasSubscribed();
+        kafkaSend.assertWasSubscribed();
+        verify(pendingOrderStore).savePendingAsync(recordCaptor.capture());
+        verify(orderEventProducer).publishOrderCreatedEvent(eventCaptor.capture());
+        assertEquals(recordCaptor.getValue().getOrderId(), eventCaptor.getValue().getOrderId());
+        assertEquals(OrderStatus.PENDING, recordCaptor.getValue().getStatus());
+    }
+    
+    @Test
+    void createOrder_KafkaSendFails_EmitsError() {
+        // Given
+        when(pendingOrderStore.savePendingAsync(any(OrderRecord.class))).thenReturn(Mono.empty());
+        when(orderEventProducer.publishOrderCreatedEvent(any(OrderCreatedEvent.class)))
+                .thenReturn(Mono.error(new RuntimeException("Kafka connection failed")));
+        
+        // When & Then
+        StepVerifier.create(orderService.createOrder(request()))
+                .expectErrorMessage("Kafka connection failed")
+                .verify();
+    }
+    
+    @Test
+    void createOrder_NotSubscribed_DoesNothing() {
+        // When
+        orderService.createOrder(request());
+        
+        // Then
+        verifyNoInteractions(pendingOrderStore, orderEventProducer);
+    }
+    
+    private CreateOrderRequestDto request() {
+        CreateOrderRequestDto request = new CreateOrderRequestDto();
+        request.setCustomerName("Alice");
+        request.setRequestedAt(Instant.parse("2025-06-30T14:00:00Z"));
+        
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId("P1001");
+        item.setQuantity(2);
+        item.setCategory(OrderItemCategory.STANDARD);
+        request.setItems(List.of(item));
+        return request;
+    }
+}
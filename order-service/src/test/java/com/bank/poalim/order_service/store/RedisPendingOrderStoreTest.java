@@ -0,0 +1,134 @@
+package com.bank.poalim.order_service.store;
+
+import com.bank.poalim.order_service.dto.OrderItemDto;
+import com.bank.poalim.order_service.metrics.PipelineMetrics;
+import com.bank.poalim.order_service.model.OrderItemCategory;
+import com.bank.poalim.order_service.model.OrderRecord;
+import com.bank.poalim.order_service.model.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisPendingOrderStoreTest {
+    
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+    
+    @Mock
+    private ReactiveHashOperations<String, String, String> hashOperations;
+    
+    @Mock
+    private RedisScript<Long> savePendingOrdersScript;
+    
+    @Captor
+    private ArgumentCaptor<Map<String, String>> hashCaptor;
+    
+    @Captor
+    private ArgumentCaptor<List<String>> argsCaptor;
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private RedisPendingOrderStore store;
+    
+    @BeforeEach
+    void setUp() {
+        store = new RedisPendingOrderStore(redisTemplate, new OrderHashMapper(new ObjectMapper()), savePendingOrdersScript,
+                new PipelineMetrics(meterRegistry));
+        lenient().doReturn(hashOperations).when(redisTemplate).opsForHash();
+    }
+    
+    @Test
+    void savePendingAsync_Order_WritesOneFieldPerAttribute() {
+        // Given
+        when(hashOperations.putAll(eq("order:order-1"), anyMap())).thenReturn(Mono.just(true));
+        
+        // When
+        StepVerifier.create(store.savePendingAsync(order("order-1"))).verifyComplete();
+        
+        // Then
+        verify(hashOperations).putAll(eq("order:order-1"), hashCaptor.capture());
+        assertThat(hashCaptor.getValue())
+                .containsEntry("orderId", "order-1")
+                .containsEntry("customerName", "Alice")
+                .containsEntry("status", "PENDING")
+                .containsEntry("createdAt", "2025-06-30T14:00:01Z")
+                .containsEntry("items", "[{\"productId\":\"P1001\",\"quantity\":2,\"category\":\"standard\"}]");
+        assertThat(redisSavedCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void savePendingAsync_RedisFails_EmitsError() {
+        // Given
+        when(hashOperations.putAll(eq("order:order-1"), anyMap())).thenReturn(Mono.error(new RuntimeException("Redis error")));
+        
+        // When & Then
+        StepVerifier.create(store.savePendingAsync(order("order-1")))
+                .expectErrorMessage("Redis error")
+                .verify();
+        assertThat(redisSavedCount()).isZero();
+    }
+    
+    @Test
+    void savePendingAll_SeveralOrders_WritesEveryHashInOneScriptCall() {
+        // Given
+        when(redisTemplate.execute(eq(savePendingOrdersScript), anyList(), anyList())).thenReturn(Flux.just(2L));
+        
+        // When
+        store.savePendingAll(List.of(order("order-1"), order("order-2")));
+        
+        // Then: per order its field count, then its field, value pairs
+        verify(redisTemplate, times(1)).execute(eq(savePendingOrdersScript), eq(List.of("order:order-1", "order:order-2")), argsCaptor.capture());
+        verify(hashOperations, never()).putAll(anyString(), anyMap());
+        List<String> args = argsCaptor.getValue();
+        assertThat(args.get(0)).isEqualTo("6");
+        assertThat(args.subList(1, 13)).containsSubsequence("orderId", "order-1");
+        assertThat(args.get(13)).isEqualTo("6");
+        assertThat(args.subList(14, 26)).containsSubsequence("orderId", "order-2");
+        assertThat(args).hasSize(26);
+        assertThat(redisSavedCount()).isEqualTo(2);
+    }
+    
+    private long redisSavedCount() {
+        Timer timer = meterRegistry.find(PipelineMetrics.TIMER_NAME).tag("from", "accepted").tag("to", "redis-saved").timer();
+        return timer != null ? timer.count() : 0;
+    }
+    
+    private OrderRecord order(String orderId) {
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId("P1001");
+        item.setQuantity(2);
+        item.setCategory(OrderItemCategory.STANDARD);
+        return OrderRecord.builder()
+                .orderId(orderId)
+                .customerName("Alice")
+                .items(List.of(item))
+                .requestedAt(Instant.parse("2025-06-30T14:00:00Z"))
+                .createdAt(Instant.parse("2025-06-30T14:00:01Z"))
+                .status(OrderStatus.PENDING)
+                .build();
+    }
+}
@@ -72,9 +72,10 @@ if [ ! -z "$WRONG_KEYS" ]; then
 fi
 
 # Check for the correct key format: order:ORDER_ID
-ORDER_DATA=$(docker exec redis redis-cli GET "order:$ORDER_ID" 2>/dev/null || echo "NOT_FOUND")
+# Orders are stored as Redis hashes, one field per attribute
+ORDER_DATA=$(docker exec redis redis-cli HGETALL "order:$ORDER_ID" 2>/dev/null || echo "")
 
-if [ "$ORDER_DATA" = "NOT_FOUND" ]; then
+if [ -z "$ORDER_DATA" ]; then
     echo "❌ FAILED: Order not found in Redis with key: order:$ORDER_ID"
     echo
     echo "🔍 Debugging info:"
@@ -85,8 +86,8 @@ if [ "$ORDER_DATA" = "NOT_FOUND" ]; then
     exit 1
 fi
 
-# Extract status from JSON response
-ORDER_STATUS=$(echo "$ORDER_DATA" | grep -o '"status":"[^"]*' | cut -d'"' -f4)
+# Read the status field of the order hash
+ORDER_STATUS=$(docker exec redis redis-cli HGET "order:$ORDER_ID" status 2>/dev/null)
 
 if [ "$ORDER_STATUS" = "REJECTED" ]; then
     echo "✅ SUCCESS: Order status is REJECTED"
@@ -144,6 +144,17 @@ build_service() {
 
 # Build Java applications
 print_status "Building Java applications..."
+
+# inventory-service and notification-service depend on the shared listener-autoscaler library
+print_status "Installing listener-autoscaler..."
+chmod +x inventory-service/mvnw
+./inventory-service/mvnw clean install -DskipTests -q -f ./listener-autoscaler/pom.xml
+if [ $? -ne 0 ]; then
+    print_error "Failed to install listener-autoscaler"
+    exit 1
+fi
+print_success "listener-autoscaler installed successfully"
+
 build_service "order-service"
 build_service "inventory-service"  
 build_service "notification-service"